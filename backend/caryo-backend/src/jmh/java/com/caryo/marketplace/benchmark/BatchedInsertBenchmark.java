@@ -0,0 +1,180 @@
+package com.caryo.marketplace.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second for inserting {@value #ROWS} message-shaped rows in one
+ * transaction, replaying the JDBC that Hibernate sends for each ID strategy:
+ *
+ * <ul>
+ *   <li>{@code identityRowByRow}: IDENTITY keys (the behaviour before V77).
+ *       Every persist is its own {@code INSERT} whose generated key is read
+ *       back at once, so nothing can be batched.</li>
+ *   <li>{@code pooledSequenceBatched}: a pooled sequence with
+ *       {@code INCREMENT BY 50}. There is one {@code nextval} per 50 IDs, and
+ *       the inserts go out in JDBC batches of {@code hibernate.jdbc.batch_size}
+ *       (50).</li>
+ * </ul>
+ *
+ * <p>{@code reWriteBatchedInserts} toggles the Postgres driver option set in
+ * application.properties; it only affects the batched variant.</p>
+ *
+ * <p>Needs a Postgres database. It connects to {@code JMH_DB_URL} (default:
+ * the Flyway database in build.gradle) and works on its own {@code jmh_*}
+ * tables, which it drops at the end. Because of that it only runs with
+ * {@code ./gradlew jmh -PjmhDatabase}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchedInsertBenchmark {
+
+    private static final int ROWS = 1000;
+    private static final int BATCH_SIZE = 50;
+
+    private static final String INSERT_IDENTITY_SQL =
+            "INSERT INTO jmh_messages_identity (conversation_id, sender_id, content, created_at) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_POOLED_SQL =
+            "INSERT INTO jmh_messages_pooled (id, conversation_id, sender_id, content, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    @Param({"false", "true"})
+    private boolean reWriteBatchedInserts;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", env("JMH_DB_USER", "caryo"));
+        properties.setProperty("password", env("JMH_DB_PASSWORD", "caryo"));
+        properties.setProperty("reWriteBatchedInserts", Boolean.toString(reWriteBatchedInserts));
+        connection = DriverManager.getConnection(env("JMH_DB_URL", "jdbc:postgresql://localhost:5432/caryo"), properties);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE IF NOT EXISTS jmh_messages_identity (
+                        id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                        conversation_id BIGINT NOT NULL,
+                        sender_id BIGINT NOT NULL,
+                        content TEXT NOT NULL,
+                        created_at TIMESTAMP NOT NULL)
+                    """);
+            statement.execute("""
+                    CREATE TABLE IF NOT EXISTS jmh_messages_pooled (
+                        id BIGINT PRIMARY KEY,
+                        conversation_id BIGINT NOT NULL,
+                        sender_id BIGINT NOT NULL,
+                        content TEXT NOT NULL,
+                        created_at TIMESTAMP NOT NULL)
+                    """);
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS jmh_messages_pooled_id_seq START WITH " + BATCH_SIZE
+                    + " INCREMENT BY " + BATCH_SIZE);
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE jmh_messages_identity, jmh_messages_pooled");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS jmh_messages_identity, jmh_messages_pooled");
+            statement.execute("DROP SEQUENCE IF EXISTS jmh_messages_pooled_id_seq");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long identityRowByRow() throws SQLException {
+        long lastId = 0;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_IDENTITY_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < ROWS; i++) {
+                insert.setLong(1, i % 20);
+                insert.setLong(2, i % 7);
+                insert.setString(3, "Is the car still available? #" + i);
+                insert.setTimestamp(4, now);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    lastId = keys.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long pooledSequenceBatched() throws SQLException {
+        long nextId = 0;
+        long hiId = -1;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement nextval = connection.prepareStatement("SELECT nextval('jmh_messages_pooled_id_seq')");
+             PreparedStatement insert = connection.prepareStatement(INSERT_POOLED_SQL)) {
+            for (int i = 0; i < ROWS; i++) {
+                if (nextId > hiId) {
+                    // Pooled optimizer: the sequence value is the top of the next block of BATCH_SIZE IDs
+                    try (ResultSet rs = nextval.executeQuery()) {
+                        rs.next();
+                        hiId = rs.getLong(1);
+                    }
+                    nextId = hiId - BATCH_SIZE + 1;
+                }
+                insert.setLong(1, nextId++);
+                insert.setLong(2, i % 20);
+                insert.setLong(3, i % 7);
+                insert.setString(4, "Is the car still available? #" + i);
+                insert.setTimestamp(5, now);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return nextId;
+    }
+
+    private static String env(String name, String defaultValue) {
+        return Objects.requireNonNullElse(System.getenv(name), defaultValue);
+    }
+}
@@ -0,0 +1,153 @@
+package com.caryo.marketplace.benchmark;
+
+import com.caryo.marketplace.model.BodyStyle;
+import com.caryo.marketplace.model.CarBrand;
+import com.caryo.marketplace.model.CarCondition;
+import com.caryo.marketplace.model.CarListing;
+import com.caryo.marketplace.model.CarModel;
+import com.caryo.marketplace.model.Country;
+import com.caryo.marketplace.model.FuelType;
+import com.caryo.marketplace.model.Governorate;
+import com.caryo.marketplace.model.ListingMedia;
+import com.caryo.marketplace.model.Location;
+import com.caryo.marketplace.model.Transmission;
+import com.caryo.marketplace.model.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fully populated, detached listings for the benchmarks that work on entities
+ * in memory. A fixed seed keeps the data identical between runs, so results
+ * can be compared with the baseline.
+ */
+final class BenchmarkData {
+
+    static final List<String> BRANDS = List.of("toyota", "hyundai", "kia", "nissan", "mercedes-benz", "bmw");
+    static final List<String> MODELS = List.of("camry", "elantra", "rio", "sunny", "c-class", "x5");
+    static final List<String> GOVERNORATES = List.of("Damascus", "Aleppo", "Homs", "Latakia", "Tartus");
+    static final List<String> BODY_STYLES = List.of("sedan", "suv", "hatchback", "pickup");
+    static final List<String> FUEL_TYPES = List.of("petrol", "diesel", "hybrid", "electric");
+    static final List<String> TRANSMISSIONS = List.of("automatic", "manual");
+    static final List<String> CONDITIONS = List.of("new", "used");
+
+    private BenchmarkData() {
+    }
+
+    static List<CarListing> listings(int count, int mediaPerListing) {
+        Random random = new Random(42);
+        Country country = new Country();
+        country.setId(1L);
+
+        List<Governorate> governorates = new ArrayList<>();
+        for (int i = 0; i < GOVERNORATES.size(); i++) {
+            Governorate governorate = new Governorate();
+            governorate.setId(i + 1L);
+            governorate.setDisplayNameEn(GOVERNORATES.get(i));
+            governorate.setDisplayNameAr("محافظة " + i);
+            governorate.setSlug(GOVERNORATES.get(i).toLowerCase());
+            governorate.setCountry(country);
+            governorates.add(governorate);
+        }
+
+        List<CarModel> models = new ArrayList<>();
+        for (int i = 0; i < BRANDS.size(); i++) {
+            CarBrand brand = new CarBrand();
+            brand.setId(i + 1L);
+            brand.setName(BRANDS.get(i));
+            brand.setSlug(BRANDS.get(i));
+            brand.setDisplayNameEn(BRANDS.get(i));
+            brand.setDisplayNameAr("ماركة " + i);
+            CarModel model = new CarModel();
+            model.setId(i + 1L);
+            model.setName(MODELS.get(i));
+            model.setSlug(MODELS.get(i));
+            model.setDisplayNameEn(MODELS.get(i));
+            model.setDisplayNameAr("موديل " + i);
+            model.setBrand(brand);
+            models.add(model);
+        }
+
+        List<CarListing> listings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CarModel model = models.get(random.nextInt(models.size()));
+            Governorate governorate = governorates.get(random.nextInt(governorates.size()));
+
+            User seller = new User();
+            seller.setId(1000L + i % 50);
+            seller.setUsername("seller" + i % 50);
+            seller.setEmail("seller" + i % 50 + "@caryo.sy");
+
+            Location location = new Location();
+            location.setId(100L + governorate.getId());
+            location.setDisplayNameEn(governorate.getDisplayNameEn() + " Center");
+            location.setGovernorate(governorate);
+
+            CarListing listing = new CarListing();
+            listing.setId(10_000L + i);
+            listing.setTitle(model.getBrand().getDisplayNameEn() + " " + model.getDisplayNameEn());
+            listing.setModel(model);
+            listing.setBrandNameEn(model.getBrand().getDisplayNameEn());
+            listing.setBrandNameAr(model.getBrand().getDisplayNameAr());
+            listing.setModelNameEn(model.getDisplayNameEn());
+            listing.setModelNameAr(model.getDisplayNameAr());
+            listing.setModelYear(2000 + random.nextInt(26));
+            listing.setMileage(random.nextInt(300_000));
+            listing.setPrice(BigDecimal.valueOf(2_000 + random.nextInt(80_000)));
+            listing.setDescription("Well kept, single owner, full service history. Listing " + i);
+            listing.setGovernorate(governorate);
+            listing.setLocation(location);
+            listing.setBodyStyle(reference(new BodyStyle(), BODY_STYLES, random));
+            listing.setFuelType(reference(new FuelType(), FUEL_TYPES, random));
+            listing.setTransmissionType(reference(new Transmission(), TRANSMISSIONS, random));
+            listing.setCondition(reference(new CarCondition(), CONDITIONS, random));
+            listing.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i));
+            listing.setApproved(true);
+            listing.setSeller(seller);
+
+            for (int m = 0; m < mediaPerListing; m++) {
+                ListingMedia media = new ListingMedia();
+                media.setId(listing.getId() * 100 + m);
+                media.setCarListing(listing);
+                media.setFileKey("listings/" + listing.getId() + "/" + m + ".jpg");
+                media.setFileName(m + ".jpg");
+                media.setContentType("image/jpeg");
+                media.setSize(250_000L);
+                // Reverse order, so the mapper's sort has work to do
+                media.setSortOrder(mediaPerListing - m);
+                media.setIsPrimary(m == 0);
+                media.setMediaType("image");
+                media.setModerationStatus(ListingMedia.ModerationStatus.APPROVED);
+                listing.addMedia(media);
+            }
+            listings.add(listing);
+        }
+        return listings;
+    }
+
+    private static <T> T reference(T entity, List<String> slugs, Random random) {
+        String slug = slugs.get(random.nextInt(slugs.size()));
+        long id = slugs.indexOf(slug) + 1L;
+        if (entity instanceof BodyStyle bodyStyle) {
+            bodyStyle.setId(id);
+            bodyStyle.setSlug(slug);
+            bodyStyle.setDisplayNameEn(slug);
+        } else if (entity instanceof FuelType fuelType) {
+            fuelType.setId(id);
+            fuelType.setSlug(slug);
+            fuelType.setDisplayNameEn(slug);
+        } else if (entity instanceof Transmission transmission) {
+            transmission.setId(id);
+            transmission.setSlug(slug);
+            transmission.setDisplayNameEn(slug);
+        } else if (entity instanceof CarCondition condition) {
+            condition.setId(id);
+            condition.setSlug(slug);
+            condition.setDisplayNameEn(slug);
+        }
+        return entity;
+    }
+}
@@ -0,0 +1,58 @@
+package com.caryo.marketplace.benchmark;
+
+import com.caryo.marketplace.mapper.CarListingMapper;
+import com.caryo.marketplace.model.CarListing;
+import com.caryo.marketplace.payload.response.CarListingResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CarListingMapper#toCarListingResponse} for one search results page
+ * of fully loaded listings. The public mapping does not sign URLs, so the
+ * mapper gets no storage service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CarListingMapperBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1", "12"})
+    private int mediaPerListing;
+
+    private CarListingMapper mapper;
+    private List<CarListing> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = new CarListingMapper(null);
+        page = BenchmarkData.listings(PAGE_SIZE, mediaPerListing);
+    }
+
+    @Benchmark
+    public List<CarListingResponse> mapPage() {
+        List<CarListingResponse> responses = new ArrayList<>(page.size());
+        for (CarListing listing : page) {
+            responses.add(mapper.toCarListingResponse(listing));
+        }
+        return responses;
+    }
+}
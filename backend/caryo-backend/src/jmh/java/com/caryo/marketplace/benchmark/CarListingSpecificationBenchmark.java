@@ -0,0 +1,112 @@
+package com.caryo.marketplace.benchmark;
+
+import com.caryo.marketplace.model.CarListing;
+import com.caryo.marketplace.payload.request.ListingFilterRequest;
+import com.caryo.marketplace.repository.specification.CarListingSpecification;
+import com.caryo.marketplace.repository.specification.ListingFilterIds;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the criteria predicate of a listing search from its filter:
+ * {@link CarListingSpecification#fromFilter} plus {@code toPredicate} on a
+ * fresh query, which Spring Data repeats for the page query and again for
+ * the count query of every search.
+ *
+ * <ul>
+ *   <li>{@code slugs}: brand, model and fuel-type slugs joined to the
+ *       reference tables, a price and year range</li>
+ *   <li>{@code resolvedIds}: the same filter with the slugs resolved to
+ *       IDs up front</li>
+ *   <li>{@code textSearch}: the same filter plus a free-text query</li>
+ * </ul>
+ *
+ * <p>The criteria API needs the mapping model, so the setup bootstraps
+ * Hibernate over the entities without a database connection
+ * ({@code hibernate.boot.allow_jdbc_metadata_access=false}); no SQL is
+ * rendered or run.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CarListingSpecificationBenchmark {
+
+    @Param({"slugs", "resolvedIds", "textSearch"})
+    private String filterKind;
+
+    private EntityManagerFactory entityManagerFactory;
+    private CriteriaBuilder criteriaBuilder;
+    private ListingFilterRequest filter;
+    private ListingFilterIds resolvedIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setPackagesToScan("com.caryo.marketplace");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.dialect", PostgreSQLDialect.class.getName(),
+                "hibernate.boot.allow_jdbc_metadata_access", "false",
+                "hibernate.hbm2ddl.auto", "none"));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        criteriaBuilder = entityManagerFactory.getCriteriaBuilder();
+
+        filter = new ListingFilterRequest();
+        filter.setBrandSlugs(List.of("toyota", "hyundai"));
+        filter.setModelSlugs(List.of("camry", "elantra"));
+        filter.setFuelTypeSlugs(List.of("petrol", "hybrid"));
+        filter.setMinPrice(new BigDecimal("5000"));
+        filter.setMaxPrice(new BigDecimal("25000"));
+        filter.setMinYear(2012);
+        filter.setMaxMileage(150_000);
+        if ("textSearch".equals(filterKind)) {
+            filter.setSearchQuery("full options");
+        }
+        resolvedIds = "resolvedIds".equals(filterKind)
+                ? new ListingFilterIds(Set.of(1L, 2L), Set.of(1L, 2L), Set.of(1L, 3L), null)
+                : null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public Predicate buildPredicate() {
+        Specification<CarListing> specification = CarListingSpecification.fromFilter(filter, null, resolvedIds);
+        CriteriaQuery<CarListing> query = criteriaBuilder.createQuery(CarListing.class);
+        Root<CarListing> root = query.from(CarListing.class);
+        return specification.toPredicate(root, query, criteriaBuilder);
+    }
+}
@@ -0,0 +1,138 @@
+package com.caryo.marketplace.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering one email template for a batch of recipients, over the real
+ * templates in templates/emails:
+ *
+ * <ul>
+ *   <li>{@code perRecipientUncached}: a full render per recipient with the
+ *       template re-parsed every time (the behaviour before the resolvers
+ *       honoured {@code spring.thymeleaf.cache})</li>
+ *   <li>{@code perRecipientCached}: a full render per recipient on a cached
+ *       parse</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateRenderingBenchmark {
+
+    /** Per-recipient variables each template prints */
+    private static final Map<String, List<String>> RECIPIENT_VARIABLES = Map.of(
+            "newsletter-welcome", List.of("unsubscribeUrl"),
+            "user-management/welcome", List.of("userName"),
+            "notifications/listing-approved", List.of("userName", "listingTitle", "listingId", "listingUrl"),
+            "listing-sold", List.of("userName", "listingTitle", "listingId", "listingUrl"));
+
+    @Param({"newsletter-welcome", "user-management/welcome", "notifications/listing-approved", "listing-sold"})
+    private String template;
+
+    @Param({"en", "ar"})
+    private String language;
+
+    @Param({"50", "1000"})
+    private int recipients;
+
+    private SpringTemplateEngine cachedEngine;
+    private SpringTemplateEngine uncachedEngine;
+    private Context sharedContext;
+    private List<Map<String, String>> recipientVariables;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cachedEngine = engine(true);
+        uncachedEngine = engine(false);
+
+        sharedContext = new Context(Locale.forLanguageTag(language));
+        sharedContext.setVariable("language", language);
+        sharedContext.setVariable("websiteName", "Caryo");
+        sharedContext.setVariable("websiteUrl", "https://caryo.sy");
+        sharedContext.setVariable("supportEmail", "support@caryo.sy");
+        sharedContext.setVariable("currentYear", 2025);
+
+        List<String> keys = RECIPIENT_VARIABLES.get(template);
+        recipientVariables = new ArrayList<>(recipients);
+        for (int i = 0; i < recipients; i++) {
+            Map<String, String> variables = new HashMap<>();
+            for (String key : keys) {
+                variables.put(key, sampleValue(key, i));
+            }
+            recipientVariables.add(variables);
+        }
+    }
+
+    @Benchmark
+    public List<String> perRecipientUncached() {
+        return renderEach(uncachedEngine);
+    }
+
+    @Benchmark
+    public List<String> perRecipientCached() {
+        return renderEach(cachedEngine);
+    }
+
+    private List<String> renderEach(SpringTemplateEngine engine) {
+        List<String> bodies = new ArrayList<>(recipientVariables.size());
+        for (Map<String, String> variables : recipientVariables) {
+            Context context = new Context(sharedContext.getLocale());
+            for (String name : sharedContext.getVariableNames()) {
+                context.setVariable(name, sharedContext.getVariable(name));
+            }
+            variables.forEach(context::setVariable);
+            bodies.add(engine.process(template, context));
+        }
+        return bodies;
+    }
+
+    private static SpringTemplateEngine engine(boolean cacheable) {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/emails/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setCacheable(cacheable);
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        return engine;
+    }
+
+    private String sampleValue(String key, int i) {
+        boolean arabic = "ar".equals(language);
+        return switch (key) {
+            case "userName" -> (arabic ? "سامي " : "Sami ") + i;
+            case "listingTitle" -> arabic ? "تويوتا كامري 2018" : "Toyota Camry 2018";
+            case "listingId" -> String.valueOf(10_000 + i);
+            case "listingUrl" -> "https://caryo.sy/listings/" + (10_000 + i);
+            case "unsubscribeUrl" -> "https://caryo.sy/newsletter/unsubscribe?token=t" + i;
+            default -> key + i;
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.caryo.marketplace.benchmark;
+
+import com.caryo.marketplace.model.User;
+import com.caryo.marketplace.security.jwt.JwtUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtUtils} on an access token signed with a 512-bit HMAC key:
+ *
+ * <ul>
+ *   <li>{@code validate}: one signature check and parse</li>
+ *   <li>{@code authTokenFilterPath}: the calls AuthTokenFilter makes for
+ *       every authenticated request (validate, refresh-type check, subject,
+ *       token version), each of which parses the token again</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+
+        jwtUtils = new JwtUtils();
+        set("jwtSecret", Base64.getEncoder().encodeToString(secret));
+        set("jwtExpirationMs", 1_800_000);
+        set("jwtRefreshExpirationMs", 2_592_000_000L);
+
+        User user = new User();
+        user.setUsername("benchmark-user");
+        user.setTokenVersion(3);
+        token = jwtUtils.generateJwtTokenForUser(user);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public void authTokenFilterPath(Blackhole blackhole) {
+        blackhole.consume(jwtUtils.validateJwtToken(token));
+        blackhole.consume(jwtUtils.isRefreshToken(token));
+        blackhole.consume(jwtUtils.getUserNameFromJwtToken(token));
+        blackhole.consume(jwtUtils.getTokenVersionFromJwtToken(token));
+    }
+
+    private void set(String name, Object value) throws ReflectiveOperationException {
+        Field field = JwtUtils.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(jwtUtils, value);
+    }
+}
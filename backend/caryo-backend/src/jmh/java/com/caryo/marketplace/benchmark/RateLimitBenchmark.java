@@ -0,0 +1,71 @@
+package com.caryo.marketplace.benchmark;
+
+import com.caryo.marketplace.security.ratelimit.RateLimitService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RateLimitService#isAllowed} from 8 threads at once:
+ *
+ * <ul>
+ *   <li>{@code sharedKey}: every thread on one key, contending for one
+ *       bucket (a single hot client or endpoint)</li>
+ *   <li>{@code spreadKeys}: each call on a random one of the live keys</li>
+ * </ul>
+ *
+ * <p>{@code liveKeys} buckets exist before measuring. The limit is never
+ * reached, so every call takes the allowed path.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RateLimitBenchmark {
+
+    private static final int MAX_REQUESTS = Integer.MAX_VALUE;
+    private static final int WINDOW_SECONDS = 60;
+
+    @Param({"100", "10000"})
+    private int liveKeys;
+
+    private RateLimitService rateLimitService;
+    private String[] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rateLimitService = new RateLimitService();
+        keys = new String[liveKeys];
+        for (int i = 0; i < liveKeys; i++) {
+            keys[i] = "10.0." + (i >> 8) + "." + (i & 0xff) + ":/api/v1/listings";
+            rateLimitService.isAllowed(keys[i], MAX_REQUESTS, WINDOW_SECONDS);
+        }
+    }
+
+    @Benchmark
+    public boolean sharedKey() {
+        return rateLimitService.isAllowed(keys[0], MAX_REQUESTS, WINDOW_SECONDS);
+    }
+
+    @Benchmark
+    public boolean spreadKeys() {
+        String key = keys[ThreadLocalRandom.current().nextInt(keys.length)];
+        return rateLimitService.isAllowed(key, MAX_REQUESTS, WINDOW_SECONDS);
+    }
+}
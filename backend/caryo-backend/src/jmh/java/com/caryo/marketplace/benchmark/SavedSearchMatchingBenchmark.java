@@ -0,0 +1,105 @@
+package com.caryo.marketplace.benchmark;
+
+import com.caryo.marketplace.model.CarListing;
+import com.caryo.marketplace.model.SavedSearch;
+import com.caryo.marketplace.service.SavedSearchMatchingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One new listing checked against every active saved search, as
+ * SavedSearchService does when a listing is published. The filters have the
+ * shapes the JSON column deserializes to: lists of slugs and names, and
+ * Integer or Double bounds. They are compiled in setup by a first matching
+ * pass, as the first listing after the searches are saved does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SavedSearchMatchingBenchmark {
+
+    @Param({"1000", "20000"})
+    private int savedSearches;
+
+    private SavedSearchMatchingService matchingService;
+    private List<SavedSearch> searches;
+    private CarListing listing;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        matchingService = new SavedSearchMatchingService();
+        listing = BenchmarkData.listings(1, 1).get(0);
+
+        Random random = new Random(7);
+        searches = new ArrayList<>(savedSearches);
+        for (int i = 0; i < savedSearches; i++) {
+            Map<String, Object> filters = new HashMap<>();
+            filters.put("brandSlugs", List.of(pick(BenchmarkData.BRANDS, random), pick(BenchmarkData.BRANDS, random)));
+            if (random.nextBoolean()) {
+                filters.put("modelSlugs", List.of(pick(BenchmarkData.MODELS, random)));
+            }
+            filters.put("minPrice", 1_000 + random.nextInt(20_000));
+            filters.put("maxPrice", 30_000.0 + random.nextInt(60_000));
+            filters.put("minYear", 2000 + random.nextInt(15));
+            if (random.nextBoolean()) {
+                filters.put("maxMileage", 50_000 + random.nextInt(250_000));
+            }
+            if (random.nextInt(3) == 0) {
+                filters.put("governorateIds", List.of(pick(BenchmarkData.GOVERNORATES, random)));
+            }
+            if (random.nextInt(3) == 0) {
+                filters.put("bodyType", List.of(pick(BenchmarkData.BODY_STYLES, random)));
+            }
+            if (random.nextInt(4) == 0) {
+                filters.put("fuelTypeSlugs", List.of(pick(BenchmarkData.FUEL_TYPES, random)));
+            }
+            if (random.nextInt(4) == 0) {
+                filters.put("transmissionSlug", pick(BenchmarkData.TRANSMISSIONS, random));
+            }
+
+            SavedSearch search = new SavedSearch();
+            search.setId(new UUID(0, i));
+            search.setFilters(filters);
+            search.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+            searches.add(search);
+        }
+        matchAll();
+    }
+
+    @Benchmark
+    public int matchAll() {
+        int matched = 0;
+        for (SavedSearch search : searches) {
+            if (matchingService.matches(search, listing)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    private static String pick(List<String> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
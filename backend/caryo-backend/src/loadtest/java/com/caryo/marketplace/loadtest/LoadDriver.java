@@ -0,0 +1,185 @@
+package com.caryo.marketplace.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load: each virtual user signs in once, then sends requests
+ * back to back until the run ends. Each request is picked from a fixed mix
+ * that follows the production access log:
+ *
+ * <pre>
+ *   search       50%  /api/v1/listings/filter by brand, model, year and price
+ *   detail       25%  /api/v1/listings/{id}, popular listings far more often
+ *   browse       10%  /api/v1/listings, mostly the first pages
+ *   suggestions   5%  /api/v1/listings/suggestions for a typed brand prefix
+ *   message      10%  POST /api/v1/conversations/{id}/messages
+ * </pre>
+ *
+ * Virtual user {@code i} draws from a random generator seeded with
+ * {@code seed + i}, so a run replays the same request sequence for every user.
+ */
+final class LoadDriver {
+
+    private static final String[] MESSAGES = {
+            "Is the price negotiable?", "هل السيارة ما زالت متوفرة؟", "Can I see it this evening?",
+            "ما هو آخر سعر؟", "Thanks, I will call you tomorrow."
+    };
+
+    private final String baseUrl;
+    private final Dataset dataset;
+    private final int concurrency;
+    private final long seed;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ZipfSampler listingSampler;
+    private final ZipfSampler brandSampler;
+
+    LoadDriver(String baseUrl, Dataset dataset, int concurrency, long seed) {
+        if (dataset.users().isEmpty() || dataset.listingIds().length == 0) {
+            throw new IllegalArgumentException("The dataset has no users with conversations or no approved listings");
+        }
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.concurrency = concurrency;
+        this.seed = seed;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.listingSampler = new ZipfSampler(dataset.listingIds().length, 1.0);
+        this.brandSampler = new ZipfSampler(dataset.brandSlugs().size(), 1.1);
+    }
+
+    /** Runs for {@code duration} after a warm-up and returns the recorded latencies of the measured part */
+    LatencyRecorder run(Duration warmup, Duration duration) throws Exception {
+        List<Future<LatencyRecorder>> users = new ArrayList<>(concurrency);
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                int user = i;
+                users.add(executor.submit(() -> virtualUser(user, measureFrom, end)));
+            }
+        }
+        LatencyRecorder total = new LatencyRecorder();
+        for (Future<LatencyRecorder> user : users) {
+            total.merge(user.get());
+        }
+        return total;
+    }
+
+    private LatencyRecorder virtualUser(int index, long measureFrom, long end) throws IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(seed + index);
+        Dataset.VirtualUser user = dataset.users().get(index % dataset.users().size());
+        String token = signIn(user.username());
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            int roll = random.nextInt(100);
+            String endpoint;
+            HttpRequest request;
+            if (roll < 50) {
+                endpoint = "search";
+                request = get(searchPath(random));
+            } else if (roll < 75) {
+                endpoint = "detail";
+                request = get("/api/v1/listings/" + dataset.listingIds()[listingSampler.next(random)]);
+            } else if (roll < 85) {
+                endpoint = "browse";
+                request = get("/api/v1/listings?page=" + Math.min(9, (int) Math.abs(random.nextGaussian() * 2))
+                        + "&size=20");
+            } else if (roll < 90) {
+                endpoint = "suggestions";
+                String prefix = dataset.suggestionPrefixes().get(random.nextInt(dataset.suggestionPrefixes().size()));
+                request = get("/api/v1/listings/suggestions?q=" + encode(prefix) + "&limit=8");
+            } else {
+                endpoint = "message";
+                long[] conversations = user.conversationIds();
+                long conversationId = conversations[random.nextInt(conversations.length)];
+                String body = objectMapper.writeValueAsString(Map.of(
+                        "content", MESSAGES[random.nextInt(MESSAGES.length)], "messageType", "text"));
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/conversations/" + conversationId + "/messages"))
+                        .timeout(Duration.ofSeconds(30))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+            }
+
+            boolean ok;
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                ok = status >= 200 && status < 300;
+            } catch (IOException e) {
+                ok = false;
+            }
+            long elapsed = System.nanoTime() - now;
+            if (now >= measureFrom) {
+                recorder.record(endpoint, elapsed, ok);
+            }
+        }
+        return recorder;
+    }
+
+    private String searchPath(SplittableRandom random) {
+        String brand = dataset.brandSlugs().get(brandSampler.next(random));
+        StringBuilder path = new StringBuilder("/api/v1/listings/filter?brandSlugs=").append(encode(brand));
+        List<String> models = dataset.modelSlugsByBrand().get(brand);
+        if (models != null && !models.isEmpty() && random.nextInt(10) < 4) {
+            path.append("&modelSlugs=").append(encode(models.get(Math.min(models.size() - 1,
+                    (int) Math.abs(random.nextGaussian() * 2)))));
+        }
+        if (random.nextBoolean()) {
+            path.append("&minYear=").append(2005 + random.nextInt(15));
+        }
+        if (random.nextInt(3) == 0) {
+            path.append("&maxPrice=").append(5_000 + random.nextInt(40) * 1_000);
+        }
+        path.append("&page=").append(random.nextInt(10) < 8 ? 0 : 1).append("&size=20");
+        return path.toString();
+    }
+
+    private String signIn(String username) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("username", username, "password", dataset.password()));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/signin"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Sign-in of " + username + " failed with HTTP " + response.statusCode()
+                    + "; is rate limiting off?");
+        }
+        return objectMapper.readTree(response.body()).path("token").asText();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
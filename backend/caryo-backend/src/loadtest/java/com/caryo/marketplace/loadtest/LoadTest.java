@@ -0,0 +1,83 @@
+package com.caryo.marketplace.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point of {@code ./gradlew loadTest}. Starts the stack (or uses the
+ * one given by {@code loadtest.baseUrl} and {@code loadtest.jdbcUrl}),
+ * generates the dataset, drives the request mix and writes the latency
+ * report. All settings are system properties, see the loadTest task in
+ * build.gradle.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int listings = Integer.getInteger("loadtest.listings", 20_000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        long seed = Long.getLong("loadtest.seed", 42L);
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT15S"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+        Path reportDir = Path.of(System.getProperty("loadtest.reportDir", "build/reports/loadtest"));
+        String baseUrl = System.getProperty("loadtest.baseUrl");
+
+        LoadTestStack stack = null;
+        try {
+            String jdbcUrl;
+            String jdbcUsername;
+            String jdbcPassword;
+            if (baseUrl == null) {
+                stack = new LoadTestStack();
+                System.out.println("Starting PostgreSQL, Redis, MinIO and the application...");
+                stack.start(Path.of(System.getProperty("loadtest.applicationJar")),
+                        Integer.getInteger("loadtest.port", 18090), reportDir.resolve("application.log"));
+                baseUrl = stack.baseUrl();
+                jdbcUrl = stack.jdbcUrl();
+                jdbcUsername = stack.jdbcUsername();
+                jdbcPassword = stack.jdbcPassword();
+            } else {
+                jdbcUrl = System.getProperty("loadtest.jdbcUrl");
+                jdbcUsername = System.getProperty("loadtest.jdbcUsername");
+                jdbcPassword = System.getProperty("loadtest.jdbcPassword");
+                if (jdbcUrl == null) {
+                    throw new IllegalArgumentException("loadtest.baseUrl needs loadtest.jdbcUrl to load the data");
+                }
+            }
+
+            long started = System.nanoTime();
+            Dataset dataset;
+            try (Connection connection = DriverManager.getConnection(jdbcUrl, jdbcUsername, jdbcPassword)) {
+                dataset = new SyntheticDataGenerator(connection, listings, seed).generate();
+            }
+            System.out.printf("Generated %d listings (seed %d) in %d s%n", listings, seed,
+                    Duration.ofNanos(System.nanoTime() - started).toSeconds());
+
+            System.out.printf("Driving %d virtual users against %s: %s warm-up, %s measured%n",
+                    concurrency, baseUrl, warmup, duration);
+            LatencyRecorder results = new LoadDriver(baseUrl, dataset, concurrency, seed).run(warmup, duration);
+
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format("Load test: %d listings, seed %d, %d virtual users, %s measured after %s warm-up",
+                    listings, seed, concurrency, duration, warmup));
+            lines.addAll(results.report(duration));
+            Files.createDirectories(reportDir);
+            Path report = reportDir.resolve("results.txt");
+            Files.write(report, lines, StandardCharsets.UTF_8);
+            lines.forEach(System.out::println);
+            System.out.println("Report: " + report.toAbsolutePath());
+        } finally {
+            if (stack != null) {
+                stack.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.caryo.marketplace.loadtest;
+
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The production shape of the stack, started locally: PostgreSQL, Redis and
+ * MinIO in containers, and the application boot jar in its own JVM so that
+ * the load driver does not share a heap or CPU accounting with it. Startup
+ * runs Flyway and the reference-data seeders exactly as in production.
+ *
+ * <p>Rate limiting is turned off: every virtual user comes from the same
+ * address and would otherwise be throttled within seconds.</p>
+ */
+final class LoadTestStack implements AutoCloseable {
+
+    private static final String BUCKET = "caryo-loadtest";
+    private static final String JWT_SECRET =
+            "loadTestOnlySecretKeyForJWTTokenGenerationThatIsLongEnoughForHS256AndAtLeast256BitsLong";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("caryo_load")
+            .withUsername("load")
+            .withPassword("load")
+            .withCommand("postgres", "-c", "max_connections=200", "-c", "shared_buffers=256MB");
+    private final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+    private final MinIOContainer minio = new MinIOContainer("minio/minio:RELEASE.2023-09-04T19-57-37Z");
+    private Process application;
+    private String baseUrl;
+
+    void start(Path applicationJar, int port, Path logFile) throws IOException, InterruptedException {
+        postgres.start();
+        redis.start();
+        minio.start();
+        try (S3Client s3 = S3Client.builder()
+                .endpointOverride(URI.create(minio.getS3URL()))
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(minio.getUserName(), minio.getPassword())))
+                .forcePathStyle(true)
+                .build()) {
+            s3.createBucket(CreateBucketRequest.builder().bucket(BUCKET).build());
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Dserver.port=" + port);
+        command.add("-Dmanagement.endpoint.health.probes.enabled=true");
+        command.add("-Dspring.datasource.url=" + postgres.getJdbcUrl());
+        command.add("-Dspring.datasource.username=" + postgres.getUsername());
+        command.add("-Dspring.datasource.password=" + postgres.getPassword());
+        command.add("-Dspring.cache.type=redis");
+        command.add("-Dspring.data.redis.host=" + redis.getHost());
+        command.add("-Dspring.data.redis.port=" + redis.getMappedPort(6379));
+        command.add("-Dmanagement.health.mail.enabled=false");
+        command.add("-Dapp.jwtSecret=" + JWT_SECRET);
+        command.add("-Dapp.ratelimit.enabled=false");
+        command.add("-Dstorage.s3.enabled=true");
+        command.add("-Dstorage.s3.endpointUrl=" + minio.getS3URL());
+        command.add("-Dstorage.s3.accessKeyId=" + minio.getUserName());
+        command.add("-Dstorage.s3.secretAccessKey=" + minio.getPassword());
+        command.add("-Dstorage.s3.bucketName=" + BUCKET);
+        command.add("-Dstorage.s3.region=us-east-1");
+        command.add("-Dstorage.s3.pathStyleAccessEnabled=true");
+        command.add("-Dcarquery.api.enabled=false");
+        command.add("-Dsyriacars.enabled=false");
+        command.add("-jar");
+        command.add(applicationJar.toString());
+
+        File log = logFile.toFile();
+        log.getParentFile().mkdirs();
+        application = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+        baseUrl = "http://localhost:" + port;
+        awaitReady(log);
+    }
+
+    private void awaitReady(File log) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(500)).build();
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (true) {
+            if (!application.isAlive()) {
+                throw new IllegalStateException("The application exited during startup, see " + log);
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("The application was not ready after " + STARTUP_TIMEOUT + ", see " + log);
+            }
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ignored) {
+                // not listening yet
+            }
+            Thread.sleep(250);
+        }
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    String jdbcUrl() {
+        return postgres.getJdbcUrl();
+    }
+
+    String jdbcUsername() {
+        return postgres.getUsername();
+    }
+
+    String jdbcPassword() {
+        return postgres.getPassword();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (application != null) {
+            application.destroy();
+            if (!application.waitFor(30, TimeUnit.SECONDS)) {
+                application.destroyForcibly().waitFor();
+            }
+        }
+        minio.stop();
+        redis.stop();
+        postgres.stop();
+    }
+}
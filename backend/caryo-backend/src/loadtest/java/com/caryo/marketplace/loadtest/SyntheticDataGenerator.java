@@ -0,0 +1,438 @@
+package com.caryo.marketplace.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Fills a migrated and seeded Caryo database with synthetic marketplace data,
+ * written with COPY: users (a share of them dealers), listings with media,
+ * conversations with their messages, and saved searches.
+ *
+ * <p>The data is skewed the way the real site is. Brands follow a Zipf
+ * distribution led by the brands common in Syria, dealers own most listings,
+ * a few listings attract most conversations, and text is Arabic or English.
+ * The same seed and size always produce the same rows, so two runs of the
+ * load test see the same database.</p>
+ *
+ * <p>It reads the reference data (models, governorates, body styles, ...)
+ * that the application seeds on startup and appends after the highest
+ * existing IDs, then moves the sequences past the new rows.</p>
+ */
+final class SyntheticDataGenerator {
+
+    static final String PASSWORD = "LoadTest-2026!";
+
+    /** Most listed brands first; brands not named here follow in database order */
+    private static final List<String> POPULAR_BRANDS = List.of(
+            "toyota", "hyundai", "kia", "nissan", "mercedes-benz", "chevrolet", "mitsubishi",
+            "honda", "bmw", "volkswagen", "peugeot", "renault", "mazda", "ford", "suzuki");
+
+    private static final String[] DESCRIPTIONS_EN = {
+            "Single owner, full service history at the agency. No accidents, original paint.",
+            "Very clean car, new tyres and battery. Ready to drive, papers complete.",
+            "Imported, customs paid. Leather seats, sunroof and rear camera.",
+            "Economical on fuel, ideal for the city. Price slightly negotiable.",
+            "Family car kept in a garage. Air conditioning works perfectly."
+    };
+
+    private static final String[] DESCRIPTIONS_AR = {
+            "مالك واحد، صيانة كاملة في الوكالة. بدون حوادث، دهان أصلي.",
+            "سيارة نظيفة جدا، إطارات وبطارية جديدة. جاهزة للقيادة والأوراق كاملة.",
+            "مستوردة ومجمركة. مقاعد جلد وفتحة سقف وكاميرا خلفية.",
+            "اقتصادية في استهلاك الوقود ومثالية للمدينة. السعر قابل للتفاوض قليلا.",
+            "سيارة عائلية محفوظة في كراج. المكيف يعمل بشكل ممتاز."
+    };
+
+    private static final String[] MESSAGES_EN = {
+            "Hello, is the car still available?",
+            "What is your best price?",
+            "Can I see it tomorrow afternoon?",
+            "Has it been in any accident?",
+            "Yes, it is available. You can come after 5pm.",
+            "The price is a little negotiable for a serious buyer."
+    };
+
+    private static final String[] MESSAGES_AR = {
+            "مرحبا، هل السيارة ما زالت متوفرة؟",
+            "ما هو آخر سعر؟",
+            "هل يمكنني رؤيتها غدا بعد الظهر؟",
+            "هل تعرضت لأي حادث؟",
+            "نعم متوفرة، يمكنك المجيء بعد الساعة الخامسة.",
+            "السعر قابل للتفاوض قليلا للمشتري الجاد."
+    };
+
+    private static final String[] COLORS = {"White", "Black", "Silver", "Grey", "Blue", "Red", "Beige"};
+
+    private final Connection connection;
+    private final int listingCount;
+    private final SplittableRandom random;
+    private final LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    SyntheticDataGenerator(Connection connection, int listingCount, long seed) {
+        this.connection = connection;
+        this.listingCount = listingCount;
+        this.random = new SplittableRandom(seed);
+    }
+
+    Dataset generate() throws SQLException {
+        Reference reference = Reference.load(connection);
+        int userCount = Math.max(50, listingCount / 4);
+        int dealerCount = Math.max(5, userCount / 20);
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            long firstUserId = maxId("users") + 1;
+            long[] userIds = new long[userCount];
+            boolean[] isDealer = new boolean[userCount];
+            long dealerId = maxId("dealers");
+            try (CsvCopyWriter users = new CsvCopyWriter(connection, "users",
+                    "id", "username", "email", "password", "created_at", "updated_at", "email_verified",
+                    "email_verified_at", "verification_method", "token_version", "account_status",
+                    "preferred_language", "seller_type_id");
+                 CsvCopyWriter roles = new CsvCopyWriter(connection, "user_roles", "user_id", "role_id")) {
+                for (int i = 0; i < userCount; i++) {
+                    long id = firstUserId + i;
+                    userIds[i] = id;
+                    isDealer[i] = i < dealerCount;
+                    String created = ts(now.minusDays(30 + random.nextInt(700)));
+                    users.row(id, "lt" + id, "lt" + id + "@loadtest.caryo.sy", passwordHash, created, created,
+                            true, created, "MANUAL", 0, "VERIFIED", random.nextInt(10) < 6 ? "ar" : "en",
+                            isDealer[i] ? reference.dealerSellerTypeId : reference.privateSellerTypeId);
+                    roles.row(id, reference.userRoleId);
+                }
+            }
+            try (CsvCopyWriter dealers = new CsvCopyWriter(connection, "dealers",
+                    "id", "user_id", "business_name", "business_email", "business_phone", "trading_address",
+                    "description", "description_ar", "created_at", "updated_at", "trial_listings_count",
+                    "trial_expired", "can_create_listings", "payment_warning", "subscription_tier",
+                    "subscription_status")) {
+                for (int i = 0; i < dealerCount; i++) {
+                    long userId = userIds[i];
+                    String created = ts(now.minusDays(400 + random.nextInt(300)));
+                    dealers.row(++dealerId, userId, "Load Test Motors " + userId, "dealer" + userId + "@loadtest.caryo.sy",
+                            "+9631" + (1_000_000 + userId % 9_000_000), "Mezzeh Highway, Damascus",
+                            DESCRIPTIONS_EN[i % DESCRIPTIONS_EN.length], DESCRIPTIONS_AR[i % DESCRIPTIONS_AR.length],
+                            created, created, 0, false, true, false, "basic", "active");
+                }
+            }
+
+            List<long[]> liveListings = new ArrayList<>();
+            long firstListingId = maxId("car_listings") + 1;
+            long[] listingSellers = new long[listingCount];
+            ZipfSampler brandSampler = new ZipfSampler(reference.brands.size(), 1.1);
+            ZipfSampler dealerSampler = new ZipfSampler(dealerCount, 0.8);
+            long mediaId = maxId("listing_media");
+            try (CsvCopyWriter listings = new CsvCopyWriter(connection, "car_listings",
+                    "id", "title", "description", "price", "currency", "mileage", "model_year", "model_id",
+                    "seller_id", "location_id", "governorate_id", "governorate_name_en", "governorate_name_ar",
+                    "brand_name_en", "brand_name_ar", "model_name_en", "model_name_ar", "condition_id",
+                    "body_style_id", "transmission_id", "fuel_type_id", "exterior_color", "doors", "approved",
+                    "sold", "archived", "expired", "is_user_active", "searchable", "recently_renewed",
+                    "contact_preference", "expiration_date", "created_at", "updated_at");
+                 CsvCopyWriter media = new CsvCopyWriter(connection, "listing_media",
+                         "id", "listing_id", "file_key", "file_name", "content_type", "size", "sort_order",
+                         "is_primary", "media_type", "moderation_status", "created_at")) {
+                for (int i = 0; i < listingCount; i++) {
+                    long id = firstListingId + i;
+                    Brand brand = reference.brands.get(brandSampler.next(random));
+                    Model model = brand.models.get(brand.modelSampler.next(random));
+                    Governorate governorate = reference.governorates.get(
+                            Math.min(reference.governorates.size() - 1, (int) Math.abs(random.nextGaussian() * 3)));
+                    int sellerIndex = random.nextInt(10) < 7 ? dealerSampler.next(random)
+                            : dealerCount + random.nextInt(userCount - dealerCount);
+                    long sellerId = userIds[sellerIndex];
+                    listingSellers[i] = sellerId;
+
+                    int year = Math.max(1995, Math.min(2026, 2014 + (int) Math.round(random.nextGaussian() * 6)));
+                    int mileage = Math.max(0, (int) ((2026 - year) * 14_000 * (0.6 + random.nextDouble() * 0.8)));
+                    long price = Math.round(Math.max(1_500, 45_000 * Math.pow(0.88, 2026 - year)
+                            * (0.7 + random.nextDouble() * 0.6)) / 100.0) * 100;
+                    boolean arabic = random.nextInt(10) < 4;
+                    String title = arabic
+                            ? brand.nameAr + " " + model.nameAr + " " + year
+                            : brand.nameEn + " " + model.nameEn + " " + year;
+                    int state = random.nextInt(100);
+                    boolean approved = state >= 5;
+                    boolean sold = state >= 5 && state < 10;
+                    boolean archived = state >= 10 && state < 15;
+                    LocalDateTime created = now.minusMinutes(random.nextInt(180 * 24 * 60));
+
+                    listings.row(id, truncate(title, 100),
+                            arabic ? pick(DESCRIPTIONS_AR) : pick(DESCRIPTIONS_EN), price, "USD", mileage, year,
+                            model.id, sellerId, governorate.locationId, governorate.id, governorate.nameEn,
+                            governorate.nameAr, brand.nameEn, brand.nameAr, model.nameEn, model.nameAr,
+                            pickId(reference.conditionIds), pickId(reference.bodyStyleIds),
+                            pickId(reference.transmissionIds), pickId(reference.fuelTypeIds), pick(COLORS),
+                            random.nextInt(10) < 8 ? 4 : 2, approved, sold, archived, false, true, true, false,
+                            "email", ts(created.plusDays(90)), ts(created), ts(created));
+                    if (approved && !sold && !archived) {
+                        liveListings.add(new long[]{id, sellerId});
+                    }
+
+                    int mediaCount = 1 + Math.min(11, (int) Math.abs(random.nextGaussian() * 5));
+                    for (int m = 0; m < mediaCount; m++) {
+                        media.row(++mediaId, id, "listings/" + id + "/" + m + ".jpg", m + ".jpg", "image/jpeg",
+                                80_000 + random.nextInt(400_000), m, m == 0, "image", "APPROVED", ts(created));
+                    }
+                }
+            }
+
+            // Conversations go to the most viewed listings, like the views themselves
+            long[] listingIds = new long[liveListings.size()];
+            long[] listingSellerIds = new long[liveListings.size()];
+            for (int i = 0; i < listingIds.length; i++) {
+                int j = random.nextInt(i + 1);
+                listingIds[i] = listingIds[j];
+                listingSellerIds[i] = listingSellerIds[j];
+                listingIds[j] = liveListings.get(i)[0];
+                listingSellerIds[j] = liveListings.get(i)[1];
+            }
+            Map<Long, List<Long>> conversationsByUser = generateConversations(userIds, dealerCount,
+                    listingIds, listingSellerIds);
+            generateSavedSearches(userIds, reference);
+
+            fixSequences();
+            connection.commit();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+
+            List<Dataset.VirtualUser> virtualUsers = new ArrayList<>();
+            conversationsByUser.forEach((userId, conversations) -> virtualUsers.add(new Dataset.VirtualUser(
+                    "lt" + userId, conversations.stream().mapToLong(Long::longValue).toArray())));
+            Map<String, List<String>> modelSlugsByBrand = new LinkedHashMap<>();
+            List<String> prefixes = new ArrayList<>();
+            for (Brand brand : reference.brands) {
+                modelSlugsByBrand.put(brand.slug, brand.models.stream().map(model -> model.slug).toList());
+                prefixes.add(prefix(brand.nameEn));
+                prefixes.add(prefix(brand.nameAr));
+            }
+            return new Dataset(PASSWORD, virtualUsers, listingIds,
+                    reference.brands.stream().map(brand -> brand.slug).toList(), modelSlugsByBrand, prefixes);
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private Map<Long, List<Long>> generateConversations(long[] userIds, int dealerCount, long[] listingIds,
+                                                        long[] listingSellerIds) throws SQLException {
+        Map<Long, List<Long>> conversationsByUser = new LinkedHashMap<>();
+        if (listingIds.length == 0) {
+            return conversationsByUser;
+        }
+        int conversationCount = listingCount / 2;
+        ZipfSampler listingSampler = new ZipfSampler(listingIds.length, 0.9);
+        ZipfSampler buyerSampler = new ZipfSampler(userIds.length - dealerCount, 0.6);
+        Set<String> seen = new HashSet<>();
+
+        long conversationId = maxId("conversations");
+        long participantId = maxId("conversation_participants");
+        long messageId = maxId("messages");
+        try (CsvCopyWriter conversations = new CsvCopyWriter(connection, "conversations",
+                "id", "listing_id", "buyer_id", "seller_id", "status", "last_message_at", "created_at",
+                "updated_at", "version");
+             CsvCopyWriter participants = new CsvCopyWriter(connection, "conversation_participants",
+                     "id", "conversation_id", "user_id", "role", "joined_at", "version", "is_muted");
+             CsvCopyWriter messages = new CsvCopyWriter(connection, "messages",
+                     "id", "conversation_id", "sender_id", "content", "message_type", "is_read", "read_at",
+                     "created_at", "version", "is_edited")) {
+            for (int i = 0; i < conversationCount; i++) {
+                int listingIndex = listingSampler.next(random);
+                long listingId = listingIds[listingIndex];
+                long sellerId = listingSellerIds[listingIndex];
+                long buyerId = userIds[dealerCount + buyerSampler.next(random)];
+                if (buyerId == sellerId || !seen.add(listingId + ":" + buyerId)) {
+                    continue;
+                }
+                long id = ++conversationId;
+                LocalDateTime started = now.minusMinutes(random.nextInt(60 * 24 * 60));
+                boolean arabic = random.nextInt(10) < 6;
+                int messageCount = 1 + random.nextInt(8);
+                LocalDateTime sentAt = started;
+                for (int m = 0; m < messageCount; m++) {
+                    sentAt = sentAt.plusMinutes(1 + random.nextInt(600));
+                    boolean read = m < messageCount - 1 || random.nextBoolean();
+                    messages.row(++messageId, id, m % 2 == 0 ? buyerId : sellerId,
+                            arabic ? pick(MESSAGES_AR) : pick(MESSAGES_EN), "TEXT", read,
+                            read ? ts(sentAt.plusMinutes(5)) : null, ts(sentAt), 0, false);
+                }
+                conversations.row(id, listingId, buyerId, sellerId, "ACTIVE", ts(sentAt), ts(started), ts(sentAt), 0);
+                participants.row(++participantId, id, buyerId, "BUYER", ts(started), 0, false);
+                participants.row(++participantId, id, sellerId, "SELLER", ts(started), 0, false);
+                conversationsByUser.computeIfAbsent(buyerId, k -> new ArrayList<>()).add(id);
+                conversationsByUser.computeIfAbsent(sellerId, k -> new ArrayList<>()).add(id);
+            }
+        }
+        return conversationsByUser;
+    }
+
+    private void generateSavedSearches(long[] userIds, Reference reference) throws SQLException {
+        ZipfSampler brandSampler = new ZipfSampler(reference.brands.size(), 1.1);
+        try (CsvCopyWriter searches = new CsvCopyWriter(connection, "saved_searches",
+                "id", "user_id", "name_en", "name_ar", "filters", "notification_preferences", "is_active",
+                "created_at", "updated_at")) {
+            int count = userIds.length / 3;
+            for (int i = 0; i < count; i++) {
+                Brand brand = reference.brands.get(brandSampler.next(random));
+                int minYear = 2005 + random.nextInt(15);
+                int maxPrice = 5_000 + random.nextInt(40) * 1_000;
+                StringBuilder filters = new StringBuilder("{\"brandSlugs\":[\"").append(brand.slug).append("\"]");
+                if (random.nextBoolean()) {
+                    filters.append(",\"modelSlugs\":[\"").append(brand.models.get(0).slug).append("\"]");
+                }
+                filters.append(",\"minYear\":").append(minYear).append(",\"maxPrice\":").append(maxPrice).append('}');
+                String frequency = random.nextInt(10) < 7 ? "immediate" : "daily";
+                String created = ts(now.minusDays(random.nextInt(200)));
+                searches.row(new UUID(random.nextLong(), random.nextLong()), userIds[random.nextInt(userIds.length)],
+                        brand.nameEn + " from " + minYear, brand.nameAr + " من " + minYear, filters,
+                        "{\"email\": true, \"frequency\": \"" + frequency + "\"}", true, created, created);
+            }
+        }
+    }
+
+    private void fixSequences() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : List.of("users", "dealers", "car_listings", "listing_media", "conversations",
+                    "conversation_participants", "messages")) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                        + "(SELECT COALESCE(MAX(id), 1) FROM " + table + "))");
+            }
+        }
+    }
+
+    private long maxId(String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private Long pickId(List<Long> ids) {
+        return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+    }
+
+    private static String ts(LocalDateTime time) {
+        return Timestamp.valueOf(time).toString();
+    }
+
+    private static String truncate(String value, int length) {
+        return value.length() <= length ? value : value.substring(0, length);
+    }
+
+    private static String prefix(String name) {
+        return name.substring(0, Math.min(3, name.length())).toLowerCase(Locale.ROOT);
+    }
+
+    private record Model(long id, String slug, String nameEn, String nameAr) {
+    }
+
+    private record Brand(String slug, String nameEn, String nameAr, List<Model> models, ZipfSampler modelSampler) {
+    }
+
+    private record Governorate(long id, Long locationId, String nameEn, String nameAr) {
+    }
+
+    /** The seeded reference data the generated rows point at */
+    private record Reference(List<Brand> brands, List<Governorate> governorates, List<Long> conditionIds,
+                             List<Long> bodyStyleIds, List<Long> transmissionIds, List<Long> fuelTypeIds,
+                             long userRoleId, Long dealerSellerTypeId, Long privateSellerTypeId) {
+
+        static Reference load(Connection connection) throws SQLException {
+            Map<String, List<Model>> modelsByBrand = new LinkedHashMap<>();
+            Map<String, String[]> brandNames = new LinkedHashMap<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(
+                         "SELECT mk.slug, COALESCE(mk.display_name_en, mk.name), "
+                                 + "COALESCE(mk.display_name_ar, mk.display_name_en, mk.name), m.id, m.slug, "
+                                 + "COALESCE(m.display_name_en, m.name), COALESCE(m.display_name_ar, m.display_name_en, m.name) "
+                                 + "FROM models m JOIN makes mk ON mk.id = m.make_id "
+                                 + "WHERE mk.is_active IS NOT FALSE AND m.is_active IS NOT FALSE ORDER BY mk.id, m.id")) {
+                while (rs.next()) {
+                    brandNames.putIfAbsent(rs.getString(1), new String[]{rs.getString(2), rs.getString(3)});
+                    modelsByBrand.computeIfAbsent(rs.getString(1), k -> new ArrayList<>())
+                            .add(new Model(rs.getLong(4), rs.getString(5), rs.getString(6), rs.getString(7)));
+                }
+            }
+            if (modelsByBrand.isEmpty()) {
+                throw new IllegalStateException("No active brands and models; start the application once to seed them");
+            }
+            List<String> order = new ArrayList<>();
+            POPULAR_BRANDS.stream().filter(modelsByBrand::containsKey).forEach(order::add);
+            modelsByBrand.keySet().stream().filter(slug -> !order.contains(slug)).forEach(order::add);
+            List<Brand> brands = order.stream().map(slug -> {
+                List<Model> models = modelsByBrand.get(slug);
+                String[] names = brandNames.get(slug);
+                return new Brand(slug, names[0], names[1], models, new ZipfSampler(models.size(), 1.0));
+            }).toList();
+
+            List<Governorate> governorates = new ArrayList<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(
+                         "SELECT g.id, (SELECT MIN(l.id) FROM locations l WHERE l.governorate_id = g.id), "
+                                 + "g.display_name_en, g.display_name_ar FROM governorates g ORDER BY g.id")) {
+                while (rs.next()) {
+                    long locationId = rs.getLong(2);
+                    governorates.add(new Governorate(rs.getLong(1), rs.wasNull() ? null : locationId,
+                            rs.getString(3), rs.getString(4)));
+                }
+            }
+            if (governorates.isEmpty()) {
+                throw new IllegalStateException("No governorates; start the application once to seed them");
+            }
+
+            Long dealerType = null;
+            Long privateType = null;
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT id, name FROM seller_types ORDER BY id")) {
+                while (rs.next()) {
+                    String name = rs.getString(2).toLowerCase(Locale.ROOT);
+                    if (name.contains("dealer") && dealerType == null) {
+                        dealerType = rs.getLong(1);
+                    } else if (name.contains("private") && privateType == null) {
+                        privateType = rs.getLong(1);
+                    }
+                }
+            }
+
+            return new Reference(brands, governorates, ids(connection, "car_conditions"), ids(connection, "body_styles"),
+                    ids(connection, "transmissions"), ids(connection, "fuel_types"),
+                    ids(connection, "roles WHERE name = 'ROLE_USER'").get(0), dealerType, privateType);
+        }
+
+        private static List<Long> ids(Connection connection, String from) throws SQLException {
+            List<Long> ids = new ArrayList<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT id FROM " + from)) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+            return ids;
+        }
+    }
+}
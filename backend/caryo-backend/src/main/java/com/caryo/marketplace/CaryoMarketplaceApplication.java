@@ -4,6 +4,7 @@ import com.caryo.marketplace.config.StorageProperties;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
@@ -12,7 +13,10 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 public class CaryoMarketplaceApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(CaryoMarketplaceApplication.class, args);
+		SpringApplication application = new SpringApplication(CaryoMarketplaceApplication.class);
+		// Keeps the startup steps (context phases and startup tasks) for /actuator/startup
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.run(args);
 	}
 
 }
@@ -1,5 +1,6 @@
 package com.caryo.marketplace.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -52,4 +53,37 @@ public class AsyncConfig {
 
         return executor;
     }
+
+    /**
+     * Worker threads of the outbox dispatcher (see OutboxDispatcher).
+     * One thread per worker; a dispatch run submits exactly that many tasks.
+     */
+    @Bean(name = "outboxTaskExecutor")
+    public Executor outboxTaskExecutor(@Value("${app.outbox.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("Outbox-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Threads that fetch model lists for the reference-data sync (see ReferenceDataSyncService).
+     * Shared by every run; the provider's rate limiter paces the calls, not the pool size.
+     */
+    @Bean(name = "referenceSyncTaskExecutor")
+    public Executor referenceSyncTaskExecutor(@Value("${app.reference-sync.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(1, parallelism));
+        executor.setMaxPoolSize(Math.max(1, parallelism));
+        executor.setThreadNamePrefix("ReferenceSync-");
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setKeepAliveSeconds(60);
+        executor.initialize();
+        return executor;
+    }
 }
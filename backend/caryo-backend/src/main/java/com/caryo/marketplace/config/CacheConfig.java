@@ -62,12 +62,13 @@ public class CacheConfig implements CachingConfigurer {
     }
 
     private static final String[] CACHE_NAMES = {
-        "favorites",
+        "favoriteSets", "userBlockGraphs",
         "locations", "locationsByCountry", "locationsByGovernorate", "locationsByGovernorateSlug",
         "carBrands", "activeBrands", "carModels", "carModelsPage", "modelsByBrand",
         "bodyStyles", "fuelTypes", "transmissionTypes", "driveTypes", "carConditions",
         "carqueryMakes", "carqueryModels",
-        "sellerTypes"
+        "sellerTypes",
+        "searchSuggestions"
     };
 
     @Bean
@@ -90,7 +91,9 @@ public class CacheConfig implements CachingConfigurer {
         Map<String, RedisCacheConfiguration> cacheConfigs = new HashMap<>();
 
         // Short TTL caches (user-specific, frequently changing)
-        cacheConfigs.put("favorites", shortTtlConfig);
+        cacheConfigs.put("favoriteSets", shortTtlConfig);
+        cacheConfigs.put("userBlockGraphs", shortTtlConfig);
+        cacheConfigs.put("searchSuggestions", shortTtlConfig);
 
         // Long TTL caches (reference data, rarely changes)
         for (String name : new String[]{
@@ -0,0 +1,40 @@
+package com.caryo.marketplace.config;
+
+import com.caryo.marketplace.service.ResourceVersionService;
+import com.caryo.marketplace.service.engagement.ListingEngagementCounter;
+import com.caryo.marketplace.web.ConditionalGetInterceptor;
+import com.caryo.marketplace.web.ListingViewInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the conditional GET layer for public read endpoints, and the
+ * listing view counter that has to run ahead of it.
+ *
+ * <p>The services are looked up lazily so web slice tests, which do not
+ * load services, get pass-through interceptors.</p>
+ */
+@Configuration
+public class ConditionalGetConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<ResourceVersionService> resourceVersionService;
+    private final ObjectProvider<ListingEngagementCounter> engagementCounter;
+
+    public ConditionalGetConfig(ObjectProvider<ResourceVersionService> resourceVersionService,
+                                ObjectProvider<ListingEngagementCounter> engagementCounter) {
+        this.resourceVersionService = resourceVersionService;
+        this.engagementCounter = engagementCounter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Ordered first: a 304 from the conditional GET layer still counts as a view
+        registry.addInterceptor(new ListingViewInterceptor(engagementCounter))
+                .addPathPatterns("/api/v1/listings/*")
+                .order(-1);
+        registry.addInterceptor(new ConditionalGetInterceptor(resourceVersionService))
+                .addPathPatterns("/api/v1/**");
+    }
+}
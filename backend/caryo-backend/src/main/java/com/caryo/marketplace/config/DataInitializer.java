@@ -9,9 +9,9 @@ import com.caryo.marketplace.repository.RoleRepository;
 import com.caryo.marketplace.repository.UserRepository;
 import com.caryo.marketplace.security.jwt.JwtUtils;
 import com.caryo.marketplace.service.DealerService;
+import com.caryo.marketplace.startup.StartupTask;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -30,11 +30,15 @@ import java.util.stream.Collectors;
  * Initializes default data in the database at application startup.
  * This ensures development users are always available, even after rebuilds.
  * Creates three test users: regular user, admin user, and dealer user.
+ * Runs on every boot (no seed version) because it also repairs the users'
+ * verification state and prints fresh development tokens.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class DataInitializer implements CommandLineRunner {
+public class DataInitializer implements StartupTask {
+
+    public static final String TASK_NAME = "dev-users";
 
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
@@ -66,7 +70,12 @@ public class DataInitializer implements CommandLineRunner {
     private static final String DEALER_WORKING_HOURS = "{\"sunday\": \"Closed\", \"monday\": \"9:00 AM - 6:00 PM\", \"tuesday\": \"9:00 AM - 6:00 PM\", \"wednesday\": \"9:00 AM - 6:00 PM\", \"thursday\": \"9:00 AM - 6:00 PM\", \"friday\": \"9:00 AM - 1:00 PM\", \"saturday\": \"9:00 AM - 3:00 PM\"}";
 
     @Override
-    public void run(String... args) {
+    public String getName() {
+        return TASK_NAME;
+    }
+
+    @Override
+    public void run() {
         User regularUser = createRegularUser();
         User adminUser = createAdminUser();
         User dealerUser = createDealerUser();
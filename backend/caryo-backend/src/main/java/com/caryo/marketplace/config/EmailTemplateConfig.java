@@ -1,5 +1,6 @@
 package com.caryo.marketplace.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -14,7 +15,13 @@ import org.thymeleaf.templatemode.TemplateMode;
 @Configuration
 public class EmailTemplateConfig {
 
-
+    /**
+     * Keep parsed templates in memory (off in the dev and test profiles, so
+     * template edits show up without a restart). Every email render parses
+     * its template again without it.
+     */
+    @Value("${spring.thymeleaf.cache:true}")
+    private boolean cacheTemplates;
 
     /**
      * Primary template resolver for email templates.
@@ -28,7 +35,7 @@ public class EmailTemplateConfig {
         resolver.setSuffix(".html");
         resolver.setTemplateMode(TemplateMode.HTML);
         resolver.setCharacterEncoding("UTF-8");
-        resolver.setCacheable(false); // Disable cache for development
+        resolver.setCacheable(cacheTemplates);
         resolver.setOrder(1);
         return resolver;
     }
@@ -43,7 +50,7 @@ public class EmailTemplateConfig {
         resolver.setSuffix(".html");
         resolver.setTemplateMode(TemplateMode.HTML);
         resolver.setCharacterEncoding("UTF-8");
-        resolver.setCacheable(false);
+        resolver.setCacheable(cacheTemplates);
         resolver.setOrder(2);
         return resolver;
     }
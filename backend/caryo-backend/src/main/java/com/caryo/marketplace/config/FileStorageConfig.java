@@ -3,6 +3,7 @@ package com.caryo.marketplace.config;
 import com.caryo.marketplace.service.storage.S3StorageService;
 import com.caryo.marketplace.service.storage.StorageConfigurationManager;
 import com.caryo.marketplace.service.storage.StorageUrlGenerator;
+import com.caryo.marketplace.startup.StartupTask;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -14,6 +15,7 @@ import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 import java.net.URI;
+import java.util.Set;
 
 /**
  * Configuration for S3-compatible storage service.
@@ -29,10 +31,19 @@ public class FileStorageConfig {
     @Bean
     public S3StorageService s3StorageService(S3Client s3Client, StorageConfigurationManager configManager, StorageUrlGenerator urlGenerator) {
         log.info("Creating S3StorageService bean with configuration manager and URL generator");
-        // The init() method will be called by @PostConstruct in S3StorageService
+        // init() runs as the storage startup task below
         return new S3StorageService(s3Client, configManager, urlGenerator);
     }
 
+    /**
+     * Verify bucket access off the context refresh path. A missing bucket still
+     * fails the boot, but the round trip to S3 overlaps with the data seeders.
+     */
+    @Bean
+    public StartupTask storageStartupTask(S3StorageService s3StorageService) {
+        return StartupTask.of("storage", 0, Set.of(), s3StorageService::init);
+    }
+
     /**
      * Create an S3Client bean for S3StorageService.
      */
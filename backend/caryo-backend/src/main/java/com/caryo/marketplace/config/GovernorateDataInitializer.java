@@ -4,12 +4,12 @@ import com.caryo.marketplace.model.Country;
 import com.caryo.marketplace.model.Governorate;
 import com.caryo.marketplace.repository.CountryRepository;
 import com.caryo.marketplace.repository.GovernorateRepository;
+import com.caryo.marketplace.startup.StartupTask;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -18,6 +18,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -30,13 +31,18 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GovernorateDataInitializer {
 
+    public static final String TASK_NAME = "governorates";
+
+    /** Bump when the governorate or country data below changes */
+    static final int SEED_VERSION = 1;
+
     private final GovernorateRepository governorateRepository;
     private final CountryRepository countryRepository;
 
     @Bean
     @Profile({"dev", "test"})
-    public CommandLineRunner initializeGovernorates() {
-        return args -> {
+    public StartupTask governoratesStartupTask() {
+        return StartupTask.of(TASK_NAME, SEED_VERSION, Set.of(), () -> {
             if (governorateRepository.count() > 0) {
                 log.info("Governorates already exist. Skipping initialization.");
                 return;
@@ -61,7 +67,7 @@ public class GovernorateDataInitializer {
 
             governorateRepository.saveAll(governorates);
             log.info("Successfully initialized {} governorates.", governorates.size());
-        };
+        });
     }
 
     /**
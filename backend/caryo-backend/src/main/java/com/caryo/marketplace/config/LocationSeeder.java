@@ -4,22 +4,22 @@ import com.caryo.marketplace.model.Governorate;
 import com.caryo.marketplace.model.Location;
 import com.caryo.marketplace.repository.GovernorateRepository;
 import com.caryo.marketplace.repository.LocationRepository;
+import com.caryo.marketplace.startup.StartupTask;
 import com.caryo.marketplace.util.SlugUtils;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Profile;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -33,14 +33,17 @@ import java.util.stream.Collectors;
 @Slf4j
 public class LocationSeeder {
 
+    /** Bump when the location data below changes */
+    static final int SEED_VERSION = 1;
+
     private final LocationRepository locationRepository;
     private final GovernorateRepository governorateRepository;
 
     @Bean
     @Profile({"dev", "test"})
-    @DependsOn("initializeGovernorates") // Make sure governorates are initialized first
-    public CommandLineRunner seedLocations() {
-        return args -> {
+    public StartupTask locationsStartupTask() {
+        // Runs after governorates are initialized
+        return StartupTask.of("locations", SEED_VERSION, Set.of(GovernorateDataInitializer.TASK_NAME), () -> {
             if (locationRepository.count() > 0) {
                 log.info("Locations already exist. Skipping seeding.");
                 return;
@@ -76,7 +79,7 @@ public class LocationSeeder {
             // Save all locations in a batch operation
             locationRepository.saveAll(locations);
             log.info("Successfully created {} locations", locations.size());
-        };
+        });
     }
 
     /**
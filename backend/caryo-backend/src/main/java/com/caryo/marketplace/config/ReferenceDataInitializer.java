@@ -5,23 +5,30 @@ import com.caryo.marketplace.model.*;
 import com.caryo.marketplace.payload.request.SellerTypeRequest;
 import com.caryo.marketplace.repository.UserRepository;
 import com.caryo.marketplace.service.*;
+import com.caryo.marketplace.startup.StartupTask;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.CommandLineRunner;
-import org.springframework.stereotype.Component;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Initializes reference data for the application.
  * This ensures that basic lookup values exist in the database
  * even when using in-memory databases.
  */
-@Component
+@Configuration
 @RequiredArgsConstructor
 @Slf4j
-public class ReferenceDataInitializer implements CommandLineRunner {
+public class ReferenceDataInitializer {
+
+    public static final String REFERENCE_DATA_TASK = "reference-data";
+
+    /** Bump when the lookup values below change, so existing databases pick them up */
+    static final int REFERENCE_DATA_SEED_VERSION = 1;
 
     private final CarConditionService carConditionService;
     private final DriveTypeService driveTypeService;
@@ -31,8 +38,21 @@ public class ReferenceDataInitializer implements CommandLineRunner {
     private final SellerTypeService sellerTypeService;
     private final UserRepository userRepository;
 
-    @Override
-    public void run(String... args) {
+    @Bean
+    public StartupTask referenceDataStartupTask() {
+        return StartupTask.of(REFERENCE_DATA_TASK, REFERENCE_DATA_SEED_VERSION, Set.of(), this::initializeReferenceData);
+    }
+
+    /**
+     * Runs on every boot: users can be created without a seller type at any time.
+     */
+    @Bean
+    public StartupTask userSellerTypesStartupTask() {
+        return StartupTask.of("user-seller-types", 0,
+                Set.of(REFERENCE_DATA_TASK, DataInitializer.TASK_NAME), this::initializeUserSellerTypes);
+    }
+
+    private void initializeReferenceData() {
         log.info("Initializing reference data...");
 
         initializeCarConditions();
@@ -41,7 +61,6 @@ public class ReferenceDataInitializer implements CommandLineRunner {
         initializeFuelTypes();
         initializeTransmissions();
         initializeSellerTypes();
-        initializeUserSellerTypes();
 
         log.info("Reference data initialization complete.");
     }
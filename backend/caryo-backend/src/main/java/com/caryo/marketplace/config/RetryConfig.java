@@ -1,7 +1,11 @@
 package com.caryo.marketplace.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.MailSendException;
 import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.retry.support.RetryTemplate;
 
 /**
  * Configuration class to enable Spring Retry functionality.
@@ -10,6 +14,20 @@ import org.springframework.retry.annotation.EnableRetry;
 @Configuration
 @EnableRetry
 public class RetryConfig {
-    // Spring Retry configuration is enabled via @EnableRetry annotation
-    // Additional retry configuration can be added here if needed
-}
\ No newline at end of file
+
+    /**
+     * Retry policy of one outbox batch send (see OutboxDispatcher). Only SMTP
+     * send failures are retried; messages still failing after the last attempt
+     * are rescheduled by the dispatcher with a much longer backoff.
+     */
+    @Bean
+    public RetryTemplate outboxRetryTemplate(
+            @Value("${app.outbox.send.max-attempts:3}") int maxAttempts,
+            @Value("${app.outbox.send.backoff-ms:1000}") long backoffMs) {
+        return RetryTemplate.builder()
+                .maxAttempts(maxAttempts)
+                .exponentialBackoff(backoffMs, 2, backoffMs * 8)
+                .retryOn(MailSendException.class)
+                .build();
+    }
+}
@@ -1,6 +1,10 @@
 package com.caryo.marketplace.config;
 
+import com.caryo.marketplace.service.DealerStatsService;
+import com.caryo.marketplace.service.ListingFacetCountService;
 import com.caryo.marketplace.service.PasswordResetService;
+import com.caryo.marketplace.service.engagement.ListingEngagementService;
+import com.caryo.marketplace.service.outbox.OutboxDispatcher;
 import com.caryo.marketplace.service.storage.StorageObjectInfo;
 import com.caryo.marketplace.service.storage.StorageService;
 import org.slf4j.Logger;
@@ -27,6 +31,18 @@ public class SchedulingConfig {
     @Autowired
     private StorageService storageService;
 
+    @Autowired
+    private ListingFacetCountService listingFacetCountService;
+
+    @Autowired
+    private ListingEngagementService listingEngagementService;
+
+    @Autowired
+    private DealerStatsService dealerStatsService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
     @Value("${app.storage.temp-cleanup-max-age-hours:24}")
     private int tempCleanupMaxAgeHours;
 
@@ -70,4 +86,63 @@ public class SchedulingConfig {
             logger.error("Temp upload cleanup failed", e);
         }
     }
+
+    /**
+     * Reconcile the trigger-maintained listing facet counts with a full recompute.
+     * Corrects drift the trigger cannot see (e.g. a seller changing seller type).
+     */
+    @Scheduled(fixedDelayString = "${app.facets.refresh-interval-ms:900000}",
+               initialDelayString = "${app.facets.refresh-interval-ms:900000}")
+    public void refreshListingFacetCounts() {
+        logger.debug("Starting listing facet count reconciliation");
+        listingFacetCountService.refresh();
+    }
+
+    /**
+     * Reconcile the trigger-maintained dealer statistics with a full recompute.
+     */
+    @Scheduled(fixedDelayString = "${app.dealer-stats.refresh-interval-ms:900000}",
+               initialDelayString = "${app.dealer-stats.refresh-interval-ms:900000}")
+    public void refreshDealerStats() {
+        logger.debug("Starting dealer stats reconciliation");
+        dealerStatsService.refresh();
+    }
+
+    /**
+     * Write the engagement counts collected in memory since the last run.
+     */
+    @Scheduled(fixedDelayString = "${app.engagement.flush-interval-ms:30000}",
+               initialDelayString = "${app.engagement.flush-interval-ms:30000}")
+    public void flushListingEngagement() {
+        listingEngagementService.flush();
+    }
+
+    /**
+     * Recompute listing popularity scores from the daily engagement rollup.
+     */
+    @Scheduled(fixedDelayString = "${app.engagement.popularity.refresh-interval-ms:3600000}",
+               initialDelayString = "${app.engagement.popularity.refresh-interval-ms:3600000}")
+    public void refreshListingPopularity() {
+        logger.debug("Starting listing popularity refresh");
+        listingEngagementService.refreshPopularity();
+    }
+
+    /**
+     * Deliver the emails queued in the outbox.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:2000}",
+               initialDelayString = "${app.outbox.poll-interval-ms:2000}")
+    public void dispatchOutbox() {
+        outboxDispatcher.dispatch();
+    }
+
+    /**
+     * Remove delivered outbox emails past retention.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval-ms:3600000}",
+               initialDelayString = "${app.outbox.purge-interval-ms:3600000}")
+    public void purgeOutbox() {
+        logger.debug("Starting outbox purge");
+        outboxDispatcher.purge();
+    }
 }
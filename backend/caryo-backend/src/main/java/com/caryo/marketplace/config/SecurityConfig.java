@@ -72,6 +72,7 @@ public class SecurityConfig {
                 .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/v1/images/upload").permitAll() // Allow logo upload during signup
                 .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/images/**").permitAll() // Allow viewing uploaded images
                 .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/listings/**").permitAll()
+                .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/v1/listings/*/contact-reveals").permitAll()  // Anonymous engagement beacon
                 .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/reference-data/**").permitAll()  // This covers all reference data including governorates
                 .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/seller-types").permitAll()  // Allow public access to seller types for signup form
                 .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/dealers/*/public").permitAll()  // Public dealer profile
@@ -0,0 +1,72 @@
+package com.caryo.marketplace.config.datasource;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently, so that their own reads go to the
+ * primary until the replicas have certainly caught up.
+ *
+ * <p>Keyed by the authenticated username; anonymous requests and background
+ * jobs are never sticky. The state is per instance, which is enough as long as
+ * a user's requests mostly land on the same instance within the window; the
+ * lag check bounds how stale a read on another instance can be.</p>
+ */
+public class ReadYourWritesTracker {
+
+    private final Duration window;
+    private final Clock clock;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this(window, Clock.systemUTC());
+    }
+
+    ReadYourWritesTracker(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    /** Marks the current user as having written just now */
+    public void recordWrite() {
+        String user = currentUser();
+        if (user != null) {
+            stickyUntil.put(user, clock.millis() + window.toMillis());
+        }
+    }
+
+    /** Whether the current user's reads must see their own recent writes */
+    public boolean isSticky() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(user);
+        return until != null && until > clock.millis();
+    }
+
+    /** Drops expired entries; called from the periodic lag check */
+    public void purgeExpired() {
+        long now = clock.millis();
+        stickyUntil.values().removeIf(until -> until <= now);
+    }
+
+    int size() {
+        return stickyUntil.size();
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
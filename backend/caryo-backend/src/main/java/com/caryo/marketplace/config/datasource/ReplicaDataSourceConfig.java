@@ -0,0 +1,112 @@
+package com.caryo.marketplace.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to read replicas when
+ * {@code app.datasource.replicas.enabled=true}.
+ *
+ * <p>The application's {@code DataSource} becomes a
+ * {@link LazyConnectionDataSourceProxy} over the primary pool (configured by
+ * {@code spring.datasource.*} as before). The proxy takes no physical
+ * connection until the first statement. By then the transaction manager has
+ * marked the connection read-only or not, and read-only connections come from
+ * {@link ReplicaRoutingDataSource}. So every {@code @Transactional(readOnly = true)}
+ * method, including Spring Data's read methods, reads from a replica. Flyway,
+ * writes and non-transactional work stay on the primary.</p>
+ *
+ * <p>Hibernate normally holds a session's connection until the session closes,
+ * and with open-in-view the session lives for the whole request. A request
+ * that reads in a read-only transaction and then writes would reuse the
+ * replica connection for the write. With replicas enabled the session releases
+ * its connection after each transaction instead, so every transaction is
+ * routed on its own.</p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReplicaDataSourceConfig {
+
+    static final PhysicalConnectionHandlingMode CONNECTION_HANDLING =
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaDataSourceProperties replicaProperties) {
+        return new ReadYourWritesTracker(replicaProperties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties,
+                                                             ReplicaDataSourceProperties replicaProperties,
+                                                             ReadYourWritesTracker readYourWritesTracker,
+                                                             MeterRegistry meterRegistry) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        List<String> urls = replicaProperties.getUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(urls.get(i));
+            pool.setUsername(StringUtils.hasText(replicaProperties.getUsername())
+                    ? replicaProperties.getUsername() : properties.determineUsername());
+            pool.setPassword(StringUtils.hasText(replicaProperties.getPassword())
+                    ? replicaProperties.getPassword() : properties.determinePassword());
+            pool.setMaximumPoolSize(replicaProperties.getPoolSize());
+            pool.setReadOnly(true);
+            // Don't fail startup on a replica that is down; the lag check skips it until it is back
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricRegistry(meterRegistry);
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, pool));
+        }
+        if (replicas.isEmpty()) {
+            log.warn("Replica routing is enabled but app.datasource.replicas.urls is empty; all reads use the primary");
+        } else {
+            log.info("Routing read-only transactions to {} replica pool(s), max lag {}",
+                    replicas.size(), replicaProperties.getMaxLag());
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesTracker,
+                replicaProperties.getMaxLag(), meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandling() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING, CONNECTION_HANDLING);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaRoutingDataSource replicaRoutingDataSource,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        LazyConnectionDataSourceProxy proxy =
+                new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primaryDataSource, readYourWritesTracker));
+        proxy.setReadOnlyDataSource(replicaRoutingDataSource);
+        return proxy;
+    }
+}
@@ -0,0 +1,53 @@
+package com.caryo.marketplace.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas for read-only transactions (see ReplicaDataSourceConfig).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public class ReplicaDataSourceProperties {
+
+    /**
+     * Route read-only transactions to the replicas. When false, everything
+     * uses the single spring.datasource pool.
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC URLs of the replicas; each gets its own pool.
+     */
+    private List<String> urls = new ArrayList<>();
+
+    /**
+     * Replica credentials; default to spring.datasource.username/password.
+     */
+    private String username;
+
+    private String password;
+
+    /**
+     * Maximum connections per replica pool.
+     */
+    private int poolSize = 10;
+
+    /**
+     * A replica whose replay lags the primary by more than this is skipped
+     * until it catches up.
+     */
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    /**
+     * How long a user's reads stay on the primary after one of their writes.
+     * Should comfortably exceed maxLag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);
+}
@@ -0,0 +1,208 @@
+package com.caryo.marketplace.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The data source behind read-only connections: round-robin over the replicas
+ * that are reachable and within {@code maxLag} of the primary, falling back to
+ * the primary when none is, and for users inside their read-your-writes window
+ * (see {@link ReadYourWritesTracker}).
+ *
+ * <p>Replica lag is probed every {@code app.datasource.replicas.lag-check-interval-ms}.
+ * A replica whose connection attempt fails is skipped until the next probe
+ * finds it reachable again, and one that is not streaming from its upstream is
+ * skipped until it streams again.</p>
+ *
+ * <p>Metrics: {@code db.replica.lag} (seconds) and {@code db.replica.available}
+ * per replica pool, and {@code db.read.routing} counting read-only connections
+ * by target pool and reason. The pools themselves report the usual
+ * {@code hikaricp.*} metrics under their pool names.</p>
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    /**
+     * Replay lag in seconds. Zero on the primary, and on a replica that has
+     * replayed everything it received (the last replay timestamp ages while
+     * the primary is idle, which is not lag). NULL on a replica without a
+     * streaming WAL receiver: it has replayed all it received because it
+     * receives nothing, so its lag is unknown. Reading the receiver status
+     * needs the pg_read_all_stats role (or pg_monitor) for the replica user.
+     */
+    private static final String LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END
+            """;
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final double maxLagSeconds;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter stickyCounter;
+    private final Counter fallbackCounter;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, ReadYourWritesTracker readYourWrites,
+                                    Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWrites = readYourWrites;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.stickyCounter = routingCounter(meterRegistry, PRIMARY, "read-your-writes");
+        this.fallbackCounter = routingCounter(meterRegistry, PRIMARY, "no-healthy-replica");
+        for (Replica replica : this.replicas) {
+            replica.routedCounter = routingCounter(meterRegistry, replica.name, "replica");
+            Gauge.builder("db.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replay lag of the replica behind the primary")
+                    .baseUnit("seconds")
+                    .tag("pool", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.available", replica, r -> r.isUsable(maxLagSeconds) ? 1 : 0)
+                    .description("Whether read-only connections are routed to the replica")
+                    .tag("pool", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (readYourWrites.isSticky()) {
+            stickyCounter.increment();
+            return source.connect(primary);
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.isUsable(maxLagSeconds)) {
+                continue;
+            }
+            try {
+                Connection connection = source.connect(replica.dataSource);
+                replica.routedCounter.increment();
+                return connection;
+            } catch (SQLFeatureNotSupportedException e) {
+                // The pool does not take per-call credentials; the replica itself is fine
+                throw e;
+            } catch (SQLException e) {
+                log.warn("Replica pool {} unavailable, skipping it until the next lag check: {}",
+                        replica.name, e.getMessage());
+                replica.reachable = false;
+            }
+        }
+        fallbackCounter.increment();
+        return source.connect(primary);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            replica.probe();
+        }
+        readYourWrites.purgeExpired();
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Could not close replica pool {}: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String pool, String reason) {
+        return Counter.builder("db.read.routing")
+                .description("Read-only connections by target pool and routing reason")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    /** One replica pool and its last probed state */
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean reachable = true;
+        private volatile boolean streaming = true;
+        private volatile double lagSeconds;
+        private Counter routedCounter;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        boolean isUsable(double maxLagSeconds) {
+            return reachable && streaming && lagSeconds <= maxLagSeconds;
+        }
+
+        void probe() {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                rs.next();
+                double lag = rs.getDouble(1);
+                boolean wasStreaming = streaming;
+                streaming = !rs.wasNull();
+                lagSeconds = streaming ? lag : Double.NaN;
+                if (!streaming && wasStreaming) {
+                    log.warn("Replica pool {} is not streaming from its upstream, routing its reads elsewhere", name);
+                } else if (streaming && !wasStreaming) {
+                    log.info("Replica pool {} streaming again (lag {} s)", name, lagSeconds);
+                }
+                if (!reachable) {
+                    log.info("Replica pool {} reachable again (lag {} s)", name, lagSeconds);
+                }
+                reachable = true;
+            } catch (SQLException e) {
+                if (reachable) {
+                    log.warn("Replica pool {} unreachable, routing its reads elsewhere: {}", name, e.getMessage());
+                }
+                reachable = false;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.caryo.marketplace.config.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The primary pool as seen by read-write connections: a connection taken for
+ * a read-write transaction starts the current user's read-your-writes window.
+ *
+ * <p>Behind {@code LazyConnectionDataSourceProxy} a connection is only taken
+ * once the transaction runs its first statement, so transactions that never
+ * touch the database do not count; one that only reads does, which merely
+ * keeps that user on the primary a little longer.</p>
+ */
+public class WriteTrackingDataSource extends DelegatingDataSource {
+
+    private final ReadYourWritesTracker readYourWrites;
+
+    public WriteTrackingDataSource(DataSource primary, ReadYourWritesTracker readYourWrites) {
+        super(primary);
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        recordWriteIfReadWriteTransaction();
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        recordWriteIfReadWriteTransaction();
+        return super.getConnection(username, password);
+    }
+
+    private void recordWriteIfReadWriteTransaction() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.recordWrite();
+        }
+    }
+}
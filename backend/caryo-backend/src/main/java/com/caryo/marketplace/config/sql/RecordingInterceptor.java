@@ -0,0 +1,21 @@
+package com.caryo.marketplace.config.sql;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Counts entity loads towards the open {@link SqlStatementRecorder}
+ * recordings. A query that returns few rows but loads many entities points
+ * at eager associations pulled in with it.
+ *
+ * <p>Registered by class name through
+ * {@code spring.jpa.properties.hibernate.session_factory.interceptor}.</p>
+ */
+public class RecordingInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        SqlStatementRecorder.entityLoaded();
+        return false;
+    }
+}
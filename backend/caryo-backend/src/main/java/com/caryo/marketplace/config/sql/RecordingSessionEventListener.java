@@ -0,0 +1,37 @@
+package com.caryo.marketplace.config.sql;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Adds the time each JDBC statement and batch takes to the open
+ * {@link SqlStatementRecorder} recordings.
+ *
+ * <p>Hibernate creates one per session from
+ * {@code spring.jpa.properties.hibernate.session.events.auto}; a session is
+ * used by one thread at a time, so the start time needs no synchronization.</p>
+ */
+public class RecordingSessionEventListener extends BaseSessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementRecorder.executed(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementRecorder.executed(System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,19 @@
+package com.caryo.marketplace.config.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts each statement Hibernate prepares towards the open
+ * {@link SqlStatementRecorder} recordings. The SQL is returned unchanged.
+ *
+ * <p>Registered by class name through
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.</p>
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementRecorder.statement(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,37 @@
+package com.caryo.marketplace.config.sql;
+
+import com.caryo.marketplace.web.SqlMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers {@link SqlMetricsInterceptor} for the API. The Hibernate hooks it
+ * reads from are registered in application.properties, so they are active in
+ * every context, including JPA test slices.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sql-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlMetricsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final int nPlusOneThreshold;
+
+    public SqlMetricsConfig(ObjectProvider<MeterRegistry> meterRegistry,
+                            @Value("${app.sql-metrics.n-plus-one-threshold:10}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Outermost, so the SQL of the other interceptors is part of the request
+        registry.addInterceptor(new SqlMetricsInterceptor(meterRegistry, nPlusOneThreshold))
+                .addPathPatterns("/api/**")
+                .order(-10);
+    }
+}
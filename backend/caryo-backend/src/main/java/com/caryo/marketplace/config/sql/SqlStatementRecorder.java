@@ -0,0 +1,159 @@
+package com.caryo.marketplace.config.sql;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Per-thread recording of the SQL Hibernate runs: statement count, statement
+ * shapes, entity loads and time spent executing JDBC statements.
+ *
+ * <p>The Hibernate hooks ({@link RecordingStatementInspector},
+ * {@link RecordingSessionEventListener}, {@link RecordingInterceptor}) feed
+ * every recording open on the current thread, so recordings nest: a test can
+ * record around a MockMvc call while SqlMetricsInterceptor records the same
+ * request. With no recording open the hooks do nothing beyond a thread-local
+ * lookup.</p>
+ *
+ * <p>Only statements issued through Hibernate are seen; JdbcTemplate
+ * repositories run their single statements outside of it.</p>
+ */
+public final class SqlStatementRecorder {
+
+    private static final ThreadLocal<Deque<Recording>> ACTIVE = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlStatementRecorder() {
+    }
+
+    /** Opens a recording on the current thread; close it on the same thread */
+    public static Recording start() {
+        Deque<Recording> active = ACTIVE.get();
+        if (active == null) {
+            active = new ArrayDeque<>();
+            ACTIVE.set(active);
+        }
+        Recording recording = new Recording();
+        active.push(recording);
+        return recording;
+    }
+
+    static void statement(String sql) {
+        Deque<Recording> active = ACTIVE.get();
+        if (active == null) {
+            return;
+        }
+        String shape = shape(sql);
+        for (Recording recording : active) {
+            recording.statement(sql, shape);
+        }
+    }
+
+    static void entityLoaded() {
+        Deque<Recording> active = ACTIVE.get();
+        if (active != null) {
+            active.forEach(recording -> recording.entityLoads++);
+        }
+    }
+
+    static void executed(long nanos) {
+        Deque<Recording> active = ACTIVE.get();
+        if (active != null) {
+            active.forEach(recording -> recording.dbNanos += nanos);
+        }
+    }
+
+    /**
+     * The statement with literals and bind-parameter lists collapsed, so that
+     * the same query for different IDs has the same shape.
+     */
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    /** What ran on the thread while the recording was open */
+    public static final class Recording implements AutoCloseable {
+
+        /** Statements kept verbatim for assertion messages */
+        private static final int MAX_KEPT_STATEMENTS = 100;
+
+        private final Map<String, Integer> shapeCounts = new LinkedHashMap<>();
+        private final List<String> statements = new ArrayList<>();
+        private int statementCount;
+        private int entityLoads;
+        private long dbNanos;
+        private boolean closed;
+
+        private Recording() {
+        }
+
+        private void statement(String sql, String shape) {
+            statementCount++;
+            shapeCounts.merge(shape, 1, Integer::sum);
+            if (statements.size() < MAX_KEPT_STATEMENTS) {
+                statements.add(sql);
+            }
+        }
+
+        public int getStatementCount() {
+            return statementCount;
+        }
+
+        public int getEntityLoads() {
+            return entityLoads;
+        }
+
+        /** Time spent in JDBC statement execution, in nanoseconds */
+        public long getDbNanos() {
+            return dbNanos;
+        }
+
+        /** Statement shapes and how often each ran, in first-seen order */
+        public Map<String, Integer> getShapeCounts() {
+            return Collections.unmodifiableMap(shapeCounts);
+        }
+
+        /** The first statements as Hibernate sent them */
+        public List<String> getStatements() {
+            return Collections.unmodifiableList(statements);
+        }
+
+        /** Shapes that ran at least {@code threshold} times: the N+1 suspects */
+        public Map<String, Integer> repeatedShapes(int threshold) {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            shapeCounts.forEach((shape, count) -> {
+                if (count >= threshold) {
+                    repeated.put(shape, count);
+                }
+            });
+            return repeated;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            Deque<Recording> active = ACTIVE.get();
+            if (active != null) {
+                active.remove(this);
+                if (active.isEmpty()) {
+                    ACTIVE.remove();
+                }
+            }
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package com.caryo.marketplace.controller;
 
+import com.caryo.marketplace.exception.BadRequestException;
 import com.caryo.marketplace.exception.ResourceNotFoundException;
 import com.caryo.marketplace.payload.response.CarListingResponse;
 import com.caryo.marketplace.service.CarListingStatusService;
+import com.caryo.marketplace.service.moderation.BulkListingResult;
+import com.caryo.marketplace.service.moderation.BulkModerationService;
+import com.caryo.marketplace.service.moderation.ListingBulkAction;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -15,6 +23,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -29,7 +38,10 @@ import java.util.Map;
 @Tag(name = "Admin Listings", description = "Admin-only operations for car listings")
 public class AdminListingController {
 
+    private static final int MAX_BULK_IDS = 5000;
+
     private final CarListingStatusService carListingStatusService;
+    private final BulkModerationService bulkModerationService;
 
     /**
      * Admin endpoint to approve a listing.
@@ -158,4 +170,38 @@ public class AdminListingController {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
         }
     }
+
+    /**
+     * Admin endpoint to apply one status change to many listings.
+     * URL pattern: /api/admin/listings/bulk/{action}, action being approve, mark-sold, archive or unarchive
+     */
+    @PostMapping("/bulk/{action}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Apply a status change to many car listings",
+        description = "Approves, marks as sold, archives or unarchives up to " + MAX_BULK_IDS + " listings in one transaction. "
+                + "Listings that do not exist or are already in the target state are skipped and left out of changedIds. Admin access required.",
+        security = @io.swagger.v3.oas.annotations.security.SecurityRequirement(name = "bearer-token"),
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Status change applied", content = @Content(schema = @Schema(implementation = BulkListingResult.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown action, no IDs or too many IDs"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+        }
+    )
+    public ResponseEntity<BulkListingResult> bulkListingAction(@PathVariable String action,
+                                                               @RequestBody @Valid BulkListingRequest request) {
+        ListingBulkAction bulkAction = ListingBulkAction.fromSlug(action)
+                .orElseThrow(() -> new BadRequestException("Unknown bulk listing action: " + action));
+        if (request.getIds().size() > MAX_BULK_IDS) {
+            throw new BadRequestException("At most " + MAX_BULK_IDS + " listings can be changed at once");
+        }
+        log.info("Admin API: Received bulk {} request for {} listings", bulkAction.getSlug(), request.getIds().size());
+        return ResponseEntity.ok(bulkModerationService.applyToListings(bulkAction, request.getIds()));
+    }
+
+    @Data
+    public static class BulkListingRequest {
+        @NotEmpty
+        private List<@NotNull Long> ids;
+    }
 }
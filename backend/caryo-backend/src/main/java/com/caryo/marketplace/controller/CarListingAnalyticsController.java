@@ -3,6 +3,8 @@ package com.caryo.marketplace.controller;
 import com.caryo.marketplace.model.BodyStyle;
 import com.caryo.marketplace.model.FuelType;
 import com.caryo.marketplace.payload.request.ListingFilterRequest;
+import com.caryo.marketplace.security.ratelimit.RateLimit;
+import com.caryo.marketplace.security.ratelimit.RateLimitKeyType;
 import com.caryo.marketplace.service.BodyStyleService;
 import com.caryo.marketplace.service.CarListingService;
 import com.caryo.marketplace.service.FuelTypeService;
@@ -12,6 +14,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -429,6 +432,40 @@ public class CarListingAnalyticsController {
         return ResponseEntity.ok(bodyStyleCounts);
     }
 
+    @GetMapping("/counts/governorates")
+    @Operation(
+        summary = "Get count of listings by governorate",
+        description = "Returns count of live listings for each governorate slug. Optionally accepts filter parameters to constrain the results.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Count of listings by governorate",
+                         content = @Content(mediaType = "application/json",
+                                            schema = @Schema(type = "object", example = "{\"damascus\": 2100, \"aleppo\": 950}")))
+        }
+    )
+    public ResponseEntity<Map<String, Long>> getCountsByGovernorate(
+            @Parameter(description = "Brand slugs to filter by") @RequestParam(required = false) List<String> brandSlugs,
+            @Parameter(description = "Model slugs to filter by") @RequestParam(required = false) List<String> modelSlugs,
+            @Parameter(description = "Minimum year") @RequestParam(required = false) Integer minYear,
+            @Parameter(description = "Maximum year") @RequestParam(required = false) Integer maxYear,
+            @Parameter(description = "Minimum price") @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Maximum price") @RequestParam(required = false) BigDecimal maxPrice) {
+
+        log.info("Getting counts by governorate with filters: brands={}, models={}, years={}-{}",
+                brandSlugs, modelSlugs, minYear, maxYear);
+
+        ListingFilterRequest filterRequest = new ListingFilterRequest();
+        filterRequest.setBrandSlugs(brandSlugs);
+        filterRequest.setModelSlugs(modelSlugs);
+        filterRequest.setMinYear(minYear);
+        filterRequest.setMaxYear(maxYear);
+        filterRequest.setMinPrice(minPrice);
+        filterRequest.setMaxPrice(maxPrice);
+
+        Map<String, Long> governorateCounts = carListingService.getCountsByGovernorate(filterRequest);
+        log.info("Returning governorate counts for {} governorates", governorateCounts.size());
+        return ResponseEntity.ok(governorateCounts);
+    }
+
     @GetMapping("/counts/transmissions")
     @Operation(
         summary = "Get count of listings by transmission",
@@ -478,6 +515,22 @@ public class CarListingAnalyticsController {
         return ResponseEntity.ok(transmissionCounts);
     }
 
+    @RateLimit(maxRequests = 30, windowSeconds = 60, keyType = RateLimitKeyType.IP, message = "Too many contact reveals. Please try again later.")
+    @PostMapping("/{id}/contact-reveals")
+    @Operation(
+        summary = "Record a seller contact reveal",
+        description = "Beacon sent by the client when a visitor reveals the seller's contact details of a listing. Counted once per visitor and listing within the dedupe window, in memory and written in the background; feeds dealer statistics and the popularity sort.",
+        responses = {
+            @ApiResponse(responseCode = "202", description = "Reveal accepted"),
+            @ApiResponse(responseCode = "404", description = "Listing not found"),
+            @ApiResponse(responseCode = "429", description = "Too many requests")
+        }
+    )
+    public ResponseEntity<Void> recordContactReveal(@PathVariable Long id, HttpServletRequest request) {
+        carListingService.recordContactReveal(id, getClientIp(request));
+        return ResponseEntity.accepted().build();
+    }
+
     /**
      * Validates the ListingFilterRequest to ensure it doesn't have conflicting or invalid parameters.
      */
@@ -540,4 +593,22 @@ public class CarListingAnalyticsController {
                 ". Valid options are: " + String.join(", ", validSlugs));
         }
     }
+
+    /**
+     * Extract client IP address from request, handling proxies.
+     */
+    private String getClientIp(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            // X-Forwarded-For can contain multiple IPs; take the first (client)
+            return xForwardedFor.split(",")[0].trim();
+        }
+
+        String xRealIp = request.getHeader("X-Real-IP");
+        if (xRealIp != null && !xRealIp.isEmpty()) {
+            return xRealIp;
+        }
+
+        return request.getRemoteAddr();
+    }
 }
@@ -3,12 +3,14 @@ package com.caryo.marketplace.controller;
 import com.caryo.marketplace.exception.dealer.DealerNotFoundException;
 import com.caryo.marketplace.model.Dealer;
 import com.caryo.marketplace.payload.response.CanCreateListingResponse;
+import com.caryo.marketplace.payload.response.DealerEngagementResponse;
 import com.caryo.marketplace.payload.response.DealerProfileResponse;
 import com.caryo.marketplace.payload.response.MessageResponse;
 import com.caryo.marketplace.security.services.UserDetailsImpl;
 import com.caryo.marketplace.service.DealerService;
 import com.caryo.marketplace.service.DealerTrialService;
 import com.caryo.marketplace.service.DealerTrialService.TrialStatus;
+import com.caryo.marketplace.service.engagement.ListingEngagementService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -32,6 +34,7 @@ import org.springframework.web.bind.annotation.*;
  * - POST /api/dealer/extend-trial - Extend trial (admin only)
  * - GET /api/dealer/profile - Get dealer profile
  * - GET /api/dealer/can-create-listing - Check if can create listing
+ * - GET /api/dealer/stats - Engagement statistics of the dealer's listings
  */
 @RestController
 @RequestMapping("/api/v1/dealer")
@@ -41,8 +44,11 @@ import org.springframework.web.bind.annotation.*;
 @SecurityRequirement(name = "bearer-token")
 public class DealerController {
 
+    private static final int MAX_STATS_DAYS = 90;
+
     private final DealerService dealerService;
     private final DealerTrialService dealerTrialService;
+    private final ListingEngagementService listingEngagementService;
 
     /**
      * Get trial status for the authenticated dealer.
@@ -144,6 +150,33 @@ public class DealerController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get engagement statistics for the authenticated dealer's listings.
+     *
+     * @param userDetails Authenticated user details
+     * @param days Length of the daily breakdown, 1 to 90 days
+     * @return Lifetime totals, per-listing totals and a daily breakdown
+     */
+    @Operation(
+        summary = "Get dealer engagement statistics",
+        description = "Returns views, search impressions, favorites and contact reveals of the dealer's listings, lifetime and per day"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved",
+            content = @Content(schema = @Schema(implementation = DealerEngagementResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Not authenticated"),
+        @ApiResponse(responseCode = "403", description = "Not a dealer account")
+    })
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('DEALER') or hasRole('ADMIN')")
+    public ResponseEntity<DealerEngagementResponse> getEngagementStats(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @Parameter(description = "Days covered by the daily breakdown (1-90)")
+            @RequestParam(defaultValue = "30") int days) {
+        int clampedDays = Math.max(1, Math.min(days, MAX_STATS_DAYS));
+        return ResponseEntity.ok(listingEngagementService.getSellerEngagement(userDetails.getId(), clampedDays));
+    }
+
     /**
      * Maps a Dealer entity to a DealerProfileResponse DTO.
      * This avoids Hibernate lazy-loading proxy serialization issues.
@@ -1,6 +1,8 @@
 package com.caryo.marketplace.controller;
 
+import com.caryo.marketplace.exception.BadRequestException;
 import com.caryo.marketplace.payload.response.CarListingResponse;
+import com.caryo.marketplace.payload.response.FavoriteListingPageResponse;
 import com.caryo.marketplace.payload.response.FavoriteResponse;
 import com.caryo.marketplace.service.FavoriteService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -18,6 +20,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/favorites")
@@ -25,6 +28,9 @@ import java.util.List;
 @Slf4j
 @Tag(name = "Favorites", description = "Endpoints for managing user favorites/watchlist for car listings")
 public class FavoriteController {
+    /** Enough for any search or listing page */
+    private static final int MAX_STATUS_IDS = 100;
+
     private final FavoriteService favoriteService;
 
     @PostMapping("/{listingId}")
@@ -116,6 +122,40 @@ public class FavoriteController {
         return ResponseEntity.ok(favoriteService.getUserFavoriteListingResponses(userDetails.getUsername()));
     }
 
+    @GetMapping("/listings")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(
+        summary = "Get user favorites, one page at a time",
+        description = "Returns the authenticated user's favorite listings as cards, most recently favorited first. Sold, archived and expired listings are included and flagged. Pass the returned nextCursor to fetch the following page; it is null on the last page.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Page of favorite listings retrieved successfully",
+                content = @Content(schema = @Schema(implementation = FavoriteListingPageResponse.class))
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Invalid cursor",
+                content = @Content(schema = @Schema(implementation = com.caryo.marketplace.payload.response.ApiResponse.class))
+            ),
+            @ApiResponse(
+                responseCode = "401",
+                description = "Unauthorized - User must be authenticated",
+                content = @Content(schema = @Schema(implementation = com.caryo.marketplace.payload.response.ApiResponse.class))
+            )
+        }
+    )
+    public ResponseEntity<FavoriteListingPageResponse> getFavoriteListingPage(
+            @Parameter(description = "The authenticated user", hidden = true)
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Parameter(description = "Opaque cursor from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 50)")
+            @RequestParam(defaultValue = "20") int limit) {
+        log.debug("REST request to get a page of favorites for user {}", userDetails.getUsername());
+        return ResponseEntity.ok(favoriteService.getFavoriteListingPage(userDetails.getUsername(), cursor, limit));
+    }
+
     @GetMapping("/check/{listingId}")
     @PreAuthorize("isAuthenticated()")
     @Operation(
@@ -150,4 +190,38 @@ public class FavoriteController {
             return ResponseEntity.ok(false);
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/check")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(
+        summary = "Check favorite status of several listings",
+        description = "Checks a page of car listings against the authenticated user's favorites/watchlist in one call. Returns a map of listing ID to favorite status, in the order requested. At most " + MAX_STATUS_IDS + " IDs per call.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Favorite status of each requested listing; false for listings that do not exist"
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Too many listing IDs",
+                content = @Content(schema = @Schema(implementation = com.caryo.marketplace.payload.response.ApiResponse.class))
+            ),
+            @ApiResponse(
+                responseCode = "401",
+                description = "Unauthorized - User must be authenticated",
+                content = @Content(schema = @Schema(implementation = com.caryo.marketplace.payload.response.ApiResponse.class))
+            )
+        }
+    )
+    public ResponseEntity<Map<Long, Boolean>> getFavoriteStatus(
+            @Parameter(description = "The authenticated user", hidden = true)
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Parameter(description = "IDs of the car listings to check", required = true)
+            @RequestParam List<Long> ids) {
+        if (ids.size() > MAX_STATUS_IDS) {
+            throw new BadRequestException("At most " + MAX_STATUS_IDS + " listing IDs can be checked at once");
+        }
+        log.debug("REST request to check favorite status of {} listings for user {}", ids.size(), userDetails.getUsername());
+        return ResponseEntity.ok(favoriteService.getFavoriteStatus(userDetails.getUsername(), ids));
+    }
+}
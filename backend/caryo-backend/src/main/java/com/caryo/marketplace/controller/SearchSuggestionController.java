@@ -0,0 +1,51 @@
+package com.caryo.marketplace.controller;
+
+import com.caryo.marketplace.payload.response.SearchSuggestionResponse;
+import com.caryo.marketplace.service.SearchSuggestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Typeahead endpoint for the listing search box.
+ * Public (covered by the GET /api/v1/listings/** rule in SecurityConfig).
+ */
+@RestController
+@RequestMapping("/api/v1/listings")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Listing Search", description = "Search box autocomplete")
+public class SearchSuggestionController {
+
+    private final SearchSuggestionService searchSuggestionService;
+
+    @GetMapping("/suggestions")
+    @Operation(
+        summary = "Autocomplete brand/model terms",
+        description = "Returns brand, model and \"brand model\" completions for the given prefix, ordered by the number of live listings. Supports English and Arabic input.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Completions retrieved successfully")
+        }
+    )
+    public ResponseEntity<List<SearchSuggestionResponse>> getSuggestions(
+            @Parameter(description = "Partial search input", example = "toy")
+            @RequestParam("q") String query,
+            @Parameter(description = "Language (en or ar); detected from the input when omitted")
+            @RequestParam(required = false) String lang,
+            @Parameter(description = "Maximum number of completions")
+            @RequestParam(defaultValue = "8") int limit) {
+        List<SearchSuggestionResponse> suggestions = searchSuggestionService.suggest(query, lang, limit);
+        log.debug("Returning {} suggestions for '{}'", suggestions.size(), query);
+        return ResponseEntity.ok(suggestions);
+    }
+}
@@ -15,6 +15,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -22,6 +23,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.beans.factory.annotation.Value;
 
 import java.util.HashMap;
@@ -33,6 +35,7 @@ import java.util.Optional;
  * Direct import endpoints without complex approval workflows
  */
 @RestController
+@Lazy // created on the first admin data request, together with the car data providers it pulls in
 @RequestMapping("/api/v1/admin/data")
 @Slf4j
 @Tag(name = "Admin Data Management", description = "Admin endpoints for data imports")
@@ -207,26 +210,33 @@ public class AdminDataManagementController {
         summary = "Export Car Data to Excel",
         description = "Export all car brands and models to Excel file with bilingual support"
     )
-    public ResponseEntity<byte[]> exportCarDataToExcel() {
+    public ResponseEntity<?> exportCarDataToExcel() {
         log.info("Admin requested car data export to Excel");
 
+        // Build the workbook before committing the response, so a failure still becomes a 500
+        CarDataExcelService.CarDataExport export;
         try {
-            byte[] excelData = carDataExcelService.exportCarDataToExcel();
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            headers.setContentDispositionFormData("attachment", "caryo-car-data-export.xlsx");
-            headers.setContentLength(excelData.length);
-
-            log.info("Successfully exported car data to Excel ({} bytes)", excelData.length);
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(excelData);
-
+            export = carDataExcelService.prepareCarDataExport();
         } catch (Exception e) {
             log.error("Error exporting car data to Excel", e);
-            return ResponseEntity.internalServerError().build();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to export car data to Excel: " + e.getMessage()));
         }
+
+        // The spooled rows are then streamed to the response; nothing is buffered as a byte[]
+        StreamingResponseBody body = outputStream -> {
+            try (export) {
+                export.writeTo(outputStream);
+            }
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData("attachment", "caryo-car-data-export.xlsx");
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
     }
 
     /**
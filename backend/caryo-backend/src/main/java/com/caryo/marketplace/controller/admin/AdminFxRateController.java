@@ -0,0 +1,111 @@
+package com.caryo.marketplace.controller.admin;
+
+import com.caryo.marketplace.model.FxRate;
+import com.caryo.marketplace.security.services.UserDetailsImpl;
+import com.caryo.marketplace.service.FxRateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Admin controller for the exchange rates used to normalize listing prices to USD.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/fx-rates")
+@Tag(name = "Admin FX Rates", description = "Admin endpoints for exchange rates against USD")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminFxRateController {
+
+    private final FxRateService fxRateService;
+
+    /**
+     * Get the rate currently in effect for each currency
+     */
+    @GetMapping
+    @Operation(summary = "Get current exchange rates", description = "Returns the rate in effect for each currency")
+    public ResponseEntity<List<FxRateResponse>> getCurrentRates() {
+        return ResponseEntity.ok(fxRateService.getCurrentRates().values().stream()
+                .map(this::toResponse)
+                .toList());
+    }
+
+    /**
+     * Get every rate recorded for a currency, newest first
+     */
+    @GetMapping("/{currency}/history")
+    @Operation(summary = "Get exchange rate history", description = "Returns every rate recorded for a currency, newest first")
+    public ResponseEntity<List<FxRateResponse>> getHistory(@PathVariable String currency) {
+        return ResponseEntity.ok(fxRateService.getHistory(currency).stream()
+                .map(this::toResponse)
+                .toList());
+    }
+
+    /**
+     * Record a new rate; listing prices in that currency are re-normalized in the background
+     */
+    @PostMapping
+    @Operation(
+        summary = "Record exchange rate",
+        description = "Records a new rate, effective immediately. Listing prices in that currency are re-normalized in the background.",
+        responses = {
+            @ApiResponse(responseCode = "201", description = "Rate recorded"),
+            @ApiResponse(responseCode = "400", description = "Unsupported currency or invalid rate")
+        }
+    )
+    public ResponseEntity<FxRateResponse> recordRate(
+            @RequestBody @Valid RecordFxRateRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+
+        FxRate rate = fxRateService.recordRate(request.getCurrency(), request.getUnitsPerUsd(), userDetails.getUsername());
+        log.info("Exchange rate for {} set to {} by admin {}", rate.getCurrency(), rate.getUnitsPerUsd(), userDetails.getUsername());
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(rate));
+    }
+
+    // ============ DTOs ============
+
+    private FxRateResponse toResponse(FxRate rate) {
+        FxRateResponse response = new FxRateResponse();
+        response.setCurrency(rate.getCurrency());
+        response.setUnitsPerUsd(rate.getUnitsPerUsd());
+        response.setEffectiveFrom(rate.getEffectiveFrom() != null ? rate.getEffectiveFrom().toString() : null);
+        response.setCreatedBy(rate.getCreatedBy());
+        return response;
+    }
+
+    @Data
+    public static class FxRateResponse {
+        private String currency;
+        private BigDecimal unitsPerUsd;
+        private String effectiveFrom;
+        private String createdBy;
+    }
+
+    @Data
+    public static class RecordFxRateRequest {
+        @NotBlank
+        private String currency;
+
+        @NotNull
+        @DecimalMin(value = "0", inclusive = false)
+        private BigDecimal unitsPerUsd;
+    }
+}
@@ -1,8 +1,11 @@
 package com.caryo.marketplace.controller.admin;
 
+import com.caryo.marketplace.exception.ResourceNotFoundException;
 import com.caryo.marketplace.model.ListingMedia;
 import com.caryo.marketplace.security.services.UserDetailsImpl;
 import com.caryo.marketplace.service.MediaModerationService;
+import com.caryo.marketplace.service.moderation.BulkModerationJob;
+import com.caryo.marketplace.service.moderation.BulkModerationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -15,12 +18,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Admin controller for image/media moderation.
@@ -36,6 +41,7 @@ import java.util.Map;
 public class AdminMediaModerationController {
 
     private final MediaModerationService mediaModerationService;
+    private final BulkModerationService bulkModerationService;
 
     /**
      * Get pending media for moderation queue
@@ -159,6 +165,70 @@ public class AdminMediaModerationController {
         ));
     }
 
+    /**
+     * Approve every pending media item of a seller in the background
+     */
+    @PostMapping("/sellers/{sellerId}/bulk-approve")
+    @Operation(
+        summary = "Approve all pending media of a seller",
+        description = "Starts a background job approving every pending media item of the seller's listings. Poll the returned job for progress.",
+        responses = {
+            @ApiResponse(responseCode = "202", description = "Job started"),
+            @ApiResponse(responseCode = "404", description = "Moderator not found")
+        }
+    )
+    public ResponseEntity<BulkModerationJob> bulkApproveSellerMedia(
+            @PathVariable Long sellerId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+
+        BulkModerationJob job = bulkModerationService.startSellerMediaJob(sellerId, userDetails.getId(), true, null);
+        log.info("Job {} approving {} pending media items of seller {} started by admin {}",
+                job.id(), job.total(), sellerId, userDetails.getUsername());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * Reject every pending media item of a seller in the background
+     */
+    @PostMapping("/sellers/{sellerId}/bulk-reject")
+    @Operation(
+        summary = "Reject all pending media of a seller",
+        description = "Starts a background job rejecting every pending media item of the seller's listings with an optional reason. Poll the returned job for progress.",
+        responses = {
+            @ApiResponse(responseCode = "202", description = "Job started"),
+            @ApiResponse(responseCode = "404", description = "Moderator not found")
+        }
+    )
+    public ResponseEntity<BulkModerationJob> bulkRejectSellerMedia(
+            @PathVariable Long sellerId,
+            @RequestBody(required = false) @Valid RejectMediaRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+
+        String reason = request != null ? request.getReason() : null;
+        BulkModerationJob job = bulkModerationService.startSellerMediaJob(sellerId, userDetails.getId(), false, reason);
+        log.info("Job {} rejecting {} pending media items of seller {} started by admin {}",
+                job.id(), job.total(), sellerId, userDetails.getUsername());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * Progress of a background moderation job
+     */
+    @GetMapping("/jobs/{jobId}")
+    @Operation(
+        summary = "Get moderation job progress",
+        description = "Returns the progress of a background moderation job. Jobs are kept for an hour after they finish.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Job progress"),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired job")
+        }
+    )
+    public ResponseEntity<BulkModerationJob> getJob(@PathVariable UUID jobId) {
+        return bulkModerationService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("Moderation job", "id", jobId));
+    }
+
     // ============ DTOs ============
 
     private MediaModerationResponse toResponse(ListingMedia media) {
@@ -1,6 +1,8 @@
 package com.caryo.marketplace.controller.admin;
 
 import com.caryo.marketplace.payment.PaymentResponse;
+import com.caryo.marketplace.payment.PaymentSearchCriteria;
+import com.caryo.marketplace.payment.PaymentSearchPage;
 import com.caryo.marketplace.payment.PaymentService;
 import com.caryo.marketplace.payment.PaymentTransaction;
 import com.caryo.marketplace.payment.PaymentValidationConstants;
@@ -14,11 +16,15 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.HashMap;
@@ -190,54 +196,35 @@ public class AdminPaymentController {
     }
 
     /**
-     * Search payments by criteria
+     * Search payments by criteria, one keyset page at a time (newest first)
      */
     @GetMapping("/search")
     @Operation(summary = "Search payments", 
-               description = "Search payments by various criteria")
+               description = "Search payments by various criteria. Pass the returned nextCursor to fetch the following page.")
     public ResponseEntity<?> searchPayments(
             @RequestParam(required = false) String dealerEmail,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String transactionId,
             @RequestParam(required = false) String dateFrom,
-            @RequestParam(required = false) String dateTo) {
+            @RequestParam(required = false) String dateTo,
+            @Parameter(description = "Opaque cursor from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-" + PaymentService.MAX_SEARCH_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "50") int limit) {
         
         try {
-            ZonedDateTime startDate = null;
-            ZonedDateTime endDate = null;
-
-            if (dateFrom != null && !dateFrom.isBlank()) {
-                try {
-                    startDate = ZonedDateTime.parse(dateFrom);
-                } catch (DateTimeParseException e) {
-                    return ResponseEntity.badRequest().body(Map.of(
-                        "error", "INVALID_DATE_FORMAT",
-                        "message", "Invalid dateFrom format. Use ISO-8601 (e.g. 2024-01-01T00:00:00Z)"
-                    ));
-                }
-            }
-
-            if (dateTo != null && !dateTo.isBlank()) {
-                try {
-                    endDate = ZonedDateTime.parse(dateTo);
-                } catch (DateTimeParseException e) {
-                    return ResponseEntity.badRequest().body(Map.of(
-                        "error", "INVALID_DATE_FORMAT",
-                        "message", "Invalid dateTo format. Use ISO-8601 (e.g. 2024-12-31T23:59:59Z)"
-                    ));
-                }
-            }
+            PaymentSearchCriteria criteria = buildSearchCriteria(transactionId, status, dealerEmail, dateFrom, dateTo);
 
-            if (endDate != null && startDate == null) {
+            PaymentSearchPage page;
+            try {
+                page = paymentService.searchPayments(criteria, cursor, limit);
+            } catch (IllegalArgumentException e) {
                 return ResponseEntity.badRequest().body(Map.of(
-                    "error", "INVALID_DATE_RANGE",
-                    "message", "dateFrom is required when dateTo is provided"
+                    "error", "INVALID_CURSOR",
+                    "message", "Invalid cursor; restart the search from the first page"
                 ));
             }
 
-            List<PaymentTransaction> results = paymentService.searchPayments(
-                transactionId, status, dealerEmail, startDate, endDate);
-
             Map<String, Object> searchCriteria = new HashMap<>();
             if (dealerEmail != null) searchCriteria.put("dealerEmail", dealerEmail);
             if (status != null) searchCriteria.put("status", status);
@@ -247,16 +234,18 @@ public class AdminPaymentController {
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("results", results);
-            response.put("count", results.size());
+            response.put("results", page.results());
+            response.put("count", page.results().size());
+            response.put("hasMore", page.hasMore());
+            response.put("nextCursor", page.nextCursor());
             response.put("searchCriteria", searchCriteria);
 
             return ResponseEntity.ok(response);
 
-        } catch (IllegalArgumentException e) {
+        } catch (InvalidSearchParameterException e) {
             return ResponseEntity.badRequest().body(Map.of(
-                "error", "INVALID_STATUS",
-                "message", "Invalid payment status: " + status
+                "error", e.getError(),
+                "message", e.getMessage()
             ));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of(
@@ -266,6 +255,83 @@ public class AdminPaymentController {
         }
     }
 
+    /**
+     * Export payments matching the search criteria as CSV for reconciliation
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export payments as CSV",
+               description = "Stream every payment matching the search criteria as CSV, newest first")
+    public ResponseEntity<?> exportPayments(
+            @RequestParam(required = false) String dealerEmail,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String transactionId,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo) {
+
+        PaymentSearchCriteria criteria;
+        try {
+            criteria = buildSearchCriteria(transactionId, status, dealerEmail, dateFrom, dateTo);
+        } catch (InvalidSearchParameterException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", e.getError(),
+                "message", e.getMessage()
+            ));
+        }
+
+        // Rows are written as each batch is read; the export is never held in memory
+        StreamingResponseBody body = outputStream -> paymentService.exportPaymentsCsv(criteria, outputStream);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(new MediaType("text", "csv", StandardCharsets.UTF_8));
+        headers.setContentDispositionFormData("attachment", "caryo-payments.csv");
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+
+    private static PaymentSearchCriteria buildSearchCriteria(String transactionId, String status,
+            String dealerEmail, String dateFrom, String dateTo) {
+        ZonedDateTime startDate = parseDate(dateFrom, "dateFrom", "2024-01-01T00:00:00Z");
+        ZonedDateTime endDate = parseDate(dateTo, "dateTo", "2024-12-31T23:59:59Z");
+
+        if (endDate != null && startDate == null) {
+            throw new InvalidSearchParameterException("INVALID_DATE_RANGE",
+                "dateFrom is required when dateTo is provided");
+        }
+
+        try {
+            return PaymentSearchCriteria.of(transactionId, status, dealerEmail, startDate, endDate);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchParameterException("INVALID_STATUS", "Invalid payment status: " + status);
+        }
+    }
+
+    private static ZonedDateTime parseDate(String value, String name, String example) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return ZonedDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidSearchParameterException("INVALID_DATE_FORMAT",
+                "Invalid " + name + " format. Use ISO-8601 (e.g. " + example + ")");
+        }
+    }
+
+    private static class InvalidSearchParameterException extends RuntimeException {
+        private final String error;
+
+        InvalidSearchParameterException(String error, String message) {
+            super(message);
+            this.error = error;
+        }
+
+        String getError() {
+            return error;
+        }
+    }
+
     /**
      * Get payment details for admin review
      */
@@ -3,14 +3,13 @@ package com.caryo.marketplace.listeners;
 import com.caryo.marketplace.events.ListingApprovedEvent;
 import com.caryo.marketplace.model.CarListing;
 import com.caryo.marketplace.model.User;
-import com.caryo.marketplace.service.AsyncTransactionService;
 import com.caryo.marketplace.service.EmailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.lang.NonNull;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.Objects;
 import java.util.Optional;
@@ -25,23 +24,23 @@ import java.util.Optional;
 public class ListingApprovedListener {
 
     private final ListingEventUtils eventUtils;
-    private final AsyncTransactionService txService;
     private final EmailService emailService;
 
     /**
      * Handle the listing approved event.
      * This will log the event and trigger any notification processes.
      *
-     * Uses transaction management to ensure database operations are consistent.
+     * Runs in the publisher's transaction just before it commits, so the
+     * email queued in the outbox commits or rolls back with the change.
+     * Failures here are logged and never roll the change back.
      *
      * @param event The listing approved event (must not be null)
      */
-    @EventListener
-    @Async
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
     public void handleListingApproved(@NonNull ListingApprovedEvent event) {
         Objects.requireNonNull(event, "ListingApprovedEvent cannot be null");
 
-        txService.executeInTransaction(() -> {
+        try {
             CarListing listing = event.getListing();
             User seller = listing.getSeller();
 
@@ -86,6 +85,9 @@ public class ListingApprovedListener {
                     listing.getModelNameEn(),
                     listing.getModelYear(),
                     listing.getPrice());
-        });
+        } catch (Exception e) {
+            // Don't rethrow: this runs before the publisher commits and would roll its change back
+            log.error("Error processing listing approved event for listing ID {}", event.getListing().getId(), e);
+        }
     }
 }
@@ -3,17 +3,16 @@ package com.caryo.marketplace.listeners;
 import com.caryo.marketplace.events.ListingArchivedEvent;
 import com.caryo.marketplace.model.CarListing;
 import com.caryo.marketplace.model.User;
-import com.caryo.marketplace.service.AsyncTransactionService;
 import com.caryo.marketplace.service.EmailService;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.event.EventListener;
 import org.springframework.lang.NonNull;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
@@ -24,7 +23,7 @@ import java.util.Objects;
  * Handles notification and other business logic when a listing is archived.
  *
  * Features:
- * - Asynchronous processing to avoid blocking main threads
+ * - Runs in the publisher's transaction, so queued emails commit with the archival
  * - Transactional email notifications for admin actions
  * - Comprehensive logging for audit trails
  * - Error handling with graceful degradation
@@ -59,7 +58,6 @@ public class ListingArchivedListener {
     private static final String LOG_ADMIN_ARCHIVAL = "ADMIN ARCHIVAL - Listing ID: {}, Title: '{}', Seller: {}, Timestamp: {}";
     private static final String LOG_SELLER_ARCHIVAL = "SELLER ARCHIVAL - Listing ID: {}, Title: '{}', Seller: {}, Timestamp: {}";
 
-    private final AsyncTransactionService txService;
     private final EmailService emailService;
 
     @PersistenceContext
@@ -98,19 +96,19 @@ public class ListingArchivedListener {
 
     /**
      * Handle the listing archived event.
-     * This method processes listing archival events asynchronously and handles notifications.
+     * This method processes listing archival events just before the publisher's transaction
+     * commits and handles notifications.
      *
      * Key behaviors:
      * - Logs comprehensive audit information for both admin and seller actions
      * - Sends email notifications for admin actions (if enabled)
      * - Handles errors gracefully without affecting the main archival process
-     * - Uses transactional processing for data consistency
+     * - Queues emails in the publisher's transaction, so they commit with the archival
      *
      * @param event The listing archived event containing all necessary information
      * @throws IllegalArgumentException if event is null
      */
-    @EventListener
-    @Async
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
     public void handleListingArchived(@NonNull ListingArchivedEvent event) {
         Objects.requireNonNull(event, "ListingArchivedEvent cannot be null");
 
@@ -127,9 +125,7 @@ public class ListingArchivedListener {
         }
 
         try {
-            txService.executeInTransaction(() -> {
-                processListingArchival(event, listing, isAdminAction);
-            });
+            processListingArchival(event, listing, isAdminAction);
 
             long processingDuration = System.currentTimeMillis() - processingStart.toInstant(java.time.ZoneOffset.UTC).toEpochMilli();
             if (detailedLoggingEnabled) {
@@ -3,14 +3,13 @@ package com.caryo.marketplace.listeners;
 import com.caryo.marketplace.events.ListingRenewalInitiatedEvent;
 import com.caryo.marketplace.model.CarListing;
 import com.caryo.marketplace.model.User;
-import com.caryo.marketplace.service.AsyncTransactionService;
 import com.caryo.marketplace.service.EmailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.lang.NonNull;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -26,23 +25,23 @@ import java.util.Objects;
 public class ListingRenewalInitiatedListener {
 
     private final ListingEventUtils eventUtils;
-    private final AsyncTransactionService txService;
     private final EmailService emailService;
 
     /**
      * Handle the listing renewal initiated event.
      * This will log the event and trigger any notification processes.
      *
-     * Uses transaction management to ensure database operations are consistent.
+     * Runs in the publisher's transaction just before it commits, so the
+     * email queued in the outbox commits or rolls back with the change.
+     * Failures here are logged and never roll the change back.
      *
      * @param event The listing renewal initiated event (must not be null)
      */
-    @EventListener
-    @Async
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
     public void handleListingRenewalInitiated(@NonNull ListingRenewalInitiatedEvent event) {
         Objects.requireNonNull(event, "ListingRenewalInitiatedEvent cannot be null");
 
-        txService.executeInTransaction(() -> {
+        try {
             CarListing listing = event.getListing();
             int renewalDays = event.getDurationDays();
 
@@ -67,7 +66,10 @@ public class ListingRenewalInitiatedListener {
 
             // Update listing search prominence - mark as recently renewed
             updateListingSearchProminence(listing, renewalDays);
-        });
+        } catch (Exception e) {
+            // Don't rethrow: this runs before the publisher commits and would roll its change back
+            log.error("Error processing listing renewal initiated event for listing ID {}", event.getListing().getId(), e);
+        }
     }
 
     /**
@@ -33,6 +33,11 @@ public class CarBrand {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
+    /** SHA-256 of the provider payload this row was last synced from (see V67) */
+    @JsonIgnore
+    @Column(name = "source_hash", length = 64)
+    private String sourceHash;
+
     @JsonIgnore
     @OneToMany(mappedBy = "brand", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CarModel> models = new ArrayList<>();
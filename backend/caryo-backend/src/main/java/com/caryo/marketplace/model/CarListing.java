@@ -7,6 +7,7 @@ import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -35,6 +36,10 @@ public class CarListing {
     @JoinColumn(name = "model_id", nullable = false)
     private CarModel model;
 
+    // Denormalized model.brand.id so brand filters stay on car_listings (kept in sync by V68 triggers)
+    @Column(name = "brand_id")
+    private Long brandId;
+
     @Column(name = "model_year", nullable = false)
     @Min(value = 1920, message = "Year must be 1920 or later")
     @CurrentYearOrEarlier(message = "Year must not be later than the current year")
@@ -67,6 +72,24 @@ public class CarListing {
     @Column(name = "currency", nullable = false, length = 3, columnDefinition = "VARCHAR(3) DEFAULT 'USD'")
     private String currency = "USD";
 
+    /**
+     * {@link #price} converted to USD at the current rate in {@code fx_rates}
+     * (see V69), so price range and price sort work across currencies. Set on
+     * write and re-normalized in the background when a rate changes; null when
+     * no rate is known for the currency.
+     */
+    @Column(name = "price_usd_normalized", precision = 18, scale = 2)
+    private BigDecimal priceUsdNormalized;
+
+    /**
+     * Recent engagement (views, favorites, contact reveals) with a daily decay,
+     * recomputed hourly by ListingEngagementService (see V73). Only written by
+     * that rollup, so it never touches {@code updated_at}.
+     */
+    @Column(name = "popularity_score", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private double popularityScore;
+
     @Size(max = 17)
     @Column(name = "vin", length = 17)
     private String vin;
@@ -205,6 +228,10 @@ public class CarListing {
     @JoinColumn(name = "seller_id", nullable = false)
     private User seller;
 
+    // Denormalized seller.sellerType.id so seller-type filters stay on car_listings (kept in sync by V68 triggers)
+    @Column(name = "seller_type_id")
+    private Long sellerTypeId;
+
     @Column(name = "created_at", nullable = false, updatable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
     private LocalDateTime createdAt;
 
@@ -0,0 +1,77 @@
+package com.caryo.marketplace.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Listing statistics of one seller, keyed by the seller's user id.
+ *
+ * <p>Maintained by the {@code car_listings_dealer_stats_trigger} database
+ * trigger and reconciled by {@code dealer_stats_refresh()} (see V74); the
+ * application only reads it. Averages are kept as sums and counts so the
+ * trigger can apply them incrementally.</p>
+ */
+@Entity
+@Table(name = "dealer_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DealerStats {
+
+    @Id
+    @Column(name = "seller_id")
+    private Long sellerId;
+
+    /** Approved listings, sold and archived included */
+    @Column(name = "total_listings", nullable = false)
+    private int totalListings;
+
+    /** Approved, not sold, not archived */
+    @Column(name = "active_listings", nullable = false)
+    private int activeListings;
+
+    @Column(name = "sold_count", nullable = false)
+    private int soldCount;
+
+    /** Sum of the USD-normalized prices of the active listings that have one */
+    @Column(name = "active_price_usd_sum", nullable = false, precision = 20, scale = 2)
+    private BigDecimal activePriceUsdSum;
+
+    @Column(name = "active_priced_count", nullable = false)
+    private int activePricedCount;
+
+    /** Sum of created-to-sold durations of the sold listings with a known sale time */
+    @Column(name = "sell_seconds_sum", nullable = false)
+    private long sellSecondsSum;
+
+    @Column(name = "sold_timed_count", nullable = false)
+    private int soldTimedCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /** Average USD price of the active listings, null when none has a price */
+    public BigDecimal getAveragePriceUsd() {
+        if (activePricedCount == 0 || activePriceUsdSum == null) {
+            return null;
+        }
+        return activePriceUsdSum.divide(BigDecimal.valueOf(activePricedCount), 2, RoundingMode.HALF_UP);
+    }
+
+    /** Average days from listing to sale, null before the first timed sale */
+    public Double getAverageDaysToSell() {
+        if (soldTimedCount == 0) {
+            return null;
+        }
+        return Math.round(sellSecondsSum / (double) soldTimedCount / 8640.0) / 10.0;
+    }
+}
@@ -0,0 +1,63 @@
+package com.caryo.marketplace.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One recorded exchange rate of a currency against USD. Rows are never
+ * updated: a new rate is a new row, and the current rate of a currency is its
+ * latest row that is already in effect (see V69).
+ */
+@Entity
+@Table(name = "fx_rates")
+@Getter
+@Setter
+@NoArgsConstructor
+public class FxRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** ISO 4217 code, upper case */
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
+    /** How many units of {@link #currency} buy one US dollar */
+    @Column(name = "units_per_usd", nullable = false, precision = 20, scale = 6)
+    private BigDecimal unitsPerUsd;
+
+    @Column(name = "effective_from", nullable = false)
+    private LocalDateTime effectiveFrom;
+
+    @Column(name = "created_by", length = 50)
+    private String createdBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public FxRate(String currency, BigDecimal unitsPerUsd, String createdBy) {
+        this.currency = currency;
+        this.unitsPerUsd = unitsPerUsd;
+        this.createdBy = createdBy;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (effectiveFrom == null) {
+            effectiveFrom = createdAt;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.caryo.marketplace.model;
+
+/**
+ * Facets kept in the {@code listing_facet_counts} aggregate table (see V65).
+ * The database value is the string stored in the {@code facet} column.
+ */
+public enum ListingFacet {
+    BRAND("brand"),
+    MODEL("model"),
+    YEAR("year"),
+    FUEL_TYPE("fuel_type"),
+    BODY_STYLE("body_style"),
+    GOVERNORATE("governorate"),
+    SELLER_TYPE("seller_type");
+
+    private final String dbValue;
+
+    ListingFacet(String dbValue) {
+        this.dbValue = dbValue;
+    }
+
+    public String getDbValue() {
+        return dbValue;
+    }
+}
@@ -0,0 +1,54 @@
+package com.caryo.marketplace.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Number of live listings for one facet value (a brand slug, a model year,
+ * a fuel type name, ...).
+ *
+ * <p>Maintained by the {@code car_listings_facet_counts_trigger} database
+ * trigger and reconciled by {@code listing_facet_counts_refresh()} (see V65);
+ * the application only reads it.</p>
+ */
+@Entity
+@Table(name = "listing_facet_counts",
+       uniqueConstraints = @UniqueConstraint(name = "uq_listing_facet_counts_facet_key",
+                                             columnNames = {"facet", "facet_key"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class ListingFacetCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** {@link ListingFacet#getDbValue()} */
+    @Column(name = "facet", nullable = false, length = 20)
+    private String facet;
+
+    /** The value returned to clients, e.g. "toyota" or "2021" */
+    @Column(name = "facet_key", nullable = false, length = 100)
+    private String facetKey;
+
+    /** Display ordering, matching the ORDER BY of the live count queries */
+    @Column(name = "sort_key", nullable = false, length = 100)
+    private String sortKey;
+
+    @Column(name = "listing_count", nullable = false)
+    private int listingCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
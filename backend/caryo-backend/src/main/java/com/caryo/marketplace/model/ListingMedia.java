@@ -28,7 +28,8 @@ public class ListingMedia {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "listing_media_seq")
+    @SequenceGenerator(name = "listing_media_seq", sequenceName = "listing_media_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "listing_id", nullable = false, insertable = false, updatable = false)
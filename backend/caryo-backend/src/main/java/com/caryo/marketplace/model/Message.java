@@ -30,7 +30,8 @@ import java.util.Objects;
 public class Message {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "message_seq")
+    @SequenceGenerator(name = "message_seq", sequenceName = "messages_id_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Conversation is required")
@@ -0,0 +1,56 @@
+package com.caryo.marketplace.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A source brand whose brand and model rows were committed by the running
+ * reference-data sync of a provider. Used to resume an interrupted run; the
+ * provider's rows are removed once a run completes without failures (see V67).
+ */
+@Entity
+@Table(name = "reference_sync_checkpoints",
+       uniqueConstraints = @UniqueConstraint(name = "uk_reference_sync_checkpoints_provider_key",
+                                             columnNames = {"provider_name", "source_key"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReferenceSyncCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "provider_name", nullable = false, length = 100)
+    private String providerName;
+
+    /** Provider-side brand key, e.g. the CarQuery make_id */
+    @Column(name = "source_key", nullable = false, length = 255)
+    private String sourceKey;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+
+    public ReferenceSyncCheckpoint(String providerName, String sourceKey) {
+        this.providerName = providerName;
+        this.sourceKey = sourceKey;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (completedAt == null) {
+            completedAt = LocalDateTime.now();
+        }
+    }
+}
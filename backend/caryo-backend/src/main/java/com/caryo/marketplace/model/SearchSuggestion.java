@@ -0,0 +1,53 @@
+package com.caryo.marketplace.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One autocomplete term (brand, model, or "brand model") per language, with
+ * the number of live listings that carry it.
+ *
+ * <p>Rows are maintained by the {@code car_listings_search_suggestions_trigger}
+ * database trigger (see V64), not by application code — the application only
+ * reads this table.</p>
+ */
+@Entity
+@Table(name = "search_suggestions",
+       uniqueConstraints = @UniqueConstraint(name = "uq_search_suggestions_lang_term",
+                                             columnNames = {"language", "normalized_term"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class SearchSuggestion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Display form, as first seen on a listing */
+    @Column(name = "term", nullable = false, length = 201)
+    private String term;
+
+    /** Lookup form — see SearchSuggestionService#normalize */
+    @Column(name = "normalized_term", nullable = false, length = 201)
+    private String normalizedTerm;
+
+    @Column(name = "language", nullable = false, length = 2)
+    private String language;
+
+    @Column(name = "listing_count", nullable = false)
+    private int listingCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
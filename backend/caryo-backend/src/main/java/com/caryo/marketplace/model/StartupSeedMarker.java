@@ -0,0 +1,39 @@
+package com.caryo.marketplace.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * The seed data version a startup task last completed (see V72). A task whose
+ * declared version is not newer than its marker is skipped at boot.
+ */
+@Entity
+@Table(name = "startup_seed_markers")
+@Getter
+@Setter
+@NoArgsConstructor
+public class StartupSeedMarker {
+
+    @Id
+    @Column(name = "task_name", length = 100)
+    private String taskName;
+
+    @Column(name = "seed_version", nullable = false)
+    private int seedVersion;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+
+    public StartupSeedMarker(String taskName, int seedVersion) {
+        this.taskName = taskName;
+        this.seedVersion = seedVersion;
+        this.completedAt = LocalDateTime.now();
+    }
+}
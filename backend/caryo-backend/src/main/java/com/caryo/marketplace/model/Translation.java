@@ -18,7 +18,8 @@ import lombok.Setter;
 public class Translation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "translation_seq")
+    @SequenceGenerator(name = "translation_seq", sequenceName = "translations_id_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -79,19 +79,23 @@ public class ListingFilterRequest {
      * Currency the price bounds are expressed in, and the currency of the
      * listings to return.
      *
-     * <p>Listings are stored with their own currency (USD or SYP) and prices
-     * are <em>not</em> normalised across them, so an unscoped numeric range is
-     * meaningless: "5000–15000" would match both a $12,000 car and a 12,000 SYP
-     * car, which differ by four orders of magnitude.</p>
+     * <p>Listings are stored with their own currency (USD or SYP). Price bounds
+     * are in this currency if given, otherwise
+     * {@link com.caryo.marketplace.util.CurrencyUtil#DEFAULT_CURRENCY}. The
+     * listing search converts them to USD at the current rate and compares them
+     * with each listing's USD-normalized price, so "under $10,000" also returns
+     * SYP listings worth less than that. Supplied on its own (no price bounds)
+     * the currency simply filters by listing currency.</p>
      *
-     * <p>Therefore, whenever {@code minPrice} or {@code maxPrice} is supplied,
-     * the range is scoped to a single currency — this one if given, otherwise
-     * {@link com.caryo.marketplace.util.CurrencyUtil#DEFAULT_CURRENCY}. Supplied
-     * on its own (no price bounds) it simply filters by listing currency.</p>
+     * <p>Callers that build the specification without converted bounds (see
+     * {@code CarListingSpecification.fromFilter}) keep the older behaviour: the
+     * range is scoped to that single currency, because a bare numeric range
+     * would match both a $12,000 car and a 12,000 SYP car.</p>
      */
     @ValidCurrency
-    @Schema(description = "Currency for the price range and for the listings returned (USD or SYP). "
-            + "Defaults to USD when a price bound is supplied without it.", example = "USD")
+    @Schema(description = "Currency the price range is expressed in (USD or SYP); listings in every currency are "
+            + "matched at the current exchange rate. Defaults to USD. Without a price range, filters listings "
+            + "by their currency.", example = "USD")
     private String currency;
 
     /**
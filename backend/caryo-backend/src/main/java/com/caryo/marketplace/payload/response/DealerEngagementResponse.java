@@ -0,0 +1,58 @@
+package com.caryo.marketplace.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Engagement statistics of the authenticated dealer's listings.
+ * Counts are written in the background, so they trail live traffic by up to
+ * one flush interval (30 seconds by default).
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DealerEngagementResponse {
+
+    /** Lifetime totals over all listings */
+    private EngagementCounts totals;
+
+    /** Totals per UTC day over the requested period, oldest first; days without engagement are omitted */
+    private List<DailyEngagement> daily;
+
+    /** Lifetime totals per listing, most viewed first */
+    private List<ListingEngagement> listings;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class EngagementCounts {
+        private long views;
+        private long impressions;
+        private long favorites;
+        private long contactReveals;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class DailyEngagement {
+        private LocalDate day;
+        private EngagementCounts counts;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ListingEngagement {
+        private Long listingId;
+        private String title;
+        private EngagementCounts counts;
+        private double popularityScore;
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.math.BigDecimal;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -13,4 +15,12 @@ public class DealerStatsResponse {
     private long totalListings;
     private long activeListings;
     private long soldCount;
+    /** Average price of the active listings in USD; null when unknown */
+    private BigDecimal averagePriceUsd;
+    /** Average days from listing to sale; null before the first sale */
+    private Double averageDaysToSell;
+
+    public DealerStatsResponse(long totalListings, long activeListings, long soldCount) {
+        this(totalListings, activeListings, soldCount, null, null);
+    }
 }
@@ -0,0 +1,41 @@
+package com.caryo.marketplace.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A favorited listing as shown on the favorites page: the card fields only,
+ * read in the same query as the favorite itself.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FavoriteListingCardResponse {
+    private Long favoriteId;
+    private LocalDateTime favoritedAt;
+    private Long listingId;
+    private String title;
+    private Integer modelYear;
+    private Integer mileage;
+    private BigDecimal price;
+    private String currency;
+    private String brandNameEn;
+    private String brandNameAr;
+    private String modelNameEn;
+    private String modelNameAr;
+    private String governorateNameEn;
+    private String governorateNameAr;
+    /** Storage key of the card image, transformed by the client like media URLs; null when there is none */
+    private String imageKey;
+    private Boolean isSold;
+    private Boolean isArchived;
+    private Boolean isExpired;
+    /** Whether the listing is still publicly visible and for sale */
+    private Boolean isAvailable;
+}
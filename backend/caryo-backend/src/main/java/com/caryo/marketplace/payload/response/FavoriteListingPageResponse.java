@@ -0,0 +1,18 @@
+package com.caryo.marketplace.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FavoriteListingPageResponse {
+    private List<FavoriteListingCardResponse> content;
+    /** Token for the following page, or null on the last page */
+    private String nextCursor;
+}
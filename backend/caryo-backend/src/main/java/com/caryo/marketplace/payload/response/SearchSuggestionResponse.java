@@ -0,0 +1,16 @@
+package com.caryo.marketplace.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchSuggestionResponse {
+    private String term;
+    private String language;
+    private long listingCount;
+}
@@ -0,0 +1,45 @@
+package com.caryo.marketplace.payment;
+
+import java.time.ZonedDateTime;
+import java.util.Locale;
+
+/**
+ * Admin payment search filters. Every field is optional; null means "any".
+ *
+ * @param transactionId exact internal transaction ID
+ * @param status payment status
+ * @param dealerEmail email of the dealer's user account, matched case-insensitively
+ * @param startDate inclusive lower bound on createdAt
+ * @param endDate inclusive upper bound on createdAt
+ */
+public record PaymentSearchCriteria(
+        String transactionId,
+        PaymentStatus status,
+        String dealerEmail,
+        ZonedDateTime startDate,
+        ZonedDateTime endDate) {
+
+    /**
+     * Builds criteria from raw request parameters: blanks become null, the
+     * email is lower-cased, and an open-ended date range ends now.
+     *
+     * @throws IllegalArgumentException if the status is not a {@link PaymentStatus}
+     */
+    public static PaymentSearchCriteria of(String transactionId, String status, String dealerEmail,
+                                           ZonedDateTime startDate, ZonedDateTime endDate) {
+        PaymentStatus paymentStatus = isBlank(status)
+                ? null
+                : PaymentStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        ZonedDateTime effectiveEnd = startDate != null && endDate == null ? ZonedDateTime.now() : endDate;
+        return new PaymentSearchCriteria(
+                isBlank(transactionId) ? null : transactionId.trim(),
+                paymentStatus,
+                isBlank(dealerEmail) ? null : dealerEmail.trim().toLowerCase(Locale.ROOT),
+                startDate,
+                effectiveEnd);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
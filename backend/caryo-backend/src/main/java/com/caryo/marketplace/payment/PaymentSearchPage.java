@@ -0,0 +1,16 @@
+package com.caryo.marketplace.payment;
+
+import java.util.List;
+
+/**
+ * One page of an admin payment search, newest first.
+ *
+ * @param results the transactions on this page
+ * @param nextCursor token for the following page, or null on the last page
+ */
+public record PaymentSearchPage(List<PaymentTransaction> results, String nextCursor) {
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
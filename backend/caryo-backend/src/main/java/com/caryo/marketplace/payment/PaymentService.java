@@ -1,12 +1,24 @@
 package com.caryo.marketplace.payment;
 
 import com.caryo.marketplace.model.Dealer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -24,11 +36,26 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PaymentService {
 
+    /** Upper bound on an admin search page */
+    public static final int MAX_SEARCH_PAGE_SIZE = 200;
+
+    /** Rows read per query while streaming a CSV export */
+    static final int EXPORT_BATCH_SIZE = 500;
+
+    private static final String[] CSV_HEADER = {
+        "transaction_id", "created_at", "status", "amount", "currency", "payment_method",
+        "provider_type", "payment_type", "subscription_tier", "dealer_id", "dealer_email",
+        "external_payment_id", "completed_at", "failed_at", "error_code"
+    };
+
     private final Map<String, PaymentProvider> paymentProviders;
     private final PaymentTransactionRepository transactionRepository;
     private final IdempotencyService idempotencyService;
     private final PaymentAuditService auditService;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     public PaymentService(
             List<PaymentProvider> providers,
@@ -349,68 +376,125 @@ public class PaymentService {
     }
 
     /**
-     * Search payment transactions by criteria
+     * Search payment transactions, newest first, one keyset page at a time.
+     *
+     * <p>Filters and paging run in the database against the (status, created_at)
+     * and (dealer_id, created_at) indexes; no more than {@code limit + 1} rows
+     * are read per call.</p>
      *
-     * @param transactionId Optional transaction ID for exact match
-     * @param status Optional payment status filter
-     * @param dealerEmail Optional dealer email filter
-     * @param startDate Optional start date for date range
-     * @param endDate Optional end date for date range
-     * @return List of matching transactions
+     * @param criteria search filters
+     * @param cursor token from the previous page's {@link PaymentSearchPage#nextCursor()}, or null for the first page
+     * @param limit page size, clamped to 1..{@value #MAX_SEARCH_PAGE_SIZE}
+     * @return the page and the cursor of the next one
+     * @throws IllegalArgumentException if the cursor is malformed
      */
     @Transactional(readOnly = true)
-    public List<PaymentTransaction> searchPayments(String transactionId, String status,
-            String dealerEmail, java.time.ZonedDateTime startDate, java.time.ZonedDateTime endDate) {
-
-        // If transactionId is provided, return exact match
-        if (transactionId != null && !transactionId.isBlank()) {
-            return transactionRepository.findByTransactionId(transactionId)
-                .map(List::of)
-                .orElse(List.of());
-        }
+    public PaymentSearchPage searchPayments(PaymentSearchCriteria criteria, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_PAGE_SIZE));
+        List<PaymentTransaction> rows = fetchPage(
+            PaymentTransactionSpecification.matching(criteria), PaymentSearchCursor.decode(cursor), pageSize + 1);
 
-        // Normalize date range: if only startDate given, default endDate to now
-        java.time.ZonedDateTime effectiveStart = startDate;
-        java.time.ZonedDateTime effectiveEnd = endDate;
-        if (effectiveStart != null && effectiveEnd == null) {
-            effectiveEnd = java.time.ZonedDateTime.now();
+        if (rows.size() <= pageSize) {
+            return new PaymentSearchPage(rows, null);
         }
+        List<PaymentTransaction> page = rows.subList(0, pageSize);
+        return new PaymentSearchPage(page, PaymentSearchCursor.after(page.get(pageSize - 1)).encode());
+    }
 
-        // Determine primary filter
-        List<PaymentTransaction> results;
-        boolean usedDateRange = false;
-
-        if (status != null && !status.isBlank()) {
-            PaymentStatus paymentStatus = PaymentStatus.valueOf(status.toUpperCase());
-            results = transactionRepository.findByStatus(paymentStatus);
-        } else if (effectiveStart != null && effectiveEnd != null) {
-            results = transactionRepository.findByDateRange(effectiveStart, effectiveEnd);
-            usedDateRange = true;
-        } else {
-            results = transactionRepository.findAll();
-        }
+    /**
+     * Write every transaction matching the criteria as CSV, newest first, for
+     * reconciliation.
+     *
+     * <p>Rows are read in keyset batches of {@value #EXPORT_BATCH_SIZE} and written
+     * as they arrive. With open-in-view the request's persistence context is
+     * still bound while the response streams, so it is cleared after each
+     * batch; otherwise every exported row would stay managed until the request
+     * ends.</p>
+     *
+     * @param criteria search filters
+     * @param outputStream destination, typically the HTTP response body (not closed)
+     * @return number of transactions written
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long exportPaymentsCsv(PaymentSearchCriteria criteria, OutputStream outputStream) throws IOException {
+        Specification<PaymentTransaction> spec = PaymentTransactionSpecification.matching(criteria)
+            .and(PaymentTransactionSpecification.fetchDealerUser());
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(String.join(",", CSV_HEADER));
+        writer.write("\r\n");
+
+        long written = 0;
+        PaymentSearchCursor cursor = null;
+        List<PaymentTransaction> batch;
+        do {
+            batch = fetchPage(spec, cursor, EXPORT_BATCH_SIZE);
+            for (PaymentTransaction transaction : batch) {
+                writeCsvRow(writer, transaction);
+            }
+            writer.flush();
+            written += batch.size();
+            if (!batch.isEmpty()) {
+                cursor = PaymentSearchCursor.after(batch.get(batch.size() - 1));
+            }
+            entityManager.clear();
+        } while (batch.size() == EXPORT_BATCH_SIZE);
+
+        log.info("Exported {} payment transactions to CSV", written);
+        return written;
+    }
 
-        // Apply remaining filters in-memory
-        if (dealerEmail != null && !dealerEmail.isBlank()) {
-            results = results.stream()
-                .filter(t -> t.getDealer() != null
-                    && t.getDealer().getUser() != null
-                    && dealerEmail.equalsIgnoreCase(t.getDealer().getUser().getEmail()))
-                .toList();
+    private void writeCsvRow(Writer writer, PaymentTransaction transaction) throws IOException {
+        Dealer dealer = transaction.getDealer();
+        String[] fields = {
+            transaction.getTransactionId(),
+            formatTimestamp(transaction.getCreatedAt()),
+            transaction.getStatus() != null ? transaction.getStatus().name() : null,
+            transaction.getAmount() != null ? transaction.getAmount().toPlainString() : null,
+            transaction.getCurrency() != null ? transaction.getCurrency().name() : null,
+            transaction.getPaymentMethod() != null ? transaction.getPaymentMethod().name() : null,
+            transaction.getProviderType() != null ? transaction.getProviderType().name() : null,
+            transaction.getPaymentType(),
+            transaction.getSubscriptionTier(),
+            dealer != null ? String.valueOf(dealer.getId()) : null,
+            dealer != null && dealer.getUser() != null ? dealer.getUser().getEmail() : null,
+            transaction.getExternalPaymentId(),
+            formatTimestamp(transaction.getCompletedAt()),
+            formatTimestamp(transaction.getFailedAt()),
+            transaction.getErrorCode()
+        };
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(fields[i]));
         }
+        writer.write("\r\n");
+    }
 
-        // If date range wasn't the primary filter but was provided, apply it in-memory
-        if (!usedDateRange && effectiveStart != null && effectiveEnd != null) {
-            final java.time.ZonedDateTime filterStart = effectiveStart;
-            final java.time.ZonedDateTime filterEnd = effectiveEnd;
-            results = results.stream()
-                .filter(t -> t.getCreatedAt() != null
-                    && !t.getCreatedAt().isBefore(filterStart)
-                    && !t.getCreatedAt().isAfter(filterEnd))
-                .toList();
+    private static String formatTimestamp(ZonedDateTime timestamp) {
+        return timestamp != null ? DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(timestamp) : null;
+    }
+
+    /**
+     * RFC 4180 quoting; values that a spreadsheet would evaluate as a formula
+     * are prefixed with an apostrophe.
+     */
+    static String csvField(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String safe = "=+-@".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        if (safe.indexOf(',') >= 0 || safe.indexOf('"') >= 0 || safe.indexOf('\n') >= 0 || safe.indexOf('\r') >= 0) {
+            return '"' + safe.replace("\"", "\"\"") + '"';
         }
+        return safe;
+    }
 
-        return results;
+    private List<PaymentTransaction> fetchPage(Specification<PaymentTransaction> spec,
+                                               PaymentSearchCursor cursor, int limit) {
+        return transactionRepository.findBy(
+            spec.and(PaymentTransactionSpecification.after(cursor)),
+            query -> query.sortBy(PaymentTransactionSpecification.NEWEST_FIRST).limit(limit).all());
     }
 
     /**
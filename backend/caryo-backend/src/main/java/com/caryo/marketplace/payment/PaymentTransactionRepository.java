@@ -4,6 +4,7 @@ import com.caryo.marketplace.model.Dealer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,7 +17,8 @@ import java.util.Optional;
  * Repository for PaymentTransaction entities
  */
 @Repository
-public interface PaymentTransactionRepository extends JpaRepository<PaymentTransaction, Long> {
+public interface PaymentTransactionRepository extends JpaRepository<PaymentTransaction, Long>,
+        JpaSpecificationExecutor<PaymentTransaction> {
 
     /**
      * Find transaction by our internal transaction ID
@@ -43,11 +45,6 @@ public interface PaymentTransactionRepository extends JpaRepository<PaymentTrans
      */
     List<PaymentTransaction> findByDealerAndStatus(Dealer dealer, PaymentStatus status);
 
-    /**
-     * Find transactions by status
-     */
-    List<PaymentTransaction> findByStatus(PaymentStatus status);
-
     /**
      * Find failed transactions that need retry
      */
@@ -59,12 +56,6 @@ public interface PaymentTransactionRepository extends JpaRepository<PaymentTrans
      */
     List<PaymentTransaction> findByStatusAndProviderType(PaymentStatus status, PaymentProviderType providerType);
 
-    /**
-     * Find transactions by date range
-     */
-    @Query("SELECT pt FROM PaymentTransaction pt WHERE pt.createdAt >= :startDate AND pt.createdAt <= :endDate")
-    List<PaymentTransaction> findByDateRange(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
-
     /**
      * Count successful payments for a dealer
      */
@@ -0,0 +1,87 @@
+package com.caryo.marketplace.payment;
+
+import com.caryo.marketplace.model.Dealer;
+import com.caryo.marketplace.model.User;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA Specifications for the admin payment search.
+ *
+ * <p>Status and dealer filters line up with the (status, created_at, id) and
+ * (dealer_id, created_at, id) indexes from V70, so a page is an index range
+ * read in {@link #NEWEST_FIRST} order rather than a scan of every
+ * transaction.</p>
+ */
+public final class PaymentTransactionSpecification {
+
+    /** Search order; id breaks ties between transactions created at the same instant */
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private PaymentTransactionSpecification() {
+    }
+
+    public static Specification<PaymentTransaction> matching(PaymentSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (criteria.transactionId() != null) {
+                predicates.add(cb.equal(root.get("transactionId"), criteria.transactionId()));
+            }
+            if (criteria.status() != null) {
+                predicates.add(cb.equal(root.get("status"), criteria.status()));
+            }
+            if (criteria.dealerEmail() != null) {
+                Join<PaymentTransaction, Dealer> dealer = root.join("dealer");
+                Join<Dealer, User> user = dealer.join("user");
+                predicates.add(cb.equal(cb.lower(user.get("email")), criteria.dealerEmail()));
+            }
+            if (criteria.startDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), criteria.startDate()));
+            }
+            if (criteria.endDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), criteria.endDate()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Restricts to transactions after the cursor in {@link #NEWEST_FIRST} order.
+     * A null cursor matches everything (first page).
+     */
+    public static Specification<PaymentTransaction> after(PaymentSearchCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return cb.conjunction();
+            }
+            return cb.or(
+                    cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                    cb.and(
+                            cb.equal(root.get("createdAt"), cursor.createdAt()),
+                            cb.lessThan(root.get("id"), cursor.id())));
+        };
+    }
+
+    /**
+     * Fetches each transaction's dealer and dealer user in the same query, for
+     * callers that read them per row (the CSV export).
+     */
+    public static Specification<PaymentTransaction> fetchDealerUser() {
+        return (root, query, cb) -> {
+            if (query != null && !Long.class.equals(query.getResultType())) {
+                Fetch<PaymentTransaction, Dealer> dealer = root.fetch("dealer", JoinType.INNER);
+                dealer.fetch("user", JoinType.INNER);
+            }
+            return cb.conjunction();
+        };
+    }
+}
@@ -1,8 +1,10 @@
 package com.caryo.marketplace.repository;
 
 import com.caryo.marketplace.model.CarBrand;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -29,4 +31,13 @@ public interface CarBrandRepository extends JpaRepository<CarBrand, Long> {
     boolean existsByDisplayNameEnIgnoreCase(String displayNameEn);
     boolean existsByDisplayNameArIgnoreCase(String displayNameAr);
     boolean existsBySlug(String slug);
+
+    // Lightweight id/slug/name/active index used by the streaming Excel import
+    @Query("SELECT b.id, b.slug, b.name, b.isActive FROM CarBrand b")
+    List<Object[]> findAllIndexEntries();
+
+    // Keyset page of id, English/Arabic names, slug and active flag for the Excel export
+    @Query("SELECT b.id, b.displayNameEn, b.displayNameAr, b.slug, b.isActive FROM CarBrand b " +
+           "WHERE b.id > :afterId ORDER BY b.id")
+    List<Object[]> findExportRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -220,4 +220,30 @@ public interface CarListingRepository extends JpaRepository<CarListing, Long>, J
               LIMIT :maxResults
               """, nativeQuery = true)
        List<Long> findIdsByFullTextSearchPrefix(@Param("query") String query, @Param("maxResults") int maxResults);
-}
\ No newline at end of file
+
+       /**
+        * Next chunk of listing IDs priced in {@code currency}, keyset-paged by id,
+        * for re-normalizing prices after an exchange rate change.
+        */
+       @Query(value = """
+              SELECT id FROM car_listings
+              WHERE currency = :currency AND id > :afterId
+              ORDER BY id
+              LIMIT :limit
+              """, nativeQuery = true)
+       List<Long> findIdsByCurrencyAfter(@Param("currency") String currency,
+                                         @Param("afterId") long afterId,
+                                         @Param("limit") int limit);
+
+       /** Recomputes the USD-normalized price of the given listings at {@code unitsPerUsd} */
+       @Modifying
+       @Query("UPDATE CarListing cl SET cl.priceUsdNormalized = ROUND(cl.price / :unitsPerUsd, 2) WHERE cl.id IN :ids")
+       int updatePriceUsdNormalized(@Param("ids") List<Long> ids, @Param("unitsPerUsd") BigDecimal unitsPerUsd);
+
+       /**
+        * Listings with their seller, for publishing lifecycle events after a
+        * set-based status update (listeners read the seller for notifications)
+        */
+       @Query("SELECT cl FROM CarListing cl LEFT JOIN FETCH cl.seller WHERE cl.id IN :ids")
+       List<CarListing> findAllWithSellerByIdIn(@Param("ids") List<Long> ids);
+}
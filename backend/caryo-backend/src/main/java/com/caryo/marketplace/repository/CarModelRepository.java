@@ -51,6 +51,15 @@ public interface CarModelRepository extends JpaRepository<CarModel, Long> {
     boolean existsByBrandAndDisplayNameArIgnoreCase(CarBrand brand, String displayNameAr);
     boolean existsBySlug(String slug);
 
+    // Lightweight id/slug index used by the streaming Excel import
+    @Query("SELECT m.id, m.slug FROM CarModel m")
+    List<Object[]> findAllIndexEntries();
+
+    // Keyset page of model and brand columns for the Excel export, read as scalars so nothing stays managed
+    @Query("SELECT m.id, b.id, b.displayNameEn, b.displayNameAr, m.displayNameEn, m.displayNameAr, m.slug, m.isActive " +
+           "FROM CarModel m LEFT JOIN m.brand b WHERE m.id > :afterId ORDER BY m.id")
+    List<Object[]> findExportRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     // Find models by brand ID
     List<CarModel> findByBrandId(Long brandId);
 
@@ -0,0 +1,17 @@
+package com.caryo.marketplace.repository;
+
+import com.caryo.marketplace.model.DealerStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DealerStatsRepository extends JpaRepository<DealerStats, Long> {
+
+       /**
+        * Recomputes every seller's statistics from car_listings and corrects drift.
+        * Returns the number of rows whose values changed.
+        */
+       @Query(value = "SELECT dealer_stats_refresh()", nativeQuery = true)
+       Integer refreshAll();
+}
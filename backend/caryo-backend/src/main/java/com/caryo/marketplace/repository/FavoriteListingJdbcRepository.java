@@ -0,0 +1,83 @@
+package com.caryo.marketplace.repository;
+
+import com.caryo.marketplace.payload.response.FavoriteListingCardResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keyset pages of a user's favorites joined to the listing card columns (see
+ * V76 for the indexes).
+ *
+ * <p>One statement per page: no Favorite, CarListing or media entities are
+ * loaded, and the card image is the key of the listing's first approved image
+ * rather than signed URLs for all of its media.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class FavoriteListingJdbcRepository {
+
+    private static final String PAGE_SQL = """
+            SELECT f.id AS favorite_id, f.created_at AS favorited_at,
+                   l.id AS listing_id, l.title, l.model_year, l.mileage, l.price, l.currency,
+                   l.brand_name_en, l.brand_name_ar, l.model_name_en, l.model_name_ar,
+                   l.governorate_name_en, l.governorate_name_ar,
+                   l.sold, l.archived, l.expired,
+                   (l.approved AND l.is_user_active AND NOT l.sold AND NOT l.archived AND NOT l.expired) AS available,
+                   (SELECT m.file_key FROM listing_media m
+                    WHERE m.listing_id = l.id AND m.media_type = 'image' AND m.moderation_status = 'APPROVED'
+                    ORDER BY m.is_primary DESC, m.sort_order, m.id
+                    LIMIT 1) AS image_key
+            FROM favorites f
+            JOIN users u ON u.id = f.user_id
+            JOIN car_listings l ON l.id = f.car_listing_id
+            WHERE u.username = ? %s
+            ORDER BY f.created_at DESC, f.id DESC
+            LIMIT ?
+            """;
+
+    private static final String FIRST_PAGE_SQL = PAGE_SQL.formatted("");
+
+    private static final String NEXT_PAGE_SQL = PAGE_SQL.formatted("AND (f.created_at, f.id) < (?, ?)");
+
+    private static final RowMapper<FavoriteListingCardResponse> CARD_MAPPER = (rs, i) -> new FavoriteListingCardResponse(
+            rs.getLong("favorite_id"),
+            rs.getTimestamp("favorited_at").toLocalDateTime(),
+            rs.getLong("listing_id"),
+            rs.getString("title"),
+            rs.getInt("model_year"),
+            rs.getInt("mileage"),
+            rs.getBigDecimal("price"),
+            rs.getString("currency"),
+            rs.getString("brand_name_en"),
+            rs.getString("brand_name_ar"),
+            rs.getString("model_name_en"),
+            rs.getString("model_name_ar"),
+            rs.getString("governorate_name_en"),
+            rs.getString("governorate_name_ar"),
+            rs.getString("image_key"),
+            rs.getBoolean("sold"),
+            rs.getBoolean("archived"),
+            rs.getBoolean("expired"),
+            rs.getBoolean("available"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param afterCreatedAt createdAt of the last favorite on the previous page, or null for the first page
+     * @param afterId        id of that favorite; ignored on the first page
+     */
+    public List<FavoriteListingCardResponse> findPage(String username, LocalDateTime afterCreatedAt, long afterId,
+                                                      int limit) {
+        if (afterCreatedAt == null) {
+            return jdbcTemplate.query(FIRST_PAGE_SQL, CARD_MAPPER, username, limit);
+        }
+        return jdbcTemplate.query(NEXT_PAGE_SQL, CARD_MAPPER,
+                username, Timestamp.valueOf(afterCreatedAt), afterId, limit);
+    }
+}
@@ -4,6 +4,8 @@ import com.caryo.marketplace.model.Favorite;
 import com.caryo.marketplace.model.User;
 import com.caryo.marketplace.model.CarListing;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -16,4 +18,8 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
     boolean existsByUserAndCarListing(User user, CarListing carListing);
     boolean existsByUserUsernameAndCarListingId(String username, Long carListingId);
     void deleteByUserAndCarListing(User user, CarListing carListing);
+
+    /** Listing IDs only, for the per-user favorite set; no user or listing entity is loaded */
+    @Query("SELECT f.carListing.id FROM Favorite f WHERE f.user.username = :username")
+    List<Long> findListingIdsByUserUsername(@Param("username") String username);
 }
\ No newline at end of file
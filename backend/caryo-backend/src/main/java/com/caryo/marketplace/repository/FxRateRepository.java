@@ -0,0 +1,24 @@
+package com.caryo.marketplace.repository;
+
+import com.caryo.marketplace.model.FxRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the {@link FxRate} history.
+ */
+@Repository
+public interface FxRateRepository extends JpaRepository<FxRate, Long> {
+
+    /** Every rate already in effect at {@code asOf}, newest first; the first row per currency is its current rate */
+    List<FxRate> findByEffectiveFromLessThanEqualOrderByEffectiveFromDescIdDesc(LocalDateTime asOf);
+
+    Optional<FxRate> findFirstByCurrencyAndEffectiveFromLessThanEqualOrderByEffectiveFromDescIdDesc(
+            String currency, LocalDateTime asOf);
+
+    List<FxRate> findByCurrencyOrderByEffectiveFromDescIdDesc(String currency);
+}
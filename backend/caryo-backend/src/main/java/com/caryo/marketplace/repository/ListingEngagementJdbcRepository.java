@@ -0,0 +1,147 @@
+package com.caryo.marketplace.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Batched writes and dealer reads of the listing engagement counters (see V73).
+ *
+ * <p>A flush is two {@code INSERT ... ON CONFLICT} batches, one for the daily
+ * rollup and one for the lifetime totals, whatever the number of listings
+ * touched. Rows for listings deleted since they were counted are skipped by the
+ * {@code EXISTS} guard instead of failing the batch. Callers own the
+ * transaction and pass the rows sorted by listing id, so concurrent flushes from
+ * several nodes lock rows in the same order.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class ListingEngagementJdbcRepository {
+
+    private static final String UPSERT_DAILY_SQL = """
+            INSERT INTO listing_engagement_daily (listing_id, day, views, impressions, favorites, contact_reveals)
+            SELECT ?, ?, ?, ?, ?, ? WHERE EXISTS (SELECT 1 FROM car_listings WHERE id = ?)
+            ON CONFLICT (listing_id, day) DO UPDATE SET
+                views = listing_engagement_daily.views + EXCLUDED.views,
+                impressions = listing_engagement_daily.impressions + EXCLUDED.impressions,
+                favorites = listing_engagement_daily.favorites + EXCLUDED.favorites,
+                contact_reveals = listing_engagement_daily.contact_reveals + EXCLUDED.contact_reveals
+            """;
+
+    private static final String UPSERT_TOTALS_SQL = """
+            INSERT INTO listing_engagement (listing_id, views, impressions, favorites, contact_reveals)
+            SELECT ?, ?, ?, ?, ? WHERE EXISTS (SELECT 1 FROM car_listings WHERE id = ?)
+            ON CONFLICT (listing_id) DO UPDATE SET
+                views = listing_engagement.views + EXCLUDED.views,
+                impressions = listing_engagement.impressions + EXCLUDED.impressions,
+                favorites = listing_engagement.favorites + EXCLUDED.favorites,
+                contact_reveals = listing_engagement.contact_reveals + EXCLUDED.contact_reveals,
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    /**
+     * Scores every listing with engagement in the window and resets the ones
+     * that dropped out of it. Rounding keeps unchanged scores byte-identical, so
+     * only rows whose score moved are written.
+     */
+    private static final String REFRESH_SCORES_SQL = """
+            WITH scores AS (
+                SELECT listing_id,
+                       ROUND(SUM((views + 4 * favorites + 8 * contact_reveals)
+                                 * POWER(?, (? - day)))::numeric, 2)::double precision AS score
+                FROM listing_engagement_daily
+                WHERE day > ?
+                GROUP BY listing_id
+            )
+            UPDATE car_listings cl
+            SET popularity_score = COALESCE(s.score, 0)
+            FROM car_listings target
+            LEFT JOIN scores s ON s.listing_id = target.id
+            WHERE cl.id = target.id
+              AND (target.popularity_score <> 0 OR s.score IS NOT NULL)
+              AND cl.popularity_score IS DISTINCT FROM COALESCE(s.score, 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Adds the deltas to each listing's row for {@code day} and to its lifetime totals */
+    public void addCounts(LocalDate day, List<EngagementDelta> deltas) {
+        if (deltas.isEmpty()) return;
+        jdbcTemplate.batchUpdate(UPSERT_DAILY_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, delta.listingId());
+            ps.setObject(2, day);
+            ps.setLong(3, delta.views());
+            ps.setLong(4, delta.impressions());
+            ps.setLong(5, delta.favorites());
+            ps.setLong(6, delta.contactReveals());
+            ps.setLong(7, delta.listingId());
+        });
+        jdbcTemplate.batchUpdate(UPSERT_TOTALS_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, delta.listingId());
+            ps.setLong(2, delta.views());
+            ps.setLong(3, delta.impressions());
+            ps.setLong(4, delta.favorites());
+            ps.setLong(5, delta.contactReveals());
+            ps.setLong(6, delta.listingId());
+        });
+    }
+
+    /**
+     * Recomputes {@code car_listings.popularity_score} from the daily rows of the
+     * last {@code windowDays} days, each day weighted by {@code decay^age}.
+     *
+     * @return number of listings whose score changed
+     */
+    public int refreshPopularityScores(LocalDate today, int windowDays, double decay) {
+        return jdbcTemplate.update(REFRESH_SCORES_SQL, decay, today, today.minusDays(windowDays));
+    }
+
+    /** @return number of daily rows removed */
+    public int deleteDailyBefore(LocalDate day) {
+        return jdbcTemplate.update("DELETE FROM listing_engagement_daily WHERE day < ?", day);
+    }
+
+    /** Lifetime totals of every listing of one seller, most viewed first */
+    public List<ListingEngagementRow> findTotalsBySeller(long sellerId) {
+        return jdbcTemplate.query("""
+                SELECT cl.id, cl.title, cl.popularity_score,
+                       COALESCE(e.views, 0) AS views, COALESCE(e.impressions, 0) AS impressions,
+                       COALESCE(e.favorites, 0) AS favorites, COALESCE(e.contact_reveals, 0) AS contact_reveals
+                FROM car_listings cl
+                LEFT JOIN listing_engagement e ON e.listing_id = cl.id
+                WHERE cl.seller_id = ?
+                ORDER BY views DESC, cl.id DESC
+                """,
+                (rs, i) -> new ListingEngagementRow(rs.getLong("id"), rs.getString("title"),
+                        rs.getLong("views"), rs.getLong("impressions"), rs.getLong("favorites"),
+                        rs.getLong("contact_reveals"), rs.getDouble("popularity_score")),
+                sellerId);
+    }
+
+    /** Totals of one seller's listings per day since {@code from}, oldest first; days without engagement are absent */
+    public List<DailyEngagementRow> findDailyBySeller(long sellerId, LocalDate from) {
+        return jdbcTemplate.query("""
+                SELECT d.day, SUM(d.views) AS views, SUM(d.impressions) AS impressions,
+                       SUM(d.favorites) AS favorites, SUM(d.contact_reveals) AS contact_reveals
+                FROM listing_engagement_daily d
+                JOIN car_listings cl ON cl.id = d.listing_id
+                WHERE cl.seller_id = ? AND d.day >= ?
+                GROUP BY d.day
+                ORDER BY d.day
+                """,
+                (rs, i) -> new DailyEngagementRow(rs.getObject("day", LocalDate.class),
+                        rs.getLong("views"), rs.getLong("impressions"), rs.getLong("favorites"),
+                        rs.getLong("contact_reveals")),
+                sellerId, from);
+    }
+
+    public record EngagementDelta(long listingId, long views, long impressions, long favorites, long contactReveals) {}
+
+    public record ListingEngagementRow(long listingId, String title, long views, long impressions, long favorites,
+                                       long contactReveals, double popularityScore) {}
+
+    public record DailyEngagementRow(LocalDate day, long views, long impressions, long favorites, long contactReveals) {}
+}
@@ -0,0 +1,24 @@
+package com.caryo.marketplace.repository;
+
+import com.caryo.marketplace.model.ListingFacetCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ListingFacetCountRepository extends JpaRepository<ListingFacetCount, Long> {
+
+       /**
+        * Non-zero counts for one facet in display order.
+        */
+       List<ListingFacetCount> findByFacetAndListingCountGreaterThanOrderBySortKeyAsc(String facet, int minCount);
+
+       /**
+        * Recomputes every facet from car_listings and corrects drift.
+        * Returns the number of rows whose count changed.
+        */
+       @Query(value = "SELECT listing_facet_counts_refresh()", nativeQuery = true)
+       Integer refreshAll();
+}
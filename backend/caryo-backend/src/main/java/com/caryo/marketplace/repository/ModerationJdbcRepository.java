@@ -0,0 +1,124 @@
+package com.caryo.marketplace.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based moderation updates of media and listings.
+ *
+ * <p>Each call is a single {@code UPDATE ... WHERE id = ANY(?) RETURNING id}:
+ * the state guard is part of the {@code WHERE} clause, so rows already in the
+ * target state are skipped and only the IDs that actually changed come back.
+ * Entities are not loaded and no per-row statement is issued. Callers own the
+ * transaction and keep the ID arrays to a reasonable chunk size.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class ModerationJdbcRepository {
+
+    private static final String APPROVE_MEDIA_SQL = """
+            UPDATE listing_media
+            SET moderation_status = 'APPROVED', moderated_by = ?, moderated_at = CURRENT_TIMESTAMP
+            WHERE id = ANY(?) AND moderation_status = 'PENDING'
+            RETURNING id
+            """;
+
+    private static final String REJECT_MEDIA_SQL = """
+            UPDATE listing_media
+            SET moderation_status = 'REJECTED', moderated_by = ?, moderated_at = CURRENT_TIMESTAMP,
+                moderation_notes = ?
+            WHERE id = ANY(?) AND moderation_status = 'PENDING'
+            RETURNING id
+            """;
+
+    private static final String PENDING_MEDIA_OF_SELLER_SQL = """
+            SELECT m.id
+            FROM listing_media m
+            JOIN car_listings l ON l.id = m.listing_id
+            WHERE l.seller_id = ? AND m.moderation_status = 'PENDING' AND m.id > ?
+            ORDER BY m.id
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** @return IDs of the pending items that were approved */
+    public List<Long> approvePendingMedia(Collection<Long> ids, long moderatorId) {
+        return updateReturningIds(APPROVE_MEDIA_SQL, ids, moderatorId);
+    }
+
+    /** @return IDs of the pending items that were rejected */
+    public List<Long> rejectPendingMedia(Collection<Long> ids, long moderatorId, String notes) {
+        return updateReturningIds(REJECT_MEDIA_SQL, ids, moderatorId, notes);
+    }
+
+    public long countPendingMediaOfSeller(long sellerId) {
+        Long count = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*)
+                FROM listing_media m
+                JOIN car_listings l ON l.id = m.listing_id
+                WHERE l.seller_id = ? AND m.moderation_status = 'PENDING'
+                """, Long.class, sellerId);
+        return count != null ? count : 0;
+    }
+
+    /** Next chunk of a seller's pending media IDs, keyset-paged by id */
+    public List<Long> findPendingMediaIdsOfSeller(long sellerId, long afterId, int limit) {
+        return jdbcTemplate.queryForList(PENDING_MEDIA_OF_SELLER_SQL, Long.class, sellerId, afterId, limit);
+    }
+
+    /** @return IDs of the listings that were not yet approved */
+    public List<Long> approveListings(Collection<Long> ids) {
+        return updateReturningIds(
+                "UPDATE car_listings SET approved = true WHERE id = ANY(?) AND approved = false RETURNING id", ids);
+    }
+
+    /** @return IDs of the listings that were neither sold nor archived */
+    public List<Long> markListingsSold(Collection<Long> ids) {
+        return updateReturningIds(
+                "UPDATE car_listings SET sold = true WHERE id = ANY(?) AND sold = false AND archived = false RETURNING id",
+                ids);
+    }
+
+    /** @return IDs of the listings that were not yet archived */
+    public List<Long> archiveListings(Collection<Long> ids) {
+        return updateReturningIds(
+                "UPDATE car_listings SET archived = true WHERE id = ANY(?) AND archived = false RETURNING id", ids);
+    }
+
+    /** @return IDs of the listings that were archived */
+    public List<Long> unarchiveListings(Collection<Long> ids) {
+        return updateReturningIds(
+                "UPDATE car_listings SET archived = false WHERE id = ANY(?) AND archived = true RETURNING id", ids);
+    }
+
+    /**
+     * Runs {@code sql} with {@code leadingArgs} followed by {@code ids} as a
+     * {@code bigint[]} parameter. A null leading argument is bound as text
+     * (the optional moderation notes).
+     */
+    private List<Long> updateReturningIds(String sql, Collection<Long> ids, Object... leadingArgs) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            int index = 1;
+            for (Object arg : leadingArgs) {
+                if (arg == null) {
+                    ps.setNull(index++, Types.VARCHAR);
+                } else {
+                    ps.setObject(index++, arg);
+                }
+            }
+            ps.setArray(index, con.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        }, (rs, i) -> rs.getLong(1));
+    }
+}
@@ -0,0 +1,132 @@
+package com.caryo.marketplace.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.List;
+
+/**
+ * Writes and claims of the email outbox (see V75).
+ *
+ * <p>Inserts run on the caller's connection, so a message enqueued inside a
+ * transaction commits with it. Inside a transaction the insert is wrapped in
+ * a savepoint: a failed insert throws but leaves the caller's transaction
+ * usable, instead of aborting it as PostgreSQL does after any failed
+ * statement. Claims are single autocommit statements: they
+ * lock the batch with {@code FOR UPDATE SKIP LOCKED}, move its
+ * {@code available_at} past a lease and return it, so no row lock or
+ * connection is held while the dispatcher talks to SMTP.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox (recipient, subject, body, html) VALUES (?, ?, ?, ?)";
+
+    private static final String CLAIM_SQL = """
+            UPDATE outbox o
+            SET attempts = o.attempts + 1,
+                available_at = CURRENT_TIMESTAMP + (? * INTERVAL '1 second')
+            FROM (
+                SELECT id FROM outbox
+                WHERE status = 'PENDING' AND available_at <= CURRENT_TIMESTAMP
+                ORDER BY available_at, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ) claimed
+            WHERE o.id = claimed.id
+            RETURNING o.id, o.recipient, o.subject, o.body, o.html, o.attempts,
+                      (EXTRACT(EPOCH FROM (CURRENT_TIMESTAMP - o.created_at)) * 1000)::bigint AS queued_ms
+            """;
+
+    private static final String RESCHEDULE_SQL = """
+            UPDATE outbox
+            SET status = ?, available_at = CURRENT_TIMESTAMP + (? * INTERVAL '1 second'), last_error = ?
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertEmail(String recipient, String subject, String body, boolean html) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+                insert.setString(1, recipient);
+                insert.setString(2, subject);
+                insert.setString(3, body);
+                insert.setBoolean(4, html);
+                insert.executeUpdate();
+            } catch (SQLException e) {
+                if (savepoint != null) {
+                    connection.rollback(savepoint);
+                }
+                throw e;
+            }
+            if (savepoint != null) {
+                connection.releaseSavepoint(savepoint);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Claims up to {@code limit} due messages, oldest first, for {@code leaseSeconds}.
+     * Counts the claim as an attempt.
+     */
+    public List<OutboxMessage> claim(int limit, int leaseSeconds) {
+        return jdbcTemplate.query(CLAIM_SQL,
+                (rs, i) -> new OutboxMessage(rs.getLong("id"), rs.getString("recipient"),
+                        rs.getString("subject"), rs.getString("body"), rs.getBoolean("html"),
+                        rs.getInt("attempts"), rs.getLong("queued_ms")),
+                leaseSeconds, limit);
+    }
+
+    public void markSent(List<Long> ids) {
+        if (ids.isEmpty()) return;
+        jdbcTemplate.batchUpdate(
+                "UPDATE outbox SET status = 'SENT', sent_at = CURRENT_TIMESTAMP, last_error = NULL WHERE id = ?",
+                ids, ids.size(), (ps, id) -> ps.setLong(1, id));
+    }
+
+    /** Puts failed messages back with their retry delay, or marks them FAILED for good */
+    public void reschedule(List<OutboxFailure> failures) {
+        if (failures.isEmpty()) return;
+        jdbcTemplate.batchUpdate(RESCHEDULE_SQL, failures, failures.size(), (ps, failure) -> {
+            ps.setString(1, failure.dead() ? "FAILED" : "PENDING");
+            ps.setLong(2, failure.retryAfterSeconds());
+            ps.setString(3, failure.error());
+            ps.setLong(4, failure.id());
+        });
+    }
+
+    /** Messages waiting for delivery and the age of the oldest one */
+    public Backlog backlog() {
+        return jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) AS pending,
+                       COALESCE(EXTRACT(EPOCH FROM (CURRENT_TIMESTAMP - MIN(created_at))), 0)::bigint AS oldest_seconds
+                FROM outbox
+                WHERE status = 'PENDING'
+                """,
+                (rs, i) -> new Backlog(rs.getLong("pending"), rs.getLong("oldest_seconds")));
+    }
+
+    /** @return number of delivered messages removed */
+    public int deleteSentOlderThan(int days) {
+        return jdbcTemplate.update(
+                "DELETE FROM outbox WHERE status = 'SENT' AND sent_at < CURRENT_TIMESTAMP - (? * INTERVAL '1 day')",
+                days);
+    }
+
+    public record OutboxMessage(long id, String recipient, String subject, String body, boolean html,
+                                int attempts, long queuedMillis) {}
+
+    public record OutboxFailure(long id, long retryAfterSeconds, String error, boolean dead) {}
+
+    public record Backlog(long pending, long oldestSeconds) {}
+}
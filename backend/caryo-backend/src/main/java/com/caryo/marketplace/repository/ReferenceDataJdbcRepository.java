@@ -0,0 +1,143 @@
+package com.caryo.marketplace.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based reads and batched upserts of makes/models for the reference-data sync,
+ * plus the {@code slug -> id} lookups behind the listing search filters.
+ *
+ * <p>Plain JDBC on purpose: the sync writes hundreds of rows per chunk, and a
+ * single {@code INSERT ... ON CONFLICT} batch replaces the per-row
+ * find-then-save round trips of the JPA services. Callers own the transaction.</p>
+ *
+ * <p>On conflict the row keeps its admin-reviewed names once it has been
+ * activated; only inactive (still pending review) rows take the provider's
+ * names. {@code source_hash} is always advanced, and rows whose hash did not
+ * change are left untouched by the {@code WHERE} clause.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReferenceDataJdbcRepository {
+
+    private static final String UPSERT_BRAND_SQL = """
+            INSERT INTO makes (name, slug, display_name_en, display_name_ar, is_active, source_hash)
+            VALUES (?, ?, ?, ?, false, ?)
+            ON CONFLICT (slug) DO UPDATE SET
+                name = CASE WHEN makes.is_active THEN makes.name ELSE EXCLUDED.name END,
+                display_name_en = CASE WHEN makes.is_active THEN makes.display_name_en ELSE EXCLUDED.display_name_en END,
+                display_name_ar = CASE WHEN makes.is_active THEN makes.display_name_ar ELSE EXCLUDED.display_name_ar END,
+                source_hash = EXCLUDED.source_hash
+            WHERE makes.source_hash IS DISTINCT FROM EXCLUDED.source_hash
+            """;
+
+    private static final String UPSERT_MODEL_SQL = """
+            INSERT INTO models (make_id, name, slug, display_name_en, display_name_ar, is_active, source_hash)
+            SELECT b.id, ?, ?, ?, ?, false, ? FROM makes b WHERE b.slug = ?
+            ON CONFLICT (slug) DO UPDATE SET
+                name = CASE WHEN models.is_active THEN models.name ELSE EXCLUDED.name END,
+                display_name_en = CASE WHEN models.is_active THEN models.display_name_en ELSE EXCLUDED.display_name_en END,
+                display_name_ar = CASE WHEN models.is_active THEN models.display_name_ar ELSE EXCLUDED.display_name_ar END,
+                source_hash = EXCLUDED.source_hash
+            WHERE models.source_hash IS DISTINCT FROM EXCLUDED.source_hash
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Current state of every brand, for diffing against a provider payload */
+    public List<BrandState> findAllBrandStates() {
+        return jdbcTemplate.query(
+                "SELECT slug, name, display_name_ar, is_active, source_hash FROM makes",
+                (rs, i) -> new BrandState(rs.getString("slug"), rs.getString("name"),
+                        rs.getString("display_name_ar"), rs.getBoolean("is_active"), rs.getString("source_hash")));
+    }
+
+    /** Current state of every model, keyed by its brand's slug */
+    public List<ModelState> findAllModelStates() {
+        return jdbcTemplate.query(
+                "SELECT m.slug, b.slug AS brand_slug, m.name, m.display_name_ar, m.is_active, m.source_hash "
+                        + "FROM models m JOIN makes b ON b.id = m.make_id",
+                (rs, i) -> new ModelState(rs.getString("slug"), rs.getString("brand_slug"), rs.getString("name"),
+                        rs.getString("display_name_ar"), rs.getBoolean("is_active"), rs.getString("source_hash")));
+    }
+
+    /** {@code slug -> id} of every brand */
+    public Map<String, Long> findBrandIdsBySlug() {
+        return findIdsBySlug("makes");
+    }
+
+    /** {@code slug -> id} of every model; model slugs are unique across brands */
+    public Map<String, Long> findModelIdsBySlug() {
+        return findIdsBySlug("models");
+    }
+
+    /** {@code slug -> id} of every fuel type */
+    public Map<String, Long> findFuelTypeIdsBySlug() {
+        return findIdsBySlug("fuel_types");
+    }
+
+    /** {@code slug -> id} of every body style */
+    public Map<String, Long> findBodyStyleIdsBySlug() {
+        return findIdsBySlug("body_styles");
+    }
+
+    private Map<String, Long> findIdsBySlug(String table) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT slug, id FROM " + table + " WHERE slug IS NOT NULL",
+                rs -> { ids.put(rs.getString("slug"), rs.getLong("id")); });
+        return ids;
+    }
+
+    /** @return number of rows inserted or changed */
+    public int upsertBrands(List<BrandRow> rows) {
+        if (rows.isEmpty()) return 0;
+        return affected(jdbcTemplate.batchUpdate(UPSERT_BRAND_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.name());
+            ps.setString(2, row.slug());
+            ps.setString(3, row.name());
+            ps.setString(4, row.nameAr());
+            ps.setString(5, row.sourceHash());
+        }));
+    }
+
+    /**
+     * Models are attached to their brand by slug, so brands inserted earlier in the
+     * same transaction resolve too. A model whose brand slug is unknown is not written.
+     *
+     * @return number of rows inserted or changed
+     */
+    public int upsertModels(List<ModelRow> rows) {
+        if (rows.isEmpty()) return 0;
+        return affected(jdbcTemplate.batchUpdate(UPSERT_MODEL_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.name());
+            ps.setString(2, row.slug());
+            ps.setString(3, row.name());
+            ps.setString(4, row.nameAr());
+            ps.setString(5, row.sourceHash());
+            ps.setString(6, row.brandSlug());
+        }));
+    }
+
+    private static int affected(int[][] counts) {
+        int total = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                total += Math.max(count, 0);
+            }
+        }
+        return total;
+    }
+
+    public record BrandState(String slug, String name, String nameAr, boolean active, String sourceHash) {}
+
+    public record ModelState(String slug, String brandSlug, String name, String nameAr, boolean active, String sourceHash) {}
+
+    public record BrandRow(String slug, String name, String nameAr, String sourceHash) {}
+
+    public record ModelRow(String brandSlug, String slug, String name, String nameAr, String sourceHash) {}
+}
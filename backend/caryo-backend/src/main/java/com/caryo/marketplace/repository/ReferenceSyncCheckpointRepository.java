@@ -0,0 +1,24 @@
+package com.caryo.marketplace.repository;
+
+import com.caryo.marketplace.model.ReferenceSyncCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Set;
+
+/**
+ * Repository for {@link ReferenceSyncCheckpoint} rows of the reference-data sync.
+ */
+@Repository
+public interface ReferenceSyncCheckpointRepository extends JpaRepository<ReferenceSyncCheckpoint, Long> {
+
+    @Query("SELECT c.sourceKey FROM ReferenceSyncCheckpoint c WHERE c.providerName = :providerName")
+    Set<String> findSourceKeysByProviderName(@Param("providerName") String providerName);
+
+    @Modifying
+    @Query("DELETE FROM ReferenceSyncCheckpoint c WHERE c.providerName = :providerName")
+    int deleteByProviderName(@Param("providerName") String providerName);
+}
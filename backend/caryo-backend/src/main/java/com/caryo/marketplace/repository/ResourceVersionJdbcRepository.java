@@ -0,0 +1,67 @@
+package com.caryo.marketplace.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads the change markers behind HTTP ETags: the trigger-maintained
+ * {@code resource_versions} counters, the listing set's
+ * {@code listing_version_shards} (see V79) and a single listing's timestamps
+ * (see V71).
+ *
+ * <p>All are index or tiny-table reads, far cheaper than the queries and
+ * serialization of the responses they validate.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class ResourceVersionJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Every counter, keyed by name ("reference-data", "listings", "dealers") */
+    public Map<String, Long> findAllVersions() {
+        Map<String, Long> versions = new HashMap<>();
+        RowCallbackHandler collect = rs -> versions.put(rs.getString("name"), rs.getLong("version"));
+        jdbcTemplate.query("""
+                SELECT name, version FROM resource_versions
+                UNION ALL
+                SELECT 'listings', SUM(version)::bigint FROM listing_version_shards
+                """, collect);
+        return versions;
+    }
+
+    /**
+     * Change marker of one approved listing: its own updated_at (touched by media
+     * changes too) and its seller's, since seller fields are part of the detail.
+     *
+     * @return both timestamps in epoch microseconds, or empty when the listing is not publicly visible
+     */
+    public Optional<ListingVersion> findApprovedListingVersion(long listingId) {
+        List<ListingVersion> rows = jdbcTemplate.query("""
+                SELECT cl.updated_at, u.updated_at AS seller_updated_at
+                FROM car_listings cl
+                JOIN users u ON u.id = cl.seller_id
+                WHERE cl.id = ? AND cl.approved = true
+                """,
+                (rs, i) -> new ListingVersion(toMicros(rs.getTimestamp("updated_at")),
+                        toMicros(rs.getTimestamp("seller_updated_at"))),
+                listingId);
+        return rows.stream().findFirst();
+    }
+
+    private static long toMicros(Timestamp timestamp) {
+        return timestamp != null ? ChronoUnit.MICROS.between(Instant.EPOCH, timestamp.toInstant()) : 0L;
+    }
+
+    public record ListingVersion(long listingUpdatedAt, long sellerUpdatedAt) {}
+}
@@ -0,0 +1,31 @@
+package com.caryo.marketplace.repository;
+
+import com.caryo.marketplace.model.SearchSuggestion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SearchSuggestionRepository extends JpaRepository<SearchSuggestion, Long> {
+
+       /**
+        * Top completions for a normalized prefix, most-listed first.
+        * {@code pattern} is the LIKE-escaped prefix followed by {@code %}; the
+        * partial text_pattern_ops index idx_search_suggestions_prefix serves it
+        * regardless of the database collation.
+        */
+       @Query(value = """
+              SELECT * FROM search_suggestions
+              WHERE language = :language
+                AND listing_count > 0
+                AND normalized_term LIKE :pattern ESCAPE '\\'
+              ORDER BY listing_count DESC, normalized_term
+              LIMIT :maxResults
+              """, nativeQuery = true)
+       List<SearchSuggestion> findTopByPrefix(@Param("language") String language,
+                                              @Param("pattern") String pattern,
+                                              @Param("maxResults") int maxResults);
+}
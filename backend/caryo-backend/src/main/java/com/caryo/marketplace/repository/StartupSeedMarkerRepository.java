@@ -0,0 +1,46 @@
+package com.caryo.marketplace.repository;
+
+import com.caryo.marketplace.model.StartupSeedMarker;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for {@link StartupSeedMarker}, keyed by task name.
+ */
+@Repository
+public interface StartupSeedMarkerRepository extends JpaRepository<StartupSeedMarker, String> {
+
+    /**
+     * Records that {@code taskName} completed {@code seedVersion}. Instances
+     * booting together may both record the same task: the insert leaves an
+     * existing marker alone instead of failing on its key, and the update only
+     * ever raises the version.
+     */
+    default void recordCompleted(String taskName, int seedVersion) {
+        if (insertIfAbsent(taskName, seedVersion) == 0) {
+            raiseVersion(taskName, seedVersion);
+        }
+    }
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO startup_seed_markers (task_name, seed_version, completed_at)
+            VALUES (:taskName, :seedVersion, CURRENT_TIMESTAMP)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("taskName") String taskName, @Param("seedVersion") int seedVersion);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE startup_seed_markers
+            SET seed_version = GREATEST(seed_version, :seedVersion), completed_at = CURRENT_TIMESTAMP
+            WHERE task_name = :taskName
+            """, nativeQuery = true)
+    int raiseVersion(@Param("taskName") String taskName, @Param("seedVersion") int seedVersion);
+}
@@ -47,5 +47,17 @@ public interface UserBlockRepository extends JpaRepository<UserBlock, Long> {
      * Count how many users a specific user has blocked
      */
     long countByBlocker(User blocker);
+
+    /**
+     * IDs of the users a specific user has blocked, for the block graph
+     */
+    @Query("SELECT b.blocked.id FROM UserBlock b WHERE b.blocker.id = :userId")
+    List<Long> findBlockedIdsByBlockerId(@Param("userId") Long userId);
+
+    /**
+     * IDs of the users who have blocked a specific user, for the block graph
+     */
+    @Query("SELECT b.blocker.id FROM UserBlock b WHERE b.blocked.id = :userId")
+    List<Long> findBlockerIdsByBlockedId(@Param("userId") Long userId);
 }
 
@@ -44,6 +44,40 @@ public class CarListingSpecification {
      * @throws IllegalArgumentException if filter parameters are invalid
      */
     public static Specification<CarListing> fromFilter(ListingFilterRequest filter, List<Governorate> governorateEntities) {
+        return fromFilter(filter, governorateEntities, null);
+    }
+
+    /**
+     * Creates a specification whose brand/model/fuel-type/body-style filters compare
+     * foreign-key columns on car_listings, using IDs resolved up front by
+     * {@link com.caryo.marketplace.service.ReferenceSlugResolver}. Without resolved IDs
+     * the slug filters fall back to joining the reference tables.
+     *
+     * @param filter The filter request containing search criteria
+     * @param governorateEntities Optional list of governorate entities for location filtering
+     * @param resolvedIds IDs resolved from the filter's slugs, or null to filter by slug
+     * @return Specification for filtering car listings
+     * @throws IllegalArgumentException if filter parameters are invalid
+     */
+    public static Specification<CarListing> fromFilter(ListingFilterRequest filter, List<Governorate> governorateEntities,
+                                                       ListingFilterIds resolvedIds) {
+        return fromFilter(filter, governorateEntities, resolvedIds, null);
+    }
+
+    /**
+     * Creates a specification that, in addition to the resolved reference IDs, ranges
+     * on the USD-normalized price so one price range matches listings in every currency.
+     *
+     * @param filter The filter request containing search criteria
+     * @param governorateEntities Optional list of governorate entities for location filtering
+     * @param resolvedIds IDs resolved from the filter's slugs, or null to filter by slug
+     * @param usdPriceRange The filter's price bounds converted to USD, or null to range on
+     *                      the listing's own price within a single currency
+     * @return Specification for filtering car listings
+     * @throws IllegalArgumentException if filter parameters are invalid
+     */
+    public static Specification<CarListing> fromFilter(ListingFilterRequest filter, List<Governorate> governorateEntities,
+                                                       ListingFilterIds resolvedIds, UsdPriceRange usdPriceRange) {
         if (filter == null) {
             throw new IllegalArgumentException("Filter request cannot be null");
         }
@@ -55,20 +89,20 @@ public class CarListingSpecification {
             List<Predicate> predicates = new ArrayList<>();
 
             // Enhanced hierarchical brand/model filtering
-            addBrandModelPredicates(filter, root, criteriaBuilder, predicates);
+            addBrandModelPredicates(filter, resolvedIds, root, criteriaBuilder, predicates);
 
             // Add numeric range filters (validation already done)
             addYearRangePredicates(filter, root, criteriaBuilder, predicates);
-            addPriceRangePredicates(filter, root, criteriaBuilder, predicates);
+            addPriceRangePredicates(filter, usdPriceRange, root, criteriaBuilder, predicates);
             addMileageRangePredicates(filter, root, criteriaBuilder, predicates);
 
             // Add entity-based filters
             addGovernorateFilter(governorateEntities, root, criteriaBuilder, predicates);
             addStatusFilters(filter, root, criteriaBuilder, predicates);
-            addSellerTypeFilter(filter, root, criteriaBuilder, predicates);
+            addSellerTypeFilter(filter, resolvedIds, root, criteriaBuilder, predicates);
             addTransmissionFilter(filter, root, criteriaBuilder, predicates);
-            addFuelTypeFilter(filter, root, criteriaBuilder, predicates);
-            addBodyStyleFilter(filter, root, criteriaBuilder, predicates);
+            addFuelTypeFilter(filter, resolvedIds, root, criteriaBuilder, predicates);
+            addBodyStyleFilter(filter, resolvedIds, root, criteriaBuilder, predicates);
 
 
             // Add text search filter
@@ -158,11 +192,18 @@ public class CarListingSpecification {
 
     /**
      * Adds brand and model predicates using slug-based filtering.
+     * With resolved IDs these read brand_id and model_id on car_listings; otherwise they join for the slugs.
      */
     private static void addBrandModelPredicates(ListingFilterRequest filter,
+                                              ListingFilterIds resolvedIds,
                                               jakarta.persistence.criteria.Root<CarListing> root,
                                               jakarta.persistence.criteria.CriteriaBuilder criteriaBuilder,
                                               List<Predicate> predicates) {
+        if (resolvedIds != null) {
+            addIdPredicate(resolvedIds.brandIds(), root.get("brandId"), criteriaBuilder, predicates);
+            addIdPredicate(resolvedIds.modelIds(), root.get("model").get("id"), criteriaBuilder, predicates);
+            return;
+        }
 
         // Use slug-based filtering (AutoTrader UK pattern)
         List<String> brandSlugs = filter.getNormalizedBrandSlugs();
@@ -187,6 +228,20 @@ public class CarListingSpecification {
         }
     }
 
+    /**
+     * Adds an IN predicate on a foreign-key column for resolved slug IDs. A filter whose
+     * slugs all turned out to be unknown resolves to no IDs and must match nothing.
+     */
+    private static void addIdPredicate(java.util.Set<Long> ids,
+                                       jakarta.persistence.criteria.Path<Object> column,
+                                       jakarta.persistence.criteria.CriteriaBuilder criteriaBuilder,
+                                       List<Predicate> predicates) {
+        if (ids == null) {
+            return;
+        }
+        predicates.add(ids.isEmpty() ? criteriaBuilder.disjunction() : column.in(ids));
+    }
+
     /**
      * NOTE: Removed automatic hiding of listings with inactive brands/models.
      *
@@ -221,16 +276,34 @@ public class CarListingSpecification {
     /**
      * Adds price range filtering predicates (validation already done).
      *
-     * <p>Prices are stored in the listing's own currency and are not normalised
-     * across currencies, so a bare numeric range would compare USD against SYP
-     * — four orders of magnitude apart. Any price bound is therefore scoped to
-     * a single currency: the one the caller named, or the platform default.
-     * A currency supplied without price bounds filters on its own.</p>
+     * <p>With a {@link UsdPriceRange} the bounds are compared with
+     * {@code price_usd_normalized}, so listings in every currency match, and a
+     * currency supplied without price bounds still filters by listing currency
+     * (stored upper case since V69, so a plain equality).</p>
+     *
+     * <p>Without one, prices are compared in the listing's own currency, and a
+     * bare numeric range would compare USD against SYP — four orders of
+     * magnitude apart. Any price bound is therefore scoped to a single
+     * currency: the one the caller named, or the platform default.</p>
      */
     private static void addPriceRangePredicates(ListingFilterRequest filter,
+                                              UsdPriceRange usdPriceRange,
                                               jakarta.persistence.criteria.Root<CarListing> root,
                                               jakarta.persistence.criteria.CriteriaBuilder criteriaBuilder,
                                               List<Predicate> predicates) {
+        if (usdPriceRange != null) {
+            if (filter.getMinPrice() == null && filter.getMaxPrice() == null && filter.hasCurrencyConstraint()) {
+                predicates.add(criteriaBuilder.equal(root.get("currency"), filter.getEffectivePriceCurrency()));
+            }
+            if (usdPriceRange.min() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("priceUsdNormalized"), usdPriceRange.min()));
+            }
+            if (usdPriceRange.max() != null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("priceUsdNormalized"), usdPriceRange.max()));
+            }
+            return;
+        }
+
         if (filter.hasCurrencyConstraint()) {
             predicates.add(criteriaBuilder.equal(
                     criteriaBuilder.upper(root.get("currency")),
@@ -313,13 +386,20 @@ public class CarListingSpecification {
 
     /**
      * Adds seller type filtering predicate.
+     * Searches with resolved IDs read the denormalized seller_type_id column; the legacy
+     * path keeps the join to the seller, which does not depend on the V68 backfill.
      */
     private static void addSellerTypeFilter(ListingFilterRequest filter,
+                                          ListingFilterIds resolvedIds,
                                           jakarta.persistence.criteria.Root<CarListing> root,
                                           jakarta.persistence.criteria.CriteriaBuilder criteriaBuilder,
                                           List<Predicate> predicates) {
         if (filter.getSellerTypeIds() != null && !filter.getSellerTypeIds().isEmpty()) {
-            predicates.add(root.get("seller").get("sellerType").get("id").in(filter.getSellerTypeIds()));
+            if (resolvedIds != null) {
+                predicates.add(root.get("sellerTypeId").in(filter.getSellerTypeIds()));
+            } else {
+                predicates.add(root.get("seller").get("sellerType").get("id").in(filter.getSellerTypeIds()));
+            }
         }
     }
 
@@ -339,9 +419,15 @@ public class CarListingSpecification {
      * Adds fuel type filtering predicate.
      */
     private static void addFuelTypeFilter(ListingFilterRequest filter,
+                                        ListingFilterIds resolvedIds,
                                         jakarta.persistence.criteria.Root<CarListing> root,
                                         jakarta.persistence.criteria.CriteriaBuilder criteriaBuilder,
                                         List<Predicate> predicates) {
+        if (resolvedIds != null) {
+            addIdPredicate(resolvedIds.fuelTypeIds(), root.get("fuelType").get("id"), criteriaBuilder, predicates);
+            return;
+        }
+
         // Handle slug-based filtering
         if (filter.getFuelTypeSlugs() != null && !filter.getFuelTypeSlugs().isEmpty()) {
             predicates.add(root.get("fuelType").get("slug").in(filter.getFuelTypeSlugs()));
@@ -352,6 +438,7 @@ public class CarListingSpecification {
      * Adds body style filtering predicate.
      */
     private static void addBodyStyleFilter(ListingFilterRequest filter,
+                                         ListingFilterIds resolvedIds,
                                          jakarta.persistence.criteria.Root<CarListing> root,
                                          jakarta.persistence.criteria.CriteriaBuilder criteriaBuilder,
                                          List<Predicate> predicates) {
@@ -361,7 +448,9 @@ public class CarListingSpecification {
         }
 
         // Handle slug-based filtering
-        if (filter.getBodyStyleSlugs() != null && !filter.getBodyStyleSlugs().isEmpty()) {
+        if (resolvedIds != null) {
+            addIdPredicate(resolvedIds.bodyStyleIds(), root.get("bodyStyle").get("id"), criteriaBuilder, predicates);
+        } else if (filter.getBodyStyleSlugs() != null && !filter.getBodyStyleSlugs().isEmpty()) {
             predicates.add(root.get("bodyStyle").get("slug").in(filter.getBodyStyleSlugs()));
         }
     }
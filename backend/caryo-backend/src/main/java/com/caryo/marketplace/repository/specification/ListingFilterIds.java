@@ -0,0 +1,16 @@
+package com.caryo.marketplace.repository.specification;
+
+import java.util.Set;
+
+/**
+ * Reference-data IDs resolved from the slug filters of a listing search, so
+ * {@link CarListingSpecification} can compare foreign-key columns on
+ * {@code car_listings} instead of joining the reference tables for their slugs.
+ *
+ * <p>A {@code null} set means the filter was not requested. An empty set means
+ * it was requested but none of the slugs exist, so no listing can match.</p>
+ */
+public record ListingFilterIds(Set<Long> brandIds, Set<Long> modelIds, Set<Long> fuelTypeIds, Set<Long> bodyStyleIds) {
+
+    public static final ListingFilterIds NONE = new ListingFilterIds(null, null, null, null);
+}
@@ -0,0 +1,11 @@
+package com.caryo.marketplace.repository.specification;
+
+import java.math.BigDecimal;
+
+/**
+ * The price bounds of a listing search converted to US dollars, compared
+ * against {@code car_listings.price_usd_normalized} so one range covers
+ * listings in every currency. Either bound may be null.
+ */
+public record UsdPriceRange(BigDecimal min, BigDecimal max) {
+}
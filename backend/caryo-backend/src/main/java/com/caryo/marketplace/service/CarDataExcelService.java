@@ -2,22 +2,48 @@ package com.caryo.marketplace.service;
 
 import com.caryo.marketplace.model.CarBrand;
 import com.caryo.marketplace.model.CarModel;
+import com.caryo.marketplace.repository.CarBrandRepository;
+import com.caryo.marketplace.repository.CarModelRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Service for handling Excel export and import operations for car data
  * Supports bilingual data (English and Arabic) with data integrity validation
+ *
+ * Both directions stream: export reads brands and models in keyset pages and
+ * writes through an SXSSF row window, import parses sheets with the SAX event
+ * reader and upserts in chunks, so memory stays flat regardless of workbook size.
  */
 @Service
 @RequiredArgsConstructor
@@ -26,6 +52,21 @@ public class CarDataExcelService {
 
     private final CarBrandService carBrandService;
     private final CarModelService carModelService;
+    private final CarBrandRepository carBrandRepository;
+    private final CarModelRepository carModelRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Rows kept in memory by SXSSF before flushing to its temp file */
+    private static final int EXPORT_ROW_WINDOW = 200;
+
+    /** Brands or models read per export query */
+    private static final int EXPORT_PAGE_SIZE = 500;
+
+    /** Minimum exported column width, in characters */
+    private static final int MIN_COLUMN_WIDTH_CHARS = 14;
+
+    @Value("${app.excel.import.batch-size:500}")
+    private int importBatchSize = 500;
 
     // Excel column headers
     private static final String[] BRAND_HEADERS = {
@@ -43,9 +84,37 @@ public class CarDataExcelService {
      * @throws IOException if Excel generation fails
      */
     public byte[] exportCarDataToExcel() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportCarDataToExcel(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Export all car brands and models to Excel, writing directly to the given stream.
+     * Only a small window of rows is held in memory; the rest is spooled to a
+     * compressed temp file until the workbook is written.
+     * @param outputStream destination (not closed)
+     * @throws IOException if Excel generation fails
+     */
+    public void exportCarDataToExcel(OutputStream outputStream) throws IOException {
+        try (CarDataExport export = prepareCarDataExport()) {
+            export.writeTo(outputStream);
+        }
+    }
+
+    /**
+     * Build the export workbook without writing it anywhere yet. Brands and models are
+     * read page by page and their rows spooled to SXSSF's temp file, so a failure to read
+     * them surfaces here, before the caller has committed an HTTP response.
+     * @return the built export; close it once written
+     * @throws IOException if reading the data or building the workbook fails
+     */
+    public CarDataExport prepareCarDataExport() throws IOException {
         log.info("Starting car data export to Excel");
 
-        try (Workbook workbook = new XSSFWorkbook()) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXPORT_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
             // Create styles
             CellStyle headerStyle = createHeaderStyle(workbook);
             CellStyle dateStyle = createDateStyle(workbook);
@@ -57,46 +126,88 @@ public class CarDataExcelService {
             // Create models sheet
             createModelsSheet(workbook, headerStyle, dateStyle, booleanStyle);
 
-            // Write to byte array
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-
-            log.info("Successfully exported car data to Excel");
-            return outputStream.toByteArray();
+            return new CarDataExport(workbook);
 
         } catch (Exception e) {
             log.error("Error exporting car data to Excel", e);
+            workbook.dispose();
+            workbook.close();
             throw new IOException("Failed to export car data to Excel: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * A built export workbook whose rows wait in a temp file until written.
+     * Closing it deletes the temp file.
+     */
+    public static final class CarDataExport implements AutoCloseable {
+
+        private final SXSSFWorkbook workbook;
+
+        private CarDataExport(SXSSFWorkbook workbook) {
+            this.workbook = workbook;
+        }
+
+        /**
+         * Write the workbook to the given stream
+         * @param outputStream destination, typically the HTTP response body (not closed)
+         * @throws IOException if writing fails
+         */
+        public void writeTo(OutputStream outputStream) throws IOException {
+            workbook.write(outputStream);
+            outputStream.flush();
+            log.info("Successfully exported car data to Excel");
+        }
+
+        @Override
+        public void close() throws IOException {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
     /**
      * Import car data from Excel file
      * @param file Excel file to import
      * @return Import result with statistics
      * @throws IOException if file processing fails
      */
-    @Transactional
+    @CacheEvict(value = {"carBrands", "activeBrands", "carModels", "modelsByBrand", "carModelsPage"}, allEntries = true)
     public ExcelImportResult importCarDataFromExcel(MultipartFile file) throws IOException {
         log.info("Starting car data import from Excel file: {}", file.getOriginalFilename());
 
         ExcelImportResult result = new ExcelImportResult();
 
-        try (InputStream inputStream = file.getInputStream();
-             Workbook workbook = new XSSFWorkbook(inputStream)) {
-
-            // Import brands first
-            if (workbook.getNumberOfSheets() > 0) {
-                Sheet brandsSheet = workbook.getSheetAt(0);
-                ImportSheetResult brandResult = importBrandsFromSheet(brandsSheet);
-                result.setBrandsResult(brandResult);
+        // OPCPackage reads zip entries lazily from a file, but buffers the whole archive from a stream
+        Path tempFile = Files.createTempFile("caryo-car-data-import-", ".xlsx");
+        try {
+            try (InputStream inputStream = file.getInputStream()) {
+                Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
             }
 
-            // Import models second
-            if (workbook.getNumberOfSheets() > 1) {
-                Sheet modelsSheet = workbook.getSheetAt(1);
-                ImportSheetResult modelResult = importModelsFromSheet(modelsSheet);
-                result.setModelsResult(modelResult);
+            try (OPCPackage pkg = OPCPackage.open(tempFile.toFile(), PackageAccess.READ)) {
+                XSSFReader reader = new XSSFReader(pkg);
+                ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+                StylesTable styles = reader.getStylesTable();
+                XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+
+                // Import brands first
+                if (sheets.hasNext()) {
+                    BrandImport brandImport = new BrandImport(result.getBrandsResult());
+                    try (InputStream sheet = sheets.next()) {
+                        parseSheet(styles, strings, sheet, brandImport::accept);
+                    }
+                    brandImport.finish();
+
+                    // Import models second
+                    if (sheets.hasNext()) {
+                        ModelImport modelImport = new ModelImport(result.getModelsResult(), brandImport);
+                        try (InputStream sheet = sheets.next()) {
+                            parseSheet(styles, strings, sheet, modelImport::accept);
+                        }
+                        modelImport.finish();
+                    }
+                }
             }
 
             log.info("Successfully imported car data from Excel. Brands: {} created, {} updated, {} errors. Models: {} created, {} updated, {} errors",
@@ -108,11 +219,13 @@ public class CarDataExcelService {
         } catch (Exception e) {
             log.error("Error importing car data from Excel", e);
             throw new IOException("Failed to import car data from Excel: " + e.getMessage(), e);
+        } finally {
+            Files.deleteIfExists(tempFile);
         }
     }
 
     /**
-     * Create brands sheet in the workbook
+     * Create brands sheet in the workbook, reading brands one keyset page at a time
      */
     private void createBrandsSheet(Workbook workbook, CellStyle headerStyle, CellStyle dateStyle, CellStyle booleanStyle) {
         Sheet sheet = workbook.createSheet("Car Brands");
@@ -125,39 +238,40 @@ public class CarDataExcelService {
             cell.setCellStyle(headerStyle);
         }
 
-        // Get all brands
-        List<CarBrand> brands = carBrandService.getAllBrands();
-
-        // Create data rows
+        // Create data rows: id, displayNameEn, displayNameAr, slug, isActive
         int rowNum = 1;
-        for (CarBrand brand : brands) {
-            Row row = sheet.createRow(rowNum++);
-
-            row.createCell(0).setCellValue(brand.getId() != null ? brand.getId() : 0);
-            row.createCell(1).setCellValue(brand.getDisplayNameEn() != null ? brand.getDisplayNameEn() : "");
-            row.createCell(2).setCellValue(brand.getDisplayNameAr() != null ? brand.getDisplayNameAr() : "");
-            row.createCell(3).setCellValue(brand.getSlug() != null ? brand.getSlug() : "");
-            row.createCell(4).setCellValue(""); // Country of origin - not in current model
-
-            Cell activeCell = row.createCell(5);
-            activeCell.setCellValue(brand.getIsActive() != null ? brand.getIsActive() : true);
-            activeCell.setCellStyle(booleanStyle);
-
-            // Date cells would need actual timestamps from your model
-            row.createCell(6).setCellValue(""); // Created at
-            row.createCell(7).setCellValue(""); // Updated at
-        }
+        Long afterId = 0L;
+        List<Object[]> page;
+        do {
+            page = carBrandRepository.findExportRowsAfter(afterId, PageRequest.of(0, EXPORT_PAGE_SIZE));
+            for (Object[] brand : page) {
+                Row row = sheet.createRow(rowNum++);
+
+                row.createCell(0).setCellValue((Long) brand[0]);
+                row.createCell(1).setCellValue(brand[1] != null ? (String) brand[1] : "");
+                row.createCell(2).setCellValue(brand[2] != null ? (String) brand[2] : "");
+                row.createCell(3).setCellValue(brand[3] != null ? (String) brand[3] : "");
+                row.createCell(4).setCellValue(""); // Country of origin - not in current model
+
+                Cell activeCell = row.createCell(5);
+                activeCell.setCellValue(brand[4] != null ? (Boolean) brand[4] : true);
+                activeCell.setCellStyle(booleanStyle);
+
+                // Date cells would need actual timestamps from your model
+                row.createCell(6).setCellValue(""); // Created at
+                row.createCell(7).setCellValue(""); // Updated at
+
+                afterId = (Long) brand[0];
+            }
+        } while (page.size() == EXPORT_PAGE_SIZE);
 
-        // Auto-size columns
-        for (int i = 0; i < BRAND_HEADERS.length; i++) {
-            sheet.autoSizeColumn(i);
-        }
+        setColumnWidths(sheet, BRAND_HEADERS);
 
-        log.debug("Created brands sheet with {} brands", brands.size());
+        log.debug("Created brands sheet with {} brands", rowNum - 1);
     }
 
     /**
-     * Create models sheet in the workbook
+     * Create models sheet in the workbook, reading models one keyset page at a time
      */
     private void createModelsSheet(Workbook workbook, CellStyle headerStyle, CellStyle dateStyle, CellStyle booleanStyle) {
         Sheet sheet = workbook.createSheet("Car Models");
@@ -170,266 +284,458 @@ public class CarDataExcelService {
             cell.setCellStyle(headerStyle);
         }
 
-        // Get all models
-        List<CarModel> models = carModelService.getAllModels();
-
-        // Create data rows
+        // Create data rows: id, brand id, brand names, model names, slug, isActive
         int rowNum = 1;
-        for (CarModel model : models) {
-            Row row = sheet.createRow(rowNum++);
-
-            row.createCell(0).setCellValue(model.getId() != null ? model.getId() : 0);
-            row.createCell(1).setCellValue(model.getBrand() != null && model.getBrand().getId() != null ? model.getBrand().getId() : 0);
-            row.createCell(2).setCellValue(model.getBrand() != null ? model.getBrand().getDisplayNameEn() : "");
-            row.createCell(3).setCellValue(model.getBrand() != null ? model.getBrand().getDisplayNameAr() : "");
-            row.createCell(4).setCellValue(model.getDisplayNameEn() != null ? model.getDisplayNameEn() : "");
-            row.createCell(5).setCellValue(model.getDisplayNameAr() != null ? model.getDisplayNameAr() : "");
-            row.createCell(6).setCellValue(model.getSlug() != null ? model.getSlug() : "");
-            row.createCell(7).setCellValue(""); // Year start - not in current model
-            row.createCell(8).setCellValue(""); // Year end - not in current model
-
-            Cell activeCell = row.createCell(9);
-            activeCell.setCellValue(model.getIsActive() != null ? model.getIsActive() : true);
-            activeCell.setCellStyle(booleanStyle);
-
-            row.createCell(10).setCellValue(""); // Created at
-            row.createCell(11).setCellValue(""); // Updated at
-        }
+        Long afterId = 0L;
+        List<Object[]> page;
+        do {
+            page = carModelRepository.findExportRowsAfter(afterId, PageRequest.of(0, EXPORT_PAGE_SIZE));
+            for (Object[] model : page) {
+                Row row = sheet.createRow(rowNum++);
+
+                row.createCell(0).setCellValue((Long) model[0]);
+                row.createCell(1).setCellValue(model[1] != null ? (Long) model[1] : 0);
+                row.createCell(2).setCellValue(model[2] != null ? (String) model[2] : "");
+                row.createCell(3).setCellValue(model[3] != null ? (String) model[3] : "");
+                row.createCell(4).setCellValue(model[4] != null ? (String) model[4] : "");
+                row.createCell(5).setCellValue(model[5] != null ? (String) model[5] : "");
+                row.createCell(6).setCellValue(model[6] != null ? (String) model[6] : "");
+                row.createCell(7).setCellValue(""); // Year start - not in current model
+                row.createCell(8).setCellValue(""); // Year end - not in current model
+
+                Cell activeCell = row.createCell(9);
+                activeCell.setCellValue(model[7] != null ? (Boolean) model[7] : true);
+                activeCell.setCellStyle(booleanStyle);
+
+                row.createCell(10).setCellValue(""); // Created at
+                row.createCell(11).setCellValue(""); // Updated at
+
+                afterId = (Long) model[0];
+            }
+        } while (page.size() == EXPORT_PAGE_SIZE);
 
-        // Auto-size columns
-        for (int i = 0; i < MODEL_HEADERS.length; i++) {
-            sheet.autoSizeColumn(i);
+        setColumnWidths(sheet, MODEL_HEADERS);
+
+        log.debug("Created models sheet with {} models", rowNum - 1);
+    }
+
+    /**
+     * Fixed column widths - SXSSF cannot auto-size rows that were already flushed
+     */
+    private void setColumnWidths(Sheet sheet, String[] headers) {
+        for (int i = 0; i < headers.length; i++) {
+            sheet.setColumnWidth(i, Math.max(headers[i].length() + 2, MIN_COLUMN_WIDTH_CHARS) * 256);
         }
+    }
 
-        log.debug("Created models sheet with {} models", models.size());
+    /**
+     * Stream one sheet through the SAX parser, handing each row's formatted cell values
+     * to the consumer. Only the current row is ever held in memory.
+     */
+    private void parseSheet(StylesTable styles, ReadOnlySharedStringsTable strings,
+                            InputStream sheetStream, Consumer<SheetRow> rowConsumer) throws Exception {
+        XMLReader parser = XMLHelper.newXMLReader();
+        parser.setContentHandler(new XSSFSheetXMLHandler(styles, strings,
+                new RowCollector(rowConsumer), new DataFormatter(), false));
+        parser.parse(new InputSource(sheetStream));
     }
 
     /**
-     * Import brands from Excel sheet
+     * One parsed sheet row: zero-based row number and formatted cell text by column
      */
-    private ImportSheetResult importBrandsFromSheet(Sheet sheet) {
-        ImportSheetResult result = new ImportSheetResult();
+    private record SheetRow(int rowNum, Map<Integer, String> cells) {
 
-        // Skip header row
-        for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-            Row row = sheet.getRow(i);
-            if (row == null) continue;
+        String text(int column) {
+            String value = cells.get(column);
+            if (value == null) return null;
+            String trimmed = value.trim();
+            return trimmed.isEmpty() ? null : trimmed;
+        }
 
+        Long asLong(int column) {
+            String value = text(column);
+            if (value == null) return null;
             try {
-                // Extract brand data from row
-                Long id = getCellValueAsLong(row.getCell(0));
-                String nameEn = getCellValueAsString(row.getCell(1));
-                String nameAr = getCellValueAsString(row.getCell(2));
-                String slug = getCellValueAsString(row.getCell(3));
-                Boolean isActive = getCellValueAsBoolean(row.getCell(5));
-
-                // Validate required fields
-                if (nameEn == null || nameEn.trim().isEmpty()) {
-                    result.addError(i, "English name is required");
-                    continue;
-                }
-
-                if (nameAr == null || nameAr.trim().isEmpty()) {
-                    result.addError(i, "Arabic name is required");
-                    continue;
-                }
+                return new BigDecimal(value).longValue();
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
 
-                if (slug == null || slug.trim().isEmpty()) {
-                    slug = nameEn.toLowerCase().replaceAll("[^a-z0-9-]", "-");
-                }
+        Boolean asBoolean(int column) {
+            String value = text(column);
+            if (value == null) return null;
+            String normalized = value.toLowerCase();
+            try {
+                return new BigDecimal(normalized).signum() != 0;
+            } catch (NumberFormatException e) {
+                return "true".equals(normalized) || "yes".equals(normalized) || "1".equals(normalized);
+            }
+        }
+    }
 
-                // Check if brand exists (update) or create new
-                CarBrand brand;
-                boolean isUpdate = false;
-
-                if (id != null && id > 0) {
-                    try {
-                        brand = carBrandService.getBrandById(id);
-                        isUpdate = true;
-                    } catch (Exception e) {
-                        // Brand with ID doesn't exist, create new
-                        brand = new CarBrand();
-                    }
-                } else {
-                    // Check if brand exists by slug
-                    try {
-                        brand = carBrandService.getBrandBySlug(slug);
-                        isUpdate = true;
-                    } catch (Exception e) {
-                        // Brand doesn't exist, create new
-                        brand = new CarBrand();
-                    }
-                }
+    private static class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final Consumer<SheetRow> rowConsumer;
+        private Map<Integer, String> cells;
+        private int nextColumn;
 
-                // Set brand properties
-                brand.setName(nameEn);
-                brand.setDisplayNameEn(nameEn);
-                brand.setDisplayNameAr(nameAr);
-                brand.setSlug(slug);
-                brand.setIsActive(isActive != null ? isActive : true);
+        RowCollector(Consumer<SheetRow> rowConsumer) {
+            this.rowConsumer = rowConsumer;
+        }
 
-                // Save brand
-                if (isUpdate) {
-                    carBrandService.updateBrand(brand.getId(), brand);
-                    result.incrementUpdated();
-                } else {
-                    carBrandService.createBrand(brand);
-                    result.incrementCreated();
-                }
+        @Override
+        public void startRow(int rowNum) {
+            cells = new HashMap<>();
+            nextColumn = 0;
+        }
 
-            } catch (Exception e) {
-                result.addError(i, "Error processing brand: " + e.getMessage());
-                log.warn("Error processing brand at row {}: {}", i, e.getMessage());
+        @Override
+        public void endRow(int rowNum) {
+            // Skip header row
+            if (rowNum > 0) {
+                rowConsumer.accept(new SheetRow(rowNum, cells));
             }
         }
 
-        return result;
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            cells.put(column, formattedValue);
+            nextColumn = column + 1;
+        }
     }
 
+    private record BrandRow(int rowNum, Long id, String nameEn, String nameAr, String slug, boolean active) {}
+
+    private record ModelRow(int rowNum, Long id, Long brandId, String nameEn, String nameAr, String slug, boolean active) {}
+
+    private record BrandRef(String name, boolean active) {}
+
     /**
-     * Import models from Excel sheet
+     * Brands sheet import. Rows are validated as they stream in, buffered up to the
+     * batch size and upserted per chunk against a prefetched slug/id index, so no row
+     * needs its own lookup query.
      */
-    private ImportSheetResult importModelsFromSheet(Sheet sheet) {
-        ImportSheetResult result = new ImportSheetResult();
+    private class BrandImport {
+        private final ImportSheetResult result;
+        private final Map<String, Long> idsBySlug = new HashMap<>();
+        private final Map<Long, BrandRef> brandsById = new HashMap<>();
+        private final List<BrandRow> chunk = new ArrayList<>();
+
+        BrandImport(ImportSheetResult result) {
+            this.result = result;
+            for (Object[] entry : carBrandRepository.findAllIndexEntries()) {
+                Long id = (Long) entry[0];
+                idsBySlug.put((String) entry[1], id);
+                brandsById.put(id, new BrandRef((String) entry[2], Boolean.TRUE.equals(entry[3])));
+            }
+        }
 
-        // Skip header row
-        for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-            Row row = sheet.getRow(i);
-            if (row == null) continue;
+        void accept(SheetRow row) {
+            int i = row.rowNum();
+            String nameEn = row.text(1);
+            String nameAr = row.text(2);
+            String slug = row.text(3);
+            Boolean isActive = row.asBoolean(5);
+
+            // Validate required fields
+            if (nameEn == null) {
+                result.addError(i, "English name is required");
+                return;
+            }
 
-            try {
-                // Extract model data from row
-                Long id = getCellValueAsLong(row.getCell(0));
-                Long brandId = getCellValueAsLong(row.getCell(1));
-                String modelNameEn = getCellValueAsString(row.getCell(4));
-                String modelNameAr = getCellValueAsString(row.getCell(5));
-                String slug = getCellValueAsString(row.getCell(6));
-                Boolean isActive = getCellValueAsBoolean(row.getCell(9));
-
-                // Validate required fields
-                if (brandId == null || brandId <= 0) {
-                    result.addError(i, "Brand ID is required");
-                    continue;
-                }
+            if (nameAr == null) {
+                result.addError(i, "Arabic name is required");
+                return;
+            }
 
-                if (modelNameEn == null || modelNameEn.trim().isEmpty()) {
-                    result.addError(i, "English model name is required");
-                    continue;
-                }
+            if (slug == null) {
+                slug = nameEn.toLowerCase().replaceAll("[^a-z0-9-]", "-");
+            }
 
-                if (modelNameAr == null || modelNameAr.trim().isEmpty()) {
-                    result.addError(i, "Arabic model name is required");
-                    continue;
-                }
+            chunk.add(new BrandRow(i, row.asLong(0), nameEn, nameAr, slug, isActive != null ? isActive : true));
+            if (chunk.size() >= importBatchSize) {
+                flush();
+            }
+        }
 
-                // Get brand
-                CarBrand brand;
-                try {
-                    brand = carBrandService.getBrandById(brandId);
-                } catch (Exception e) {
-                    result.addError(i, "Brand with ID " + brandId + " not found");
-                    continue;
-                }
+        void finish() {
+            if (!chunk.isEmpty()) {
+                flush();
+            }
+        }
 
-                if (slug == null || slug.trim().isEmpty()) {
-                    slug = (brand.getName() + "-" + modelNameEn).toLowerCase().replaceAll("[^a-z0-9-]", "-");
-                }
+        private Long existingId(BrandRow row) {
+            if (row.id() != null && row.id() > 0) {
+                return brandsById.containsKey(row.id()) ? row.id() : null;
+            }
+            return idsBySlug.get(row.slug());
+        }
+
+        private void flush() {
+            List<BrandRow> rows = new ArrayList<>(chunk);
+            chunk.clear();
+
+            // Activation changes cascade through CarBrandService, row by row
+            List<BrandRow> viaService = new ArrayList<>();
+            List<CarBrand> created = new ArrayList<>();
+            int[] updated = {0};
 
-                // Check if model exists (update) or create new
-                CarModel model;
-                boolean isUpdate = false;
-
-                if (id != null && id > 0) {
-                    try {
-                        model = carModelService.getModelById(id);
-                        isUpdate = true;
-                    } catch (Exception e) {
-                        // Model with ID doesn't exist, create new
-                        model = new CarModel();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Set<Long> ids = new HashSet<>();
+                    for (BrandRow row : rows) {
+                        Long id = existingId(row);
+                        if (id != null) ids.add(id);
                     }
-                } else {
-                    // Check if model exists by slug
-                    try {
-                        model = carModelService.getModelBySlug(slug);
-                        isUpdate = true;
-                    } catch (Exception e) {
-                        // Model doesn't exist, create new
-                        model = new CarModel();
+                    Map<Long, CarBrand> existing = new HashMap<>();
+                    carBrandRepository.findAllById(ids).forEach(brand -> existing.put(brand.getId(), brand));
+
+                    Map<String, CarBrand> pendingBySlug = new HashMap<>();
+                    List<CarBrand> toSave = new ArrayList<>();
+                    for (BrandRow row : rows) {
+                        Long id = existingId(row);
+                        CarBrand brand = id != null ? existing.get(id) : pendingBySlug.get(row.slug());
+                        if (brand != null && brand.getId() != null && !Objects.equals(brand.getIsActive(), row.active())) {
+                            viaService.add(row);
+                            continue;
+                        }
+                        if (brand == null) {
+                            brand = new CarBrand();
+                            brand.setSlug(row.slug());
+                            pendingBySlug.put(row.slug(), brand);
+                            created.add(brand);
+                        } else {
+                            updated[0]++;
+                        }
+                        brand.setName(row.nameEn());
+                        brand.setDisplayNameEn(row.nameEn());
+                        brand.setDisplayNameAr(row.nameAr());
+                        brand.setIsActive(row.active());
+                        toSave.add(brand);
                     }
-                }
+                    carBrandRepository.saveAll(toSave);
+                });
+            } catch (Exception e) {
+                log.warn("Brand batch ending at row {} failed, retrying rows individually: {}",
+                        rows.get(rows.size() - 1).rowNum(), e.getMessage());
+                rows.forEach(this::importIndividually);
+                return;
+            }
 
-                // Set model properties
-                model.setName(modelNameEn);
-                model.setDisplayNameEn(modelNameEn);
-                model.setDisplayNameAr(modelNameAr);
-                model.setSlug(slug);
-                model.setBrand(brand);
-                model.setIsActive(isActive != null ? isActive : true);
+            for (CarBrand brand : created) {
+                idsBySlug.put(brand.getSlug(), brand.getId());
+                brandsById.put(brand.getId(), new BrandRef(brand.getName(), brand.getIsActive()));
+                result.incrementCreated();
+            }
+            for (int n = 0; n < updated[0]; n++) {
+                result.incrementUpdated();
+            }
+            viaService.forEach(this::importIndividually);
+        }
 
-                // Save model
-                if (isUpdate) {
-                    carModelService.updateModel(model.getId(), model);
+        private void importIndividually(BrandRow row) {
+            try {
+                CarBrand brand = new CarBrand();
+                brand.setName(row.nameEn());
+                brand.setDisplayNameEn(row.nameEn());
+                brand.setDisplayNameAr(row.nameAr());
+                brand.setSlug(row.slug());
+                brand.setIsActive(row.active());
+
+                Long id = existingId(row);
+                CarBrand saved;
+                if (id != null) {
+                    saved = carBrandService.updateBrand(id, brand);
                     result.incrementUpdated();
                 } else {
-                    carModelService.createModel(model);
+                    saved = carBrandService.createBrand(brand);
+                    idsBySlug.put(saved.getSlug(), saved.getId());
                     result.incrementCreated();
                 }
-
+                brandsById.put(saved.getId(), new BrandRef(saved.getName(), saved.getIsActive()));
             } catch (Exception e) {
-                result.addError(i, "Error processing model: " + e.getMessage());
-                log.warn("Error processing model at row {}: {}", i, e.getMessage());
+                result.addError(row.rowNum(), "Error processing brand: " + e.getMessage());
+                log.warn("Error processing brand at row {}: {}", row.rowNum(), e.getMessage());
             }
         }
-
-        return result;
     }
 
-    // Helper methods for cell value extraction
-    private String getCellValueAsString(Cell cell) {
-        if (cell == null) return null;
-
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue().trim();
-            case NUMERIC:
-                return String.valueOf((long) cell.getNumericCellValue());
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            default:
-                return null;
+    /**
+     * Models sheet import, chunked like {@link BrandImport}. Brand references are
+     * resolved against the brand index, including brands created earlier in this import.
+     */
+    private class ModelImport {
+        private final ImportSheetResult result;
+        private final BrandImport brands;
+        private final Map<String, Long> idsBySlug = new HashMap<>();
+        private final Set<Long> knownIds = new HashSet<>();
+        private final List<ModelRow> chunk = new ArrayList<>();
+
+        ModelImport(ImportSheetResult result, BrandImport brands) {
+            this.result = result;
+            this.brands = brands;
+            for (Object[] entry : carModelRepository.findAllIndexEntries()) {
+                Long id = (Long) entry[0];
+                idsBySlug.put((String) entry[1], id);
+                knownIds.add(id);
+            }
         }
-    }
 
-    private Long getCellValueAsLong(Cell cell) {
-        if (cell == null) return null;
-
-        switch (cell.getCellType()) {
-            case NUMERIC:
-                return (long) cell.getNumericCellValue();
-            case STRING:
-                try {
-                    return Long.parseLong(cell.getStringCellValue().trim());
-                } catch (NumberFormatException e) {
-                    return null;
-                }
-            default:
-                return null;
+        void accept(SheetRow row) {
+            int i = row.rowNum();
+            Long brandId = row.asLong(1);
+            String modelNameEn = row.text(4);
+            String modelNameAr = row.text(5);
+            String slug = row.text(6);
+            Boolean isActive = row.asBoolean(9);
+
+            // Validate required fields
+            if (brandId == null || brandId <= 0) {
+                result.addError(i, "Brand ID is required");
+                return;
+            }
+
+            if (modelNameEn == null) {
+                result.addError(i, "English model name is required");
+                return;
+            }
+
+            if (modelNameAr == null) {
+                result.addError(i, "Arabic model name is required");
+                return;
+            }
+
+            BrandRef brand = brands.brandsById.get(brandId);
+            if (brand == null) {
+                result.addError(i, "Brand with ID " + brandId + " not found");
+                return;
+            }
+
+            if (slug == null) {
+                slug = (brand.name() + "-" + modelNameEn).toLowerCase().replaceAll("[^a-z0-9-]", "-");
+            }
+
+            chunk.add(new ModelRow(i, row.asLong(0), brandId, modelNameEn, modelNameAr, slug,
+                    isActive != null ? isActive : true));
+            if (chunk.size() >= importBatchSize) {
+                flush();
+            }
         }
-    }
 
-    private Boolean getCellValueAsBoolean(Cell cell) {
-        if (cell == null) return null;
-
-        switch (cell.getCellType()) {
-            case BOOLEAN:
-                return cell.getBooleanCellValue();
-            case STRING:
-                String value = cell.getStringCellValue().trim().toLowerCase();
-                return "true".equals(value) || "yes".equals(value) || "1".equals(value);
-            case NUMERIC:
-                return cell.getNumericCellValue() != 0;
-            default:
-                return null;
+        void finish() {
+            if (!chunk.isEmpty()) {
+                flush();
+            }
+        }
+
+        private Long existingId(ModelRow row) {
+            if (row.id() != null && row.id() > 0) {
+                return knownIds.contains(row.id()) ? row.id() : null;
+            }
+            return idsBySlug.get(row.slug());
+        }
+
+        private void flush() {
+            List<ModelRow> rows = new ArrayList<>(chunk);
+            chunk.clear();
+
+            // Brand moves, activation changes and smart brand activation go through CarModelService
+            List<ModelRow> viaService = new ArrayList<>();
+            List<CarModel> created = new ArrayList<>();
+            int[] updated = {0};
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Set<Long> ids = new HashSet<>();
+                    for (ModelRow row : rows) {
+                        Long id = existingId(row);
+                        if (id != null) ids.add(id);
+                    }
+                    Map<Long, CarModel> existing = new HashMap<>();
+                    carModelRepository.findAllById(ids).forEach(model -> existing.put(model.getId(), model));
+
+                    Map<String, CarModel> pendingBySlug = new HashMap<>();
+                    List<CarModel> toSave = new ArrayList<>();
+                    for (ModelRow row : rows) {
+                        Long id = existingId(row);
+                        CarModel model = id != null ? existing.get(id) : pendingBySlug.get(row.slug());
+                        if (model == null && row.active() && !brands.brandsById.get(row.brandId()).active()) {
+                            viaService.add(row);
+                            continue;
+                        }
+                        if (model != null && model.getId() != null &&
+                                (!Objects.equals(model.getIsActive(), row.active()) ||
+                                 !Objects.equals(model.getBrand().getId(), row.brandId()))) {
+                            viaService.add(row);
+                            continue;
+                        }
+                        if (model == null) {
+                            model = new CarModel();
+                            model.setSlug(row.slug());
+                            pendingBySlug.put(row.slug(), model);
+                            created.add(model);
+                        } else {
+                            updated[0]++;
+                        }
+                        model.setName(row.nameEn());
+                        model.setDisplayNameEn(row.nameEn());
+                        model.setDisplayNameAr(row.nameAr());
+                        model.setBrand(carBrandRepository.getReferenceById(row.brandId()));
+                        model.setIsActive(row.active());
+                        toSave.add(model);
+                    }
+                    carModelRepository.saveAll(toSave);
+                });
+            } catch (Exception e) {
+                log.warn("Model batch ending at row {} failed, retrying rows individually: {}",
+                        rows.get(rows.size() - 1).rowNum(), e.getMessage());
+                rows.forEach(this::importIndividually);
+                return;
+            }
+
+            for (CarModel model : created) {
+                idsBySlug.put(model.getSlug(), model.getId());
+                knownIds.add(model.getId());
+                result.incrementCreated();
+            }
+            for (int n = 0; n < updated[0]; n++) {
+                result.incrementUpdated();
+            }
+            viaService.forEach(this::importIndividually);
+        }
+
+        private void importIndividually(ModelRow row) {
+            try {
+                CarBrand brand = carBrandService.getBrandById(row.brandId());
+
+                CarModel model = new CarModel();
+                model.setName(row.nameEn());
+                model.setDisplayNameEn(row.nameEn());
+                model.setDisplayNameAr(row.nameAr());
+                model.setSlug(row.slug());
+                model.setBrand(brand);
+                model.setIsActive(row.active());
+
+                Long id = existingId(row);
+                if (id != null) {
+                    carModelService.updateModel(id, model);
+                    result.incrementUpdated();
+                } else {
+                    CarModel saved = carModelService.createModel(model);
+                    idsBySlug.put(saved.getSlug(), saved.getId());
+                    knownIds.add(saved.getId());
+                    result.incrementCreated();
+                }
+                if (row.active() && !brand.getIsActive()) {
+                    // Smart activation may have switched the parent brand on
+                    CarBrand refreshed = carBrandService.getBrandById(brand.getId());
+                    brands.brandsById.put(refreshed.getId(), new BrandRef(refreshed.getName(), refreshed.getIsActive()));
+                }
+            } catch (Exception e) {
+                result.addError(row.rowNum(), "Error processing model: " + e.getMessage());
+                log.warn("Error processing model at row {}: {}", row.rowNum(), e.getMessage());
+            }
         }
     }
 
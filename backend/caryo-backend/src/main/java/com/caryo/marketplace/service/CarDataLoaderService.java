@@ -4,6 +4,7 @@ import com.caryo.marketplace.model.CarBrand;
 import com.caryo.marketplace.model.CarModel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -20,6 +21,7 @@ import java.util.concurrent.CompletableFuture;
  * Provides unified interface for data loading operations
  */
 @Service
+@Lazy
 @RequiredArgsConstructor
 @Slf4j
 public class CarDataLoaderService {
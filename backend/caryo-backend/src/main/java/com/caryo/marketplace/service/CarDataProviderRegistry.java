@@ -2,6 +2,7 @@ package com.caryo.marketplace.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
@@ -13,6 +14,7 @@ import java.util.stream.Collectors;
  * Provides dynamic provider discovery, health monitoring, and fallback orchestration.
  */
 @Component
+@Lazy
 @RequiredArgsConstructor
 @Slf4j
 public class CarDataProviderRegistry {
@@ -1,6 +1,7 @@
 package com.caryo.marketplace.service;
 
 import com.caryo.marketplace.model.CarListing;
+import com.caryo.marketplace.model.ListingFacet;
 import com.caryo.marketplace.payload.request.ListingFilterRequest;
 import com.caryo.marketplace.repository.CarListingRepository;
 import com.caryo.marketplace.repository.specification.CarListingSpecification;
@@ -24,6 +25,9 @@ import java.util.stream.Collectors;
 public class CarListingAnalyticsService {
 
     private final CarListingRepository carListingRepository;
+    private final ListingFacetCountService facetCountService;
+    private final ReferenceSlugResolver referenceSlugResolver;
+    private final FxRateService fxRateService;
 
     /**
      * Get filter breakdown showing counts for each filter option.
@@ -63,19 +67,25 @@ public class CarListingAnalyticsService {
 
             // For simple cases without year filters, use optimized repository method
             if (isSimpleFilterExcludingYear(filterRequest)) {
-                List<Object[]> distinctYearCounts = carListingRepository.findDistinctYearsWithCounts();
-
-                for (Object[] entry : distinctYearCounts) {
-                    Integer year = (Integer) entry[0];
-                    Long count = (Long) entry[1];
-                    if (year != null && count != null && count > 0) {
-                        yearCounts.put(year.toString(), count);
+                // Read the maintained aggregate, else count at database level
+                Optional<Map<String, Long>> aggregated = facetCountService.getCounts(ListingFacet.YEAR);
+                if (aggregated.isPresent()) {
+                    yearCounts.putAll(aggregated.get());
+                } else {
+                    List<Object[]> distinctYearCounts = carListingRepository.findDistinctYearsWithCounts();
+
+                    for (Object[] entry : distinctYearCounts) {
+                        Integer year = (Integer) entry[0];
+                        Long count = (Long) entry[1];
+                        if (year != null && count != null && count > 0) {
+                            yearCounts.put(year.toString(), count);
+                        }
                     }
                 }
             } else {
                 // For complex filters, use specification approach but exclude year filters
                 ListingFilterRequest filterExcludingYear = createFilterExcludingYear(filterRequest);
-                Specification<CarListing> baseSpec = buildBaseSpecification(filterExcludingYear, false);
+                Specification<CarListing> baseSpec = buildBaseSpecification(filterExcludingYear);
 
                 // Get all listings that match the base criteria and group by year
                 List<CarListing> listings = carListingRepository.findAll(baseSpec);
@@ -115,7 +125,7 @@ public class CarListingAnalyticsService {
             if (hasNonBrandFilters(filterRequest)) {
                 // Use specification approach when filters are applied
                 ListingFilterRequest modifiedFilter = createFilterWithoutBrands(filterRequest);
-                Specification<CarListing> baseSpec = buildBaseSpecification(modifiedFilter, false);
+                Specification<CarListing> baseSpec = buildBaseSpecification(modifiedFilter);
 
                 List<CarListing> listings = carListingRepository.findAll(baseSpec);
                 brandCounts = listings.stream()
@@ -128,14 +138,19 @@ public class CarListingAnalyticsService {
                         Collectors.counting()
                     ));
             } else {
-                // Use efficient database-level counting for unfiltered requests
-                List<Object[]> distinctBrandCounts = carListingRepository.findDistinctBrandSlugsWithCounts();
-
-                for (Object[] entry : distinctBrandCounts) {
-                    String brandSlug = (String) entry[0];
-                    Long count = (Long) entry[1];
-                    if (StringUtils.isNotBlank(brandSlug) && count != null && count > 0) {
-                        brandCounts.put(brandSlug, count);
+                // Unfiltered: read the maintained aggregate, else count at database level
+                Optional<Map<String, Long>> aggregated = facetCountService.getCounts(ListingFacet.BRAND);
+                if (aggregated.isPresent()) {
+                    brandCounts.putAll(aggregated.get());
+                } else {
+                    List<Object[]> distinctBrandCounts = carListingRepository.findDistinctBrandSlugsWithCounts();
+
+                    for (Object[] entry : distinctBrandCounts) {
+                        String brandSlug = (String) entry[0];
+                        Long count = (Long) entry[1];
+                        if (StringUtils.isNotBlank(brandSlug) && count != null && count > 0) {
+                            brandCounts.put(brandSlug, count);
+                        }
                     }
                 }
             }
@@ -162,7 +177,7 @@ public class CarListingAnalyticsService {
             if (hasNonModelFilters(filterRequest)) {
                 // Use specification approach when filters are applied
                 ListingFilterRequest modifiedFilter = createFilterWithoutModels(filterRequest);
-                Specification<CarListing> baseSpec = buildBaseSpecification(modifiedFilter, false);
+                Specification<CarListing> baseSpec = buildBaseSpecification(modifiedFilter);
 
                 List<CarListing> listings = carListingRepository.findAll(baseSpec);
                 modelCounts = listings.stream()
@@ -174,14 +189,19 @@ public class CarListingAnalyticsService {
                         Collectors.counting()
                     ));
             } else {
-                // Use efficient database-level counting for unfiltered requests
-                List<Object[]> distinctModelCounts = carListingRepository.findDistinctModelSlugsWithCounts();
-
-                for (Object[] entry : distinctModelCounts) {
-                    String modelSlug = (String) entry[0];
-                    Long count = (Long) entry[1];
-                    if (StringUtils.isNotBlank(modelSlug) && count != null && count > 0) {
-                        modelCounts.put(modelSlug, count);
+                // Unfiltered: read the maintained aggregate, else count at database level
+                Optional<Map<String, Long>> aggregated = facetCountService.getCounts(ListingFacet.MODEL);
+                if (aggregated.isPresent()) {
+                    modelCounts.putAll(aggregated.get());
+                } else {
+                    List<Object[]> distinctModelCounts = carListingRepository.findDistinctModelSlugsWithCounts();
+
+                    for (Object[] entry : distinctModelCounts) {
+                        String modelSlug = (String) entry[0];
+                        Long count = (Long) entry[1];
+                        if (StringUtils.isNotBlank(modelSlug) && count != null && count > 0) {
+                            modelCounts.put(modelSlug, count);
+                        }
                     }
                 }
             }
@@ -207,7 +227,13 @@ public class CarListingAnalyticsService {
                 // Use specification approach but only fetch the seller type field to minimize memory usage
                 return getSellerTypeCountsWithSpecification(filterRequest);
             } else {
-                // Use efficient direct query for unfiltered requests
+                // Use the maintained aggregate, falling back to a direct query
+                Optional<Map<String, Long>> aggregated = facetCountService.getCounts(ListingFacet.SELLER_TYPE);
+                if (aggregated.isPresent()) {
+                    log.info("Found counts for {} seller types (aggregate)", aggregated.get().size());
+                    return aggregated.get();
+                }
+
                 List<Object[]> distinctSellerTypeCounts = carListingRepository.findDistinctSellerTypesWithCounts();
 
                 Map<String, Long> sellerTypeCounts = new LinkedHashMap<>();
@@ -237,7 +263,7 @@ public class CarListingAnalyticsService {
         ListingFilterRequest modifiedFilter = createFilterWithoutSellerType(filterRequest);
 
         // Build the specification for filtering
-        Specification<CarListing> baseSpec = buildBaseSpecification(modifiedFilter, false);
+        Specification<CarListing> baseSpec = buildBaseSpecification(modifiedFilter);
 
         // Fetch only IDs first to get the filtered listings efficiently
         List<CarListing> filteredListings = carListingRepository.findAll(baseSpec);
@@ -270,7 +296,13 @@ public class CarListingAnalyticsService {
                 // Use specification approach but only fetch the fuel type field to minimize memory usage
                 return getFuelTypeCountsWithSpecification(filterRequest);
             } else {
-                // Use efficient direct query for unfiltered requests
+                // Use the maintained aggregate, falling back to a direct query
+                Optional<Map<String, Long>> aggregated = facetCountService.getCounts(ListingFacet.FUEL_TYPE);
+                if (aggregated.isPresent()) {
+                    log.info("Found counts for {} fuel types (aggregate)", aggregated.get().size());
+                    return aggregated.get();
+                }
+
                 List<Object[]> distinctFuelTypeCounts = carListingRepository.findDistinctFuelTypesWithCounts();
 
                 Map<String, Long> fuelTypeCounts = new LinkedHashMap<>();
@@ -315,7 +347,13 @@ public class CarListingAnalyticsService {
         log.debug("Getting counts by body style with filters: {}", filterRequest);
 
         try {
-            // Always use specification approach for body style counts
+            if (!hasAggregateBypassingFilters(filterRequest, ListingFacet.BODY_STYLE)) {
+                Optional<Map<String, Long>> aggregated = facetCountService.getCounts(ListingFacet.BODY_STYLE);
+                if (aggregated.isPresent()) {
+                    log.info("Found counts for {} body styles (aggregate)", aggregated.get().size());
+                    return aggregated.get();
+                }
+            }
             return getBodyStyleCountsWithSpecification(filterRequest);
         } catch (Exception e) {
             log.error("Error getting body style counts", e);
@@ -323,6 +361,42 @@ public class CarListingAnalyticsService {
         }
     }
 
+    /**
+     * Get count of listings grouped by governorate slug.
+     * Location filters are ignored (analytics never applies them), so the aggregate
+     * serves every request that carries no other filter.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> getCountsByGovernorate(ListingFilterRequest filterRequest) {
+        log.debug("Getting counts by governorate with filters: {}", filterRequest);
+
+        try {
+            if (!hasAggregateBypassingFilters(filterRequest, ListingFacet.GOVERNORATE)) {
+                Optional<Map<String, Long>> aggregated = facetCountService.getCounts(ListingFacet.GOVERNORATE);
+                if (aggregated.isPresent()) {
+                    log.info("Found counts for {} governorates (aggregate)", aggregated.get().size());
+                    return aggregated.get();
+                }
+            }
+
+            Specification<CarListing> baseSpec = buildBaseSpecification(filterRequest);
+            Map<String, Long> governorateCounts = carListingRepository.findAll(baseSpec).stream()
+                .filter(listing -> listing.getGovernorate() != null &&
+                                 StringUtils.isNotBlank(listing.getGovernorate().getSlug()))
+                .collect(Collectors.groupingBy(
+                    listing -> listing.getGovernorate().getSlug(),
+                    LinkedHashMap::new,
+                    Collectors.counting()
+                ));
+
+            log.info("Found counts for {} governorates (filtered)", governorateCounts.size());
+            return governorateCounts;
+        } catch (Exception e) {
+            log.error("Error getting governorate counts", e);
+            return new LinkedHashMap<>();
+        }
+    }
+
     /**
      * Get fuel type counts using specification filtering.
      * Optimized to only fetch necessary fields and avoid loading full entities.
@@ -332,7 +406,7 @@ public class CarListingAnalyticsService {
         ListingFilterRequest modifiedFilter = createFilterWithoutFuelType(filterRequest);
 
         // Build the specification for filtering
-        Specification<CarListing> baseSpec = buildBaseSpecification(modifiedFilter, false);
+        Specification<CarListing> baseSpec = buildBaseSpecification(modifiedFilter);
 
         // Fetch only IDs first to get the filtered listings efficiently
         List<CarListing> filteredListings = carListingRepository.findAll(baseSpec);
@@ -360,7 +434,7 @@ public class CarListingAnalyticsService {
         ListingFilterRequest modifiedFilter = createFilterWithoutTransmission(filterRequest);
 
         // Build the specification for filtering
-        Specification<CarListing> baseSpec = buildBaseSpecification(modifiedFilter, false);
+        Specification<CarListing> baseSpec = buildBaseSpecification(modifiedFilter);
 
         // Fetch only IDs first to get the filtered listings efficiently
         List<CarListing> filteredListings = carListingRepository.findAll(baseSpec);
@@ -388,7 +462,7 @@ public class CarListingAnalyticsService {
         ListingFilterRequest modifiedFilter = createFilterWithoutBodyStyle(filterRequest);
 
         // Build the specification for filtering
-        Specification<CarListing> baseSpec = buildBaseSpecification(modifiedFilter, false);
+        Specification<CarListing> baseSpec = buildBaseSpecification(modifiedFilter);
 
         // Fetch filtered listings
         List<CarListing> filteredListings = carListingRepository.findAll(baseSpec);
@@ -422,6 +496,8 @@ public class CarListingAnalyticsService {
                (filterRequest.getSellerTypeIds() == null || filterRequest.getSellerTypeIds().isEmpty()) &&
                (filterRequest.getFuelTypeSlugs() == null || filterRequest.getFuelTypeSlugs().isEmpty()) &&
                (filterRequest.getTransmissionIds() == null || filterRequest.getTransmissionIds().isEmpty()) &&
+               !filterRequest.hasCurrencyConstraint() &&
+               !hasBodyStyleFilter(filterRequest) &&
                filterRequest.getIsSold() == null &&
                filterRequest.getIsArchived() == null &&
                (filterRequest.getSearchQuery() == null || filterRequest.getSearchQuery().trim().isEmpty());
@@ -439,6 +515,8 @@ public class CarListingAnalyticsService {
                (filterRequest.getSellerTypeIds() != null && !filterRequest.getSellerTypeIds().isEmpty()) ||
                (filterRequest.getFuelTypeSlugs() != null && !filterRequest.getFuelTypeSlugs().isEmpty()) ||
                (filterRequest.getTransmissionIds() != null && !filterRequest.getTransmissionIds().isEmpty()) ||
+               filterRequest.hasCurrencyConstraint() ||
+               hasBodyStyleFilter(filterRequest) ||
                filterRequest.getIsSold() != null ||
                filterRequest.getIsArchived() != null ||
                (filterRequest.getSearchQuery() != null && !filterRequest.getSearchQuery().trim().isEmpty());
@@ -456,6 +534,8 @@ public class CarListingAnalyticsService {
                (filterRequest.getSellerTypeIds() != null && !filterRequest.getSellerTypeIds().isEmpty()) ||
                (filterRequest.getFuelTypeSlugs() != null && !filterRequest.getFuelTypeSlugs().isEmpty()) ||
                (filterRequest.getTransmissionIds() != null && !filterRequest.getTransmissionIds().isEmpty()) ||
+               filterRequest.hasCurrencyConstraint() ||
+               hasBodyStyleFilter(filterRequest) ||
                filterRequest.getIsSold() != null ||
                filterRequest.getIsArchived() != null ||
                (filterRequest.getSearchQuery() != null && !filterRequest.getSearchQuery().trim().isEmpty());
@@ -473,6 +553,8 @@ public class CarListingAnalyticsService {
                filterRequest.getLocationId() != null ||
                (filterRequest.getFuelTypeSlugs() != null && !filterRequest.getFuelTypeSlugs().isEmpty()) ||
                (filterRequest.getTransmissionIds() != null && !filterRequest.getTransmissionIds().isEmpty()) ||
+               filterRequest.hasCurrencyConstraint() ||
+               hasBodyStyleFilter(filterRequest) ||
                filterRequest.getIsSold() != null ||
                filterRequest.getIsArchived() != null ||
                (filterRequest.getSearchQuery() != null && !filterRequest.getSearchQuery().trim().isEmpty());
@@ -490,11 +572,43 @@ public class CarListingAnalyticsService {
                filterRequest.getLocationId() != null ||
                (filterRequest.getSellerTypeIds() != null && !filterRequest.getSellerTypeIds().isEmpty()) ||
                (filterRequest.getTransmissionIds() != null && !filterRequest.getTransmissionIds().isEmpty()) ||
+               filterRequest.hasCurrencyConstraint() ||
+               hasBodyStyleFilter(filterRequest) ||
                filterRequest.getIsSold() != null ||
                filterRequest.getIsArchived() != null ||
                (filterRequest.getSearchQuery() != null && !filterRequest.getSearchQuery().trim().isEmpty());
     }
 
+    /**
+     * Whether the request narrows the live set beyond what the facet aggregate
+     * covers. The facet's own filter does not count (body style counts drop it),
+     * nor do location filters for governorate counts, which never apply them.
+     */
+    private boolean hasAggregateBypassingFilters(ListingFilterRequest filterRequest, ListingFacet facet) {
+        if (filterRequest == null) return false;
+
+        boolean locationFiltered = (filterRequest.getLocations() != null && !filterRequest.getLocations().isEmpty()) ||
+               filterRequest.getLocationId() != null;
+        return (facet != ListingFacet.GOVERNORATE && locationFiltered) ||
+               (facet != ListingFacet.BODY_STYLE && hasBodyStyleFilter(filterRequest)) ||
+               (filterRequest.getBrandSlugs() != null && !filterRequest.getBrandSlugs().isEmpty()) ||
+               (filterRequest.getModelSlugs() != null && !filterRequest.getModelSlugs().isEmpty()) ||
+               filterRequest.getMinYear() != null || filterRequest.getMaxYear() != null ||
+               filterRequest.getMinPrice() != null || filterRequest.getMaxPrice() != null ||
+               filterRequest.hasCurrencyConstraint() ||
+               filterRequest.getMinMileage() != null || filterRequest.getMaxMileage() != null ||
+               (filterRequest.getSellerTypeIds() != null && !filterRequest.getSellerTypeIds().isEmpty()) ||
+               (filterRequest.getFuelTypeSlugs() != null && !filterRequest.getFuelTypeSlugs().isEmpty()) ||
+               (filterRequest.getTransmissionIds() != null && !filterRequest.getTransmissionIds().isEmpty()) ||
+               filterRequest.getIsSold() != null ||
+               filterRequest.getIsArchived() != null ||
+               (filterRequest.getSearchQuery() != null && !filterRequest.getSearchQuery().trim().isEmpty());
+    }
+
+    private boolean hasBodyStyleFilter(ListingFilterRequest filterRequest) {
+        return (filterRequest.getBodyStyleIds() != null && !filterRequest.getBodyStyleIds().isEmpty()) ||
+               (filterRequest.getBodyStyleSlugs() != null && !filterRequest.getBodyStyleSlugs().isEmpty());
+    }
 
     private ListingFilterRequest createFilterExcludingYear(ListingFilterRequest original) {
         if (original == null) return new ListingFilterRequest();
@@ -514,6 +628,8 @@ public class CarListingAnalyticsService {
         modified.setFuelTypeSlugs(original.getFuelTypeSlugs());
         modified.setTransmissionIds(original.getTransmissionIds());
         modified.setSearchQuery(original.getSearchQuery());
+        modified.setBodyStyleIds(original.getBodyStyleIds());
+        modified.setBodyStyleSlugs(original.getBodyStyleSlugs());
         modified.setIsSold(original.getIsSold());
         modified.setIsArchived(original.getIsArchived());
         // Note: minYear and maxYear are intentionally excluded
@@ -540,6 +656,8 @@ public class CarListingAnalyticsService {
         modified.setFuelTypeSlugs(original.getFuelTypeSlugs());
         modified.setTransmissionIds(original.getTransmissionIds());
         modified.setSearchQuery(original.getSearchQuery());
+        modified.setBodyStyleIds(original.getBodyStyleIds());
+        modified.setBodyStyleSlugs(original.getBodyStyleSlugs());
         modified.setIsSold(original.getIsSold());
         modified.setIsArchived(original.getIsArchived());
 
@@ -565,6 +683,8 @@ public class CarListingAnalyticsService {
         modified.setFuelTypeSlugs(original.getFuelTypeSlugs());
         modified.setTransmissionIds(original.getTransmissionIds());
         modified.setSearchQuery(original.getSearchQuery());
+        modified.setBodyStyleIds(original.getBodyStyleIds());
+        modified.setBodyStyleSlugs(original.getBodyStyleSlugs());
         modified.setIsSold(original.getIsSold());
         modified.setIsArchived(original.getIsArchived());
 
@@ -590,6 +710,8 @@ public class CarListingAnalyticsService {
         modified.setFuelTypeSlugs(original.getFuelTypeSlugs());
         modified.setTransmissionIds(original.getTransmissionIds());
         modified.setSearchQuery(original.getSearchQuery());
+        modified.setBodyStyleIds(original.getBodyStyleIds());
+        modified.setBodyStyleSlugs(original.getBodyStyleSlugs());
         modified.setIsSold(original.getIsSold());
         modified.setIsArchived(original.getIsArchived());
         // Note: sellerTypeId is intentionally excluded
@@ -616,6 +738,8 @@ public class CarListingAnalyticsService {
         modified.setSellerTypeIds(original.getSellerTypeIds());
         modified.setTransmissionIds(original.getTransmissionIds());
         modified.setSearchQuery(original.getSearchQuery());
+        modified.setBodyStyleIds(original.getBodyStyleIds());
+        modified.setBodyStyleSlugs(original.getBodyStyleSlugs());
         modified.setIsSold(original.getIsSold());
         modified.setIsArchived(original.getIsArchived());
         // Note: fuelTypeId is intentionally excluded
@@ -642,6 +766,8 @@ public class CarListingAnalyticsService {
         modified.setSellerTypeIds(original.getSellerTypeIds());
         modified.setFuelTypeSlugs(original.getFuelTypeSlugs());
         modified.setSearchQuery(original.getSearchQuery());
+        modified.setBodyStyleIds(original.getBodyStyleIds());
+        modified.setBodyStyleSlugs(original.getBodyStyleSlugs());
         modified.setIsSold(original.getIsSold());
         modified.setIsArchived(original.getIsArchived());
         // Note: transmissionIds is intentionally excluded
@@ -671,7 +797,7 @@ public class CarListingAnalyticsService {
         modified.setSearchQuery(original.getSearchQuery());
         modified.setIsSold(original.getIsSold());
         modified.setIsArchived(original.getIsArchived());
-        // Note: bodyStyleSlugs is intentionally excluded
+        // Note: bodyStyleIds and bodyStyleSlugs are intentionally excluded
 
         return modified;
     }
@@ -679,20 +805,28 @@ public class CarListingAnalyticsService {
     /**
      * Build base specification for filtering listings using the comprehensive filtering logic
      * from CarListingSpecification. This ensures consistency with the main query service.
+     * Listings are counted under the same live predicate as the facet aggregate and the
+     * unfiltered count queries (approved, not sold, not archived), so a filter never
+     * switches the counts to a different set; an explicit sold/archived filter replaces
+     * the matching default.
      */
-    private Specification<CarListing> buildBaseSpecification(ListingFilterRequest filterRequest, boolean includeDefaults) {
+    private Specification<CarListing> buildBaseSpecification(ListingFilterRequest filterRequest) {
         // Use the comprehensive filtering logic from CarListingSpecification
+        ListingFilterRequest filter = filterRequest != null ? filterRequest : new ListingFilterRequest();
         Specification<CarListing> spec = CarListingSpecification.fromFilter(
-                filterRequest != null ? filterRequest : new ListingFilterRequest(),
-                Collections.emptyList()); // No location filtering for analytics
+                filter,
+                Collections.emptyList(), // No location filtering for analytics
+                referenceSlugResolver.resolve(filter),
+                fxRateService.toUsdPriceRange(filter));
 
         // Always include approved status for analytics
         spec = spec.and(CarListingSpecification.isApproved());
 
-        if (includeDefaults) {
-            spec = spec.and(CarListingSpecification.isNotSold())
-                      .and(CarListingSpecification.isNotArchived())
-                      .and(CarListingSpecification.isUserActive());
+        if (filter.getIsSold() == null) {
+            spec = spec.and(CarListingSpecification.isNotSold());
+        }
+        if (filter.getIsArchived() == null) {
+            spec = spec.and(CarListingSpecification.isNotArchived());
         }
 
         return spec;
@@ -7,6 +7,7 @@ import com.caryo.marketplace.payload.request.CreateListingRequest;
 import com.caryo.marketplace.payload.request.UpdateListingRequest;
 import com.caryo.marketplace.payload.response.CarListingResponse;
 import com.caryo.marketplace.repository.*;
+import com.caryo.marketplace.util.CurrencyUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -36,6 +37,7 @@ public class CarListingCrudService {
     private final TransmissionService transmissionService;
     private final FuelTypeService fuelTypeService;
     private final BodyStyleService bodyStyleService;
+    private final FxRateService fxRateService;
 
     /**
      * Check if user can create listings (email verified and account active).
@@ -142,6 +144,7 @@ public class CarListingCrudService {
         if (request.getModelId() != null) {
             CarModel carModel = carModelService.getModelById(request.getModelId());
             existingListing.setModel(carModel);
+            existingListing.setBrandId(carModel.getBrand().getId());
             existingListing.setBrandNameEn(carModel.getBrand().getDisplayNameEn());
             existingListing.setBrandNameAr(carModel.getBrand().getDisplayNameAr());
             existingListing.setModelNameEn(carModel.getDisplayNameEn());
@@ -154,7 +157,11 @@ public class CarListingCrudService {
             existingListing.setPrice(request.getPrice());
         }
         if (request.getCurrency() != null) {
-            existingListing.setCurrency(request.getCurrency());
+            existingListing.setCurrency(CurrencyUtil.validateAndNormalize(request.getCurrency()));
+        }
+        if (request.getPrice() != null || request.getCurrency() != null) {
+            existingListing.setPriceUsdNormalized(
+                    fxRateService.toUsd(existingListing.getPrice(), existingListing.getCurrency()));
         }
         if (request.getMileage() != null) {
             existingListing.setMileage(request.getMileage());
@@ -315,7 +322,10 @@ public class CarListingCrudService {
 
         carListing.setModelYear(request.getModelYear());
         carListing.setPrice(request.getPrice());
-        carListing.setCurrency(request.getCurrency() != null ? request.getCurrency() : "USD");
+        carListing.setCurrency(request.getCurrency() != null
+                ? CurrencyUtil.validateAndNormalize(request.getCurrency())
+                : CurrencyUtil.DEFAULT_CURRENCY);
+        carListing.setPriceUsdNormalized(fxRateService.toUsd(carListing.getPrice(), carListing.getCurrency()));
         carListing.setMileage(request.getMileage());
         carListing.setDescription(request.getDescription());
 
@@ -334,6 +344,7 @@ public class CarListingCrudService {
         }
 
         // Set denormalized fields from the CarModel and CarBrand entities
+        carListing.setBrandId(carModel.getBrand().getId());
         carListing.setBrandNameEn(carModel.getBrand().getDisplayNameEn());
         carListing.setBrandNameAr(carModel.getBrand().getDisplayNameAr());
         carListing.setModelNameEn(carModel.getDisplayNameEn());
@@ -363,6 +374,7 @@ public class CarListingCrudService {
         }
 
         carListing.setSeller(user);
+        carListing.setSellerTypeId(user.getSellerType() != null ? user.getSellerType().getId() : null);
         carListing.setApproved(false);
         carListing.setSold(request.getIsSold() != null ? request.getIsSold() : false);
         carListing.setArchived(request.getIsArchived() != null ? request.getIsArchived() : false);
@@ -39,6 +39,8 @@ public class CarListingQueryService {
     private final CarListingRepository carListingRepository;
     private final GovernorateRepository governorateRepository;
     private final CarListingMapper carListingMapper;
+    private final ReferenceSlugResolver referenceSlugResolver;
+    private final FxRateService fxRateService;
 
     @Value("${app.search.fulltext.enabled:false}")
     private boolean fullTextSearchEnabled;
@@ -148,10 +150,11 @@ public class CarListingQueryService {
      * Build the complete specification for filtered listings including location filtering.
      */
     private Specification<CarListing> buildFilteredListingsSpec(ListingFilterRequest filterRequest, LocationFilterResult locationResult) {
-        // Build base specification from filter request
+        // Build base specification from filter request, with slugs resolved to IDs and price bounds to USD up front
+        ListingFilterRequest filter = filterRequest != null ? filterRequest : new ListingFilterRequest();
         Specification<CarListing> spec = CarListingSpecification.fromFilter(
-                filterRequest != null ? filterRequest : new ListingFilterRequest(),
-                locationResult.governorates);
+                filter, locationResult.governorates, referenceSlugResolver.resolve(filter),
+                fxRateService.toUsdPriceRange(filter));
 
         // Add mandatory filters
         spec = spec.and(CarListingSpecification.isApproved())
@@ -12,6 +12,7 @@ import com.caryo.marketplace.payload.request.UpdateListingRequest;
 import com.caryo.marketplace.payload.response.CarListingResponse;
 import com.caryo.marketplace.repository.CarListingRepository;
 import com.caryo.marketplace.repository.UserRepository;
+import com.caryo.marketplace.service.engagement.ListingEngagementCounter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -41,6 +42,7 @@ public class CarListingService {
     private final CarListingQueryService queryService;
     private final DealerService dealerService;
     private final DealerTrialService dealerTrialService;
+    private final ListingEngagementCounter engagementCounter;
 
     @Value("${user.regular.listing_limit:5}")
     private int regularUserListingLimit;
@@ -274,10 +276,25 @@ public class CarListingService {
      * Get filtered and approved listings based on criteria.
      * If isSold is not specified in filterRequest, defaults to false (not sold).
      * If isArchived is not specified in filterRequest, defaults to false (not archived).
+     * Each listing on the returned page counts as one search impression.
      */
     @Transactional(readOnly = true)
     public Page<CarListingResponse> getFilteredListings(ListingFilterRequest filterRequest, Pageable pageable) {
-        return queryService.getFilteredListings(filterRequest, pageable);
+        Page<CarListingResponse> page = queryService.getFilteredListings(filterRequest, pageable);
+        engagementCounter.recordImpressions(page.getContent().stream().map(CarListingResponse::getId).toList());
+        return page;
+    }
+
+    /**
+     * Count a reveal of the listing's seller contact details, once per visitor
+     * and listing within the dedupe window. Only the existence check reads the
+     * database; the count itself is written in the background.
+     */
+    public void recordContactReveal(Long listingId, String visitor) {
+        if (!carListingRepository.existsById(listingId)) {
+            throw new ResourceNotFoundException("CarListing", "id", listingId);
+        }
+        engagementCounter.recordContactReveal(listingId, visitor);
     }
 
     /**
@@ -369,6 +386,14 @@ public class CarListingService {
         return analyticsService.getCountsByBodyStyle(filterRequest);
     }
 
+    /**
+     * Get count of listings grouped by governorate.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> getCountsByGovernorate(ListingFilterRequest filterRequest) {
+        return analyticsService.getCountsByGovernorate(filterRequest);
+    }
+
     /**
      * Get all listings (approved or not) for the specified user.
      * This method does NOT automatically filter by isSold or isArchived,
@@ -3,6 +3,7 @@ package com.caryo.marketplace.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 /**
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Service;
  * Demonstrates how to add a new provider using the CarDataProvider interface
  */
 @Service
+@Lazy
 @RequiredArgsConstructor
 @Slf4j
 public class CaryoDataService implements CarDataProvider {
@@ -149,7 +149,22 @@ public class ConversationService {
         // Only return active conversations (exclude archived and blocked)
         Page<Conversation> conversations = conversationRepository.findActiveConversationsByUser(user, ConversationStatus.ACTIVE, pageable);
 
-        return conversations.map(conversation -> mapToConversationResponse(conversation, user));
+        // Flag conversations with a user-level block between the participants, one block-graph lookup per page
+        Set<Long> blockedUserIds = userBlockService.findBlockedAmong(userId, conversations.getContent().stream()
+                .map(conversation -> otherParticipant(conversation, user).getId())
+                .toList());
+
+        return conversations.map(conversation -> {
+            ConversationResponse response = mapToConversationResponse(conversation, user);
+            if (blockedUserIds.contains(otherParticipant(conversation, user).getId())) {
+                response.setBlocked(true);
+            }
+            return response;
+        });
+    }
+
+    private static User otherParticipant(Conversation conversation, User user) {
+        return conversation.getBuyer().getId().equals(user.getId()) ? conversation.getSeller() : conversation.getBuyer();
     }
 
     /**
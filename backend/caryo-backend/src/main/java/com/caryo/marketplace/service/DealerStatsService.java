@@ -0,0 +1,125 @@
+package com.caryo.marketplace.service;
+
+import com.caryo.marketplace.model.DealerStats;
+import com.caryo.marketplace.payload.response.DealerStatsResponse;
+import com.caryo.marketplace.repository.DealerStatsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+/**
+ * Reads the maintained seller statistics in {@code dealer_stats} and runs the
+ * periodic reconciliation.
+ *
+ * <p>The row is kept current by a database trigger on car_listings, so a
+ * profile view is one primary-key lookup instead of three counts over the
+ * seller's listings. The refresh job (scheduled from SchedulingConfig)
+ * recomputes everything to correct drift.</p>
+ *
+ * <p>Callers treat an empty Optional as "read model unavailable" and fall
+ * back to live count queries — that is the path when the feature is disabled
+ * (H2 test profile) or the table cannot be read.</p>
+ *
+ * <p>Both the read and the reconciliation run in a transaction of their own.
+ * On PostgreSQL a failed statement aborts the transaction it runs in, so a
+ * failure inside the caller's transaction would also fail the live count
+ * queries and the caller's commit. Errors are caught outside that transaction,
+ * after it has been rolled back.</p>
+ */
+@Service
+@Slf4j
+public class DealerStatsService {
+
+    private final DealerStatsRepository dealerStatsRepository;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate refreshTransaction;
+    private final Timer refreshTimer;
+    private final Counter driftCounter;
+    private final Counter refreshFailureCounter;
+
+    @Value("${app.dealer-stats.enabled:true}")
+    private boolean enabled;
+
+    public DealerStatsService(DealerStatsRepository dealerStatsRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.dealerStatsRepository = dealerStatsRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refreshTimer = Timer.builder("dealer.stats.refresh.duration")
+                .description("Time taken to reconcile dealer statistics")
+                .register(meterRegistry);
+        this.driftCounter = Counter.builder("dealer.stats.refresh.corrected")
+                .description("Dealer statistics rows corrected by reconciliation (drift)")
+                .register(meterRegistry);
+        this.refreshFailureCounter = Counter.builder("dealer.stats.refresh.failures")
+                .description("Failed dealer statistics reconciliations")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Statistics of one seller. A seller without a row has never had an
+     * approved listing, which is all zeros.
+     *
+     * @return the statistics, or empty when the read model should not be used
+     */
+    public Optional<DealerStatsResponse> getStats(Long sellerId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(readTransaction.execute(status -> dealerStatsRepository.findById(sellerId)
+                    .map(DealerStatsService::toResponse)
+                    .orElseGet(() -> new DealerStatsResponse(0, 0, 0))));
+        } catch (Exception e) {
+            log.warn("Dealer stats unavailable for seller {}, falling back to live counts: {}",
+                    sellerId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Recomputes every seller's statistics and corrects drift.
+     *
+     * @return number of rows corrected, or -1 when disabled or failed
+     */
+    public int refresh() {
+        if (!enabled) {
+            return -1;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            Integer corrected = refreshTransaction.execute(status -> dealerStatsRepository.refreshAll());
+            int changed = corrected != null ? corrected : 0;
+            driftCounter.increment(changed);
+            if (changed > 0) {
+                log.info("Dealer stats reconciliation corrected {} rows", changed);
+            } else {
+                log.debug("Dealer stats reconciliation found no drift");
+            }
+            return changed;
+        } catch (Exception e) {
+            refreshFailureCounter.increment();
+            log.error("Dealer stats reconciliation failed", e);
+            return -1;
+        } finally {
+            sample.stop(refreshTimer);
+        }
+    }
+
+    private static DealerStatsResponse toResponse(DealerStats stats) {
+        return new DealerStatsResponse(stats.getTotalListings(), stats.getActiveListings(), stats.getSoldCount(),
+                stats.getAveragePriceUsd(), stats.getAverageDaysToSell());
+    }
+}
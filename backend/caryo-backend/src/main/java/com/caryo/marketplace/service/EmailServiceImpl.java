@@ -6,6 +6,7 @@ import com.caryo.marketplace.service.email.EmailContentHelper;
 import com.caryo.marketplace.service.email.EmailRateLimitService;
 import com.caryo.marketplace.service.email.EmailSecurityService;
 import com.caryo.marketplace.service.email.EmailValidationService;
+import com.caryo.marketplace.service.outbox.OutboxService;
 import com.caryo.marketplace.util.ArabicTextUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -30,6 +31,7 @@ import java.util.Map;
 /**
  * Implementation of EmailService using Spring Mail and Thymeleaf.
  * Delegates to specialized services for rate limiting, validation, security, and content generation.
+ * When the outbox is enabled, rendered messages are queued (see OutboxService) instead of sent inline.
  */
 @Service
 @Slf4j
@@ -43,6 +45,7 @@ public class EmailServiceImpl implements EmailService {
     private final EmailValidationService validationService;
     private final EmailSecurityService securityService;
     private final EmailContentHelper contentHelper;
+    private final OutboxService outboxService;
 
     @Value("${app.email.from}")
     private String fromEmail;
@@ -75,7 +78,8 @@ public class EmailServiceImpl implements EmailService {
             EmailRateLimitService rateLimitService,
             EmailValidationService validationService,
             EmailSecurityService securityService,
-            EmailContentHelper contentHelper) {
+            EmailContentHelper contentHelper,
+            OutboxService outboxService) {
         this.mailSender = mailSender;
         this.templateEngine = templateEngine;
         this.messageService = messageService;
@@ -83,6 +87,7 @@ public class EmailServiceImpl implements EmailService {
         this.validationService = validationService;
         this.securityService = securityService;
         this.contentHelper = contentHelper;
+        this.outboxService = outboxService;
     }
 
     @Override
@@ -105,15 +110,22 @@ public class EmailServiceImpl implements EmailService {
         validationService.validateTemplatedEmailInputs(to, subject, templateName, language);
 
         try {
+            Context context = createTemplateContext(language, variables);
+            String htmlContent = templateEngine.process(templateName, context);
+            String encodedSubject = ArabicTextUtils.encodeForEmailSubject(subject);
+
+            if (outboxService.isEnabled()) {
+                outboxService.enqueueEmail(to, encodedSubject, htmlContent, true);
+                log.info("Templated email queued for: {} (language: {}, template: {})", to, language, templateName);
+                return;
+            }
+
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
 
             helper.setFrom(fromEmail);
             helper.setTo(to);
-            helper.setSubject(ArabicTextUtils.encodeForEmailSubject(subject));
-
-            Context context = createTemplateContext(language, variables);
-            String htmlContent = templateEngine.process(templateName, context);
+            helper.setSubject(encodedSubject);
             helper.setText(htmlContent, true);
 
             mailSender.send(message);
@@ -158,6 +170,12 @@ public class EmailServiceImpl implements EmailService {
         validationService.validateSimpleEmailInputs(to, subject, text);
 
         try {
+            if (outboxService.isEnabled()) {
+                outboxService.enqueueEmail(to, subject, text, false);
+                log.info("Simple email queued for: {}", to);
+                return;
+            }
+
             SimpleMailMessage message = new SimpleMailMessage();
             message.setFrom(fromEmail);
             message.setTo(to);
@@ -3,22 +3,32 @@ package com.caryo.marketplace.service;
 import com.caryo.marketplace.model.Favorite;
 import com.caryo.marketplace.model.User;
 import com.caryo.marketplace.model.CarListing;
+import com.caryo.marketplace.repository.FavoriteListingJdbcRepository;
 import com.caryo.marketplace.repository.FavoriteRepository;
 import com.caryo.marketplace.repository.UserRepository;
 import com.caryo.marketplace.repository.CarListingRepository;
+import com.caryo.marketplace.exception.BadRequestException;
 import com.caryo.marketplace.exception.ResourceNotFoundException;
+import com.caryo.marketplace.payload.response.FavoriteListingCardResponse;
+import com.caryo.marketplace.payload.response.FavoriteListingPageResponse;
 import com.caryo.marketplace.payload.response.FavoriteResponse;
 import com.caryo.marketplace.payload.response.CarListingResponse;
 import com.caryo.marketplace.mapper.CarListingMapper;
+import com.caryo.marketplace.service.engagement.EngagementType;
+import com.caryo.marketplace.service.engagement.ListingEngagementCounter;
+import com.caryo.marketplace.service.favorite.FavoriteCursor;
+import com.caryo.marketplace.service.favorite.FavoriteIdSet;
+import com.caryo.marketplace.service.favorite.FavoriteSetCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.annotation.Isolation;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.CacheEvict;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.Optional;
 
@@ -26,10 +36,15 @@ import java.util.Optional;
 @RequiredArgsConstructor
 @Slf4j
 public class FavoriteService {
+    private static final int MAX_PAGE_SIZE = 50;
+
     private final FavoriteRepository favoriteRepository;
+    private final FavoriteListingJdbcRepository favoriteListingRepository;
     private final UserRepository userRepository;
     private final CarListingRepository carListingRepository;
     private final CarListingMapper carListingMapper;
+    private final ListingEngagementCounter engagementCounter;
+    private final FavoriteSetCache favoriteSetCache;
 
     private FavoriteResponse toFavoriteResponse(Favorite favorite) {
         try {
@@ -49,7 +64,6 @@ public class FavoriteService {
      * Add a listing to user's favorites
      */
     @Transactional(isolation = Isolation.READ_COMMITTED)
-    @CacheEvict(value = "favorites", key = "#username + '-' + #listingId")
     public FavoriteResponse addToFavorites(String username, Long listingId) {
         log.debug("Adding listing {} to favorites for user {}", listingId, username);
 
@@ -73,6 +87,8 @@ public class FavoriteService {
             favorite.setCarListing(listing);
 
             favorite = favoriteRepository.save(favorite);
+            engagementCounter.record(listingId, EngagementType.FAVORITE);
+            favoriteSetCache.changed(username);
 
             log.info("Successfully added listing {} to favorites for user {}", listingId, username);
 
@@ -87,7 +103,6 @@ public class FavoriteService {
      * Remove a listing from user's favorites
      */
     @Transactional(isolation = Isolation.READ_COMMITTED)
-    @CacheEvict(value = "favorites", key = "#username + '-' + #listingId")
     public void removeFromFavorites(String username, Long listingId) {
         log.debug("Removing listing {} from favorites for user {}", listingId, username);
 
@@ -100,6 +115,7 @@ public class FavoriteService {
 
             // Use repository method instead of direct EntityManager
             favoriteRepository.deleteByUserAndCarListing(user, listing);
+            favoriteSetCache.changed(username);
 
             log.info("Successfully removed listing {} from favorites for user {}", listingId, username);
         } catch (Exception e) {
@@ -188,20 +204,50 @@ public class FavoriteService {
         }
     }
 
+    /**
+     * One page of a user's favorite listings, most recently favorited first.
+     * Each page is a single query over the card columns; sold, archived and
+     * expired listings are included and flagged.
+     *
+     * @param username The username of the user
+     * @param cursor Token from the previous page's nextCursor, or null for the first page
+     * @param limit Page size (clamped to 1..50)
+     * @return The page and the cursor of the next one
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public FavoriteListingPageResponse getFavoriteListingPage(String username, String cursor, int limit) {
+        FavoriteCursor after;
+        try {
+            after = FavoriteCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor; restart from the first page");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        List<FavoriteListingCardResponse> rows = after == null
+            ? favoriteListingRepository.findPage(username, null, 0, pageSize + 1)
+            : favoriteListingRepository.findPage(username, after.createdAt(), after.id(), pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new FavoriteListingPageResponse(rows, null);
+        }
+
+        List<FavoriteListingCardResponse> page = rows.subList(0, pageSize);
+        FavoriteListingCardResponse last = page.get(pageSize - 1);
+        String nextCursor = new FavoriteCursor(last.getFavoritedAt(), last.getFavoriteId()).encode();
+        return new FavoriteListingPageResponse(List.copyOf(page), nextCursor);
+    }
+
     /**
      * Check if a listing is in user's favorites
      * @param username The username to check
      * @param listingId The listing ID to check
      * @return true if the listing is in the user's favorites, false if not or if any error occurs
      */
-    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
-    @Cacheable(value = "favorites", key = "#username + '-' + #listingId")
     public boolean isFavorite(String username, Long listingId) {
         log.debug("Checking if listing {} is favorite for user {}", listingId, username);
 
         try {
-            // Use a count query for better performance
-            boolean exists = favoriteRepository.existsByUserUsernameAndCarListingId(username, listingId);
+            boolean exists = listingId != null && favoriteSetCache.get(username).contains(listingId);
 
             log.debug("Listing {} is {} favorite for user {}", listingId, exists ? "a" : "not a", username);
             return exists;
@@ -211,4 +257,28 @@ public class FavoriteService {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Favorite status of a page of listings, answered from the user's cached
+     * favorite set with at most one query.
+     * @param username The username to check
+     * @param listingIds The listing IDs to check
+     * @return listing ID to favorite status, in the order given; all false if any error occurs
+     */
+    public Map<Long, Boolean> getFavoriteStatus(String username, Collection<Long> listingIds) {
+        Map<Long, Boolean> status = new LinkedHashMap<>();
+        FavoriteIdSet favorites;
+        try {
+            favorites = favoriteSetCache.get(username);
+        } catch (Exception e) {
+            log.error("Error checking favorite status of {} listings for user {}: {}", listingIds.size(), username, e.getMessage(), e);
+            favorites = FavoriteIdSet.empty();
+        }
+        for (Long listingId : listingIds) {
+            if (listingId != null) {
+                status.put(listingId, favorites.contains(listingId));
+            }
+        }
+        return status;
+    }
+}
@@ -0,0 +1,152 @@
+package com.caryo.marketplace.service;
+
+import com.caryo.marketplace.model.FxRate;
+import com.caryo.marketplace.payload.request.ListingFilterRequest;
+import com.caryo.marketplace.repository.FxRateRepository;
+import com.caryo.marketplace.repository.specification.UsdPriceRange;
+import com.caryo.marketplace.util.CacheUtils;
+import com.caryo.marketplace.util.CurrencyUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exchange rates against USD and the conversions built on them.
+ *
+ * <p>The current rate of every currency is held in memory and reloaded after
+ * a short TTL, since it is read on every listing write and every price search.
+ * Recording a new rate appends to the {@code fx_rates} history and, once the
+ * transaction commits, starts the background re-normalization of that
+ * currency's listings (see {@link ListingPriceNormalizer}).</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FxRateService {
+
+    private final FxRateRepository fxRateRepository;
+    private final ListingPriceNormalizer listingPriceNormalizer;
+
+    @Value("${app.fx.cache-ttl:PT1M}")
+    private Duration cacheTtl = Duration.ofMinutes(1);
+
+    private volatile CurrentRates currentRates;
+
+    /**
+     * @return the rate in effect for every currency that has one, keyed by currency code
+     */
+    public Map<String, FxRate> getCurrentRates() {
+        return loadCurrentRates().rates();
+    }
+
+    private CurrentRates loadCurrentRates() {
+        CurrentRates current = currentRates;
+        if (current == null || System.nanoTime() - current.loadedAtNanos() > cacheTtl.toNanos()) {
+            Map<String, FxRate> rates = new LinkedHashMap<>();
+            for (FxRate rate : fxRateRepository.findByEffectiveFromLessThanEqualOrderByEffectiveFromDescIdDesc(LocalDateTime.now())) {
+                rates.putIfAbsent(rate.getCurrency(), rate);
+            }
+            current = new CurrentRates(Collections.unmodifiableMap(rates), System.nanoTime(), ConcurrentHashMap.newKeySet());
+            currentRates = current;
+        }
+        return current;
+    }
+
+    public Optional<BigDecimal> getUnitsPerUsd(String currency) {
+        if (currency == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(getCurrentRates().get(currency.trim().toUpperCase(Locale.ROOT)))
+                .map(FxRate::getUnitsPerUsd);
+    }
+
+    /**
+     * @return the amount in USD at the current rate, or null when the amount is
+     *         null or no rate is known for the currency
+     */
+    public BigDecimal toUsd(BigDecimal amount, String currency) {
+        if (amount == null) {
+            return null;
+        }
+        return getUnitsPerUsd(currency)
+                .map(unitsPerUsd -> CurrencyUtil.convertToUsd(amount, unitsPerUsd))
+                .orElse(null);
+    }
+
+    /**
+     * Converts the price bounds of a search to USD so they can be compared with
+     * the normalized price of listings in any currency.
+     *
+     * @return the converted bounds (either may be null; both are for a search
+     *         without price bounds), or null when the bounds' currency has no
+     *         rate, in which case the search keeps matching prices in that one
+     *         currency. The missing rate is logged once per currency until the
+     *         rates are reloaded.
+     */
+    public UsdPriceRange toUsdPriceRange(ListingFilterRequest filter) {
+        if (filter.getMinPrice() == null && filter.getMaxPrice() == null) {
+            return new UsdPriceRange(null, null);
+        }
+        String currency = filter.getEffectivePriceCurrency();
+        CurrentRates current = loadCurrentRates();
+        FxRate rate = current.rates().get(currency);
+        if (rate == null) {
+            if (current.missingRatesLogged().add(currency)) {
+                log.warn("No exchange rate for {}; price filter falls back to a single currency", currency);
+            }
+            return null;
+        }
+        return new UsdPriceRange(
+                CurrencyUtil.convertToUsd(filter.getMinPrice(), rate.getUnitsPerUsd()),
+                CurrencyUtil.convertToUsd(filter.getMaxPrice(), rate.getUnitsPerUsd()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<FxRate> getHistory(String currency) {
+        return fxRateRepository.findByCurrencyOrderByEffectiveFromDescIdDesc(CurrencyUtil.validateAndNormalize(currency));
+    }
+
+    /**
+     * Records a new rate, effective immediately, and re-normalizes the prices of
+     * the currency's listings in the background once it is committed.
+     *
+     * @throws IllegalArgumentException for an unsupported currency, a
+     *         non-positive rate, or a USD rate other than 1
+     */
+    @Transactional
+    public FxRate recordRate(String currency, BigDecimal unitsPerUsd, String username) {
+        String code = CurrencyUtil.validateAndNormalize(currency);
+        if (unitsPerUsd == null || unitsPerUsd.signum() <= 0) {
+            throw new IllegalArgumentException("Exchange rate must be positive");
+        }
+        if (CurrencyUtil.DEFAULT_CURRENCY.equals(code) && unitsPerUsd.compareTo(BigDecimal.ONE) != 0) {
+            throw new IllegalArgumentException("The USD rate is fixed at 1");
+        }
+
+        FxRate saved = fxRateRepository.save(new FxRate(code, unitsPerUsd, username));
+        log.info("Recorded exchange rate {} {}/USD by {}", unitsPerUsd.toPlainString(), code, username);
+
+        CacheUtils.afterCommit(() -> {
+            currentRates = null;
+            listingPriceNormalizer.renormalizeAsync(code);
+        });
+        return saved;
+    }
+
+    /** Rates as loaded, and the currencies already reported as missing since then */
+    private record CurrentRates(Map<String, FxRate> rates, long loadedAtNanos, Set<String> missingRatesLogged) {}
+}
@@ -0,0 +1,137 @@
+package com.caryo.marketplace.service;
+
+import com.caryo.marketplace.model.ListingFacet;
+import com.caryo.marketplace.model.ListingFacetCount;
+import com.caryo.marketplace.repository.ListingFacetCountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads the maintained facet counts in {@code listing_facet_counts} and runs
+ * the periodic reconciliation.
+ *
+ * <p>Counts are kept current by a database trigger on car_listings, so reads
+ * are O(number of facet values) regardless of listing volume. The refresh job
+ * (scheduled from SchedulingConfig) recomputes everything to correct drift the
+ * trigger cannot see, such as a seller's type changing.</p>
+ *
+ * <p>Callers treat an empty Optional as "aggregate unavailable" and fall back
+ * to the live GROUP BY queries — that is the path when the feature is disabled
+ * (H2 test profile) or the table cannot be read.</p>
+ *
+ * <p>Both the read and the reconciliation run in a transaction of their own.
+ * On PostgreSQL a failed statement aborts the transaction it runs in, so a
+ * failure inside the caller's transaction would also fail the live fallback
+ * query and the caller's commit. Errors are caught outside that transaction,
+ * after it has been rolled back.</p>
+ */
+@Service
+@Slf4j
+public class ListingFacetCountService {
+
+    private final ListingFacetCountRepository listingFacetCountRepository;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate refreshTransaction;
+    private final Timer refreshTimer;
+    private final Counter driftCounter;
+    private final Counter refreshFailureCounter;
+
+    /** Epoch millis of the last successful reconciliation, 0 before the first one */
+    private final AtomicLong lastRefreshMillis = new AtomicLong(0);
+
+    @Value("${app.facets.aggregates.enabled:true}")
+    private boolean enabled;
+
+    public ListingFacetCountService(ListingFacetCountRepository listingFacetCountRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry) {
+        this.listingFacetCountRepository = listingFacetCountRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refreshTimer = Timer.builder("listing.facets.refresh.duration")
+                .description("Time taken to reconcile listing facet counts")
+                .register(meterRegistry);
+        this.driftCounter = Counter.builder("listing.facets.refresh.corrected")
+                .description("Facet count rows corrected by reconciliation (drift)")
+                .register(meterRegistry);
+        this.refreshFailureCounter = Counter.builder("listing.facets.refresh.failures")
+                .description("Failed facet count reconciliations")
+                .register(meterRegistry);
+        Gauge.builder("listing.facets.refresh.age.seconds", lastRefreshMillis,
+                        last -> last.get() == 0 ? Double.NaN : (System.currentTimeMillis() - last.get()) / 1000.0)
+                .description("Seconds since the last successful facet count reconciliation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts for one facet, keyed exactly as the live count queries return them
+     * and in the same order.
+     *
+     * @return the counts, or empty when the aggregate should not be used
+     */
+    public Optional<Map<String, Long>> getCounts(ListingFacet facet) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            List<ListingFacetCount> rows = readTransaction.execute(status -> listingFacetCountRepository
+                    .findByFacetAndListingCountGreaterThanOrderBySortKeyAsc(facet.getDbValue(), 0));
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (ListingFacetCount row : rows) {
+                counts.put(row.getFacetKey(), (long) row.getListingCount());
+            }
+            log.debug("Read {} {} facet counts from aggregate", counts.size(), facet);
+            return Optional.of(counts);
+        } catch (Exception e) {
+            log.warn("Facet aggregate unavailable for {}, falling back to live query: {}", facet, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Recomputes every facet and corrects drift.
+     *
+     * @return number of rows corrected, or -1 when disabled or failed
+     */
+    public int refresh() {
+        if (!enabled) {
+            return -1;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            Integer corrected = refreshTransaction.execute(status -> listingFacetCountRepository.refreshAll());
+            int changed = corrected != null ? corrected : 0;
+            driftCounter.increment(changed);
+            lastRefreshMillis.set(System.currentTimeMillis());
+            if (changed > 0) {
+                log.info("Facet count reconciliation corrected {} rows", changed);
+            } else {
+                log.debug("Facet count reconciliation found no drift");
+            }
+            return changed;
+        } catch (Exception e) {
+            refreshFailureCounter.increment();
+            log.error("Facet count reconciliation failed", e);
+            return -1;
+        } finally {
+            sample.stop(refreshTimer);
+        }
+    }
+}
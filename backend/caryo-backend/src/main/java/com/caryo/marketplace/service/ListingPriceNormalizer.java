@@ -0,0 +1,76 @@
+package com.caryo.marketplace.service;
+
+import com.caryo.marketplace.model.FxRate;
+import com.caryo.marketplace.repository.CarListingRepository;
+import com.caryo.marketplace.repository.FxRateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Re-normalizes {@code car_listings.price_usd_normalized} after the exchange
+ * rate of a currency changes.
+ *
+ * <p>Listings are walked by id in chunks, each updated in its own short
+ * transaction, so a rate change never holds row locks on every listing of a
+ * currency at once. The rate is re-read before every chunk: if another change
+ * lands mid-run, the remaining chunks already use it, and the run started for
+ * that change brings the earlier chunks up to date.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ListingPriceNormalizer {
+
+    private final CarListingRepository carListingRepository;
+    private final FxRateRepository fxRateRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.fx.renormalize.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Async("asyncExecutor")
+    public void renormalizeAsync(String currency) {
+        try {
+            renormalize(currency);
+        } catch (RuntimeException e) {
+            log.error("Price re-normalization for {} failed: {}", currency, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return number of listings updated
+     */
+    public int renormalize(String currency) {
+        long startTime = System.currentTimeMillis();
+        long afterId = 0;
+        int updated = 0;
+        while (true) {
+            List<Long> ids = carListingRepository.findIdsByCurrencyAfter(currency, afterId, chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            BigDecimal unitsPerUsd = fxRateRepository
+                    .findFirstByCurrencyAndEffectiveFromLessThanEqualOrderByEffectiveFromDescIdDesc(currency, LocalDateTime.now())
+                    .map(FxRate::getUnitsPerUsd)
+                    .orElse(null);
+            if (unitsPerUsd == null) {
+                log.warn("No exchange rate for {}; stopping price re-normalization after {} listings", currency, updated);
+                return updated;
+            }
+            Integer count = transactionTemplate.execute(status ->
+                    carListingRepository.updatePriceUsdNormalized(ids, unitsPerUsd));
+            updated += count != null ? count : 0;
+            afterId = ids.get(ids.size() - 1);
+        }
+        log.info("Re-normalized {} {} listing prices in {} ms", updated, currency, System.currentTimeMillis() - startTime);
+        return updated;
+    }
+}
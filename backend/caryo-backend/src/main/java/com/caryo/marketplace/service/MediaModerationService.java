@@ -5,6 +5,7 @@ import com.caryo.marketplace.model.ListingMedia;
 import com.caryo.marketplace.model.ListingMedia.ModerationStatus;
 import com.caryo.marketplace.model.User;
 import com.caryo.marketplace.repository.ListingMediaRepository;
+import com.caryo.marketplace.repository.ModerationJdbcRepository;
 import com.caryo.marketplace.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,20 +14,25 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Service for media moderation operations.
  * Encapsulates all moderation logic previously in AdminMediaModerationController,
- * and uses batch queries to avoid N+1 problems in bulk operations.
+ * and uses set-based updates (see ModerationJdbcRepository) for bulk operations.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MediaModerationService {
 
+    private static final int BULK_CHUNK_SIZE = 1000;
+
     private final ListingMediaRepository mediaRepository;
+    private final ModerationJdbcRepository moderationRepository;
     private final UserRepository userRepository;
 
     public Page<ListingMedia> getPendingMedia(Pageable pageable) {
@@ -66,7 +72,8 @@ public class MediaModerationService {
     }
 
     /**
-     * Bulk approve media items using a single batch query instead of N individual lookups.
+     * Bulk approve media items with set-based updates: one statement per chunk
+     * of {@value #BULK_CHUNK_SIZE} IDs and no entities loaded.
      *
      * @return the number of items successfully approved
      */
@@ -75,20 +82,18 @@ public class MediaModerationService {
         User moderator = userRepository.findById(moderatorId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", moderatorId));
 
-        List<ListingMedia> pendingItems = mediaRepository.findPendingByIdIn(ids);
-
-        for (ListingMedia media : pendingItems) {
-            media.approve(moderator);
+        int approved = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            approved += moderationRepository.approvePendingMedia(chunk, moderator.getId()).size();
         }
 
-        mediaRepository.saveAll(pendingItems);
-
-        log.info("Bulk approved {} of {} requested media items", pendingItems.size(), ids.size());
-        return pendingItems.size();
+        log.info("Bulk approved {} of {} requested media items", approved, ids.size());
+        return approved;
     }
 
     /**
-     * Bulk reject media items using a single batch query instead of N individual lookups.
+     * Bulk reject media items with set-based updates: one statement per chunk
+     * of {@value #BULK_CHUNK_SIZE} IDs and no entities loaded.
      *
      * @return the number of items successfully rejected
      */
@@ -97,15 +102,21 @@ public class MediaModerationService {
         User moderator = userRepository.findById(moderatorId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", moderatorId));
 
-        List<ListingMedia> pendingItems = mediaRepository.findPendingByIdIn(ids);
-
-        for (ListingMedia media : pendingItems) {
-            media.reject(moderator, reason);
+        int rejected = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            rejected += moderationRepository.rejectPendingMedia(chunk, moderator.getId(), reason).size();
         }
 
-        mediaRepository.saveAll(pendingItems);
+        log.info("Bulk rejected {} of {} requested media items", rejected, ids.size());
+        return rejected;
+    }
 
-        log.info("Bulk rejected {} of {} requested media items", pendingItems.size(), ids.size());
-        return pendingItems.size();
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(distinct.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinct.size())));
+        }
+        return chunks;
     }
 }
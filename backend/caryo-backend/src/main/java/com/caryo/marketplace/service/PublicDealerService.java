@@ -24,6 +24,7 @@ public class PublicDealerService {
     private final DealerRepository dealerRepository;
     private final CarListingRepository carListingRepository;
     private final CarListingMapper carListingMapper;
+    private final DealerStatsService dealerStatsService;
 
     @Transactional(readOnly = true)
     public PublicDealerResponse getPublicDealerProfile(Long dealerId) {
@@ -32,11 +33,9 @@ public class PublicDealerService {
 
         User seller = dealer.getUser();
 
-        long totalListings = carListingRepository.countBySellerAndApprovedTrue(seller);
-        long soldCount = carListingRepository.countBySellerAndApprovedTrueAndSoldTrue(seller);
-        long activeListings = carListingRepository.countBySellerAndApprovedTrueAndSoldFalseAndArchivedFalse(seller);
-
-        DealerStatsResponse stats = new DealerStatsResponse(totalListings, activeListings, soldCount);
+        // Maintained read model (V74), else count at database level
+        DealerStatsResponse stats = dealerStatsService.getStats(seller.getId())
+            .orElseGet(() -> countStats(seller));
 
         return new PublicDealerResponse(
             dealer.getId(),
@@ -63,4 +62,11 @@ public class PublicDealerService {
             .findBySellerAndApprovedTrueAndSoldFalseAndArchivedFalse(dealer.getUser(), pageable)
             .map(carListingMapper::toCarListingResponse);
     }
+
+    private DealerStatsResponse countStats(User seller) {
+        long totalListings = carListingRepository.countBySellerAndApprovedTrue(seller);
+        long soldCount = carListingRepository.countBySellerAndApprovedTrueAndSoldTrue(seller);
+        long activeListings = carListingRepository.countBySellerAndApprovedTrueAndSoldFalseAndArchivedFalse(seller);
+        return new DealerStatsResponse(totalListings, activeListings, soldCount);
+    }
 }
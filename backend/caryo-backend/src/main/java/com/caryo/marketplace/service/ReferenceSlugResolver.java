@@ -0,0 +1,134 @@
+package com.caryo.marketplace.service;
+
+import com.caryo.marketplace.payload.request.ListingFilterRequest;
+import com.caryo.marketplace.repository.ReferenceDataJdbcRepository;
+import com.caryo.marketplace.repository.specification.ListingFilterIds;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Resolves the brand/model/fuel-type/body-style slugs of a listing search to
+ * IDs, so the search predicates compare foreign-key columns on car_listings
+ * instead of joining each reference table to read its slug.
+ *
+ * <p>All four {@code slug -> id} maps are held in memory (a few thousand rows
+ * at most) and reloaded once they are older than the TTL. A slug that is not
+ * in the maps triggers an early reload, rate-limited so that unknown slugs
+ * cannot turn every search into four extra queries; that is how a brand
+ * created a moment ago becomes searchable without waiting for the TTL.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceSlugResolver {
+
+    private final ReferenceDataJdbcRepository referenceDataJdbcRepository;
+
+    @Value("${app.search.slug-cache.ttl:PT10M}")
+    private Duration ttl = Duration.ofMinutes(10);
+
+    @Value("${app.search.slug-cache.miss-reload-interval:PT30S}")
+    private Duration missReloadInterval = Duration.ofSeconds(30);
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * @return the IDs for every slug filter present on the request; unknown
+     *         slugs are dropped, so a filter made only of unknown slugs
+     *         resolves to an empty set and matches nothing
+     */
+    public ListingFilterIds resolve(ListingFilterRequest filter) {
+        if (!hasSlugFilters(filter)) {
+            return ListingFilterIds.NONE;
+        }
+        Snapshot current = current();
+        if (current.hasUnknown(filter) && current.olderThan(missReloadInterval)) {
+            current = reload(current);
+        }
+        return new ListingFilterIds(
+                current.lookup(current.brands(), filter.getNormalizedBrandSlugs()),
+                current.lookup(current.models(), filter.getNormalizedModelSlugs()),
+                current.lookup(current.fuelTypes(), filter.getFuelTypeSlugs()),
+                current.lookup(current.bodyStyles(), filter.getBodyStyleSlugs()));
+    }
+
+    private static boolean hasSlugFilters(ListingFilterRequest filter) {
+        return !filter.getNormalizedBrandSlugs().isEmpty()
+                || !filter.getNormalizedModelSlugs().isEmpty()
+                || !isEmpty(filter.getFuelTypeSlugs())
+                || !isEmpty(filter.getBodyStyleSlugs());
+    }
+
+    private static boolean isEmpty(Collection<?> values) {
+        return values == null || values.isEmpty();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || current.olderThan(ttl)) {
+            current = reload(current);
+        }
+        return current;
+    }
+
+    /** Reloads unless another thread already replaced {@code stale} */
+    private synchronized Snapshot reload(Snapshot stale) {
+        if (snapshot != stale) {
+            return snapshot;
+        }
+        Snapshot fresh = new Snapshot(
+                referenceDataJdbcRepository.findBrandIdsBySlug(),
+                referenceDataJdbcRepository.findModelIdsBySlug(),
+                referenceDataJdbcRepository.findFuelTypeIdsBySlug(),
+                referenceDataJdbcRepository.findBodyStyleIdsBySlug(),
+                System.nanoTime());
+        log.debug("Loaded search slug maps: {} brands, {} models, {} fuel types, {} body styles",
+                fresh.brands().size(), fresh.models().size(), fresh.fuelTypes().size(), fresh.bodyStyles().size());
+        snapshot = fresh;
+        return fresh;
+    }
+
+    private record Snapshot(Map<String, Long> brands, Map<String, Long> models,
+                            Map<String, Long> fuelTypes, Map<String, Long> bodyStyles, long loadedAtNanos) {
+
+        boolean olderThan(Duration age) {
+            return System.nanoTime() - loadedAtNanos > age.toNanos();
+        }
+
+        boolean hasUnknown(ListingFilterRequest filter) {
+            return hasUnknown(brands, filter.getNormalizedBrandSlugs())
+                    || hasUnknown(models, filter.getNormalizedModelSlugs())
+                    || hasUnknown(fuelTypes, filter.getFuelTypeSlugs())
+                    || hasUnknown(bodyStyles, filter.getBodyStyleSlugs());
+        }
+
+        private static boolean hasUnknown(Map<String, Long> ids, List<String> slugs) {
+            return slugs != null && slugs.stream().filter(Objects::nonNull).anyMatch(slug -> !ids.containsKey(slug));
+        }
+
+        /** @return null when no slugs were requested, otherwise the IDs of the known ones */
+        Set<Long> lookup(Map<String, Long> ids, List<String> slugs) {
+            if (isEmpty(slugs)) {
+                return null;
+            }
+            Set<Long> resolved = new LinkedHashSet<>();
+            for (String slug : slugs) {
+                Long id = slug != null ? ids.get(slug) : null;
+                if (id != null) {
+                    resolved.add(id);
+                }
+            }
+            return resolved;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.caryo.marketplace.service;
+
+import com.caryo.marketplace.repository.ResourceVersionJdbcRepository;
+import com.caryo.marketplace.repository.ResourceVersionJdbcRepository.ListingVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Change markers for conditional GETs (see V71 and ConditionalGetInterceptor).
+ *
+ * <p>Callers treat an empty Optional as "no validator": the request is served
+ * normally, without an ETag. That is the path when the feature is disabled
+ * (H2 test profile, where the counters and their triggers do not exist) or
+ * the markers cannot be read.</p>
+ */
+@Service
+@Slf4j
+public class ResourceVersionService {
+
+    public static final String REFERENCE_DATA = "reference-data";
+    public static final String LISTINGS = "listings";
+    public static final String DEALERS = "dealers";
+
+    /** Responses built only from configuration change when the application is redeployed */
+    public static final String CONFIGURATION = "configuration";
+
+    private final ResourceVersionJdbcRepository resourceVersionJdbcRepository;
+    private final long startedAtMillis = System.currentTimeMillis();
+    private final AtomicBoolean failureLogged = new AtomicBoolean();
+
+    @Value("${app.http.conditional.enabled:true}")
+    private boolean enabled;
+
+    public ResourceVersionService(ResourceVersionJdbcRepository resourceVersionJdbcRepository) {
+        this.resourceVersionJdbcRepository = resourceVersionJdbcRepository;
+    }
+
+    /**
+     * @return every data-set counter plus {@link #CONFIGURATION}, or empty when unavailable
+     */
+    public Optional<Map<String, Long>> getVersions() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            Map<String, Long> versions = new HashMap<>(resourceVersionJdbcRepository.findAllVersions());
+            versions.put(CONFIGURATION, startedAtMillis);
+            return Optional.of(versions);
+        } catch (Exception e) {
+            logFailure(e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return the listing's change marker, or empty when it is not publicly
+     *         visible (the handler then answers 404) or markers are unavailable
+     */
+    public Optional<ListingVersion> getListingVersion(long listingId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            return resourceVersionJdbcRepository.findApprovedListingVersion(listingId);
+        } catch (Exception e) {
+            logFailure(e);
+            return Optional.empty();
+        }
+    }
+
+    private void logFailure(Exception e) {
+        // Once at WARN; a missing table would otherwise log on every request
+        if (failureLogged.compareAndSet(false, true)) {
+            log.warn("Resource versions unavailable, serving without ETags: {}", e.getMessage());
+        } else {
+            log.debug("Resource versions unavailable: {}", e.getMessage());
+        }
+    }
+}
@@ -15,8 +15,6 @@ import com.caryo.marketplace.repository.specification.CarListingSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,7 +34,7 @@ public class SavedSearchService {
     private final UserRepository userRepository;
     private final SavedSearchMatchingService matchingService;
     private final CarListingRepository carListingRepository;
-    private final JavaMailSender mailSender;
+    private final EmailService emailService;
 
     /**
      * Create a new saved search or update existing one with same criteria
@@ -201,6 +199,7 @@ public class SavedSearchService {
 
         savedSearch.setIsActive(false);
         savedSearchRepository.save(savedSearch);
+        matchingService.evict(id);
 
         log.info("Deleted saved search {} for user: {}", id, username);
     }
@@ -286,14 +285,12 @@ public class SavedSearchService {
     }
 
     /**
-     * Send email notification for a matching listing
+     * Send email notification for a matching listing.
+     * Queued in the outbox as part of the caller's transaction when the outbox is enabled.
      */
     private void sendEmailNotification(SavedSearch savedSearch, CarListing listing) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(savedSearch.getUser().getEmail());
-            message.setSubject("New Car Listing Matches Your Saved Search");
-            message.setText(String.format(
+            String text = String.format(
                 "A new car listing has been found that matches your saved search '%s':\n\n" +
                 "Car: %s\n" +
                 "Price: $%s\n" +
@@ -305,9 +302,10 @@ public class SavedSearchService {
                 listing.getPrice(),
                 listing.getModelYear(),
                 listing.getMileage()
-            ));
+            );
 
-            mailSender.send(message);
+            emailService.sendSimpleEmail(savedSearch.getUser().getEmail(),
+                    "New Car Listing Matches Your Saved Search", text);
             log.debug("Email sent to {} for saved search {}",
                      savedSearch.getUser().getEmail(), savedSearch.getId());
 
@@ -0,0 +1,109 @@
+package com.caryo.marketplace.service;
+
+import com.caryo.marketplace.model.SearchSuggestion;
+import com.caryo.marketplace.payload.response.SearchSuggestionResponse;
+import com.caryo.marketplace.repository.SearchSuggestionRepository;
+import com.caryo.marketplace.util.ArabicTextUtils;
+import com.caryo.marketplace.util.CacheUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Serves typeahead completions from the {@code search_suggestions} table.
+ *
+ * <p>The table is kept current by a database trigger on car_listings (V64),
+ * so typeahead never touches car_listings itself. Short prefixes — the first
+ * keystrokes, which are also the most repeated — are served from the
+ * {@code searchSuggestions} cache; longer prefixes are selective enough that
+ * the index prefix scan is cheaper than growing the cache.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchSuggestionService {
+
+    public static final String CACHE_NAME = "searchSuggestions";
+
+    private static final Pattern ALEF_VARIANTS = Pattern.compile("[أإآٱ]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Pattern LIKE_SPECIAL = Pattern.compile("[\\\\%_]");
+
+    private final SearchSuggestionRepository searchSuggestionRepository;
+    private final CacheManager cacheManager;
+
+    @Value("${app.search.suggestions.max-limit:10}")
+    private int maxLimit;
+
+    @Value("${app.search.suggestions.cached-prefix-length:3}")
+    private int cachedPrefixLength;
+
+    /**
+     * Top completions for the given partial input.
+     *
+     * @param query    Raw user input
+     * @param language "en" or "ar"; detected from the input when null or unsupported
+     * @param limit    Requested number of completions (clamped to 1..max-limit)
+     * @return Completions ordered by live listing count, highest first
+     */
+    @Transactional(readOnly = true)
+    public List<SearchSuggestionResponse> suggest(String query, String language, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String lang = resolveLanguage(language, query);
+        int effectiveLimit = Math.max(1, Math.min(limit, maxLimit));
+
+        if (prefix.length() > cachedPrefixLength) {
+            return load(lang, prefix, effectiveLimit);
+        }
+
+        String key = lang + ':' + effectiveLimit + ':' + prefix;
+        return CacheUtils.get(cacheManager, CACHE_NAME, key, () -> load(lang, prefix, effectiveLimit));
+    }
+
+    private List<SearchSuggestionResponse> load(String language, String prefix, int limit) {
+        List<SearchSuggestion> rows = searchSuggestionRepository.findTopByPrefix(
+                language, likePrefix(prefix), limit);
+        log.debug("Loaded {} suggestions for prefix '{}' ({})", rows.size(), prefix, language);
+        return rows.stream()
+                .map(s -> new SearchSuggestionResponse(s.getTerm(), s.getLanguage(), s.getListingCount()))
+                .toList();
+    }
+
+    /** LIKE pattern matching every term that starts with {@code prefix} */
+    static String likePrefix(String prefix) {
+        return LIKE_SPECIAL.matcher(prefix).replaceAll("\\\\$0") + '%';
+    }
+
+    private static String resolveLanguage(String requested, String query) {
+        if ("en".equalsIgnoreCase(requested) || "ar".equalsIgnoreCase(requested)) {
+            return requested.toLowerCase(Locale.ROOT);
+        }
+        return ArabicTextUtils.containsArabic(query) ? "ar" : "en";
+    }
+
+    /**
+     * Lookup form of a term. Must stay in sync with the
+     * {@code search_suggestion_normalize} SQL function in V64: unify alef
+     * variants, drop tatweel, collapse whitespace, trim, lowercase.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String unified = ALEF_VARIANTS.matcher(text).replaceAll("ا").replace("ـ", "");
+        return WHITESPACE.matcher(unified).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+}
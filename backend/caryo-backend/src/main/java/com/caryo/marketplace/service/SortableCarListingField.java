@@ -7,8 +7,10 @@ public enum SortableCarListingField {
     LOCATION_ID("location.id"), // For sorting by location ID (city/town level)
     GOVERNORATE_ID("governorate.id"), // For sorting by governorate ID (state/region level)
     PRICE("price"),
+    PRICE_USD("priceUsdNormalized"), // Price converted to USD, comparable across currencies
     MODEL_YEAR("modelYear"), // For sorting by car model year
-    CREATED_AT("createdAt");
+    CREATED_AT("createdAt"),
+    POPULARITY("popularityScore"); // Decayed recent engagement, see ListingEngagementService
 
     private final String fieldName;
 
@@ -19,9 +19,8 @@ import java.util.stream.Collectors;
 
 import jakarta.annotation.PostConstruct;
 
-// Import model classes
-import com.caryo.marketplace.model.CarBrand;
-import com.caryo.marketplace.model.CarModel;
+import com.caryo.marketplace.service.sync.ReferenceDataSource;
+import com.caryo.marketplace.service.sync.ReferenceDataSyncService;
 
 /**
  * Syrian Local Market Data Provider
@@ -36,25 +35,22 @@ public class SyrianCarsDataService implements CarDataProvider {
     private static final String BRANDS_RESOURCE_PATH = "data/syrian-fallback-brands.json";
     private static final String MODELS_RESOURCE_PATH = "data/syrian-fallback-models.json";
 
-    private final CarBrandService carBrandService;
-    private final CarModelService carModelService;
     private final ArabicTranslationService arabicTranslationService;
     private final SyncStatusService syncStatusService;
     private final ObjectMapper objectMapper;
+    private final ReferenceDataSyncService referenceDataSyncService;
 
     private volatile List<SyrianBrand> cachedFallbackBrands;
     private volatile List<SyrianModel> cachedFallbackModels;
 
-    public SyrianCarsDataService(CarBrandService carBrandService,
-                                  CarModelService carModelService,
-                                  ArabicTranslationService arabicTranslationService,
+    public SyrianCarsDataService(ArabicTranslationService arabicTranslationService,
                                   SyncStatusService syncStatusService,
-                                  ObjectMapper objectMapper) {
-        this.carBrandService = carBrandService;
-        this.carModelService = carModelService;
+                                  ObjectMapper objectMapper,
+                                  ReferenceDataSyncService referenceDataSyncService) {
         this.arabicTranslationService = arabicTranslationService;
         this.syncStatusService = syncStatusService;
         this.objectMapper = objectMapper;
+        this.referenceDataSyncService = referenceDataSyncService;
     }
 
     @Value("${syriacars.enabled:true}")
@@ -231,21 +227,17 @@ public class SyrianCarsDataService implements CarDataProvider {
                 throw new RuntimeException("Cannot connect to SyrianCars.net API");
             }
 
-            LoadResult brandLoadResult = loadSyrianBrands();
-            LoadResult modelLoadResult = loadSyrianModels();
+            ReferenceDataSyncService.SyncReport report = referenceDataSyncService.sync(syrianReferenceDataSource());
+            result = report.toDataLoadResult();
 
-            result.addResult("brands", brandLoadResult);
-            result.addResult("models", modelLoadResult);
-
-            long totalSynced = brandLoadResult.getProcessed() + modelLoadResult.getProcessed();
-            long totalFailed = brandLoadResult.getFailed() + modelLoadResult.getFailed();
+            long totalSynced = result.getTotalProcessed();
+            long totalFailed = result.getTotalFailed();
 
             log.info("✅ Syrian car dataset loaded successfully from SyrianCars.net");
-            result.setSuccess(true);
 
             // Complete sync status
             syncStatusService.completeSync(getProviderName(),
-                String.format("Sync completed: %d records synced, %d failed.", totalSynced, totalFailed),
+                String.format("Sync completed: %d records synced, %d failed. %s", totalSynced, totalFailed, report.getSummary()),
                 totalSynced, totalFailed);
 
         } catch (Exception e) {
@@ -261,61 +253,38 @@ public class SyrianCarsDataService implements CarDataProvider {
     }
 
     /**
-     * Load Syrian-specific brands from syriacars.net
+     * Syrian market catalogue as a sync source: brands from scraping or the local
+     * fallback, models from the bundled data set, both with their own Arabic names.
      */
-    private LoadResult loadSyrianBrands() {
-        LoadResult result = new LoadResult("brands");
-
-        try {
-            List<SyrianBrand> syrianBrands = loadSyrianMarketBrands();
-
-            for (SyrianBrand brand : syrianBrands) {
-                try {
-                    createOrUpdateSyrianBrand(brand);
-                    result.incrementProcessed();
-                } catch (Exception e) {
-                    log.warn("Failed to process Syrian brand {}: {}", brand.getName(), e.getMessage());
-                    result.incrementFailed();
-                }
+    private ReferenceDataSource syrianReferenceDataSource() {
+        Map<String, List<ReferenceDataSource.SourceModel>> modelsByBrand = loadSyrianMarketModels().stream()
+            .collect(Collectors.groupingBy(SyrianModel::getBrandSlug, LinkedHashMap::new,
+                Collectors.mapping(model -> new ReferenceDataSource.SourceModel(model.getName(), model.getArabicName()),
+                    Collectors.toList())));
+
+        return new ReferenceDataSource() {
+            @Override
+            public String getProviderName() {
+                return SyrianCarsDataService.this.getProviderName();
             }
 
-            log.info("Processed {} Syrian brands", result.getProcessed());
-
-        } catch (Exception e) {
-            log.error("Error loading Syrian brands: {}", e.getMessage());
-            result.incrementFailed(1);
-        }
-
-        return result;
-    }
-
-    /**
-     * Load Syrian-specific models from syriacars.net
-     */
-    private LoadResult loadSyrianModels() {
-        LoadResult result = new LoadResult("models");
-
-        try {
-            List<SyrianModel> syrianModels = loadSyrianMarketModels();
-
-            for (SyrianModel model : syrianModels) {
-                try {
-                    createOrUpdateSyrianModel(model);
-                    result.incrementProcessed();
-                } catch (Exception e) {
-                    log.warn("Failed to process Syrian model {}: {}", model.getName(), e.getMessage());
-                    result.incrementFailed();
-                }
+            @Override
+            public String getRateLimiterName() {
+                return "syriancars";
             }
 
-            log.info("Processed {} Syrian models", result.getProcessed());
-
-        } catch (Exception e) {
-            log.error("Error loading Syrian models: {}", e.getMessage());
-            result.incrementFailed(1);
-        }
+            @Override
+            public List<SourceBrand> fetchBrands() {
+                return loadSyrianMarketBrands().stream()
+                    .map(brand -> new SourceBrand(brand.getSlug(), brand.getSlug(), brand.getName(), brand.getArabicName()))
+                    .toList();
+            }
 
-        return result;
+            @Override
+            public List<SourceModel> fetchModels(SourceBrand brand) {
+                return modelsByBrand.getOrDefault(brand.sourceKey(), List.of());
+            }
+        };
     }
 
     /**
@@ -601,295 +570,6 @@ public class SyrianCarsDataService implements CarDataProvider {
             .collect(Collectors.toList());
     }
 
-    /**
-     * Create or update a Syrian brand with strict validation (same as CarQuery)
-     */
-    private void createOrUpdateSyrianBrand(SyrianBrand syrianBrand) {
-        try {
-            String brandSlug = syrianBrand.getSlug();
-            String brandName = syrianBrand.getName();
-            CarBrand existingBrand = null;
-
-            // Check if brand already exists by slug or name
-            try {
-                existingBrand = carBrandService.getBrandBySlug(brandSlug);
-                log.debug("Syrian brand '{}' already exists (slug: {}), checking for new models", brandName, brandSlug);
-            } catch (Exception e) {
-                // Check by name as well
-                try {
-                    existingBrand = carBrandService.getBrandByName(brandName);
-                    log.debug("Syrian brand '{}' already exists (name: {}), checking for new models", brandName, brandName);
-                } catch (Exception ex) {
-                    // Brand doesn't exist, validate it has models before creating
-                    if (validateSyrianBrandHasModels(syrianBrand.getSlug())) {
-                        createSyrianBrandDirectly(syrianBrand);
-                        return; // Brand created, models will be imported in next phase
-                    } else {
-                        log.info("Skipping Syrian brand '{}' - no models available", brandName);
-                        return;
-                    }
-                }
-            }
-
-            // If brand exists, import any new models
-            if (existingBrand != null) {
-                importSyrianModelsForExistingBrand(existingBrand, syrianBrand.getSlug());
-            }
-
-        } catch (Exception e) {
-            log.error("Failed to create/update Syrian brand '{}': {}", syrianBrand.getName(), e.getMessage());
-            throw e;
-        }
-    }
-
-    /**
-     * Create or update a Syrian model with strict validation (same as CarQuery)
-     */
-    private void createOrUpdateSyrianModel(SyrianModel syrianModel) {
-        try {
-            // Find the brand for this model
-            CarBrand brand = carBrandService.getBrandBySlug(syrianModel.getBrandSlug());
-
-            String modelName = syrianModel.getName();
-
-            // Check if model already exists for this brand by name or slug
-            List<CarModel> existingModels = carModelService.getModelsByBrandId(brand.getId());
-
-            // Generate expected slug for comparison
-            String expectedSlug = (brand.getName() + "-" + modelName).toLowerCase().replaceAll("[^a-z0-9-]", "-");
-
-            boolean modelExists = existingModels.stream()
-                .anyMatch(model -> model.getName().equals(modelName) || model.getSlug().equals(expectedSlug));
-
-            if (modelExists) {
-                log.debug("Syrian model '{}' already exists for brand '{}', skipping",
-                         modelName, brand.getDisplayNameEn());
-                return;
-            }
-
-            // Model doesn't exist, create it directly with validation
-            createSyrianModelDirectly(brand, syrianModel);
-
-        } catch (Exception e) {
-            log.warn("Failed to create/update Syrian model '{}': {}", syrianModel.getName(), e.getMessage());
-        }
-    }
-
-    /**
-     * Validate that a Syrian brand has available models
-     */
-    private boolean validateSyrianBrandHasModels(String brandSlug) {
-        try {
-            log.debug("Validating models availability for Syrian brand: {}", brandSlug);
-
-            List<SyrianModel> availableModels = loadSyrianMarketModels().stream()
-                .filter(model -> model.getBrandSlug().equals(brandSlug))
-                .collect(java.util.stream.Collectors.toList());
-
-            if (availableModels.isEmpty()) {
-                log.warn("❌ SYRIAN BRAND VALIDATION FAILED: '{}' has no models available - will not be imported", brandSlug);
-                return false;
-            }
-
-            int modelCount = availableModels.size();
-            log.debug("✅ SYRIAN BRAND VALIDATION PASSED: '{}' has {} models available", brandSlug, modelCount);
-            return true;
-
-        } catch (Exception e) {
-            log.warn("❌ SYRIAN BRAND VALIDATION ERROR: Cannot validate models for brand '{}': {} - will not be imported to maintain data quality", brandSlug, e.getMessage());
-            return false;
-        }
-    }
-
-    /**
-     * Comprehensive data quality validation for Syrian brand creation (same as CarQuery)
-     */
-    private boolean validateSyrianBrandDataQuality(SyrianBrand syrianBrand) {
-        String englishName = syrianBrand.getName();
-
-        // 1. Validate Arabic translation availability
-        String arabicName = syrianBrand.getArabicName();
-        if (arabicName == null || arabicName.trim().isEmpty()) {
-            log.warn("❌ SYRIAN DATA QUALITY CHECK FAILED: '{}' - No Arabic translation available", englishName);
-            return false;
-        }
-
-        // 2. Validate translation is actually different from English
-        if (arabicName.equalsIgnoreCase(englishName.trim())) {
-            log.warn("❌ SYRIAN DATA QUALITY CHECK FAILED: '{}' - Arabic translation is identical to English name", englishName);
-            return false;
-        }
-
-        // 3. Validate slug is present and properly formatted
-        String slug = syrianBrand.getSlug();
-        if (slug == null || slug.trim().isEmpty()) {
-            log.warn("❌ SYRIAN DATA QUALITY CHECK FAILED: '{}' - No slug available", englishName);
-            return false;
-        }
-
-        // 4. Check for existing brand with same slug to prevent duplicates
-        try {
-            carBrandService.getBrandBySlug(slug);
-            log.debug("Syrian brand '{}' already exists with slug '{}', will check for new models", englishName, slug);
-            return true; // Brand exists, but we can still import new models
-        } catch (Exception e) {
-            // Brand doesn't exist, which is fine for new brand creation
-        }
-
-        log.debug("✅ SYRIAN BRAND DATA QUALITY PASSED: '{}' -> '{}' (slug: {})", englishName, arabicName, slug);
-        return true;
-    }
-
-    /**
-     * Create Syrian brand directly with validation (same as CarQuery)
-     */
-    private void createSyrianBrandDirectly(SyrianBrand syrianBrand) {
-        try {
-            // COMPREHENSIVE DATA QUALITY VALIDATION - Only proceed if ALL checks pass
-            if (!validateSyrianBrandDataQuality(syrianBrand)) {
-                log.warn("❌ SYRIAN BRAND CREATION SKIPPED: '{}' failed comprehensive data quality validation", syrianBrand.getName());
-                return;
-            }
-
-            String englishName = syrianBrand.getName();
-            String arabicName = syrianBrand.getArabicName();
-            String brandSlug = syrianBrand.getSlug();
-
-            CarBrand brand = new CarBrand();
-            brand.setName(englishName);
-            brand.setSlug(brandSlug);
-            brand.setDisplayNameEn(englishName);
-            brand.setDisplayNameAr(arabicName);
-            brand.setIsActive(false); // External API data requires admin review
-
-            CarBrand savedBrand = carBrandService.createBrand(brand);
-            log.info("✅ SYRIAN BRAND CREATED: '{}' -> '{}' (ID: {}, slug: {})",
-                    englishName, arabicName, savedBrand.getId(), brandSlug);
-
-        } catch (Exception e) {
-            log.error("❌ CRITICAL ERROR creating Syrian brand '{}': {}", syrianBrand.getName(), e.getMessage());
-            throw e;
-        }
-    }
-
-    /**
-     * Import new models for existing Syrian brand
-     */
-    private void importSyrianModelsForExistingBrand(CarBrand existingBrand, String brandSlug) {
-        try {
-            log.debug("Checking for new Syrian models for existing brand: {}", existingBrand.getName());
-
-            List<SyrianModel> availableModels = loadSyrianMarketModels().stream()
-                .filter(model -> model.getBrandSlug().equals(brandSlug))
-                .collect(java.util.stream.Collectors.toList());
-
-            int newModelsCount = 0;
-            for (SyrianModel modelData : availableModels) {
-                try {
-                    // Check if this model already exists
-                    List<CarModel> existingModels = carModelService.getModelsByBrandId(existingBrand.getId());
-                    String expectedSlug = (existingBrand.getName() + "-" + modelData.getName()).toLowerCase().replaceAll("[^a-z0-9-]", "-");
-
-                    boolean modelExists = existingModels.stream()
-                        .anyMatch(model -> model.getName().equals(modelData.getName()) || model.getSlug().equals(expectedSlug));
-
-                    if (!modelExists) {
-                        createSyrianModelDirectly(existingBrand, modelData);
-                        newModelsCount++;
-                    }
-                } catch (Exception e) {
-                    log.warn("Failed to process Syrian model '{}' for brand '{}': {}",
-                            modelData.getName(), existingBrand.getName(), e.getMessage());
-                }
-            }
-
-            if (newModelsCount > 0) {
-                log.info("✅ Imported {} new Syrian models for existing brand '{}'", newModelsCount, existingBrand.getName());
-            } else {
-                log.debug("No new Syrian models found for existing brand '{}'", existingBrand.getName());
-            }
-
-        } catch (Exception e) {
-            log.error("Failed to import Syrian models for existing brand '{}': {}", existingBrand.getName(), e.getMessage());
-        }
-    }
-
-    /**
-     * Comprehensive data quality validation for Syrian model creation (same as CarQuery)
-     */
-    private boolean validateSyrianModelDataQuality(CarBrand brand, SyrianModel syrianModel) {
-        String englishModelName = syrianModel.getName();
-
-        // 1. Validate Arabic translation availability
-        String arabicModelName = syrianModel.getArabicName();
-        if (arabicModelName == null || arabicModelName.trim().isEmpty()) {
-            log.warn("❌ SYRIAN MODEL DATA QUALITY CHECK FAILED: '{}' for brand '{}' - No Arabic translation available",
-                    englishModelName, brand.getDisplayNameEn());
-            return false;
-        }
-
-        // 2. Validate translation is actually different from English (unless it's alphanumeric)
-        if (arabicModelName.equalsIgnoreCase(englishModelName.trim()) && !englishModelName.matches(".*\\d.*")) {
-            log.warn("❌ SYRIAN MODEL DATA QUALITY CHECK FAILED: '{}' for brand '{}' - Arabic translation is identical to English name",
-                    englishModelName, brand.getDisplayNameEn());
-            return false;
-        }
-
-        // 3. Validate basic data integrity
-        if (englishModelName == null || englishModelName.trim().isEmpty()) {
-            log.warn("❌ SYRIAN MODEL DATA QUALITY CHECK FAILED: Empty model name for brand '{}'", brand.getDisplayNameEn());
-            return false;
-        }
-
-        log.debug("✅ SYRIAN MODEL DATA QUALITY PASSED: '{}' -> '{}' for brand '{}'",
-                englishModelName, arabicModelName, brand.getDisplayNameEn());
-        return true;
-    }
-
-    /**
-     * Create Syrian model directly with validation (same as CarQuery)
-     */
-    private void createSyrianModelDirectly(CarBrand brand, SyrianModel syrianModel) {
-        try {
-            // COMPREHENSIVE DATA QUALITY VALIDATION - Only proceed if ALL checks pass
-            if (!validateSyrianModelDataQuality(brand, syrianModel)) {
-                log.warn("❌ SYRIAN MODEL CREATION SKIPPED: '{}' for brand '{}' failed comprehensive data quality validation",
-                        syrianModel.getName(), brand.getDisplayNameEn());
-                return;
-            }
-
-            String englishModelName = syrianModel.getName();
-            String arabicModelName = syrianModel.getArabicName();
-
-            // Skip model creation if Arabic translation is not available
-            if (arabicModelName == null || arabicModelName.trim().isEmpty()) {
-                log.warn("⚠️ SKIPPING SYRIAN MODEL CREATION: '{}' for brand '{}' - Arabic name not available",
-                        englishModelName, brand.getDisplayNameEn());
-                return;
-            }
-
-            // Generate slug with brand-model format for proper filtering (same as CarQuery)
-            String modelSlug = (brand.getName() + "-" + englishModelName).toLowerCase().replaceAll("[^a-z0-9-]", "-");
-
-            CarModel model = new CarModel();
-            model.setName(englishModelName);
-            model.setSlug(modelSlug);
-            model.setDisplayNameEn(englishModelName);
-            model.setDisplayNameAr(arabicModelName);
-            model.setBrand(brand);
-            model.setIsActive(false); // External API data requires admin review
-
-            CarModel savedModel = carModelService.createModel(model);
-            log.info("✅ SYRIAN MODEL CREATED: '{}' -> '{}' for brand '{}' (ID: {}, slug: {})",
-                    englishModelName, arabicModelName, brand.getDisplayNameEn(), savedModel.getId(), modelSlug);
-
-        } catch (Exception e) {
-            log.error("❌ CRITICAL ERROR creating Syrian model '{}' for brand '{}': {}",
-                    syrianModel.getName(), brand.getDisplayNameEn(), e.getMessage());
-            throw e;
-        }
-    }
-
     /**
      * Syrian brand data structure
      */
@@ -6,15 +6,25 @@ import com.caryo.marketplace.model.User;
 import com.caryo.marketplace.model.UserBlock;
 import com.caryo.marketplace.repository.UserBlockRepository;
 import com.caryo.marketplace.repository.UserRepository;
+import com.caryo.marketplace.service.block.UserBlockGraph;
+import com.caryo.marketplace.service.block.UserBlockGraphCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service for managing user-level blocking.
+ *
+ * <p>Block checks are answered from the cached per-user block graph
+ * ({@link UserBlockGraphCache}) without loading User entities; blocking and
+ * unblocking invalidate the graphs of both users.</p>
  */
 @Service
 @RequiredArgsConstructor
@@ -24,6 +34,7 @@ public class UserBlockService {
 
     private final UserBlockRepository userBlockRepository;
     private final UserRepository userRepository;
+    private final UserBlockGraphCache blockGraphCache;
 
     /**
      * Block a user
@@ -55,6 +66,7 @@ public class UserBlockService {
                 .build();
 
         userBlock = userBlockRepository.save(userBlock);
+        blockGraphCache.changed(blockerId, blockedId);
 
         log.info("User {} successfully blocked user {}", blockerId, blockedId);
         return userBlock;
@@ -76,6 +88,7 @@ public class UserBlockService {
                 .orElseThrow(() -> new BadRequestException("User is not blocked"));
 
         userBlockRepository.delete(userBlock);
+        blockGraphCache.changed(blockerId, blockedId);
 
         log.info("User {} successfully unblocked user {}", blockerId, blockedId);
     }
@@ -83,31 +96,43 @@ public class UserBlockService {
     /**
      * Check if user A has blocked user B
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isBlocked(Long blockerId, Long blockedId) {
-        User blocker = userRepository.findById(blockerId).orElse(null);
-        User blocked = userRepository.findById(blockedId).orElse(null);
-
-        if (blocker == null || blocked == null) {
+        if (blockerId == null || blockedId == null) {
             return false;
         }
-
-        return userBlockRepository.existsByBlockerAndBlocked(blocker, blocked);
+        return blockGraphCache.get(blockerId).blocks(blockedId);
     }
 
     /**
      * Check if either user has blocked the other (bidirectional)
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isBlockedBidirectional(Long user1Id, Long user2Id) {
-        User user1 = userRepository.findById(user1Id).orElse(null);
-        User user2 = userRepository.findById(user2Id).orElse(null);
-
-        if (user1 == null || user2 == null) {
+        if (user1Id == null || user2Id == null) {
             return false;
         }
+        return blockGraphCache.get(user1Id).eitherWay(user2Id);
+    }
 
-        return userBlockRepository.existsBlockBetweenUsers(user1, user2);
+    /**
+     * Of the given users, those that have a block with the user in either
+     * direction. For filtering a page of conversations or listings (by
+     * seller) with one cache lookup.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Set<Long> findBlockedAmong(Long userId, Collection<Long> otherUserIds) {
+        Set<Long> blocked = new LinkedHashSet<>();
+        if (userId == null || otherUserIds.isEmpty()) {
+            return blocked;
+        }
+        UserBlockGraph graph = blockGraphCache.get(userId);
+        for (Long otherUserId : otherUserIds) {
+            if (otherUserId != null && graph.eitherWay(otherUserId)) {
+                blocked.add(otherUserId);
+            }
+        }
+        return blocked;
     }
 
     /**
@@ -0,0 +1,59 @@
+package com.caryo.marketplace.service.block;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * One user's edges in the block graph: the IDs they have blocked and the IDs
+ * that have blocked them, each a sorted {@code long[]}.
+ *
+ * <p>Every check is a binary search; a bidirectional check is two of them on
+ * the same entry. Immutable and stored as-is by the Redis cache serializer,
+ * hence no {@code get}/{@code is} style accessors beyond the components.</p>
+ */
+public record UserBlockGraph(long[] blocked, long[] blockedBy) {
+
+    public UserBlockGraph {
+        blocked = blocked == null ? new long[0] : blocked;
+        blockedBy = blockedBy == null ? new long[0] : blockedBy;
+    }
+
+    public static UserBlockGraph of(Collection<Long> blocked, Collection<Long> blockedBy) {
+        return new UserBlockGraph(sorted(blocked), sorted(blockedBy));
+    }
+
+    /** Whether this user has blocked {@code userId} */
+    public boolean blocks(long userId) {
+        return Arrays.binarySearch(blocked, userId) >= 0;
+    }
+
+    /** Whether {@code userId} has blocked this user */
+    public boolean blockedBy(long userId) {
+        return Arrays.binarySearch(blockedBy, userId) >= 0;
+    }
+
+    /** Whether either user has blocked the other */
+    public boolean eitherWay(long userId) {
+        return blocks(userId) || blockedBy(userId);
+    }
+
+    private static long[] sorted(Collection<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof UserBlockGraph that
+                && Arrays.equals(blocked, that.blocked) && Arrays.equals(blockedBy, that.blockedBy);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(blocked) + Arrays.hashCode(blockedBy);
+    }
+
+    @Override
+    public String toString() {
+        return "UserBlockGraph[blocked=" + Arrays.toString(blocked) + ", blockedBy=" + Arrays.toString(blockedBy) + "]";
+    }
+}
@@ -0,0 +1,44 @@
+package com.caryo.marketplace.service.block;
+
+import com.caryo.marketplace.repository.UserBlockRepository;
+import com.caryo.marketplace.util.CacheUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-user {@link UserBlockGraph}s in the {@value #CACHE_NAME} cache (Redis in
+ * production, see CacheConfig), keyed by user id.
+ *
+ * <p>A graph is loaded with two ID-only queries and no User entities. A block
+ * or unblock changes the edges of both users, so both entries are evicted
+ * once the change commits, and the next check reloads the committed state.</p>
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class UserBlockGraphCache {
+
+    public static final String CACHE_NAME = "userBlockGraphs";
+
+    private final UserBlockRepository userBlockRepository;
+    private final CacheManager cacheManager;
+
+    public UserBlockGraph get(long userId) {
+        return CacheUtils.get(cacheManager, CACHE_NAME, userId, () -> load(userId));
+    }
+
+    /** Drops the cached graphs of both users once the current transaction commits */
+    public void changed(long blockerId, long blockedId) {
+        CacheUtils.evictAfterCommit(cacheManager, CACHE_NAME, blockerId, blockedId);
+    }
+
+    private UserBlockGraph load(long userId) {
+        UserBlockGraph graph = UserBlockGraph.of(
+                userBlockRepository.findBlockedIdsByBlockerId(userId),
+                userBlockRepository.findBlockerIdsByBlockedId(userId));
+        log.debug("Loaded block graph of user {}", userId);
+        return graph;
+    }
+}
@@ -0,0 +1,16 @@
+package com.caryo.marketplace.service.engagement;
+
+/**
+ * Listing interactions counted by {@link ListingEngagementCounter}. The
+ * ordinal is the counter slot, so new types go at the end.
+ */
+public enum EngagementType {
+    /** Listing detail served (200 or 304) */
+    VIEW,
+    /** Listing shown on a search results page */
+    IMPRESSION,
+    /** Listing added to someone's favorites */
+    FAVORITE,
+    /** Seller contact details revealed */
+    CONTACT_REVEAL
+}
@@ -0,0 +1,149 @@
+package com.caryo.marketplace.service.engagement;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory engagement counts of this node, waiting for the next flush.
+ *
+ * <p>Recording is a map lookup and a {@link LongAdder} increment, so it can sit
+ * on the hottest read paths: concurrent increments of the same listing land in
+ * different cells instead of contending on one value, and nothing touches the
+ * database. {@link ListingEngagementService} drains the counts on a schedule
+ * and writes them in one batch.</p>
+ *
+ * <p>Counts are best effort. An increment racing the removal of an idle entry
+ * can be lost, and whatever is pending when the JVM dies without a shutdown
+ * flush is gone; both are acceptable for statistics and a ranking signal.</p>
+ *
+ * <p>Contact reveals come from a public beacon, so each visitor counts once
+ * per listing within {@code app.engagement.contact-reveal-window-seconds};
+ * repeats inside the window are dropped before they reach the counts.</p>
+ */
+@Component
+public class ListingEngagementCounter {
+
+    private static final EngagementType[] TYPES = EngagementType.values();
+
+    private final ConcurrentMap<Long, LongAdder[]> pending = new ConcurrentHashMap<>();
+
+    /** "listingId:visitor" of reveals counted within the window, with the nanoTime they were counted at */
+    private final ConcurrentMap<String, Long> recentReveals = new ConcurrentHashMap<>();
+
+    @Value("${app.engagement.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.engagement.contact-reveal-window-seconds:1800}")
+    private long contactRevealWindowSeconds;
+
+    public void record(Long listingId, EngagementType type) {
+        if (!enabled || listingId == null) {
+            return;
+        }
+        pending.computeIfAbsent(listingId, id -> newAdders())[type.ordinal()].increment();
+    }
+
+    /**
+     * Records a contact reveal unless the same visitor already revealed this
+     * listing within the window.
+     *
+     * @param visitor the client address or user the reveal came from
+     * @return whether the reveal was counted
+     */
+    public boolean recordContactReveal(Long listingId, String visitor) {
+        if (!enabled || listingId == null) {
+            return false;
+        }
+        long now = System.nanoTime();
+        long window = TimeUnit.SECONDS.toNanos(contactRevealWindowSeconds);
+        boolean[] counted = {false};
+        recentReveals.compute(listingId + ":" + visitor, (key, countedAt) -> {
+            if (countedAt != null && now - countedAt < window) {
+                return countedAt;
+            }
+            counted[0] = true;
+            return now;
+        });
+        if (counted[0]) {
+            record(listingId, EngagementType.CONTACT_REVEAL);
+        }
+        return counted[0];
+    }
+
+    /**
+     * Records one impression for each listing of a results page.
+     */
+    public void recordImpressions(Collection<Long> listingIds) {
+        if (!enabled) {
+            return;
+        }
+        for (Long listingId : listingIds) {
+            record(listingId, EngagementType.IMPRESSION);
+        }
+    }
+
+    /**
+     * Takes the counts recorded since the previous drain.
+     *
+     * <p>Entries that saw nothing since the previous drain are dropped, so the
+     * map only holds listings that are actually being looked at. Contact
+     * reveals whose window has passed are forgotten here as well.</p>
+     *
+     * @return counts per listing, indexed by {@link EngagementType#ordinal()}
+     */
+    public Map<Long, long[]> drain() {
+        long now = System.nanoTime();
+        long window = TimeUnit.SECONDS.toNanos(contactRevealWindowSeconds);
+        recentReveals.values().removeIf(countedAt -> now - countedAt >= window);
+
+        Map<Long, long[]> drained = new HashMap<>();
+        pending.forEach((listingId, adders) -> {
+            long[] counts = new long[TYPES.length];
+            boolean any = false;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = adders[i].sumThenReset();
+                any |= counts[i] != 0;
+            }
+            if (any) {
+                drained.put(listingId, counts);
+            } else {
+                pending.remove(listingId, adders);
+            }
+        });
+        return drained;
+    }
+
+    /**
+     * Puts drained counts back after a failed flush, so they go out with the
+     * next one.
+     */
+    public void restore(Map<Long, long[]> counts) {
+        counts.forEach((listingId, values) -> {
+            LongAdder[] adders = pending.computeIfAbsent(listingId, id -> newAdders());
+            for (int i = 0; i < values.length; i++) {
+                adders[i].add(values[i]);
+            }
+        });
+    }
+
+    /** Listings with counts waiting for the next flush */
+    public int pendingListings() {
+        return pending.size();
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[TYPES.length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,179 @@
+package com.caryo.marketplace.service.engagement;
+
+import com.caryo.marketplace.payload.response.DealerEngagementResponse;
+import com.caryo.marketplace.payload.response.DealerEngagementResponse.DailyEngagement;
+import com.caryo.marketplace.payload.response.DealerEngagementResponse.EngagementCounts;
+import com.caryo.marketplace.payload.response.DealerEngagementResponse.ListingEngagement;
+import com.caryo.marketplace.repository.ListingEngagementJdbcRepository;
+import com.caryo.marketplace.repository.ListingEngagementJdbcRepository.DailyEngagementRow;
+import com.caryo.marketplace.repository.ListingEngagementJdbcRepository.EngagementDelta;
+import com.caryo.marketplace.repository.ListingEngagementJdbcRepository.ListingEngagementRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Write-behind side of the listing engagement counters: flushes what
+ * {@link ListingEngagementCounter} collected, maintains the popularity score
+ * and serves the dealer statistics.
+ *
+ * <p>The flush and the rollup are scheduled from SchedulingConfig. A flush
+ * that fails puts its counts back into the counter, so a database outage
+ * delays the statistics instead of losing them. Days are UTC days.</p>
+ *
+ * <p>When the feature is disabled (H2 test profile, where the V73 tables do
+ * not exist) nothing is counted and every job is a no-op.</p>
+ */
+@Service
+@Slf4j
+public class ListingEngagementService {
+
+    private final ListingEngagementCounter counter;
+    private final ListingEngagementJdbcRepository engagementRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+    private final Counter flushFailureCounter;
+
+    @Value("${app.engagement.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.engagement.popularity.window-days:14}")
+    private int popularityWindowDays;
+
+    @Value("${app.engagement.popularity.daily-decay:0.85}")
+    private double popularityDailyDecay;
+
+    @Value("${app.engagement.daily-retention-days:400}")
+    private int dailyRetentionDays;
+
+    public ListingEngagementService(ListingEngagementCounter counter,
+                                    ListingEngagementJdbcRepository engagementRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    MeterRegistry meterRegistry) {
+        this.counter = counter;
+        this.engagementRepository = engagementRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.flushTimer = Timer.builder("listing.engagement.flush.duration")
+                .description("Time taken to write pending listing engagement counts")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("listing.engagement.flush.listings")
+                .description("Listings whose engagement counts were written")
+                .register(meterRegistry);
+        this.flushFailureCounter = Counter.builder("listing.engagement.flush.failures")
+                .description("Failed listing engagement flushes (counts are retried)")
+                .register(meterRegistry);
+        Gauge.builder("listing.engagement.pending.listings", counter, ListingEngagementCounter::pendingListings)
+                .description("Listings with engagement counts waiting for the next flush")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Writes the counts recorded since the previous flush.
+     *
+     * @return number of listings written, or -1 when disabled or failed
+     */
+    public int flush() {
+        if (!enabled) {
+            return -1;
+        }
+        Map<Long, long[]> drained = counter.drain();
+        if (drained.isEmpty()) {
+            return 0;
+        }
+        List<EngagementDelta> deltas = new ArrayList<>(drained.size());
+        new TreeMap<>(drained).forEach((listingId, counts) -> deltas.add(new EngagementDelta(listingId,
+                counts[EngagementType.VIEW.ordinal()],
+                counts[EngagementType.IMPRESSION.ordinal()],
+                counts[EngagementType.FAVORITE.ordinal()],
+                counts[EngagementType.CONTACT_REVEAL.ordinal()])));
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Timer.Sample sample = Timer.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> engagementRepository.addCounts(today, deltas));
+            flushedCounter.increment(deltas.size());
+            log.debug("Flushed engagement counts of {} listings", deltas.size());
+            return deltas.size();
+        } catch (Exception e) {
+            counter.restore(drained);
+            flushFailureCounter.increment();
+            log.warn("Engagement flush of {} listings failed, retrying with the next flush: {}",
+                    deltas.size(), e.getMessage());
+            return -1;
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    /**
+     * Recomputes the popularity scores and purges daily rows past retention.
+     *
+     * @return number of listings whose score changed, or -1 when disabled or failed
+     */
+    public int refreshPopularity() {
+        if (!enabled) {
+            return -1;
+        }
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        try {
+            int changed = engagementRepository.refreshPopularityScores(
+                    today, popularityWindowDays, popularityDailyDecay);
+            int purged = engagementRepository.deleteDailyBefore(today.minusDays(dailyRetentionDays));
+            log.info("Popularity refresh updated {} listings, purged {} daily engagement rows", changed, purged);
+            return changed;
+        } catch (Exception e) {
+            log.error("Popularity refresh failed", e);
+            return -1;
+        }
+    }
+
+    /**
+     * Engagement of the seller's listings: lifetime totals, per listing and per
+     * UTC day over the last {@code days} days. Empty when the feature is disabled.
+     */
+    public DealerEngagementResponse getSellerEngagement(Long sellerId, int days) {
+        if (!enabled) {
+            return new DealerEngagementResponse(new EngagementCounts(), List.of(), List.of());
+        }
+        LocalDate from = LocalDate.now(ZoneOffset.UTC).minusDays(days - 1L);
+        List<ListingEngagementRow> listingRows = engagementRepository.findTotalsBySeller(sellerId);
+        List<DailyEngagementRow> dailyRows = engagementRepository.findDailyBySeller(sellerId, from);
+
+        EngagementCounts totals = new EngagementCounts();
+        List<ListingEngagement> listings = new ArrayList<>(listingRows.size());
+        for (ListingEngagementRow row : listingRows) {
+            totals.setViews(totals.getViews() + row.views());
+            totals.setImpressions(totals.getImpressions() + row.impressions());
+            totals.setFavorites(totals.getFavorites() + row.favorites());
+            totals.setContactReveals(totals.getContactReveals() + row.contactReveals());
+            listings.add(new ListingEngagement(row.listingId(), row.title(),
+                    new EngagementCounts(row.views(), row.impressions(), row.favorites(), row.contactReveals()),
+                    row.popularityScore()));
+        }
+        List<DailyEngagement> daily = dailyRows.stream()
+                .map(row -> new DailyEngagement(row.day(),
+                        new EngagementCounts(row.views(), row.impressions(), row.favorites(), row.contactReveals())))
+                .toList();
+        return new DealerEngagementResponse(totals, daily, listings);
+    }
+
+    /** Writes what is still pending, so a rolling deploy does not drop the last interval */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,47 @@
+package com.caryo.marketplace.service.favorite;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Keyset position in a user's newest-first favorites: the createdAt and id of
+ * the last favorite on the previous page.
+ *
+ * <p>Encoded as an opaque URL-safe token, like PaymentSearchCursor. The
+ * timestamp keeps full precision so favorites added within the same
+ * millisecond are neither skipped nor repeated across pages.</p>
+ */
+public record FavoriteCursor(LocalDateTime createdAt, long id) {
+
+    public String encode() {
+        Instant instant = createdAt.toInstant(ZoneOffset.UTC);
+        String raw = instant.getEpochSecond() + "." + instant.getNano() + "." + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @return the decoded cursor, or null for a null or blank token
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static FavoriteCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.US_ASCII);
+            String[] parts = raw.split("\\.");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Instant instant = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new FavoriteCursor(LocalDateTime.ofInstant(instant, ZoneOffset.UTC), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            // NumberFormatException is an IllegalArgumentException too
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.caryo.marketplace.service.favorite;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * The listing IDs a user has favorited, as a sorted {@code long[]}.
+ *
+ * <p>Membership is a binary search. The record form is what
+ * {@code GenericJackson2JsonRedisSerializer} stores in Redis, which is why
+ * there are no {@code get}/{@code is} style accessors beyond {@code ids}.</p>
+ */
+public record FavoriteIdSet(long[] ids) {
+
+    private static final FavoriteIdSet EMPTY = new FavoriteIdSet(new long[0]);
+
+    public FavoriteIdSet {
+        ids = ids == null ? new long[0] : ids;
+    }
+
+    public static FavoriteIdSet empty() {
+        return EMPTY;
+    }
+
+    public static FavoriteIdSet of(Collection<Long> listingIds) {
+        long[] ids = listingIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        return new FavoriteIdSet(ids);
+    }
+
+    public boolean contains(long listingId) {
+        return Arrays.binarySearch(ids, listingId) >= 0;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof FavoriteIdSet that && Arrays.equals(ids, that.ids);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(ids);
+    }
+
+    @Override
+    public String toString() {
+        return "FavoriteIdSet" + Arrays.toString(ids);
+    }
+}
@@ -0,0 +1,44 @@
+package com.caryo.marketplace.service.favorite;
+
+import com.caryo.marketplace.repository.FavoriteRepository;
+import com.caryo.marketplace.util.CacheUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-user {@link FavoriteIdSet}s in the {@value #CACHE_NAME} cache (Redis in
+ * production, see CacheConfig), keyed by username.
+ *
+ * <p>A set is loaded with one query on first use. Adding or removing a
+ * favorite evicts the user's set once the transaction commits, and the next
+ * read reloads the committed state. Updating the cached set in place instead
+ * would be a read-modify-write that two concurrent changes can interleave,
+ * losing one of them until the entry expires.</p>
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class FavoriteSetCache {
+
+    public static final String CACHE_NAME = "favoriteSets";
+
+    private final FavoriteRepository favoriteRepository;
+    private final CacheManager cacheManager;
+
+    public FavoriteIdSet get(String username) {
+        return CacheUtils.get(cacheManager, CACHE_NAME, username, () -> load(username));
+    }
+
+    /** Drops the cached set of the user once the current transaction commits */
+    public void changed(String username) {
+        CacheUtils.evictAfterCommit(cacheManager, CACHE_NAME, username);
+    }
+
+    private FavoriteIdSet load(String username) {
+        FavoriteIdSet set = FavoriteIdSet.of(favoriteRepository.findListingIdsByUserUsername(username));
+        log.debug("Loaded {} favorite listing IDs for user {}", set.size(), username);
+        return set;
+    }
+}
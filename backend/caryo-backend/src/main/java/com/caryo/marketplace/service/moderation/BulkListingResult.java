@@ -0,0 +1,17 @@
+package com.caryo.marketplace.service.moderation;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk listing action.
+ *
+ * @param requested  number of distinct listing IDs in the request
+ * @param changedIds listings whose state actually changed; the rest were
+ *                   missing or already in the target state
+ */
+public record BulkListingResult(String action, int requested, List<Long> changedIds) {
+
+    public int changed() {
+        return changedIds.size();
+    }
+}
@@ -0,0 +1,29 @@
+package com.caryo.marketplace.service.moderation;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Snapshot of a background moderation job's progress.
+ *
+ * @param total     pending items counted when the job started; items uploaded
+ *                  while it runs may push {@code processed} past it
+ * @param processed items the job has looked at so far
+ * @param changed   items it actually moderated (others were moderated
+ *                  concurrently by someone else)
+ */
+public record BulkModerationJob(
+        UUID id,
+        String action,
+        State state,
+        long total,
+        long processed,
+        long changed,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String error) {
+
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+}
@@ -0,0 +1,224 @@
+package com.caryo.marketplace.service.moderation;
+
+import com.caryo.marketplace.events.ListingApprovedEvent;
+import com.caryo.marketplace.events.ListingArchivedEvent;
+import com.caryo.marketplace.events.ListingMarkedAsSoldEvent;
+import com.caryo.marketplace.exception.ResourceNotFoundException;
+import com.caryo.marketplace.model.CarListing;
+import com.caryo.marketplace.repository.CarListingRepository;
+import com.caryo.marketplace.repository.ModerationJdbcRepository;
+import com.caryo.marketplace.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Bulk admin operations on listings and on a seller's pending media.
+ *
+ * <p>State changes go through {@link ModerationJdbcRepository}: one
+ * {@code UPDATE ... WHERE id = ANY(?) RETURNING id} per chunk of
+ * {@value #UPDATE_CHUNK_SIZE} IDs instead of loading and saving every entity.
+ * Listing listeners still receive one event per changed listing, but the
+ * listings behind those events are loaded in chunks of {@value #EVENT_CHUNK_SIZE}
+ * with their seller in a single query.</p>
+ *
+ * <p>Moderating all pending media of a seller can touch thousands of rows, so
+ * it runs as a background job on {@code asyncExecutor}: keyset chunks, each in
+ * its own short transaction, with progress readable through {@link #getJob}.
+ * Jobs live in memory on the instance that started them and are forgotten
+ * {@value #FINISHED_JOB_RETENTION_MINUTES} minutes after they finish.</p>
+ */
+@Service
+@Slf4j
+public class BulkModerationService {
+
+    static final int UPDATE_CHUNK_SIZE = 1000;
+    static final int EVENT_CHUNK_SIZE = 200;
+    private static final long FINISHED_JOB_RETENTION_MINUTES = 60;
+
+    private final ModerationJdbcRepository moderationRepository;
+    private final CarListingRepository carListingRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor jobExecutor;
+    private final Map<UUID, JobProgress> jobs = new ConcurrentHashMap<>();
+
+    public BulkModerationService(ModerationJdbcRepository moderationRepository,
+                                 CarListingRepository carListingRepository,
+                                 UserRepository userRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 TransactionTemplate transactionTemplate,
+                                 @Qualifier("asyncExecutor") Executor jobExecutor) {
+        this.moderationRepository = moderationRepository;
+        this.carListingRepository = carListingRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.jobExecutor = jobExecutor;
+    }
+
+    /**
+     * Applies {@code action} to every listing in {@code ids} that is not
+     * already in the target state, in one transaction.
+     */
+    @Transactional
+    public BulkListingResult applyToListings(ListingBulkAction action, Collection<Long> ids) {
+        long startTime = System.currentTimeMillis();
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Function<List<Long>, List<Long>> update = switch (action) {
+            case APPROVE -> moderationRepository::approveListings;
+            case MARK_SOLD -> moderationRepository::markListingsSold;
+            case ARCHIVE -> moderationRepository::archiveListings;
+            case UNARCHIVE -> moderationRepository::unarchiveListings;
+        };
+
+        List<Long> changedIds = new ArrayList<>();
+        for (List<Long> chunk : chunks(distinctIds, UPDATE_CHUNK_SIZE)) {
+            changedIds.addAll(update.apply(chunk));
+        }
+        publishListingEvents(action, changedIds);
+
+        log.info("Bulk {}: {} of {} listings changed in {} ms",
+                action.getSlug(), changedIds.size(), distinctIds.size(), System.currentTimeMillis() - startTime);
+        return new BulkListingResult(action.getSlug(), distinctIds.size(), changedIds);
+    }
+
+    /**
+     * Starts approving or rejecting every pending media item of a seller in
+     * the background.
+     *
+     * @param reason rejection note; ignored when approving
+     */
+    public BulkModerationJob startSellerMediaJob(long sellerId, long moderatorId, boolean approve, String reason) {
+        userRepository.findById(moderatorId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", moderatorId));
+        forgetFinishedJobs();
+
+        String action = approve ? "approve-seller-media" : "reject-seller-media";
+        JobProgress job = new JobProgress(UUID.randomUUID(), action, moderationRepository.countPendingMediaOfSeller(sellerId));
+        jobs.put(job.id, job);
+        try {
+            jobExecutor.execute(() -> runSellerMediaJob(job, sellerId, moderatorId, approve, reason));
+        } catch (TaskRejectedException e) {
+            log.warn("Could not start {} job for seller {}: {}", action, sellerId, e.getMessage());
+            job.fail("Too many background jobs running, try again later");
+        }
+        return job.snapshot();
+    }
+
+    public Optional<BulkModerationJob> getJob(UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(JobProgress::snapshot);
+    }
+
+    void runSellerMediaJob(JobProgress job, long sellerId, long moderatorId, boolean approve, String reason) {
+        long startTime = System.currentTimeMillis();
+        long afterId = 0;
+        try {
+            while (true) {
+                List<Long> ids = moderationRepository.findPendingMediaIdsOfSeller(sellerId, afterId, UPDATE_CHUNK_SIZE);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                List<Long> changed = transactionTemplate.execute(status -> approve
+                        ? moderationRepository.approvePendingMedia(ids, moderatorId)
+                        : moderationRepository.rejectPendingMedia(ids, moderatorId, reason));
+                job.advance(ids.size(), changed != null ? changed.size() : 0);
+                afterId = ids.get(ids.size() - 1);
+            }
+            job.complete();
+            log.info("Job {} ({}) for seller {}: {} of {} media items moderated in {} ms",
+                    job.id, job.action, sellerId, job.changed, job.processed, System.currentTimeMillis() - startTime);
+        } catch (RuntimeException e) {
+            log.error("Job {} ({}) for seller {} failed after {} items: {}",
+                    job.id, job.action, sellerId, job.processed, e.getMessage(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    private void publishListingEvents(ListingBulkAction action, List<Long> changedIds) {
+        if (action == ListingBulkAction.UNARCHIVE) {
+            // Unarchiving has no event, same as the single-listing operation
+            return;
+        }
+        for (List<Long> chunk : chunks(changedIds, EVENT_CHUNK_SIZE)) {
+            for (CarListing listing : carListingRepository.findAllWithSellerByIdIn(chunk)) {
+                eventPublisher.publishEvent(switch (action) {
+                    case APPROVE -> new ListingApprovedEvent(this, listing);
+                    case MARK_SOLD -> new ListingMarkedAsSoldEvent(this, listing, true);
+                    case ARCHIVE -> new ListingArchivedEvent(this, listing, true, "batch", null);
+                    case UNARCHIVE -> throw new IllegalStateException("No event for " + action);
+                });
+            }
+        }
+    }
+
+    private void forgetFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMinutes(FINISHED_JOB_RETENTION_MINUTES));
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += size) {
+            chunks.add(items.subList(from, Math.min(from + size, items.size())));
+        }
+        return chunks;
+    }
+
+    /** Mutable progress of a running job; written by its worker thread only */
+    static final class JobProgress {
+        private final UUID id;
+        private final String action;
+        private final long total;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile BulkModerationJob.State state = BulkModerationJob.State.RUNNING;
+        private volatile long processed;
+        private volatile long changed;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        JobProgress(UUID id, String action, long total) {
+            this.id = id;
+            this.action = action;
+            this.total = total;
+        }
+
+        void advance(int processedInChunk, int changedInChunk) {
+            processed += processedInChunk;
+            changed += changedInChunk;
+        }
+
+        void complete() {
+            finishedAt = LocalDateTime.now();
+            state = BulkModerationJob.State.COMPLETED;
+        }
+
+        void fail(String message) {
+            error = message;
+            finishedAt = LocalDateTime.now();
+            state = BulkModerationJob.State.FAILED;
+        }
+
+        BulkModerationJob snapshot() {
+            return new BulkModerationJob(id, action, state, total, processed, changed, startedAt, finishedAt, error);
+        }
+    }
+}
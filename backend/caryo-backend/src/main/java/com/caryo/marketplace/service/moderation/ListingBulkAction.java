@@ -0,0 +1,30 @@
+package com.caryo.marketplace.service.moderation;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Admin status changes that can be applied to a selection of listings at once.
+ */
+public enum ListingBulkAction {
+    APPROVE("approve"),
+    MARK_SOLD("mark-sold"),
+    ARCHIVE("archive"),
+    UNARCHIVE("unarchive");
+
+    private final String slug;
+
+    ListingBulkAction(String slug) {
+        this.slug = slug;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    public static Optional<ListingBulkAction> fromSlug(String slug) {
+        return Arrays.stream(values())
+                .filter(action -> action.slug.equalsIgnoreCase(slug))
+                .findFirst();
+    }
+}
@@ -0,0 +1,305 @@
+package com.caryo.marketplace.service.outbox;
+
+import com.caryo.marketplace.repository.OutboxJdbcRepository;
+import com.caryo.marketplace.repository.OutboxJdbcRepository.Backlog;
+import com.caryo.marketplace.repository.OutboxJdbcRepository.OutboxFailure;
+import com.caryo.marketplace.repository.OutboxJdbcRepository.OutboxMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers the messages {@link OutboxService} queued.
+ *
+ * <p>Each run starts {@code app.outbox.workers} workers. A worker claims a
+ * batch (see {@link OutboxJdbcRepository#claim}), hands the whole batch to
+ * {@link JavaMailSender#send(MimeMessage...)}, which opens one SMTP connection
+ * for it instead of one per message, and records the outcome. A batch send that
+ * fails is retried through {@code outboxRetryTemplate} with only the messages
+ * that did not go out; what still fails is rescheduled with exponential backoff
+ * and marked FAILED after {@code app.outbox.max-attempts} attempts. A send
+ * failure that lists no failed messages only comes from closing the
+ * connection after every message went out, so the batch counts as sent.</p>
+ *
+ * <p>Delivery is at least once: a worker that dies between the SMTP exchange
+ * and recording it leaves the batch to be sent again after the lease.</p>
+ */
+@Service
+@Slf4j
+public class OutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxJdbcRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final RetryTemplate retryTemplate;
+    private final Executor workerExecutor;
+    private final Timer sendTimer;
+    private final Timer deliveryLatencyTimer;
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong oldestPendingSeconds = new AtomicLong();
+
+    @Value("${app.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.workers:4}")
+    private int workers;
+
+    @Value("${app.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.outbox.lease-seconds:300}")
+    private int leaseSeconds;
+
+    @Value("${app.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry-base-seconds:60}")
+    private long retryBaseSeconds;
+
+    @Value("${app.outbox.retention-days:14}")
+    private int retentionDays;
+
+    @Value("${app.email.from}")
+    private String fromEmail;
+
+    public OutboxDispatcher(OutboxJdbcRepository outboxRepository,
+                            JavaMailSender mailSender,
+                            @Qualifier("outboxRetryTemplate") RetryTemplate retryTemplate,
+                            @Qualifier("outboxTaskExecutor") Executor workerExecutor,
+                            MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.retryTemplate = retryTemplate;
+        this.workerExecutor = workerExecutor;
+        this.sendTimer = Timer.builder("outbox.send.duration")
+                .description("Time taken to hand one claimed batch to the SMTP server, retries included")
+                .register(meterRegistry);
+        this.deliveryLatencyTimer = Timer.builder("outbox.delivery.latency")
+                .description("Time from enqueueing an email to its delivery to the SMTP server")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("outbox.sent")
+                .description("Emails delivered from the outbox")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("outbox.send.retries")
+                .description("Batch sends retried after an SMTP failure")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.failed")
+                .description("Emails given up on after the last attempt")
+                .register(meterRegistry);
+        Gauge.builder("outbox.backlog", backlog, AtomicLong::get)
+                .description("Emails waiting for delivery")
+                .register(meterRegistry);
+        Gauge.builder("outbox.backlog.oldest.seconds", oldestPendingSeconds, AtomicLong::get)
+                .description("Age of the oldest email waiting for delivery")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Delivers due messages until the outbox is drained or every worker has
+     * sent {@code app.outbox.max-batches-per-run} batches.
+     *
+     * @return number of messages sent, or -1 when disabled
+     */
+    public int dispatch() {
+        if (!enabled) {
+            return -1;
+        }
+        List<CompletableFuture<Integer>> runs = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            runs.add(CompletableFuture.supplyAsync(this::drain, workerExecutor));
+        }
+        int sent = 0;
+        for (CompletableFuture<Integer> run : runs) {
+            sent += run.join();
+        }
+        updateBacklog();
+        if (sent > 0) {
+            log.debug("Outbox dispatch sent {} emails", sent);
+        }
+        return sent;
+    }
+
+    /**
+     * Removes delivered messages past retention. FAILED rows are kept for
+     * inspection.
+     *
+     * @return number of rows removed, or -1 when disabled or failed
+     */
+    public int purge() {
+        if (!enabled) {
+            return -1;
+        }
+        try {
+            int purged = outboxRepository.deleteSentOlderThan(retentionDays);
+            log.info("Outbox purge removed {} delivered emails", purged);
+            return purged;
+        } catch (Exception e) {
+            log.error("Outbox purge failed", e);
+            return -1;
+        }
+    }
+
+    private int drain() {
+        int sent = 0;
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                List<OutboxMessage> batch = outboxRepository.claim(batchSize, leaseSeconds);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                sent += deliver(batch);
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Outbox worker failed; its claimed emails are retried once the lease expires", e);
+        }
+        return sent;
+    }
+
+    private int deliver(List<OutboxMessage> batch) {
+        // MimeMessage keeps identity equality, so this is an insertion-ordered identity map
+        Map<MimeMessage, OutboxMessage> claimed = new LinkedHashMap<>();
+        List<OutboxFailure> failures = new ArrayList<>();
+        for (OutboxMessage message : batch) {
+            try {
+                claimed.put(toMimeMessage(message), message);
+            } catch (MessagingException e) {
+                // A message that cannot be built never will be
+                failures.add(failure(message, e, true));
+            }
+        }
+
+        List<MimeMessage> unsent = new ArrayList<>(claimed.keySet());
+        Map<Object, Exception> errors = new IdentityHashMap<>();
+        long started = System.nanoTime();
+        try {
+            retryTemplate.execute(context -> {
+                if (context.getRetryCount() > 0) {
+                    retryCounter.increment();
+                }
+                try {
+                    mailSender.send(unsent.toArray(MimeMessage[]::new));
+                    unsent.clear();
+                } catch (MailSendException e) {
+                    if (e.getFailedMessages().isEmpty()) {
+                        // JavaMailSender lists every message it did not send, also when it could not
+                        // connect. Without that list only closing the connection failed, after the
+                        // server accepted every message.
+                        log.warn("Outbox batch of {} emails delivered, but closing the SMTP connection failed: {}",
+                                unsent.size(), describe(e));
+                        unsent.clear();
+                        return null;
+                    }
+                    // Retry only what did not go out, so nothing is sent twice
+                    Set<Object> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+                    failed.addAll(e.getFailedMessages().keySet());
+                    unsent.removeIf(message -> !failed.contains(message));
+                    errors.putAll(e.getFailedMessages());
+                    throw e;
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            for (MimeMessage message : unsent) {
+                errors.putIfAbsent(message, e);
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        sendTimer.record(elapsed);
+
+        Set<MimeMessage> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+        failed.addAll(unsent);
+        List<Long> sentIds = new ArrayList<>(claimed.size());
+        claimed.forEach((mimeMessage, message) -> {
+            if (failed.contains(mimeMessage)) {
+                failures.add(failure(message, errors.get(mimeMessage), false));
+            } else {
+                sentIds.add(message.id());
+                deliveryLatencyTimer.record(Duration.ofMillis(message.queuedMillis()).plus(elapsed));
+            }
+        });
+
+        outboxRepository.markSent(sentIds);
+        outboxRepository.reschedule(failures);
+        sentCounter.increment(sentIds.size());
+        return sentIds.size();
+    }
+
+    private MimeMessage toMimeMessage(OutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, message.html(), StandardCharsets.UTF_8.name());
+        helper.setFrom(fromEmail);
+        helper.setTo(message.recipient());
+        helper.setSubject(message.subject());
+        helper.setText(message.body(), message.html());
+        return mimeMessage;
+    }
+
+    private OutboxFailure failure(OutboxMessage message, Exception error, boolean permanent) {
+        boolean dead = permanent || message.attempts() >= maxAttempts;
+        long retryAfterSeconds = retryBaseSeconds << Math.min(Math.max(message.attempts() - 1, 0), 16);
+        String reason = describe(error);
+        if (dead) {
+            failedCounter.increment();
+            log.warn("Giving up on outbox email {} to {} after {} attempts: {}",
+                    message.id(), message.recipient(), message.attempts(), reason);
+        } else {
+            log.info("Outbox email {} to {} failed (attempt {}), retrying in {}s: {}",
+                    message.id(), message.recipient(), message.attempts(), retryAfterSeconds, reason);
+        }
+        return new OutboxFailure(message.id(), retryAfterSeconds, reason, dead);
+    }
+
+    private static String describe(Exception error) {
+        if (error == null) {
+            return "unknown error";
+        }
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(error);
+        String reason = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        return reason.length() > MAX_ERROR_LENGTH ? reason.substring(0, MAX_ERROR_LENGTH) : reason;
+    }
+
+    private void updateBacklog() {
+        try {
+            Backlog current = outboxRepository.backlog();
+            backlog.set(current.pending());
+            oldestPendingSeconds.set(current.oldestSeconds());
+        } catch (Exception e) {
+            log.debug("Could not read the outbox backlog: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.caryo.marketplace.service.outbox;
+
+import com.caryo.marketplace.repository.OutboxJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Write side of the email outbox: rendered messages are stored and delivered
+ * later by {@link OutboxDispatcher}.
+ *
+ * <p>Enqueueing joins the caller's transaction when there is one, so a
+ * message and the change that caused it are committed together. When the
+ * outbox is disabled (H2 test profile, where the V75 table does not exist)
+ * EmailServiceImpl sends inline as before.</p>
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxJdbcRepository outboxRepository;
+
+    @Value("${app.outbox.enabled:true}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param subject the subject as it goes on the message (already encoded)
+     * @param html    whether {@code body} is HTML rather than plain text
+     */
+    public void enqueueEmail(String recipient, String subject, String body, boolean html) {
+        outboxRepository.insertEmail(recipient, subject, body, html);
+        log.debug("Queued email for {}", recipient);
+    }
+}
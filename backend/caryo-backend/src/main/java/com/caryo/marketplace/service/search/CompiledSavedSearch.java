@@ -0,0 +1,191 @@
+package com.caryo.marketplace.service.search;
+
+import com.caryo.marketplace.model.CarListing;
+import com.caryo.marketplace.model.CarModel;
+import com.caryo.marketplace.model.Governorate;
+import com.caryo.marketplace.model.SavedSearch;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The filters of a {@link SavedSearch} in the form the matcher reads them:
+ * immutable slug and name sets, primitive year and mileage bounds and price
+ * bounds converted once. SavedSearchMatchingService builds it from the JSON
+ * filter map once per version of a search, so matching a listing only reads
+ * listing fields and allocates nothing.
+ *
+ * <p>Matching is the same as reading the map directly: a filter that is not
+ * a non-empty list (or, for transmission and condition, not a string)
+ * filters nothing, a listing without the field fails a filter on it, and a
+ * bound that is not a number matches no listing.</p>
+ */
+public final class CompiledSavedSearch {
+
+    private static final CompiledSavedSearch NOTHING = new CompiledSavedSearch();
+
+    private final boolean matchesNothing;
+    private final Set<String> brandSlugs;
+    private final Set<String> modelSlugs;
+    private final Set<String> governorateNames;
+    private final Set<String> bodyStyleSlugs;
+    private final Set<String> fuelTypeSlugs;
+    private final String transmissionSlug;
+    private final String conditionSlug;
+    private final BigDecimal minPrice;
+    private final BigDecimal maxPrice;
+    private final boolean yearBounded;
+    private final int minYear;
+    private final int maxYear;
+    private final boolean mileageBounded;
+    private final int minMileage;
+    private final int maxMileage;
+
+    private CompiledSavedSearch() {
+        this.matchesNothing = true;
+        this.brandSlugs = null;
+        this.modelSlugs = null;
+        this.governorateNames = null;
+        this.bodyStyleSlugs = null;
+        this.fuelTypeSlugs = null;
+        this.transmissionSlug = null;
+        this.conditionSlug = null;
+        this.minPrice = null;
+        this.maxPrice = null;
+        this.yearBounded = false;
+        this.minYear = Integer.MIN_VALUE;
+        this.maxYear = Integer.MAX_VALUE;
+        this.mileageBounded = false;
+        this.minMileage = Integer.MIN_VALUE;
+        this.maxMileage = Integer.MAX_VALUE;
+    }
+
+    private CompiledSavedSearch(Map<String, Object> filters) {
+        this.matchesNothing = false;
+        this.brandSlugs = stringSet(filters.get("brandSlugs"));
+        this.modelSlugs = stringSet(filters.get("modelSlugs"));
+        this.governorateNames = stringSet(filters.get("governorateIds"));
+        this.bodyStyleSlugs = stringSet(filters.get("bodyType"));
+        this.fuelTypeSlugs = stringSet(filters.get("fuelTypeSlugs"));
+        this.transmissionSlug = filters.get("transmissionSlug") instanceof String slug ? slug : null;
+        this.conditionSlug = filters.get("conditionSlug") instanceof String slug ? slug : null;
+
+        Number minPrice = (Number) filters.get("minPrice");
+        Number maxPrice = (Number) filters.get("maxPrice");
+        this.minPrice = minPrice != null ? BigDecimal.valueOf(minPrice.doubleValue()) : null;
+        this.maxPrice = maxPrice != null ? BigDecimal.valueOf(maxPrice.doubleValue()) : null;
+
+        Number minYear = (Number) filters.get("minYear");
+        Number maxYear = (Number) filters.get("maxYear");
+        this.yearBounded = minYear != null || maxYear != null;
+        this.minYear = minYear != null ? minYear.intValue() : Integer.MIN_VALUE;
+        this.maxYear = maxYear != null ? maxYear.intValue() : Integer.MAX_VALUE;
+
+        Number minMileage = (Number) filters.get("minMileage");
+        Number maxMileage = (Number) filters.get("maxMileage");
+        this.mileageBounded = minMileage != null || maxMileage != null;
+        this.minMileage = minMileage != null ? minMileage.intValue() : Integer.MIN_VALUE;
+        this.maxMileage = maxMileage != null ? maxMileage.intValue() : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Compiles a saved search filter map
+     * @param filters the filters as stored in {@link SavedSearch#getFilters()}
+     * @return the compiled filters; one that matches nothing if a bound is not a number
+     */
+    public static CompiledSavedSearch compile(Map<String, Object> filters) {
+        try {
+            return new CompiledSavedSearch(filters);
+        } catch (ClassCastException e) {
+            return NOTHING;
+        }
+    }
+
+    /**
+     * Check if a car listing matches these filters
+     * @param listing The car listing to check
+     * @return true if the listing matches every filter
+     */
+    public boolean matches(CarListing listing) {
+        if (matchesNothing) {
+            return false;
+        }
+
+        CarModel model = listing.getModel();
+        if (brandSlugs != null && (model == null || model.getBrand() == null
+                || !brandSlugs.contains(model.getBrand().getSlug()))) {
+            return false;
+        }
+        if (modelSlugs != null && (model == null || !modelSlugs.contains(model.getSlug()))) {
+            return false;
+        }
+
+        if (minPrice != null || maxPrice != null) {
+            BigDecimal price = listing.getPrice();
+            if (price == null
+                    || (minPrice != null && price.compareTo(minPrice) < 0)
+                    || (maxPrice != null && price.compareTo(maxPrice) > 0)) {
+                return false;
+            }
+        }
+
+        if (yearBounded) {
+            Integer year = listing.getModelYear();
+            if (year == null || year < minYear || year > maxYear) {
+                return false;
+            }
+        }
+
+        if (mileageBounded) {
+            Integer mileage = listing.getMileage();
+            if (mileage == null || mileage < minMileage || mileage > maxMileage) {
+                return false;
+            }
+        }
+
+        if (governorateNames != null) {
+            Governorate governorate = listing.getGovernorate();
+            // The frontend sends governorate names, in either language
+            if (governorate == null || !(governorateNames.contains(governorate.getDisplayNameEn())
+                    || governorateNames.contains(governorate.getDisplayNameAr()))) {
+                return false;
+            }
+        }
+
+        if (bodyStyleSlugs != null && (listing.getBodyStyle() == null
+                || !bodyStyleSlugs.contains(listing.getBodyStyle().getSlug()))) {
+            return false;
+        }
+        if (fuelTypeSlugs != null && (listing.getFuelType() == null
+                || !fuelTypeSlugs.contains(listing.getFuelType().getSlug()))) {
+            return false;
+        }
+        if (transmissionSlug != null && (listing.getTransmissionType() == null
+                || !transmissionSlug.equals(listing.getTransmissionType().getSlug()))) {
+            return false;
+        }
+        return conditionSlug == null || (listing.getCondition() != null
+                && conditionSlug.equals(listing.getCondition().getSlug()));
+    }
+
+    /**
+     * The strings of a non-empty list filter, or null when the value filters nothing.
+     * Other elements are dropped: they never equal a slug or name, so a list of
+     * only such elements yields an empty set that matches no listing.
+     */
+    private static Set<String> stringSet(Object value) {
+        if (!(value instanceof List<?> list) || list.isEmpty()) {
+            return null;
+        }
+        Set<String> strings = new HashSet<>();
+        for (Object element : list) {
+            if (element instanceof String string) {
+                strings.add(string.intern());
+            }
+        }
+        return Set.copyOf(strings);
+    }
+}
@@ -2,7 +2,6 @@ package com.caryo.marketplace.service.storage;
 
 import com.caryo.marketplace.exception.StorageException;
 import com.caryo.marketplace.exception.StorageFileNotFoundException;
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.InputStreamResource;
@@ -59,14 +58,14 @@ public class S3StorageService implements StorageService {
     /**
      * Initializes the S3 storage service and verifies bucket accessibility.
      *
-     * <p>Called automatically after bean construction. Validates that the S3 client,
+     * <p>Run as a startup task (see {@code FileStorageConfig}), concurrently with the
+     * data seeders rather than blocking context refresh. Validates that the S3 client,
      * configuration manager, and URL generator are properly injected, then verifies
      * the default bucket exists and is accessible.
      *
      * @throws StorageException if bucket name is not configured or bucket doesn't exist
      */
     @Override
-    @PostConstruct
     public void init() {
         Objects.requireNonNull(s3Client, "S3Client cannot be null");
         Objects.requireNonNull(configManager, "StorageConfigurationManager cannot be null");
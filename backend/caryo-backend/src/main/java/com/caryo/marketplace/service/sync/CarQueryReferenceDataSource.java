@@ -0,0 +1,60 @@
+package com.caryo.marketplace.service.sync;
+
+import com.caryo.marketplace.dto.CarQueryMakeResponse;
+import com.caryo.marketplace.dto.CarQueryModelResponse;
+import com.caryo.marketplace.service.CarQueryApiClient;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link ReferenceDataSource} over the CarQuery API. Arabic names are not provided
+ * by CarQuery and are translated by the sync engine.
+ */
+@RequiredArgsConstructor
+public class CarQueryReferenceDataSource implements ReferenceDataSource {
+
+    private final String providerName;
+    private final CarQueryApiClient carQueryApiClient;
+
+    @Override
+    public String getProviderName() {
+        return providerName;
+    }
+
+    @Override
+    public String getRateLimiterName() {
+        return "carquery";
+    }
+
+    @Override
+    public List<SourceBrand> fetchBrands() {
+        CarQueryMakeResponse response = carQueryApiClient.getAllMakes();
+        if (response == null || response.getMakes() == null) {
+            throw new IllegalStateException("No makes data received from CarQuery API");
+        }
+        return response.getMakes().stream()
+                .filter(make -> make.getMakeId() != null && make.getMakeDisplay() != null)
+                .map(make -> new SourceBrand(make.getMakeId(), make.getMakeId().toLowerCase(),
+                        make.getMakeDisplay().trim(), null))
+                .toList();
+    }
+
+    @Override
+    public List<SourceModel> fetchModels(SourceBrand brand) {
+        CarQueryModelResponse response = carQueryApiClient.getModelsByMake(brand.sourceKey());
+        if (response == null) {
+            // The client's circuit-breaker fallback also returns null: treat as unavailable, not as "no models"
+            return null;
+        }
+        if (response.getModels() == null) {
+            return List.of();
+        }
+        return response.getModels().stream()
+                .map(CarQueryModelResponse.CarQueryModel::getModelName)
+                .filter(Objects::nonNull)
+                .map(name -> new SourceModel(name.trim(), null))
+                .toList();
+    }
+}
@@ -0,0 +1,43 @@
+package com.caryo.marketplace.service.sync;
+
+import java.util.List;
+
+/**
+ * A remote catalogue of brands and models that {@link ReferenceDataSyncService} can
+ * sync into makes/models.
+ *
+ * <p>{@link #fetchModels(SourceBrand)} is called concurrently for different brands
+ * and must be thread-safe. It should throw (or return {@code null}) when the provider
+ * could not answer, and return an empty list only when the brand really has no models:
+ * a failed brand is retried on the next run, an empty one is skipped.</p>
+ */
+public interface ReferenceDataSource {
+
+    /** Provider name, shared with {@code SyncStatus} and the sync checkpoints */
+    String getProviderName();
+
+    /** Resilience4j rate limiter instance that paces calls to this provider */
+    String getRateLimiterName();
+
+    List<SourceBrand> fetchBrands();
+
+    List<SourceModel> fetchModels(SourceBrand brand);
+
+    /**
+     * A brand as published by the provider.
+     *
+     * @param sourceKey  provider-side key used to fetch models and to checkpoint progress
+     * @param slug       slug of the makes row
+     * @param name       English name
+     * @param arabicName Arabic name if the provider supplies one, otherwise translated on write
+     */
+    record SourceBrand(String sourceKey, String slug, String name, String arabicName) {}
+
+    /**
+     * A model as published by the provider.
+     *
+     * @param name       English name
+     * @param arabicName Arabic name if the provider supplies one, otherwise translated on write
+     */
+    record SourceModel(String name, String arabicName) {}
+}
@@ -0,0 +1,477 @@
+package com.caryo.marketplace.service.sync;
+
+import com.caryo.marketplace.model.ReferenceSyncCheckpoint;
+import com.caryo.marketplace.repository.ReferenceDataJdbcRepository;
+import com.caryo.marketplace.repository.ReferenceDataJdbcRepository.BrandRow;
+import com.caryo.marketplace.repository.ReferenceDataJdbcRepository.BrandState;
+import com.caryo.marketplace.repository.ReferenceDataJdbcRepository.ModelRow;
+import com.caryo.marketplace.repository.ReferenceDataJdbcRepository.ModelState;
+import com.caryo.marketplace.repository.ReferenceSyncCheckpointRepository;
+import com.caryo.marketplace.service.ArabicTranslationService;
+import com.caryo.marketplace.service.CarDataProvider;
+import com.caryo.marketplace.service.sync.ReferenceDataSource.SourceBrand;
+import com.caryo.marketplace.service.sync.ReferenceDataSource.SourceModel;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Incremental sync of a {@link ReferenceDataSource} into makes/models.
+ *
+ * <p>A run works through the provider's brands in chunks:</p>
+ * <ol>
+ *   <li>model lists of the chunk are fetched concurrently on the shared
+ *       {@code referenceSyncTaskExecutor} pool, each call paced by the provider's
+ *       Resilience4j rate limiter;</li>
+ *   <li>every brand and model is hashed over all the source fields the sync writes and
+ *       diffed against the current DB state, loaded once per run; unchanged rows are
+ *       neither translated nor written;</li>
+ *   <li>the changed rows of the chunk are written with batched {@code INSERT ... ON CONFLICT}
+ *       upserts, together with a checkpoint per brand, in one transaction. If the batch
+ *       fails the chunk is retried brand by brand so one bad row does not sink the rest.</li>
+ * </ol>
+ *
+ * <p>Brands already checkpointed by an earlier, interrupted run are not fetched again.
+ * Checkpoints are cleared when a run finishes without failed brands.</p>
+ */
+@Service
+@Slf4j
+public class ReferenceDataSyncService {
+
+    private static final char KEY_SEPARATOR = '\u001F';
+
+    private final ReferenceDataJdbcRepository referenceDataJdbcRepository;
+    private final ReferenceSyncCheckpointRepository checkpointRepository;
+    private final ArabicTranslationService arabicTranslationService;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor fetchExecutor;
+
+    @Value("${app.reference-sync.chunk-size:25}")
+    private int chunkSize = 25;
+
+    public ReferenceDataSyncService(ReferenceDataJdbcRepository referenceDataJdbcRepository,
+                                    ReferenceSyncCheckpointRepository checkpointRepository,
+                                    ArabicTranslationService arabicTranslationService,
+                                    RateLimiterRegistry rateLimiterRegistry,
+                                    TransactionTemplate transactionTemplate,
+                                    @Qualifier("referenceSyncTaskExecutor") Executor fetchExecutor) {
+        this.referenceDataJdbcRepository = referenceDataJdbcRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.arabicTranslationService = arabicTranslationService;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.transactionTemplate = transactionTemplate;
+        this.fetchExecutor = fetchExecutor;
+    }
+
+    /**
+     * Sync all brands and models of the given source.
+     *
+     * @throws RuntimeException if the brand list itself cannot be fetched
+     */
+    @CacheEvict(value = {"carBrands", "activeBrands", "carModels", "modelsByBrand", "carModelsPage"}, allEntries = true)
+    public SyncReport sync(ReferenceDataSource source) {
+        String provider = source.getProviderName();
+        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter(source.getRateLimiterName());
+        SyncReport report = new SyncReport(provider);
+
+        Set<String> completed = checkpointRepository.findSourceKeysByProviderName(provider);
+        Map<String, SourceBrand> brands = new LinkedHashMap<>();
+        for (SourceBrand brand : RateLimiter.decorateSupplier(rateLimiter, source::fetchBrands).get()) {
+            brands.putIfAbsent(brand.sourceKey(), brand);
+        }
+        List<SourceBrand> pending = brands.values().stream()
+                .filter(brand -> !completed.contains(brand.sourceKey()))
+                .toList();
+        report.brandsResumed = brands.size() - pending.size();
+        if (report.brandsResumed > 0) {
+            log.info("Resuming {} sync: {} of {} brands already committed by the previous run",
+                    provider, report.brandsResumed, brands.size());
+        }
+
+        CatalogueState state = loadState();
+        for (int i = 0; i < pending.size(); i += chunkSize) {
+            List<SourceBrand> chunk = pending.subList(i, Math.min(i + chunkSize, pending.size()));
+            Map<SourceBrand, List<SourceModel>> fetched = fetchModels(source, rateLimiter, chunk, report);
+            List<BrandPlan> plans = new ArrayList<>(fetched.size());
+            fetched.forEach((brand, models) -> plans.add(plan(brand, models, state)));
+            write(provider, plans, state, report);
+            log.debug("{} sync: {}/{} brands done", provider, Math.min(i + chunkSize, pending.size()), pending.size());
+        }
+
+        if (report.brandsFailed == 0) {
+            transactionTemplate.executeWithoutResult(status -> checkpointRepository.deleteByProviderName(provider));
+        }
+        log.info("{} sync finished: {}", provider, report.getSummary());
+        return report;
+    }
+
+    private Map<SourceBrand, List<SourceModel>> fetchModels(ReferenceDataSource source, RateLimiter rateLimiter,
+                                                             List<SourceBrand> chunk, SyncReport report) {
+        Map<SourceBrand, CompletableFuture<List<SourceModel>>> futures = new LinkedHashMap<>();
+        for (SourceBrand brand : chunk) {
+            futures.put(brand, CompletableFuture.supplyAsync(
+                    RateLimiter.decorateSupplier(rateLimiter, () -> source.fetchModels(brand)), fetchExecutor));
+        }
+
+        Map<SourceBrand, List<SourceModel>> fetched = new LinkedHashMap<>();
+        futures.forEach((brand, future) -> {
+            try {
+                List<SourceModel> models = future.join();
+                if (models == null) {
+                    log.warn("{} returned no model data for brand '{}', will retry on the next run",
+                            source.getProviderName(), brand.name());
+                    report.brandsFailed++;
+                } else {
+                    fetched.put(brand, models);
+                }
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.warn("Failed to fetch models of brand '{}' from {}: {}",
+                        brand.name(), source.getProviderName(), cause.getMessage());
+                report.brandsFailed++;
+            }
+        });
+        return fetched;
+    }
+
+    /**
+     * Diff one source brand and its models against the DB state and collect the rows to write.
+     * Runs on the calling thread; translation happens here, outside the write transaction.
+     */
+    private BrandPlan plan(SourceBrand brand, List<SourceModel> models, CatalogueState state) {
+        BrandPlan plan = new BrandPlan(brand);
+        if (isBlank(brand.slug()) || isBlank(brand.name())) {
+            plan.brandSkipped = true;
+            return plan;
+        }
+
+        BrandState existing = state.brand(brand.slug(), brand.name());
+        if (existing == null && models.isEmpty()) {
+            log.info("Skipping brand '{}' - no models available", brand.name());
+            plan.brandSkipped = true;
+            return plan;
+        }
+
+        String brandSlug;
+        String brandName;
+        if (existing != null && !existing.slug().equals(brand.slug())) {
+            // Same brand already present under another slug: only attach new models to it
+            brandSlug = existing.slug();
+            brandName = existing.name();
+            plan.brandUnchanged = true;
+        } else {
+            String hash = hash(brand.slug(), brand.name(), brand.arabicName());
+            brandSlug = brand.slug();
+            brandName = existing != null && existing.active() ? existing.name() : brand.name();
+            if (existing != null && hash.equals(existing.sourceHash())) {
+                plan.brandUnchanged = true;
+            } else {
+                String nameAr = existing != null && existing.active()
+                        ? existing.nameAr()
+                        : validArabicName(brand.name(), brand.arabicName() != null
+                                ? brand.arabicName() : translateBrand(brand.name()), false);
+                if (nameAr == null && existing != null) {
+                    nameAr = existing.nameAr();
+                }
+                if (nameAr == null) {
+                    log.warn("Skipping brand '{}' - no usable Arabic name", brand.name());
+                    plan.brandSkipped = true;
+                    plan.modelsSkipped = models.size();
+                    return plan;
+                }
+                plan.brandRow = new BrandRow(brandSlug, brand.name(), nameAr, hash);
+                plan.brandInserted = existing == null;
+            }
+        }
+
+        for (SourceModel model : models) {
+            if (isBlank(model.name())) {
+                plan.modelsSkipped++;
+                continue;
+            }
+            String slug = modelSlug(brandName, model.name());
+            ModelState existingModel = state.model(slug);
+            if (existingModel == null && state.hasModelNamed(brandSlug, model.name())) {
+                plan.modelsUnchanged++;
+                continue;
+            }
+            String hash = hash(brandSlug, slug, model.name(), model.arabicName());
+            if (existingModel != null && hash.equals(existingModel.sourceHash())) {
+                plan.modelsUnchanged++;
+                continue;
+            }
+            String nameAr = existingModel != null && existingModel.active()
+                    ? existingModel.nameAr()
+                    : validArabicName(model.name(), model.arabicName() != null
+                            ? model.arabicName() : translateModel(brandName, model.name()), true);
+            if (nameAr == null && existingModel != null) {
+                nameAr = existingModel.nameAr();
+            }
+            if (nameAr == null) {
+                log.warn("Skipping model '{}' of brand '{}' - no usable Arabic name", model.name(), brandName);
+                plan.modelsSkipped++;
+                continue;
+            }
+            plan.modelRows.add(new ModelRow(brandSlug, slug, model.name(), nameAr, hash));
+            if (existingModel == null) {
+                plan.modelsInserted++;
+            } else {
+                plan.modelsUpdated++;
+            }
+        }
+        return plan;
+    }
+
+    private void write(String provider, List<BrandPlan> plans, CatalogueState state, SyncReport report) {
+        if (plans.isEmpty()) return;
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeRows(provider, plans));
+            plans.forEach(plan -> commit(plan, state, report));
+        } catch (RuntimeException e) {
+            if (plans.size() == 1) {
+                log.warn("Failed to write brand '{}' for {}: {}", plans.get(0).brand.name(), provider, e.getMessage());
+                report.brandsFailed++;
+                return;
+            }
+            log.warn("Batch write of {} brands failed for {}, retrying brand by brand: {}",
+                    plans.size(), provider, e.getMessage());
+            for (BrandPlan plan : plans) {
+                write(provider, List.of(plan), state, report);
+            }
+        }
+    }
+
+    private void writeRows(String provider, List<BrandPlan> plans) {
+        referenceDataJdbcRepository.upsertBrands(plans.stream()
+                .map(plan -> plan.brandRow)
+                .filter(Objects::nonNull)
+                .toList());
+        referenceDataJdbcRepository.upsertModels(plans.stream()
+                .flatMap(plan -> plan.modelRows.stream())
+                .toList());
+        checkpointRepository.saveAll(plans.stream()
+                .map(plan -> new ReferenceSyncCheckpoint(provider, plan.brand.sourceKey()))
+                .toList());
+    }
+
+    /** Account for a committed plan and fold its rows into the in-memory state */
+    private void commit(BrandPlan plan, CatalogueState state, SyncReport report) {
+        if (plan.brandSkipped) {
+            report.brandsSkipped++;
+        } else if (plan.brandUnchanged) {
+            report.brandsUnchanged++;
+        } else if (plan.brandInserted) {
+            report.brandsInserted++;
+        } else {
+            report.brandsUpdated++;
+        }
+        report.modelsInserted += plan.modelsInserted;
+        report.modelsUpdated += plan.modelsUpdated;
+        report.modelsUnchanged += plan.modelsUnchanged;
+        report.modelsSkipped += plan.modelsSkipped;
+
+        if (plan.brandRow != null) {
+            BrandRow row = plan.brandRow;
+            BrandState previous = state.brandsBySlug.get(row.slug());
+            boolean active = previous != null && previous.active();
+            state.add(active ? new BrandState(row.slug(), previous.name(), previous.nameAr(), true, row.sourceHash())
+                    : new BrandState(row.slug(), row.name(), row.nameAr(), false, row.sourceHash()));
+        }
+        for (ModelRow row : plan.modelRows) {
+            ModelState previous = state.modelsBySlug.get(row.slug());
+            boolean active = previous != null && previous.active();
+            state.add(new ModelState(row.slug(), row.brandSlug(), active ? previous.name() : row.name(),
+                    active ? previous.nameAr() : row.nameAr(), active, row.sourceHash()));
+        }
+    }
+
+    private CatalogueState loadState() {
+        CatalogueState state = new CatalogueState();
+        referenceDataJdbcRepository.findAllBrandStates().forEach(state::add);
+        referenceDataJdbcRepository.findAllModelStates().forEach(state::add);
+        return state;
+    }
+
+    private String translateBrand(String name) {
+        try {
+            return arabicTranslationService.translateBrandToArabic(name);
+        } catch (Exception e) {
+            log.warn("Arabic translation failed for brand '{}': {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private String translateModel(String brandName, String modelName) {
+        try {
+            return arabicTranslationService.translateModelToArabic(brandName, modelName);
+        } catch (Exception e) {
+            log.warn("Arabic translation failed for model '{}' of '{}': {}", modelName, brandName, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Data-quality gate shared by all providers: an Arabic name must be present and differ
+     * from the English one (alphanumeric model names such as "3008" may be identical).
+     */
+    static String validArabicName(String englishName, String arabicName, boolean allowAlphanumericMatch) {
+        if (arabicName == null || arabicName.isBlank()) {
+            return null;
+        }
+        String trimmed = arabicName.trim();
+        if (trimmed.equalsIgnoreCase(englishName.trim())
+                && !(allowAlphanumericMatch && englishName.matches(".*\\d.*"))) {
+            return null;
+        }
+        return trimmed;
+    }
+
+    /** Same brand-model slug format as the JPA import paths */
+    static String modelSlug(String brandName, String modelName) {
+        return (brandName + "-" + modelName).toLowerCase().replaceAll("[^a-z0-9-]", "-");
+    }
+
+    /** Hash of the source fields behind a row; a missing field hashes like an empty one */
+    static String hash(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder joined = new StringBuilder();
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) {
+                    joined.append(KEY_SEPARATOR);
+                }
+                joined.append(parts[i] != null ? parts[i] : "");
+            }
+            return HexFormat.of().formatHex(digest.digest(joined.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /** DB state of makes/models, loaded once per run and updated as chunks commit */
+    private static final class CatalogueState {
+        private final Map<String, BrandState> brandsBySlug = new HashMap<>();
+        private final Map<String, BrandState> brandsByName = new HashMap<>();
+        private final Map<String, ModelState> modelsBySlug = new HashMap<>();
+        private final Set<String> modelNames = new HashSet<>();
+
+        void add(BrandState brand) {
+            brandsBySlug.put(brand.slug(), brand);
+            brandsByName.putIfAbsent(brand.name().toLowerCase(), brand);
+        }
+
+        void add(ModelState model) {
+            modelsBySlug.put(model.slug(), model);
+            modelNames.add(model.brandSlug() + KEY_SEPARATOR + model.name());
+        }
+
+        BrandState brand(String slug, String name) {
+            BrandState brand = brandsBySlug.get(slug);
+            return brand != null ? brand : brandsByName.get(name.toLowerCase());
+        }
+
+        ModelState model(String slug) {
+            return modelsBySlug.get(slug);
+        }
+
+        boolean hasModelNamed(String brandSlug, String name) {
+            return modelNames.contains(brandSlug + KEY_SEPARATOR + name);
+        }
+    }
+
+    /** Rows to write for one source brand, plus the counts they contribute once committed */
+    private static final class BrandPlan {
+        private final SourceBrand brand;
+        private BrandRow brandRow;
+        private final List<ModelRow> modelRows = new ArrayList<>();
+        private boolean brandInserted;
+        private boolean brandUnchanged;
+        private boolean brandSkipped;
+        private int modelsInserted;
+        private int modelsUpdated;
+        private int modelsUnchanged;
+        private int modelsSkipped;
+
+        BrandPlan(SourceBrand brand) {
+            this.brand = brand;
+        }
+    }
+
+    /**
+     * Outcome of one sync run. "Skipped" rows failed the data-quality gate or had no models;
+     * "failed" brands could not be fetched or written and are retried by the next run.
+     */
+    @Getter
+    public static class SyncReport {
+        private final String providerName;
+        private int brandsInserted;
+        private int brandsUpdated;
+        private int brandsUnchanged;
+        private int brandsSkipped;
+        private int brandsFailed;
+        private int brandsResumed;
+        private int modelsInserted;
+        private int modelsUpdated;
+        private int modelsUnchanged;
+        private int modelsSkipped;
+
+        SyncReport(String providerName) {
+            this.providerName = providerName;
+        }
+
+        public int getRowsWritten() {
+            return brandsInserted + brandsUpdated + modelsInserted + modelsUpdated;
+        }
+
+        public String getSummary() {
+            return String.format("brands %d new, %d updated, %d unchanged, %d skipped, %d failed, %d resumed; "
+                            + "models %d new, %d updated, %d unchanged, %d skipped",
+                    brandsInserted, brandsUpdated, brandsUnchanged, brandsSkipped, brandsFailed, brandsResumed,
+                    modelsInserted, modelsUpdated, modelsUnchanged, modelsSkipped);
+        }
+
+        public CarDataProvider.DataLoadResult toDataLoadResult() {
+            CarDataProvider.LoadResult brands = new CarDataProvider.LoadResult("brands");
+            brands.incrementProcessed(brandsInserted + brandsUpdated + brandsUnchanged);
+            brands.incrementSkipped(brandsSkipped + brandsResumed);
+            brands.incrementFailed(brandsFailed);
+
+            CarDataProvider.LoadResult models = new CarDataProvider.LoadResult("models");
+            models.incrementProcessed(modelsInserted + modelsUpdated + modelsUnchanged);
+            models.incrementSkipped(modelsSkipped);
+
+            CarDataProvider.DataLoadResult result = new CarDataProvider.DataLoadResult();
+            result.addResult("brands", brands);
+            result.addResult("models", models);
+            result.setSuccess(true);
+            return result;
+        }
+    }
+}
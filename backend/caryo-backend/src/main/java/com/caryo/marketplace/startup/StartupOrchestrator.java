@@ -0,0 +1,187 @@
+package com.caryo.marketplace.startup;
+
+import com.caryo.marketplace.model.StartupSeedMarker;
+import com.caryo.marketplace.repository.StartupSeedMarkerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Runs every {@link StartupTask} once the context is up, concurrently where
+ * their dependencies allow.
+ *
+ * <p>The task graph is validated before anything runs, so a duplicate name, a
+ * missing dependency or a cycle fails the boot immediately. Once a task fails,
+ * no further task is started and the boot fails with that task's error once
+ * the tasks already running have finished.</p>
+ *
+ * <p>A task with a seed version is skipped when its {@link StartupSeedMarker}
+ * already records that version, which replaces the per-boot existence probes
+ * of the seeders. Instances booting together may both run a seeder and both
+ * record its marker; recording it never fails the boot. Each task is recorded
+ * as a {@value #STEP_NAME} step, so the actuator {@code startup} endpoint
+ * shows it alongside the framework phases.</p>
+ */
+@Component
+@Slf4j
+public class StartupOrchestrator implements ApplicationRunner {
+
+    static final String STEP_NAME = "caryo.startup.task";
+
+    private final ObjectProvider<StartupTask> startupTasks;
+    private final StartupSeedMarkerRepository seedMarkerRepository;
+    private final ApplicationStartup applicationStartup;
+    private final int parallelism;
+    private final boolean seedMarkersEnabled;
+
+    public StartupOrchestrator(ObjectProvider<StartupTask> startupTasks,
+                               StartupSeedMarkerRepository seedMarkerRepository,
+                               ApplicationStartup applicationStartup,
+                               @Value("${app.startup.parallelism:4}") int parallelism,
+                               @Value("${app.startup.seed-markers.enabled:true}") boolean seedMarkersEnabled) {
+        this.startupTasks = startupTasks;
+        this.seedMarkerRepository = seedMarkerRepository;
+        this.applicationStartup = applicationStartup;
+        this.parallelism = parallelism;
+        this.seedMarkersEnabled = seedMarkersEnabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<StartupTask> ordered = inDependencyOrder(startupTasks.orderedStream().toList());
+        if (ordered.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> completedVersions = seedMarkersEnabled ? loadSeedMarkers() : Map.of();
+
+        long started = System.nanoTime();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(parallelism, ordered.size())), new CustomizableThreadFactory("startup-"));
+        try {
+            Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+            for (StartupTask task : ordered) {
+                CompletableFuture<?>[] dependencies = task.getDependencies().stream()
+                        .map(futures::get)
+                        .toArray(CompletableFuture[]::new);
+                futures.put(task.getName(), CompletableFuture.allOf(dependencies)
+                        .thenRunAsync(() -> execute(task, completedVersions, failure), executor));
+            }
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            // the cause is already in failure; dependents of a failed task complete with the same error
+        } finally {
+            executor.shutdown();
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        log.info("Ran {} startup tasks in {} ms", ordered.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void execute(StartupTask task, Map<String, Integer> completedVersions,
+                         AtomicReference<RuntimeException> failure) {
+        if (failure.get() != null) {
+            return;
+        }
+        StartupStep step = applicationStartup.start(STEP_NAME).tag("name", task.getName());
+        long started = System.nanoTime();
+        try {
+            int seedVersion = task.getSeedVersion();
+            if (seedVersion > 0 && completedVersions.getOrDefault(task.getName(), 0) >= seedVersion) {
+                step.tag("outcome", "skipped");
+                log.info("Startup task '{}' skipped: seed version {} already applied", task.getName(), seedVersion);
+                return;
+            }
+            task.run();
+            if (seedVersion > 0 && seedMarkersEnabled) {
+                seedMarkerRepository.recordCompleted(task.getName(), seedVersion);
+            }
+            step.tag("outcome", "completed");
+            log.info("Startup task '{}' completed in {} ms", task.getName(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (RuntimeException | Error e) {
+            step.tag("outcome", "failed");
+            failure.compareAndSet(null,
+                    new IllegalStateException("Startup task '" + task.getName() + "' failed", e));
+            throw e;
+        } finally {
+            step.end();
+        }
+    }
+
+    private Map<String, Integer> loadSeedMarkers() {
+        return seedMarkerRepository.findAll().stream()
+                .collect(Collectors.toMap(StartupSeedMarker::getTaskName, StartupSeedMarker::getSeedVersion));
+    }
+
+    /**
+     * Orders the tasks so every task comes after its dependencies.
+     *
+     * @throws IllegalStateException on a duplicate name, an unknown dependency or a cycle
+     */
+    static List<StartupTask> inDependencyOrder(List<StartupTask> tasks) {
+        Map<String, StartupTask> byName = new LinkedHashMap<>();
+        for (StartupTask task : tasks) {
+            if (byName.putIfAbsent(task.getName(), task) != null) {
+                throw new IllegalStateException("Duplicate startup task name: " + task.getName());
+            }
+        }
+
+        Map<String, Integer> pendingDependencies = new HashMap<>();
+        Map<String, List<StartupTask>> dependents = new HashMap<>();
+        for (StartupTask task : byName.values()) {
+            for (String dependency : task.getDependencies()) {
+                if (!byName.containsKey(dependency)) {
+                    throw new IllegalStateException(
+                            "Startup task '" + task.getName() + "' depends on unknown task '" + dependency + "'");
+                }
+                dependents.computeIfAbsent(dependency, name -> new ArrayList<>()).add(task);
+            }
+            pendingDependencies.put(task.getName(), task.getDependencies().size());
+        }
+
+        Deque<StartupTask> ready = new ArrayDeque<>();
+        byName.values().stream().filter(task -> task.getDependencies().isEmpty()).forEach(ready::add);
+        List<StartupTask> ordered = new ArrayList<>(byName.size());
+        while (!ready.isEmpty()) {
+            StartupTask task = ready.poll();
+            ordered.add(task);
+            for (StartupTask dependent : dependents.getOrDefault(task.getName(), List.of())) {
+                if (pendingDependencies.merge(dependent.getName(), -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (ordered.size() != byName.size()) {
+            List<String> cyclic = byName.keySet().stream()
+                    .filter(name -> pendingDependencies.get(name) > 0)
+                    .toList();
+            throw new IllegalStateException("Startup tasks have a dependency cycle: " + cyclic);
+        }
+        return ordered;
+    }
+}
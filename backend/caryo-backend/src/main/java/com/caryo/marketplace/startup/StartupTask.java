@@ -0,0 +1,64 @@
+package com.caryo.marketplace.startup;
+
+import java.util.Set;
+
+/**
+ * A unit of boot-time work run by {@link StartupOrchestrator}, in place of a
+ * {@code CommandLineRunner}.
+ *
+ * <p>Tasks without a dependency between them run concurrently, so a task must
+ * name every task whose data it reads in {@link #getDependencies()}.</p>
+ */
+public interface StartupTask {
+
+    /**
+     * Unique name, also the key of the task's seed marker.
+     */
+    String getName();
+
+    /**
+     * Names of the tasks that must complete before this one starts.
+     */
+    default Set<String> getDependencies() {
+        return Set.of();
+    }
+
+    /**
+     * Version of the data this task seeds. Once a version has completed, later
+     * boots skip the task until the version is bumped; 0 runs it on every boot.
+     */
+    default int getSeedVersion() {
+        return 0;
+    }
+
+    void run();
+
+    static StartupTask of(String name, int seedVersion, Set<String> dependencies, Runnable action) {
+        return new StartupTask() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Set<String> getDependencies() {
+                return dependencies;
+            }
+
+            @Override
+            public int getSeedVersion() {
+                return seedVersion;
+            }
+
+            @Override
+            public void run() {
+                action.run();
+            }
+
+            @Override
+            public String toString() {
+                return "StartupTask[" + name + "]";
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.caryo.marketplace.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Programmatic access to the caches configured in CacheConfig, for callers
+ * that cannot use {@code @Cacheable}.
+ *
+ * <p>Follows the same contract as CacheConfig's error handler: a cache outage
+ * falls back to the source and never fails the caller. Changes are applied by
+ * evicting once the surrounding transaction commits, so the next read loads
+ * the committed state; a cached value is never updated in place.</p>
+ */
+public final class CacheUtils {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheUtils.class);
+
+    private CacheUtils() {
+    }
+
+    /**
+     * The cached value for {@code key}, loaded and stored on a miss.
+     *
+     * @param loader reads the source; also used directly when the cache is missing or unavailable
+     */
+    public static <T> T get(CacheManager cacheManager, String cacheName, Object key, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return loader.get();
+        }
+        try {
+            return cache.get(key, loader::get);
+        } catch (Cache.ValueRetrievalException e) {
+            // The loader itself failed; that is not a cache outage
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } catch (RuntimeException e) {
+            log.warn("Cache '{}' unavailable for key {}, querying directly: {}", cacheName, key, e.getMessage());
+            return loader.get();
+        }
+    }
+
+    /** Evicts the given keys once the current transaction commits, or now when there is none */
+    public static void evictAfterCommit(CacheManager cacheManager, String cacheName, Object... keys) {
+        afterCommit(() -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                return;
+            }
+            for (Object key : keys) {
+                try {
+                    cache.evict(key);
+                } catch (RuntimeException e) {
+                    // The entry expires with its TTL
+                    log.warn("Could not evict key {} from cache '{}': {}", key, cacheName, e.getMessage());
+                }
+            }
+        });
+    }
+
+    /** Runs {@code action} once the current transaction commits, or now when there is none */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -17,7 +17,7 @@ import java.util.*;
  * <ul>
  *   <li>Currency validation and normalization</li>
  *   <li>Price formatting for display</li>
- *   <li>Currency conversion (when rates are available)</li>
+ *   <li>Currency conversion at rates recorded in {@code fx_rates} (see FxRateService)</li>
  *   <li>Market-specific currency recommendations</li>
  * </ul>
  *
@@ -149,6 +149,35 @@ public final class CurrencyUtil {
         return String.format("%s %s", roundedAmount.toString(), normalizedCurrency);
     }
 
+    /**
+     * Scale of USD-normalized amounts (whole cents), matching
+     * {@code car_listings.price_usd_normalized}.
+     */
+    public static final int NORMALIZED_PRICE_SCALE = 2;
+
+    /**
+     * Converts an amount into US dollars at the given rate.
+     *
+     * <p>Rates are kept as "units of the currency per one USD" (see
+     * {@code fx_rates}), so 13,000,000 SYP at 13,000 SYP/USD is $1,000.00.
+     * The result is rounded half-up to cents, exactly like the V69 trigger,
+     * so application-side and database-side normalization agree.</p>
+     *
+     * @param amount the amount in the source currency
+     * @param unitsPerUsd units of the source currency per one US dollar
+     * @return the amount in USD, or null when the amount is null
+     * @throws IllegalArgumentException if the rate is missing or not positive
+     */
+    public static BigDecimal convertToUsd(BigDecimal amount, BigDecimal unitsPerUsd) {
+        if (unitsPerUsd == null || unitsPerUsd.signum() <= 0) {
+            throw new IllegalArgumentException("Exchange rate must be positive: " + unitsPerUsd);
+        }
+        if (amount == null) {
+            return null;
+        }
+        return amount.divide(unitsPerUsd, NORMALIZED_PRICE_SCALE, RoundingMode.HALF_UP);
+    }
+
     /**
      * Gets the recommended currency for car listings based on price range.
      *
@@ -0,0 +1,102 @@
+package com.caryo.marketplace.web;
+
+import com.caryo.marketplace.service.ResourceVersionService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Public GET endpoints served with ETags, what their ETag is derived from, and
+ * how long clients and the nginx cache may reuse a response.
+ *
+ * <p>An ETag must change whenever the response could. Each endpoint lists the
+ * {@code resource_versions} counters covering everything its response reads;
+ * the listing detail additionally uses the listing's own timestamps so one
+ * listing's edit does not invalidate every other detail page.</p>
+ *
+ * <p>Declaration order is match order: the count endpoints come before the
+ * listing detail, whose pattern would otherwise claim {@code /listings/count}.</p>
+ */
+public enum CacheableEndpoint {
+
+    LISTING_COUNTS("counts",
+            List.of("/api/v1/listings/count", "/api/v1/listings/count/filter", "/api/v1/listings/counts/**"),
+            List.of(ResourceVersionService.LISTINGS, ResourceVersionService.REFERENCE_DATA),
+            Duration.ofSeconds(30), Duration.ofMinutes(2)),
+
+    LISTING_DETAIL("listing",
+            List.of("/api/v1/listings/{id}"),
+            List.of(ResourceVersionService.REFERENCE_DATA),
+            Duration.ofMinutes(1), Duration.ofMinutes(5)),
+
+    REFERENCE_DATA("ref",
+            List.of("/api/v1/reference-data",
+                    "/api/v1/reference-data/brands",
+                    "/api/v1/reference-data/models",
+                    "/api/v1/reference-data/brands/{brandId}/models",
+                    "/api/v1/reference-data/governorates/**",
+                    "/api/v1/fuel-types/**",
+                    "/api/v1/transmissions/**",
+                    "/api/v1/body-styles/**"),
+            List.of(ResourceVersionService.REFERENCE_DATA),
+            Duration.ofMinutes(5), Duration.ofHours(1)),
+
+    DEALER_PROFILE("dealer",
+            List.of("/api/v1/dealers/{dealerId}/public", "/api/v1/dealers/{dealerId}/listings"),
+            List.of(ResourceVersionService.DEALERS, ResourceVersionService.LISTINGS, ResourceVersionService.REFERENCE_DATA),
+            Duration.ofMinutes(1), Duration.ofMinutes(5)),
+
+    SUBSCRIPTION_TIERS("pricing",
+            List.of("/api/v1/pricing/tiers"),
+            List.of(ResourceVersionService.CONFIGURATION),
+            Duration.ofHours(1), Duration.ofDays(1));
+
+    private final String tagPrefix;
+    private final List<PathPattern> patterns;
+    private final List<String> versionKeys;
+    private final Duration maxAge;
+    private final Duration staleWhileRevalidate;
+
+    CacheableEndpoint(String tagPrefix, List<String> patterns, List<String> versionKeys,
+                      Duration maxAge, Duration staleWhileRevalidate) {
+        this.tagPrefix = tagPrefix;
+        this.patterns = patterns.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.versionKeys = versionKeys;
+        this.maxAge = maxAge;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    public String getTagPrefix() {
+        return tagPrefix;
+    }
+
+    public List<String> getVersionKeys() {
+        return versionKeys;
+    }
+
+    /**
+     * @return the matched path variables (empty for a pattern without any), or null when no pattern matches
+     */
+    public PathPattern.PathMatchInfo match(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern pattern : patterns) {
+            PathPattern.PathMatchInfo info = pattern.matchAndExtract(container);
+            if (info != null) {
+                return info;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Authenticated requests may be validated but not stored by shared caches.
+     */
+    public CacheControl cacheControl(boolean authenticated) {
+        CacheControl cacheControl = CacheControl.maxAge(maxAge).staleWhileRevalidate(staleWhileRevalidate);
+        return authenticated ? cacheControl.cachePrivate() : cacheControl.cachePublic();
+    }
+}
@@ -0,0 +1,128 @@
+package com.caryo.marketplace.web;
+
+import com.caryo.marketplace.repository.ResourceVersionJdbcRepository.ListingVersion;
+import com.caryo.marketplace.service.ResourceVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Conditional GET layer for the public read endpoints in {@link CacheableEndpoint}.
+ *
+ * <p>Before the handler runs, the ETag is built from cheap change markers
+ * ({@link ResourceVersionService}). A matching {@code If-None-Match} is answered
+ * with 304 right here, so the controller, its queries and the JSON
+ * serialization are skipped. Otherwise the ETag and Cache-Control policy are
+ * left on the request for {@link ConditionalGetResponseAdvice} to attach to a
+ * successful response.</p>
+ *
+ * <p>Every marker moves in the writing transaction, so it becomes visible
+ * together with the data it describes. The markers are read before the body is
+ * built, so a write racing the request can only pair a newer body with an
+ * older ETag, which costs one extra 200 on the next revalidation, never a
+ * stale 304.</p>
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    static final String VALIDATOR_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".validator";
+
+    private final ObjectProvider<ResourceVersionService> resourceVersionService;
+
+    public ConditionalGetInterceptor(ObjectProvider<ResourceVersionService> resourceVersionService) {
+        this.resourceVersionService = resourceVersionService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        ResourceVersionService versions = resourceVersionService.getIfAvailable();
+        if (versions == null) {
+            return true;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (CacheableEndpoint endpoint : CacheableEndpoint.values()) {
+            PathPattern.PathMatchInfo match = endpoint.match(path);
+            if (match == null) {
+                continue;
+            }
+            Optional<String> etag = buildETag(endpoint, match.getUriVariables(), versions);
+            if (etag.isEmpty()) {
+                return true;
+            }
+            Validator validator = new Validator(etag.get(),
+                    endpoint.cacheControl(request.getHeader(HttpHeaders.AUTHORIZATION) != null));
+            if (matchesIfNoneMatch(request, validator.etag())) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                response.setHeader(HttpHeaders.ETAG, validator.etag());
+                response.setHeader(HttpHeaders.CACHE_CONTROL, validator.cacheControl().getHeaderValue());
+                return false;
+            }
+            request.setAttribute(VALIDATOR_ATTRIBUTE, validator);
+            return true;
+        }
+        return true;
+    }
+
+    private static Optional<String> buildETag(CacheableEndpoint endpoint, Map<String, String> uriVariables,
+                                              ResourceVersionService versions) {
+        StringBuilder tag = new StringBuilder(endpoint.getTagPrefix());
+
+        if (endpoint == CacheableEndpoint.LISTING_DETAIL) {
+            long listingId;
+            try {
+                listingId = Long.parseLong(uriVariables.getOrDefault("id", ""));
+            } catch (NumberFormatException e) {
+                // e.g. /listings/my-listings: not a detail request
+                return Optional.empty();
+            }
+            Optional<ListingVersion> listing = versions.getListingVersion(listingId);
+            if (listing.isEmpty()) {
+                return Optional.empty();
+            }
+            tag.append('-').append(listingId)
+                    .append('-').append(Long.toString(listing.get().listingUpdatedAt(), 36))
+                    .append('.').append(Long.toString(listing.get().sellerUpdatedAt(), 36));
+        }
+
+        Map<String, Long> current = versions.getVersions().orElse(Collections.emptyMap());
+        for (String key : endpoint.getVersionKeys()) {
+            Long version = current.get(key);
+            if (version == null) {
+                return Optional.empty();
+            }
+            tag.append('-').append(Long.toString(version, 36));
+        }
+        // Weak: the JSON is equivalent, not guaranteed byte-identical (nginx gzip also weakens ETags)
+        return Optional.of("W/\"" + tag + "\"");
+    }
+
+    static boolean matchesIfNoneMatch(HttpServletRequest request, String etag) {
+        String opaque = stripWeak(etag);
+        for (String header : Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH))) {
+            for (String candidate : header.split(",")) {
+                String trimmed = candidate.trim();
+                if ("*".equals(trimmed) || opaque.equals(stripWeak(trimmed))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    record Validator(String etag, CacheControl cacheControl) {}
+}
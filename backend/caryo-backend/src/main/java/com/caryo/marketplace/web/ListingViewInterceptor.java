@@ -0,0 +1,58 @@
+package com.caryo.marketplace.web;
+
+import com.caryo.marketplace.service.engagement.EngagementType;
+import com.caryo.marketplace.service.engagement.ListingEngagementCounter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Counts a view for every listing detail served, including 304 revalidations
+ * answered by {@link ConditionalGetInterceptor} without reaching the
+ * controller. That is why it must be registered ahead of it: a handler chain
+ * only completes the interceptors whose {@code preHandle} ran.
+ */
+public class ListingViewInterceptor implements HandlerInterceptor {
+
+    static final String LISTING_PATH_PREFIX = "/api/v1/listings/";
+
+    private final ObjectProvider<ListingEngagementCounter> engagementCounter;
+
+    public ListingViewInterceptor(ObjectProvider<ListingEngagementCounter> engagementCounter) {
+        this.engagementCounter = engagementCounter;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!"GET".equals(request.getMethod()) || ex != null
+                || (response.getStatus() != HttpServletResponse.SC_OK
+                    && response.getStatus() != HttpServletResponse.SC_NOT_MODIFIED)) {
+            return;
+        }
+        Long listingId = listingId(request);
+        ListingEngagementCounter counter = engagementCounter.getIfAvailable();
+        if (listingId != null && counter != null) {
+            counter.record(listingId, EngagementType.VIEW);
+        }
+    }
+
+    /** The id of a listing detail path, null for sibling endpoints such as {@code /listings/count} */
+    private static Long listingId(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(LISTING_PATH_PREFIX)) {
+            return null;
+        }
+        String id = path.substring(LISTING_PATH_PREFIX.length());
+        if (id.isEmpty() || id.length() > 18) {
+            return null;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            if (!Character.isDigit(id.charAt(i))) {
+                return null;
+            }
+        }
+        return Long.valueOf(id);
+    }
+}
@@ -0,0 +1,114 @@
+package com.caryo.marketplace.web;
+
+import com.caryo.marketplace.config.sql.SqlStatementRecorder;
+import com.caryo.marketplace.config.sql.SqlStatementRecorder.Recording;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the SQL each request runs through Hibernate (see
+ * {@link SqlStatementRecorder}) and publishes it per handler method:
+ *
+ * <ul>
+ *   <li>{@code db.request.statements}: statements per request</li>
+ *   <li>{@code db.request.entity.loads}: entities loaded per request</li>
+ *   <li>{@code db.request.time}: JDBC execution time per request</li>
+ *   <li>{@code db.request.n_plus_one}: requests that ran one statement shape
+ *       at least {@code nPlusOneThreshold} times, logged with the shape</li>
+ * </ul>
+ *
+ * <p>The {@code handler} tag is {@code ControllerSimpleName.method}, so the
+ * tag values are bounded by the number of endpoints.</p>
+ */
+@Slf4j
+public class SqlMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String RECORDING_ATTRIBUTE = SqlMetricsInterceptor.class.getName() + ".recording";
+    private static final int MAX_LOGGED_SHAPE_LENGTH = 300;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final int nPlusOneThreshold;
+
+    public SqlMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry, int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(RECORDING_ATTRIBUTE, SqlStatementRecorder.start());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // The rest of the request runs on another thread; stop recording this one
+        if (request.getAttribute(RECORDING_ATTRIBUTE) instanceof Recording recording) {
+            recording.close();
+            request.removeAttribute(RECORDING_ATTRIBUTE);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(RECORDING_ATTRIBUTE) instanceof Recording recording)) {
+            return;
+        }
+        recording.close();
+        request.removeAttribute(RECORDING_ATTRIBUTE);
+
+        String handlerName = handlerName((HandlerMethod) handler);
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            DistributionSummary.builder("db.request.statements")
+                    .description("SQL statements run through Hibernate per request")
+                    .tag("handler", handlerName)
+                    .register(registry)
+                    .record(recording.getStatementCount());
+            DistributionSummary.builder("db.request.entity.loads")
+                    .description("Entities loaded per request")
+                    .tag("handler", handlerName)
+                    .register(registry)
+                    .record(recording.getEntityLoads());
+            Timer.builder("db.request.time")
+                    .description("JDBC execution time per request")
+                    .tag("handler", handlerName)
+                    .register(registry)
+                    .record(recording.getDbNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        Map<String, Integer> repeated = recording.repeatedShapes(nPlusOneThreshold);
+        if (repeated.isEmpty()) {
+            return;
+        }
+        if (registry != null) {
+            Counter.builder("db.request.n_plus_one")
+                    .description("Requests that repeated one statement shape at least the N+1 threshold")
+                    .tag("handler", handlerName)
+                    .register(registry)
+                    .increment();
+        }
+        repeated.forEach((shape, count) -> log.warn("Possible N+1 in {} {} ({}): statement ran {} times of {}: {}",
+                request.getMethod(), request.getRequestURI(), handlerName, count, recording.getStatementCount(),
+                shape.length() > MAX_LOGGED_SHAPE_LENGTH ? shape.substring(0, MAX_LOGGED_SHAPE_LENGTH) + "..." : shape));
+    }
+
+    static String handlerName(HandlerMethod handler) {
+        return handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+    }
+}
@@ -0,0 +1,131 @@
+-- ============================================================================
+-- V64: Autocomplete suggestion table
+--
+-- Typeahead previously ran findIdsByFullTextSearchPrefix against car_listings
+-- on every keystroke: two regexp_replace calls plus ts_rank_cd over the full
+-- search_vector GIN match. That returns listing IDs, not completions, and its
+-- cost grows with the listing table.
+--
+-- search_suggestions holds one row per distinct (language, term) with the
+-- number of live listings carrying that term. Terms are the brand name, the
+-- model name and "brand model" in English and Arabic — the denormalized
+-- columns already on car_listings (V8/V9). The table is maintained by an
+-- AFTER trigger on car_listings, so no application write path can forget it.
+--
+-- "Live" matches CarListingSpecification's base predicate: approved, not
+-- sold, not archived, user-active. Expiry flips is_user_active, so expired
+-- listings drop out through the same path.
+--
+-- Lookups are LIKE 'prefix%' scans on (language, normalized_term
+-- text_pattern_ops). text_pattern_ops compares byte-wise, so the prefix
+-- match does not depend on the database collation.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS search_suggestions (
+    id BIGSERIAL PRIMARY KEY,
+    term VARCHAR(201) NOT NULL,
+    normalized_term VARCHAR(201) NOT NULL,
+    language VARCHAR(2) NOT NULL,
+    listing_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_search_suggestions_lang_term UNIQUE (language, normalized_term)
+);
+
+-- Only terms with at least one live listing are ever served
+CREATE INDEX IF NOT EXISTS idx_search_suggestions_prefix
+    ON search_suggestions (language, normalized_term text_pattern_ops)
+    WHERE listing_count > 0;
+
+-- ----------------------------------------------------------------------------
+-- Normalization — must stay in sync with SearchSuggestionService.normalize():
+-- unify alef variants, drop tatweel, collapse whitespace, lowercase.
+-- ----------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION search_suggestion_normalize(p_term TEXT) RETURNS TEXT AS $$
+    SELECT lower(trim(regexp_replace(
+        replace(translate(p_term, 'أإآٱ', 'اااا'), 'ـ', ''),
+        '\s+', ' ', 'g')));
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Adds p_delta to the brand, model and "brand model" terms of one language.
+-- A model named like its brand is one term, counted once per listing.
+CREATE OR REPLACE FUNCTION search_suggestions_apply(p_brand TEXT, p_model TEXT,
+                                                    p_language VARCHAR, p_delta INTEGER)
+RETURNS void AS $$
+DECLARE
+    t TEXT;
+    normalized TEXT;
+    seen TEXT[] := '{}';
+BEGIN
+    FOREACH t IN ARRAY ARRAY[p_brand, p_model, p_brand || ' ' || p_model] LOOP
+        CONTINUE WHEN t IS NULL OR trim(t) = '';
+        normalized := search_suggestion_normalize(t);
+        CONTINUE WHEN normalized = ANY(seen);
+        seen := seen || normalized;
+        INSERT INTO search_suggestions (term, normalized_term, language, listing_count, updated_at)
+        VALUES (trim(t), normalized, p_language, GREATEST(p_delta, 0), CURRENT_TIMESTAMP)
+        ON CONFLICT (language, normalized_term) DO UPDATE
+            SET listing_count = GREATEST(search_suggestions.listing_count + p_delta, 0),
+                updated_at = CURRENT_TIMESTAMP;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION car_listings_search_suggestions_sync() RETURNS trigger AS $$
+DECLARE
+    old_live BOOLEAN := FALSE;
+    new_live BOOLEAN := FALSE;
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        old_live := OLD.approved AND NOT OLD.sold AND NOT OLD.archived AND OLD.is_user_active;
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        new_live := NEW.approved AND NOT NEW.sold AND NOT NEW.archived AND NEW.is_user_active;
+    END IF;
+
+    -- Still live with the same names: nothing to adjust
+    IF old_live AND new_live
+       AND OLD.brand_name_en IS NOT DISTINCT FROM NEW.brand_name_en
+       AND OLD.brand_name_ar IS NOT DISTINCT FROM NEW.brand_name_ar
+       AND OLD.model_name_en IS NOT DISTINCT FROM NEW.model_name_en
+       AND OLD.model_name_ar IS NOT DISTINCT FROM NEW.model_name_ar THEN
+        RETURN NULL;
+    END IF;
+
+    IF old_live THEN
+        PERFORM search_suggestions_apply(OLD.brand_name_en, OLD.model_name_en, 'en', -1);
+        PERFORM search_suggestions_apply(OLD.brand_name_ar, OLD.model_name_ar, 'ar', -1);
+    END IF;
+    IF new_live THEN
+        PERFORM search_suggestions_apply(NEW.brand_name_en, NEW.model_name_en, 'en', 1);
+        PERFORM search_suggestions_apply(NEW.brand_name_ar, NEW.model_name_ar, 'ar', 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS car_listings_search_suggestions_trigger ON car_listings;
+CREATE TRIGGER car_listings_search_suggestions_trigger
+    AFTER INSERT OR DELETE OR UPDATE OF approved, sold, archived, is_user_active,
+                                        brand_name_en, brand_name_ar, model_name_en, model_name_ar
+    ON car_listings
+    FOR EACH ROW
+    EXECUTE FUNCTION car_listings_search_suggestions_sync();
+
+-- ----------------------------------------------------------------------------
+-- Backfill from the current live set
+-- ----------------------------------------------------------------------------
+INSERT INTO search_suggestions (term, normalized_term, language, listing_count, updated_at)
+SELECT min(trim(t.term)), search_suggestion_normalize(t.term), t.language, count(DISTINCT cl.id), CURRENT_TIMESTAMP
+FROM car_listings cl
+CROSS JOIN LATERAL (VALUES
+    (cl.brand_name_en, 'en'),
+    (cl.model_name_en, 'en'),
+    (cl.brand_name_en || ' ' || cl.model_name_en, 'en'),
+    (cl.brand_name_ar, 'ar'),
+    (cl.model_name_ar, 'ar'),
+    (cl.brand_name_ar || ' ' || cl.model_name_ar, 'ar')
+) AS t(term, language)
+WHERE cl.approved = TRUE AND cl.sold = FALSE AND cl.archived = FALSE AND cl.is_user_active = TRUE
+  AND t.term IS NOT NULL AND trim(t.term) <> ''
+GROUP BY search_suggestion_normalize(t.term), t.language
+ON CONFLICT (language, normalized_term) DO NOTHING;
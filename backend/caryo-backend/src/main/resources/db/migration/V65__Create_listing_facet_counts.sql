@@ -0,0 +1,214 @@
+-- ============================================================================
+-- V65: Maintained facet counts for unfiltered sidebar and homepage counts
+--
+-- The unfiltered count endpoints (findDistinctBrandSlugsWithCounts,
+-- findDistinctModelSlugsWithCounts, findDistinctYearsWithCounts,
+-- findDistinctSellerTypesWithCounts, findDistinctFuelTypesWithCounts) scan
+-- and group the whole live-listing set on every homepage and sidebar load.
+--
+-- listing_facet_counts holds one row per (facet, key) with the number of live
+-- listings. Keys are exactly what those queries return, so the read path in
+-- CarListingAnalyticsService can swap sources without changing responses:
+--   brand        -> makes.slug           (sort: makes.display_name_en)
+--   model        -> models.slug          (sort: models.display_name_en)
+--   year         -> model_year           (sort: 9999 - year, i.e. newest first)
+--   fuel_type    -> fuel_types.name      (sort: name)
+--   body_style   -> body_styles.slug     (sort: body_styles.display_name_en)
+--   governorate  -> governorates.slug    (sort: governorates.display_name_en)
+--   seller_type  -> seller_types.name    (sort: name)
+--
+-- "Live" is the predicate those queries use: approved, not sold, not
+-- archived.
+--
+-- Maintenance is two-layered:
+--   1. An AFTER trigger on car_listings applies +1/-1 on every status
+--      transition or facet column change (incremental, same transaction).
+--   2. listing_facet_counts_refresh() recomputes everything and corrects
+--      drift. ListingFacetCountService calls it on a schedule. It covers what
+--      the trigger cannot see — e.g. a user's seller type changing — and any
+--      increment lost to a refresh racing a concurrent listing write.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS listing_facet_counts (
+    id BIGSERIAL PRIMARY KEY,
+    facet VARCHAR(20) NOT NULL,
+    facet_key VARCHAR(100) NOT NULL,
+    sort_key VARCHAR(100) NOT NULL,
+    listing_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_listing_facet_counts_facet_key UNIQUE (facet, facet_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_listing_facet_counts_facet_sort
+    ON listing_facet_counts (facet, sort_key)
+    WHERE listing_count > 0;
+
+-- ----------------------------------------------------------------------------
+-- Incremental maintenance
+-- ----------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION listing_facet_bump(p_facet VARCHAR, p_key VARCHAR,
+                                              p_sort VARCHAR, p_delta INTEGER)
+RETURNS void AS $$
+BEGIN
+    IF p_key IS NULL OR p_key = '' THEN
+        RETURN;
+    END IF;
+    INSERT INTO listing_facet_counts (facet, facet_key, sort_key, listing_count, updated_at)
+    VALUES (p_facet, p_key, coalesce(p_sort, p_key), GREATEST(p_delta, 0), CURRENT_TIMESTAMP)
+    ON CONFLICT (facet, facet_key) DO UPDATE
+        SET listing_count = GREATEST(listing_facet_counts.listing_count + p_delta, 0),
+            updated_at = CURRENT_TIMESTAMP;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION listing_facets_apply(p_model_id BIGINT, p_year INTEGER, p_fuel_type_id BIGINT,
+                                                p_body_style_id BIGINT, p_governorate_id BIGINT,
+                                                p_seller_id BIGINT, p_delta INTEGER)
+RETURNS void AS $$
+DECLARE
+    v_key VARCHAR;
+    v_sort VARCHAR;
+    v_key2 VARCHAR;
+    v_sort2 VARCHAR;
+BEGIN
+    SELECT b.slug, b.display_name_en, m.slug, m.display_name_en
+      INTO v_key, v_sort, v_key2, v_sort2
+      FROM models m JOIN makes b ON b.id = m.make_id
+     WHERE m.id = p_model_id;
+    PERFORM listing_facet_bump('brand', v_key, v_sort, p_delta);
+    PERFORM listing_facet_bump('model', v_key2, v_sort2, p_delta);
+
+    IF p_year IS NOT NULL THEN
+        PERFORM listing_facet_bump('year', p_year::text, lpad((9999 - p_year)::text, 4, '0'), p_delta);
+    END IF;
+
+    v_key := NULL;
+    SELECT name INTO v_key FROM fuel_types WHERE id = p_fuel_type_id;
+    PERFORM listing_facet_bump('fuel_type', v_key, v_key, p_delta);
+
+    v_key := NULL; v_sort := NULL;
+    SELECT slug, display_name_en INTO v_key, v_sort FROM body_styles WHERE id = p_body_style_id;
+    PERFORM listing_facet_bump('body_style', v_key, v_sort, p_delta);
+
+    v_key := NULL; v_sort := NULL;
+    SELECT slug, display_name_en INTO v_key, v_sort FROM governorates WHERE id = p_governorate_id;
+    PERFORM listing_facet_bump('governorate', v_key, v_sort, p_delta);
+
+    v_key := NULL;
+    SELECT st.name INTO v_key
+      FROM users u JOIN seller_types st ON st.id = u.seller_type_id
+     WHERE u.id = p_seller_id;
+    PERFORM listing_facet_bump('seller_type', v_key, v_key, p_delta);
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION car_listings_facet_counts_sync() RETURNS trigger AS $$
+DECLARE
+    old_live BOOLEAN := FALSE;
+    new_live BOOLEAN := FALSE;
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        old_live := OLD.approved AND NOT OLD.sold AND NOT OLD.archived;
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        new_live := NEW.approved AND NOT NEW.sold AND NOT NEW.archived;
+    END IF;
+
+    -- Still live with the same facet values: nothing to adjust
+    IF old_live AND new_live
+       AND OLD.model_id IS NOT DISTINCT FROM NEW.model_id
+       AND OLD.model_year IS NOT DISTINCT FROM NEW.model_year
+       AND OLD.fuel_type_id IS NOT DISTINCT FROM NEW.fuel_type_id
+       AND OLD.body_style_id IS NOT DISTINCT FROM NEW.body_style_id
+       AND OLD.governorate_id IS NOT DISTINCT FROM NEW.governorate_id
+       AND OLD.seller_id IS NOT DISTINCT FROM NEW.seller_id THEN
+        RETURN NULL;
+    END IF;
+
+    IF old_live THEN
+        PERFORM listing_facets_apply(OLD.model_id, OLD.model_year, OLD.fuel_type_id, OLD.body_style_id,
+                                     OLD.governorate_id, OLD.seller_id, -1);
+    END IF;
+    IF new_live THEN
+        PERFORM listing_facets_apply(NEW.model_id, NEW.model_year, NEW.fuel_type_id, NEW.body_style_id,
+                                     NEW.governorate_id, NEW.seller_id, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS car_listings_facet_counts_trigger ON car_listings;
+CREATE TRIGGER car_listings_facet_counts_trigger
+    AFTER INSERT OR DELETE OR UPDATE OF approved, sold, archived, model_id, model_year, fuel_type_id,
+                                        body_style_id, governorate_id, seller_id
+    ON car_listings
+    FOR EACH ROW
+    EXECUTE FUNCTION car_listings_facet_counts_sync();
+
+-- ----------------------------------------------------------------------------
+-- Full reconciliation. Returns the number of rows whose count was corrected
+-- (on the first run, the number of rows created).
+-- ----------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION listing_facet_counts_refresh() RETURNS INTEGER AS $$
+DECLARE
+    changed INTEGER;
+BEGIN
+    WITH live AS (
+        SELECT * FROM car_listings
+         WHERE approved = TRUE AND sold = FALSE AND archived = FALSE
+    ),
+    fresh AS (
+        SELECT 'brand'::varchar AS facet, b.slug AS facet_key, min(b.display_name_en) AS sort_key, count(*) AS cnt
+          FROM live cl JOIN models m ON m.id = cl.model_id JOIN makes b ON b.id = m.make_id
+         GROUP BY b.slug
+        UNION ALL
+        SELECT 'model', m.slug, min(m.display_name_en), count(*)
+          FROM live cl JOIN models m ON m.id = cl.model_id
+         GROUP BY m.slug
+        UNION ALL
+        SELECT 'year', cl.model_year::text, lpad((9999 - cl.model_year)::text, 4, '0'), count(*)
+          FROM live cl
+         WHERE cl.model_year IS NOT NULL
+         GROUP BY cl.model_year
+        UNION ALL
+        SELECT 'fuel_type', ft.name, ft.name, count(*)
+          FROM live cl JOIN fuel_types ft ON ft.id = cl.fuel_type_id
+         GROUP BY ft.name
+        UNION ALL
+        SELECT 'body_style', bs.slug, min(bs.display_name_en), count(*)
+          FROM live cl JOIN body_styles bs ON bs.id = cl.body_style_id
+         GROUP BY bs.slug
+        UNION ALL
+        SELECT 'governorate', g.slug, min(g.display_name_en), count(*)
+          FROM live cl JOIN governorates g ON g.id = cl.governorate_id
+         GROUP BY g.slug
+        UNION ALL
+        SELECT 'seller_type', st.name, st.name, count(*)
+          FROM live cl JOIN users u ON u.id = cl.seller_id JOIN seller_types st ON st.id = u.seller_type_id
+         GROUP BY st.name
+    ),
+    upserted AS (
+        INSERT INTO listing_facet_counts (facet, facet_key, sort_key, listing_count, updated_at)
+        SELECT facet, facet_key, sort_key, cnt, CURRENT_TIMESTAMP FROM fresh WHERE facet_key IS NOT NULL
+        ON CONFLICT (facet, facet_key) DO UPDATE
+            SET listing_count = EXCLUDED.listing_count,
+                sort_key = EXCLUDED.sort_key,
+                updated_at = EXCLUDED.updated_at
+            WHERE listing_facet_counts.listing_count IS DISTINCT FROM EXCLUDED.listing_count
+               OR listing_facet_counts.sort_key IS DISTINCT FROM EXCLUDED.sort_key
+        RETURNING 1
+    ),
+    zeroed AS (
+        UPDATE listing_facet_counts f
+           SET listing_count = 0, updated_at = CURRENT_TIMESTAMP
+         WHERE f.listing_count <> 0
+           AND NOT EXISTS (SELECT 1 FROM fresh WHERE fresh.facet = f.facet AND fresh.facet_key = f.facet_key)
+        RETURNING 1
+    )
+    SELECT (SELECT count(*) FROM upserted) + (SELECT count(*) FROM zeroed) INTO changed;
+    RETURN changed;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Initial population
+SELECT listing_facet_counts_refresh();
@@ -0,0 +1,42 @@
+-- ============================================================================
+-- V66: Partial composite indexes on the live listing subset
+--
+-- Every public read path filters on the live predicate
+--   approved = true AND sold = false AND archived = false
+-- (CarListingSpecification.isApproved/isNotSold/isNotArchived and the
+-- repository @Query counts). The single-column indexes from V60 make the
+-- planner combine a wide FK/price bitmap with a recheck of the booleans, and
+-- the boolean indexes from V42 are too unselective to ever be chosen.
+--
+-- These indexes only contain live rows, so they stay small and let the main
+-- access paths read in index order and stop at the page LIMIT:
+--   model (and brand via models)  + price range / price sort
+--   governorate                   + newest first
+--   model year range              + price
+--   no filter                     + newest first (default browse order)
+--
+-- Queries keep matching as long as they state all three live conditions; any
+-- extra predicate (e.g. is_user_active) is applied on top of the index scan.
+-- ListingQueryPlanIntegrationTest guards these plans against regressions.
+-- ============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_car_listings_live_model_price
+    ON car_listings (model_id, price)
+    WHERE approved = true AND sold = false AND archived = false;
+
+CREATE INDEX IF NOT EXISTS idx_car_listings_live_governorate_created
+    ON car_listings (governorate_id, created_at DESC)
+    WHERE approved = true AND sold = false AND archived = false;
+
+CREATE INDEX IF NOT EXISTS idx_car_listings_live_year_price
+    ON car_listings (model_year, price)
+    WHERE approved = true AND sold = false AND archived = false;
+
+CREATE INDEX IF NOT EXISTS idx_car_listings_live_created
+    ON car_listings (created_at DESC)
+    WHERE approved = true AND sold = false AND archived = false;
+
+-- Low-selectivity boolean indexes from V42: no query filters on these columns,
+-- and each one adds write cost to every listing update.
+DROP INDEX IF EXISTS idx_car_listings_searchable;
+DROP INDEX IF EXISTS idx_car_listings_recently_renewed;
@@ -0,0 +1,24 @@
+-- ============================================================================
+-- V67: Incremental reference-data sync (CarQuery / SyrianCars)
+--
+-- source_hash is the SHA-256 of the provider payload a makes/models row was
+-- last written from. ReferenceDataSyncService diffs incoming records against
+-- it and only upserts rows whose hash changed, so a re-run over an unchanged
+-- catalogue issues no writes (and no translation calls). Rows created before
+-- this migration have NULL and are rewritten once on the next sync.
+--
+-- reference_sync_checkpoints records each source brand whose brand + models
+-- were committed during the current run. An interrupted run resumes after the
+-- committed brands; the rows are cleared once a run finishes without failures.
+-- ============================================================================
+
+ALTER TABLE makes ADD COLUMN IF NOT EXISTS source_hash VARCHAR(64);
+ALTER TABLE models ADD COLUMN IF NOT EXISTS source_hash VARCHAR(64);
+
+CREATE TABLE IF NOT EXISTS reference_sync_checkpoints (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    provider_name VARCHAR(100) NOT NULL,
+    source_key VARCHAR(255) NOT NULL,
+    completed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_reference_sync_checkpoints_provider_key UNIQUE (provider_name, source_key)
+);
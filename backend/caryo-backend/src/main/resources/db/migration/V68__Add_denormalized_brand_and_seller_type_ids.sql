@@ -0,0 +1,88 @@
+-- ============================================================================
+-- V68: Denormalized brand_id / seller_type_id on car_listings
+--
+-- The brand and seller-type search filters used to walk
+--   car_listings -> models -> makes            (brand)
+--   car_listings -> users  -> seller_types     (seller type)
+-- just to evaluate the WHERE clause. Copying both keys onto the listing lets
+-- CarListingSpecification filter on car_listings columns only; slugs are
+-- resolved to IDs up front by ReferenceSlugResolver.
+--
+-- The application sets both columns on create/update (CarListingCrudService).
+-- The triggers below are the safety net for every other write path: listings
+-- written by SQL, a model moved to another make, or a user whose seller type
+-- changes after their listings were created.
+-- ============================================================================
+
+ALTER TABLE car_listings ADD COLUMN IF NOT EXISTS brand_id BIGINT;
+ALTER TABLE car_listings ADD COLUMN IF NOT EXISTS seller_type_id BIGINT;
+
+UPDATE car_listings cl
+SET brand_id = m.make_id
+FROM models m
+WHERE m.id = cl.model_id
+  AND cl.brand_id IS DISTINCT FROM m.make_id;
+
+UPDATE car_listings cl
+SET seller_type_id = u.seller_type_id
+FROM users u
+WHERE u.id = cl.seller_id
+  AND cl.seller_type_id IS DISTINCT FROM u.seller_type_id;
+
+ALTER TABLE car_listings
+    ADD CONSTRAINT fk_car_listings_brand FOREIGN KEY (brand_id) REFERENCES makes (id);
+ALTER TABLE car_listings
+    ADD CONSTRAINT fk_car_listings_seller_type FOREIGN KEY (seller_type_id) REFERENCES seller_types (id);
+
+-- The live brand index ranges on the normalized price, so it is created in V69 with that column
+CREATE INDEX IF NOT EXISTS idx_car_listings_live_seller_type_created
+    ON car_listings (seller_type_id, created_at DESC)
+    WHERE approved = true AND sold = false AND archived = false;
+
+-- Keep the copies in step with model_id / seller_id on the listing itself
+CREATE OR REPLACE FUNCTION car_listings_sync_denormalized_ids()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' OR NEW.model_id IS DISTINCT FROM OLD.model_id OR NEW.brand_id IS NULL THEN
+        SELECT make_id INTO NEW.brand_id FROM models WHERE id = NEW.model_id;
+    END IF;
+    IF TG_OP = 'INSERT' OR NEW.seller_id IS DISTINCT FROM OLD.seller_id THEN
+        SELECT seller_type_id INTO NEW.seller_type_id FROM users WHERE id = NEW.seller_id;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_car_listings_sync_denormalized_ids ON car_listings;
+CREATE TRIGGER trg_car_listings_sync_denormalized_ids
+    BEFORE INSERT OR UPDATE OF model_id, seller_id, brand_id ON car_listings
+    FOR EACH ROW EXECUTE FUNCTION car_listings_sync_denormalized_ids();
+
+-- ...and with the rows they were copied from
+CREATE OR REPLACE FUNCTION models_propagate_make_id()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE car_listings SET brand_id = NEW.make_id WHERE model_id = NEW.id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_models_propagate_make_id ON models;
+CREATE TRIGGER trg_models_propagate_make_id
+    AFTER UPDATE OF make_id ON models
+    FOR EACH ROW WHEN (NEW.make_id IS DISTINCT FROM OLD.make_id)
+    EXECUTE FUNCTION models_propagate_make_id();
+
+CREATE OR REPLACE FUNCTION users_propagate_seller_type_id()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE car_listings SET seller_type_id = NEW.seller_type_id WHERE seller_id = NEW.id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_users_propagate_seller_type_id ON users;
+CREATE TRIGGER trg_users_propagate_seller_type_id
+    AFTER UPDATE OF seller_type_id ON users
+    FOR EACH ROW WHEN (NEW.seller_type_id IS DISTINCT FROM OLD.seller_type_id)
+    EXECUTE FUNCTION users_propagate_seller_type_id();
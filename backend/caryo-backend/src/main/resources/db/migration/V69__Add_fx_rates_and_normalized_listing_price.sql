@@ -0,0 +1,70 @@
+-- ============================================================================
+-- V69: FX rate history and a USD-normalized listing price
+--
+-- Listing prices are stored in the listing's own currency (USD or SYP), so a
+-- price search had to pin one currency with upper(currency) = ? and could not
+-- return "under $10k" across both. price_usd_normalized holds every price in
+-- USD at the current rate, which lets price range and price sort run on one
+-- indexed column for all currencies.
+--
+-- fx_rates keeps every rate ever recorded; the current rate of a currency is
+-- its latest row with effective_from <= now(). Rates are recorded through
+-- FxRateService, which re-normalizes the affected listings in background
+-- chunks. The trigger below normalizes each listing as it is written.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS fx_rates (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    currency VARCHAR(3) NOT NULL,
+    units_per_usd NUMERIC(20, 6) NOT NULL CHECK (units_per_usd > 0),
+    effective_from TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(50),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_fx_rates_currency_effective
+    ON fx_rates (currency, effective_from DESC);
+
+-- Starting rates; admins record the live SYP rate from then on
+INSERT INTO fx_rates (currency, units_per_usd, effective_from, created_by, created_at)
+VALUES ('USD', 1, CURRENT_TIMESTAMP, 'V69', CURRENT_TIMESTAMP),
+       ('SYP', 13000, CURRENT_TIMESTAMP, 'V69', CURRENT_TIMESTAMP);
+
+CREATE OR REPLACE FUNCTION fx_units_per_usd(p_currency VARCHAR)
+RETURNS NUMERIC AS $$
+    SELECT units_per_usd FROM fx_rates
+    WHERE currency = p_currency AND effective_from <= now()
+    ORDER BY effective_from DESC, id DESC
+    LIMIT 1;
+$$ LANGUAGE sql STABLE;
+
+ALTER TABLE car_listings ADD COLUMN IF NOT EXISTS price_usd_normalized NUMERIC(18, 2);
+
+-- Currency codes are compared with plain equality from now on
+UPDATE car_listings
+SET currency = upper(trim(currency)),
+    price_usd_normalized = round(price / fx_units_per_usd(upper(trim(currency))), 2);
+
+CREATE OR REPLACE FUNCTION car_listings_normalize_price()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.currency := upper(trim(NEW.currency));
+    NEW.price_usd_normalized := round(NEW.price / fx_units_per_usd(NEW.currency), 2);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_car_listings_normalize_price ON car_listings;
+CREATE TRIGGER trg_car_listings_normalize_price
+    BEFORE INSERT OR UPDATE OF price, currency ON car_listings
+    FOR EACH ROW EXECUTE FUNCTION car_listings_normalize_price();
+
+-- Price range / price sort across all currencies; id breaks ties for stable paging
+CREATE INDEX IF NOT EXISTS idx_car_listings_live_price_usd
+    ON car_listings (price_usd_normalized, id)
+    WHERE approved = true AND sold = false AND archived = false;
+
+-- Same shape as the V66 live model/price index, one level up the hierarchy (brand_id is from V68)
+CREATE INDEX IF NOT EXISTS idx_car_listings_live_brand_price_usd
+    ON car_listings (brand_id, price_usd_normalized)
+    WHERE approved = true AND sold = false AND archived = false;
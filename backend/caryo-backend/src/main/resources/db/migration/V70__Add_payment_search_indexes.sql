@@ -0,0 +1,26 @@
+-- ============================================================================
+-- V70: Indexes for the admin payment search
+--
+-- The search pages newest first with a keyset on (created_at, id), filtered by
+-- status or by dealer. Each composite index below serves one of those filters
+-- as an ordered range read (scanned backward for DESC), replacing the
+-- single-column V53 indexes it covers as a prefix.
+-- ============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_payment_transactions_status_created
+    ON payment_transactions (status, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_payment_transactions_dealer_created
+    ON payment_transactions (dealer_id, created_at, id);
+
+-- Unfiltered and date-range-only searches
+CREATE INDEX IF NOT EXISTS idx_payment_transactions_created_id
+    ON payment_transactions (created_at, id);
+
+DROP INDEX IF EXISTS idx_payment_transactions_status;
+DROP INDEX IF EXISTS idx_payment_transactions_dealer_id;
+DROP INDEX IF EXISTS idx_payment_transactions_created_at;
+
+-- The dealer filter takes an email and compares lower(email)
+CREATE INDEX IF NOT EXISTS idx_users_email_lower
+    ON users (lower(email));
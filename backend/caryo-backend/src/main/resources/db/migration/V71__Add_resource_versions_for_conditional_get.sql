@@ -0,0 +1,112 @@
+-- ============================================================================
+-- V71: Version counters and timestamps behind HTTP ETags
+--
+-- Public GETs answer If-None-Match with 304 without running their queries
+-- (ConditionalGetInterceptor). Their ETags are built from:
+--
+--   * resource_versions: one counter per data set, bumped in the writing
+--     transaction by statement-level triggers, so a new version is visible
+--     exactly when the data it describes is. Reading them is one scan of a
+--     handful of rows.
+--   * listings_version_seq for the listing set. Listings are written far more
+--     often than the other sets, and a counter row would make every listing
+--     write wait on the row lock of the one before it. nextval() takes no lock
+--     and is not rolled back. A rolled-back write only costs one full
+--     response. The bump runs as the statement completes, just before commit
+--     for flushed JPA writes; a list read in that short window can be cached
+--     under the new version until the next listing write moves it again.
+--   * car_listings.updated_at for a single listing. CarListing relies on a
+--     database trigger for this column (see its commented-out @PreUpdate), but
+--     none was ever created, so updated_at never moved after insert. Media
+--     changes now touch the parent listing as well.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS resource_versions (
+    name VARCHAR(50) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO resource_versions (name) VALUES ('reference-data'), ('dealers')
+ON CONFLICT (name) DO NOTHING;
+
+CREATE SEQUENCE IF NOT EXISTS listings_version_seq;
+
+CREATE OR REPLACE FUNCTION bump_resource_version()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE resource_versions
+    SET version = version + 1, updated_at = CURRENT_TIMESTAMP
+    WHERE name = TG_ARGV[0];
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Reference data: makes/models, the lookup tables and the location hierarchy
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['makes', 'models', 'body_styles', 'fuel_types', 'transmissions',
+                             'drive_types', 'car_conditions', 'seller_types',
+                             'countries', 'governorates', 'locations']
+    LOOP
+        EXECUTE format('DROP TRIGGER IF EXISTS %I ON %I', t || '_bump_version', t);
+        EXECUTE format('CREATE TRIGGER %I AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON %I '
+                       'FOR EACH STATEMENT EXECUTE FUNCTION bump_resource_version(%L)',
+                       t || '_bump_version', t, 'reference-data');
+    END LOOP;
+END;
+$$;
+
+-- Listing set (counts, dealer listing pages): a sequence, so concurrent
+-- listing writes never queue behind each other
+CREATE OR REPLACE FUNCTION bump_listings_version()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM nextval('listings_version_seq');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS car_listings_bump_version ON car_listings;
+CREATE TRIGGER car_listings_bump_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON car_listings
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_listings_version();
+
+DROP TRIGGER IF EXISTS dealers_bump_version ON dealers;
+CREATE TRIGGER dealers_bump_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON dealers
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_resource_version('dealers');
+
+-- car_listings.updated_at, as CarListing has always assumed
+CREATE OR REPLACE FUNCTION car_listings_touch_updated_at()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at := CURRENT_TIMESTAMP;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_car_listings_updated_at ON car_listings;
+CREATE TRIGGER trg_car_listings_updated_at
+    BEFORE UPDATE ON car_listings
+    FOR EACH ROW EXECUTE FUNCTION car_listings_touch_updated_at();
+
+-- Media is part of the listing detail response
+CREATE OR REPLACE FUNCTION listing_media_touch_listing()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        UPDATE car_listings SET updated_at = CURRENT_TIMESTAMP WHERE id = OLD.listing_id;
+    ELSE
+        UPDATE car_listings SET updated_at = CURRENT_TIMESTAMP WHERE id = NEW.listing_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_listing_media_touch_listing ON listing_media;
+CREATE TRIGGER trg_listing_media_touch_listing
+    AFTER INSERT OR UPDATE OR DELETE ON listing_media
+    FOR EACH ROW EXECUTE FUNCTION listing_media_touch_listing();
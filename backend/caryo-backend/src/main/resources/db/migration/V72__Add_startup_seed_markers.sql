@@ -0,0 +1,16 @@
+-- ============================================================================
+-- V72: Seed markers for the startup tasks
+--
+-- Every boot used to re-run each seeder's existence probes (count(), one
+-- lookup per reference value, findAll()) before the instance could take
+-- traffic. A seeder now records the version of its seed data here once it
+-- has completed, and later boots skip it until that version is bumped in code.
+-- Deleting a row (or the whole table's contents) forces the seeder to run
+-- again on the next boot.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS startup_seed_markers (
+    task_name VARCHAR(100) PRIMARY KEY,
+    seed_version INTEGER NOT NULL,
+    completed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
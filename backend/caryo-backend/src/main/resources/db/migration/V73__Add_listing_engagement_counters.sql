@@ -0,0 +1,57 @@
+-- ============================================================================
+-- V73: Listing engagement counters (views, search impressions, favorites,
+-- contact reveals)
+--
+-- Nothing is written on the read path. Each node counts in memory
+-- (ListingEngagementCounter) and ListingEngagementService flushes the deltas
+-- every 30 seconds as batched upserts into:
+--   * listing_engagement_daily: one row per listing and UTC day, the rollup
+--     dealer stats and the ranking signal are computed from
+--   * listing_engagement: lifetime totals per listing
+--
+-- car_listings.popularity_score is the ranking signal: engagement of the last
+-- 14 days with a daily decay of 0.85, where a favorite weighs 4 views and a
+-- contact reveal 8. Impressions are not part of it (they measure exposure,
+-- not interest). It is recomputed hourly in one statement, so the 'listings'
+-- resource version (V71) is bumped at most once an hour by it.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS listing_engagement_daily (
+    listing_id BIGINT NOT NULL REFERENCES car_listings(id) ON DELETE CASCADE,
+    day DATE NOT NULL,
+    views BIGINT NOT NULL DEFAULT 0,
+    impressions BIGINT NOT NULL DEFAULT 0,
+    favorites BIGINT NOT NULL DEFAULT 0,
+    contact_reveals BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (listing_id, day)
+);
+
+-- Retention purge and the popularity window scan by day
+CREATE INDEX IF NOT EXISTS idx_listing_engagement_daily_day
+    ON listing_engagement_daily (day);
+
+CREATE TABLE IF NOT EXISTS listing_engagement (
+    listing_id BIGINT PRIMARY KEY REFERENCES car_listings(id) ON DELETE CASCADE,
+    views BIGINT NOT NULL DEFAULT 0,
+    impressions BIGINT NOT NULL DEFAULT 0,
+    favorites BIGINT NOT NULL DEFAULT 0,
+    contact_reveals BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE car_listings
+    ADD COLUMN IF NOT EXISTS popularity_score DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_car_listings_live_popularity
+    ON car_listings (popularity_score DESC, id DESC)
+    WHERE approved = true AND sold = false AND archived = false;
+
+-- The score is derived data: recomputing it must not count as an edit of the
+-- listing (updated_at feeds the listing detail ETag, V71). The application
+-- never writes popularity_score, so an update that changes it is the rollup.
+DROP TRIGGER IF EXISTS trg_car_listings_updated_at ON car_listings;
+CREATE TRIGGER trg_car_listings_updated_at
+    BEFORE UPDATE ON car_listings
+    FOR EACH ROW
+    WHEN (OLD.popularity_score IS NOT DISTINCT FROM NEW.popularity_score)
+    EXECUTE FUNCTION car_listings_touch_updated_at();
@@ -0,0 +1,226 @@
+-- ============================================================================
+-- V74: dealer_stats read model for the public dealer profile
+--
+-- The profile ran three COUNT queries over the seller's listings on every
+-- view. dealer_stats holds one row per seller (keyed by the seller's user id,
+-- as car_listings.seller_id is) with everything the profile shows:
+--   total_listings   approved listings
+--   active_listings  approved, not sold, not archived
+--   sold_count       approved and sold
+--   average price    active_price_usd_sum / active_priced_count, in USD so
+--                    listings in different currencies can be averaged (V69)
+--   time-to-sell     sell_seconds_sum / sold_timed_count, from created_at to
+--                    the new car_listings.sold_at
+--
+-- Maintenance follows V65:
+--   1. An AFTER trigger on car_listings applies the difference between a
+--      row's old and new contribution on every insert, delete and relevant
+--      update (incremental, same transaction, so the 'listings' resource
+--      version bump of V71 covers it).
+--   2. dealer_stats_refresh() recomputes everything and corrects drift;
+--      DealerStatsService calls it on a schedule. When it corrects anything it
+--      bumps the 'dealers' resource version so cached profiles revalidate.
+-- ============================================================================
+
+-- When the listing was last marked as sold. Listings sold before this
+-- migration get their last update time, the best estimate available.
+ALTER TABLE car_listings ADD COLUMN IF NOT EXISTS sold_at TIMESTAMP;
+
+UPDATE car_listings SET sold_at = COALESCE(updated_at, created_at) WHERE sold = true AND sold_at IS NULL;
+
+CREATE OR REPLACE FUNCTION car_listings_track_sold_at() RETURNS trigger AS $$
+BEGIN
+    IF NEW.sold AND (TG_OP = 'INSERT' OR NOT OLD.sold) THEN
+        NEW.sold_at := CURRENT_TIMESTAMP;
+    ELSIF NOT NEW.sold THEN
+        NEW.sold_at := NULL;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_car_listings_sold_at ON car_listings;
+CREATE TRIGGER trg_car_listings_sold_at
+    BEFORE INSERT OR UPDATE OF sold ON car_listings
+    FOR EACH ROW
+    EXECUTE FUNCTION car_listings_track_sold_at();
+
+CREATE TABLE IF NOT EXISTS dealer_stats (
+    seller_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    total_listings INTEGER NOT NULL DEFAULT 0,
+    active_listings INTEGER NOT NULL DEFAULT 0,
+    sold_count INTEGER NOT NULL DEFAULT 0,
+    active_price_usd_sum NUMERIC(20, 2) NOT NULL DEFAULT 0,
+    active_priced_count INTEGER NOT NULL DEFAULT 0,
+    sell_seconds_sum BIGINT NOT NULL DEFAULT 0,
+    sold_timed_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- ----------------------------------------------------------------------------
+-- Incremental maintenance
+-- ----------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION dealer_stats_apply(p_seller_id BIGINT, p_total INTEGER, p_active INTEGER,
+                                              p_sold INTEGER, p_price_sum NUMERIC, p_priced INTEGER,
+                                              p_sell_seconds BIGINT, p_timed INTEGER)
+RETURNS void AS $$
+BEGIN
+    IF p_seller_id IS NULL THEN
+        RETURN;
+    END IF;
+    INSERT INTO dealer_stats (seller_id, total_listings, active_listings, sold_count, active_price_usd_sum,
+                              active_priced_count, sell_seconds_sum, sold_timed_count, updated_at)
+    VALUES (p_seller_id, GREATEST(p_total, 0), GREATEST(p_active, 0), GREATEST(p_sold, 0),
+            GREATEST(p_price_sum, 0), GREATEST(p_priced, 0), GREATEST(p_sell_seconds, 0),
+            GREATEST(p_timed, 0), CURRENT_TIMESTAMP)
+    ON CONFLICT (seller_id) DO UPDATE
+        SET total_listings = GREATEST(dealer_stats.total_listings + p_total, 0),
+            active_listings = GREATEST(dealer_stats.active_listings + p_active, 0),
+            sold_count = GREATEST(dealer_stats.sold_count + p_sold, 0),
+            active_price_usd_sum = GREATEST(dealer_stats.active_price_usd_sum + p_price_sum, 0),
+            active_priced_count = GREATEST(dealer_stats.active_priced_count + p_priced, 0),
+            sell_seconds_sum = GREATEST(dealer_stats.sell_seconds_sum + p_sell_seconds, 0),
+            sold_timed_count = GREATEST(dealer_stats.sold_timed_count + p_timed, 0),
+            updated_at = CURRENT_TIMESTAMP;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION car_listings_dealer_stats_sync() RETURNS trigger AS $$
+DECLARE
+    o_total INTEGER := 0; o_active INTEGER := 0; o_sold INTEGER := 0;
+    o_price NUMERIC := 0; o_priced INTEGER := 0; o_seconds BIGINT := 0; o_timed INTEGER := 0;
+    n_total INTEGER := 0; n_active INTEGER := 0; n_sold INTEGER := 0;
+    n_price NUMERIC := 0; n_priced INTEGER := 0; n_seconds BIGINT := 0; n_timed INTEGER := 0;
+BEGIN
+    IF TG_OP <> 'INSERT' AND OLD.approved THEN
+        o_total := 1;
+        IF NOT OLD.sold AND NOT OLD.archived AND OLD.price_usd_normalized IS NOT NULL THEN
+            o_price := OLD.price_usd_normalized; o_priced := 1;
+        END IF;
+        IF NOT OLD.sold AND NOT OLD.archived THEN
+            o_active := 1;
+        END IF;
+        IF OLD.sold THEN
+            o_sold := 1;
+            IF OLD.sold_at IS NOT NULL THEN
+                o_seconds := GREATEST(floor(extract(epoch FROM OLD.sold_at - OLD.created_at)), 0)::bigint;
+                o_timed := 1;
+            END IF;
+        END IF;
+    END IF;
+    IF TG_OP <> 'DELETE' AND NEW.approved THEN
+        n_total := 1;
+        IF NOT NEW.sold AND NOT NEW.archived AND NEW.price_usd_normalized IS NOT NULL THEN
+            n_price := NEW.price_usd_normalized; n_priced := 1;
+        END IF;
+        IF NOT NEW.sold AND NOT NEW.archived THEN
+            n_active := 1;
+        END IF;
+        IF NEW.sold THEN
+            n_sold := 1;
+            IF NEW.sold_at IS NOT NULL THEN
+                n_seconds := GREATEST(floor(extract(epoch FROM NEW.sold_at - NEW.created_at)), 0)::bigint;
+                n_timed := 1;
+            END IF;
+        END IF;
+    END IF;
+
+    IF TG_OP = 'UPDATE' AND OLD.seller_id IS NOT DISTINCT FROM NEW.seller_id THEN
+        -- Same seller: one upsert with the difference, none if nothing it counts changed
+        IF (o_total, o_active, o_sold, o_price, o_priced, o_seconds, o_timed)
+           IS NOT DISTINCT FROM (n_total, n_active, n_sold, n_price, n_priced, n_seconds, n_timed) THEN
+            RETURN NULL;
+        END IF;
+        PERFORM dealer_stats_apply(NEW.seller_id, n_total - o_total, n_active - o_active, n_sold - o_sold,
+                                   n_price - o_price, n_priced - o_priced, n_seconds - o_seconds,
+                                   n_timed - o_timed);
+        RETURN NULL;
+    END IF;
+
+    IF o_total = 1 THEN
+        PERFORM dealer_stats_apply(OLD.seller_id, -o_total, -o_active, -o_sold, -o_price, -o_priced,
+                                   -o_seconds, -o_timed);
+    END IF;
+    IF n_total = 1 THEN
+        PERFORM dealer_stats_apply(NEW.seller_id, n_total, n_active, n_sold, n_price, n_priced,
+                                   n_seconds, n_timed);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS car_listings_dealer_stats_trigger ON car_listings;
+CREATE TRIGGER car_listings_dealer_stats_trigger
+    AFTER INSERT OR DELETE OR UPDATE OF approved, sold, archived, seller_id, price_usd_normalized, sold_at
+    ON car_listings
+    FOR EACH ROW
+    EXECUTE FUNCTION car_listings_dealer_stats_sync();
+
+-- ----------------------------------------------------------------------------
+-- Full reconciliation. Returns the number of rows corrected (on the first
+-- run, the number of rows created).
+-- ----------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION dealer_stats_refresh() RETURNS INTEGER AS $$
+DECLARE
+    changed INTEGER;
+BEGIN
+    WITH fresh AS (
+        SELECT seller_id,
+               count(*) AS total_listings,
+               count(*) FILTER (WHERE NOT sold AND NOT archived) AS active_listings,
+               count(*) FILTER (WHERE sold) AS sold_count,
+               COALESCE(sum(price_usd_normalized) FILTER (WHERE NOT sold AND NOT archived), 0) AS active_price_usd_sum,
+               count(price_usd_normalized) FILTER (WHERE NOT sold AND NOT archived) AS active_priced_count,
+               COALESCE(sum(GREATEST(floor(extract(epoch FROM sold_at - created_at)), 0)::bigint)
+                        FILTER (WHERE sold AND sold_at IS NOT NULL), 0) AS sell_seconds_sum,
+               count(sold_at) FILTER (WHERE sold) AS sold_timed_count
+          FROM car_listings
+         WHERE approved = TRUE AND seller_id IS NOT NULL
+         GROUP BY seller_id
+    ),
+    upserted AS (
+        INSERT INTO dealer_stats (seller_id, total_listings, active_listings, sold_count, active_price_usd_sum,
+                                  active_priced_count, sell_seconds_sum, sold_timed_count, updated_at)
+        SELECT seller_id, total_listings, active_listings, sold_count, active_price_usd_sum,
+               active_priced_count, sell_seconds_sum, sold_timed_count, CURRENT_TIMESTAMP
+          FROM fresh
+        ON CONFLICT (seller_id) DO UPDATE
+            SET total_listings = EXCLUDED.total_listings,
+                active_listings = EXCLUDED.active_listings,
+                sold_count = EXCLUDED.sold_count,
+                active_price_usd_sum = EXCLUDED.active_price_usd_sum,
+                active_priced_count = EXCLUDED.active_priced_count,
+                sell_seconds_sum = EXCLUDED.sell_seconds_sum,
+                sold_timed_count = EXCLUDED.sold_timed_count,
+                updated_at = EXCLUDED.updated_at
+            WHERE (dealer_stats.total_listings, dealer_stats.active_listings, dealer_stats.sold_count,
+                   dealer_stats.active_price_usd_sum, dealer_stats.active_priced_count,
+                   dealer_stats.sell_seconds_sum, dealer_stats.sold_timed_count)
+                  IS DISTINCT FROM
+                  (EXCLUDED.total_listings, EXCLUDED.active_listings, EXCLUDED.sold_count,
+                   EXCLUDED.active_price_usd_sum, EXCLUDED.active_priced_count,
+                   EXCLUDED.sell_seconds_sum, EXCLUDED.sold_timed_count)
+        RETURNING 1
+    ),
+    zeroed AS (
+        UPDATE dealer_stats ds
+           SET total_listings = 0, active_listings = 0, sold_count = 0, active_price_usd_sum = 0,
+               active_priced_count = 0, sell_seconds_sum = 0, sold_timed_count = 0,
+               updated_at = CURRENT_TIMESTAMP
+         WHERE (ds.total_listings <> 0 OR ds.active_priced_count <> 0 OR ds.sold_timed_count <> 0)
+           AND NOT EXISTS (SELECT 1 FROM fresh WHERE fresh.seller_id = ds.seller_id)
+        RETURNING 1
+    )
+    SELECT (SELECT count(*) FROM upserted) + (SELECT count(*) FROM zeroed) INTO changed;
+
+    IF changed > 0 THEN
+        UPDATE resource_versions
+           SET version = version + 1, updated_at = CURRENT_TIMESTAMP
+         WHERE name = 'dealers';
+    END IF;
+    RETURN changed;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Initial population
+SELECT dealer_stats_refresh();
@@ -0,0 +1,41 @@
+-- ============================================================================
+-- V75: Transactional outbox for outgoing email
+--
+-- EmailServiceImpl renders the message and inserts it here instead of talking
+-- to SMTP, on the caller's connection: a message written from a business
+-- transaction is committed or rolled back with it, and request latency no
+-- longer includes the SMTP round trips.
+--
+-- OutboxDispatcher drains the table. Workers claim batches with
+-- FOR UPDATE SKIP LOCKED, so several workers and nodes never claim the same
+-- row. A claim pushes available_at forward by a lease instead of holding the
+-- row lock during the SMTP exchange; a worker that dies mid-batch leaves its
+-- rows to be claimed again once the lease runs out (delivery is at least
+-- once). Failed sends are rescheduled with exponential backoff and end up
+-- FAILED after the configured number of attempts.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS outbox (
+    id BIGSERIAL PRIMARY KEY,
+    recipient VARCHAR(320) NOT NULL,
+    subject TEXT NOT NULL,
+    body TEXT NOT NULL,
+    html BOOLEAN NOT NULL DEFAULT false,
+    status VARCHAR(16) NOT NULL DEFAULT 'PENDING'
+        CHECK (status IN ('PENDING', 'SENT', 'FAILED')),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    available_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP,
+    last_error VARCHAR(1000)
+);
+
+-- Claim scan and backlog gauge: only the rows still to be delivered
+CREATE INDEX IF NOT EXISTS idx_outbox_pending
+    ON outbox (available_at, id)
+    WHERE status = 'PENDING';
+
+-- Retention purge of delivered rows
+CREATE INDEX IF NOT EXISTS idx_outbox_sent_at
+    ON outbox (sent_at)
+    WHERE status = 'SENT';
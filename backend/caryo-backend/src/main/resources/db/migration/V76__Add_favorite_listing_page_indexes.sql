@@ -0,0 +1,19 @@
+-- ============================================================================
+-- V76: Indexes for the paged favorites listing
+--
+-- GET /api/v1/favorites/listings reads a user's favorites newest first, one
+-- keyset page at a time ((created_at, id) < the previous page's last row),
+-- joined to the listing card columns and the card image of each listing.
+--   1. idx_favorites_user_created serves the keyset order directly, so a page
+--      reads only its own rows however many favorites the user has.
+--   2. idx_listing_media_card_image finds a listing's card image (primary
+--      first, then by sort order) among its approved images. listing_media had
+--      no index on listing_id at all.
+-- ============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_favorites_user_created
+    ON favorites (user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_listing_media_card_image
+    ON listing_media (listing_id, is_primary DESC, sort_order, id)
+    WHERE media_type = 'image' AND moderation_status = 'APPROVED';
@@ -0,0 +1,55 @@
+-- ============================================================================
+-- V77: Pooled sequence IDs for the high-volume tables
+--
+-- messages, listing_media, translations and favorites used identity columns.
+-- Hibernate has to run an identity insert on its own to read the generated
+-- key, so JDBC batching (hibernate.jdbc.batch_size) never applied to them and
+-- every saveAll went out one row per round trip.
+--
+-- Each table gets a <table>_id_seq sequence with INCREMENT BY 50, matching
+-- allocationSize = 50 on the entity. Hibernate's pooled optimizer treats each
+-- value it fetches as the top of a block of 50 IDs, so one nextval covers 50
+-- inserts, and those inserts can be batched.
+--   * The sequence is set to MAX(id) + 50, so the first block starts right
+--     after the existing rows.
+--   * The column default stays nextval(...) for plain SQL inserts. A value
+--     taken that way is the top of a block that Hibernate never hands out,
+--     so the two never collide. They only leave gaps.
+--   * DROP DEFAULT / DROP SEQUENCE IF EXISTS also cover databases where
+--     ddl-auto first created the table with a BIGSERIAL id.
+--
+-- saved_search_notifications uses UUID keys generated in memory and already
+-- batches.
+-- ============================================================================
+
+-- messages
+ALTER TABLE messages ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE messages ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS messages_id_seq;
+CREATE SEQUENCE messages_id_seq INCREMENT BY 50 OWNED BY messages.id;
+SELECT setval('messages_id_seq', COALESCE((SELECT MAX(id) FROM messages), 0) + 50, false);
+ALTER TABLE messages ALTER COLUMN id SET DEFAULT nextval('messages_id_seq');
+
+-- listing_media
+ALTER TABLE listing_media ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE listing_media ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS listing_media_id_seq;
+CREATE SEQUENCE listing_media_id_seq INCREMENT BY 50 OWNED BY listing_media.id;
+SELECT setval('listing_media_id_seq', COALESCE((SELECT MAX(id) FROM listing_media), 0) + 50, false);
+ALTER TABLE listing_media ALTER COLUMN id SET DEFAULT nextval('listing_media_id_seq');
+
+-- translations
+ALTER TABLE translations ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE translations ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS translations_id_seq;
+CREATE SEQUENCE translations_id_seq INCREMENT BY 50 OWNED BY translations.id;
+SELECT setval('translations_id_seq', COALESCE((SELECT MAX(id) FROM translations), 0) + 50, false);
+ALTER TABLE translations ALTER COLUMN id SET DEFAULT nextval('translations_id_seq');
+
+-- favorites
+ALTER TABLE favorites ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE favorites ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS favorites_id_seq;
+CREATE SEQUENCE favorites_id_seq INCREMENT BY 50 OWNED BY favorites.id;
+SELECT setval('favorites_id_seq', COALESCE((SELECT MAX(id) FROM favorites), 0) + 50, false);
+ALTER TABLE favorites ALTER COLUMN id SET DEFAULT nextval('favorites_id_seq');
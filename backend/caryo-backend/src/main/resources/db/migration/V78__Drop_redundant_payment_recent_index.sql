@@ -0,0 +1,9 @@
+-- ============================================================================
+-- V78: Drop the V53 recent-payments index
+--
+-- idx_payment_transactions_recent (created_at DESC) is covered as a prefix by
+-- V70's idx_payment_transactions_created_id (created_at, id), which serves
+-- newest-first reads by scanning backward. It only added write cost.
+-- ============================================================================
+
+DROP INDEX IF EXISTS idx_payment_transactions_recent;
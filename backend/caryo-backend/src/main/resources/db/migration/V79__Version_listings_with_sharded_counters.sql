@@ -0,0 +1,39 @@
+-- ============================================================================
+-- V79: Transactional listing-set version
+--
+-- V71 bumped listings_version_seq from the car_listings trigger. nextval() is
+-- not transactional: a list read between the bump and the writer's commit
+-- built the old body under the new version, and revalidations then got 304s
+-- for it until the next listing write.
+--
+-- The version is now the sum of 32 counter rows, bumped in the writing
+-- transaction like resource_versions, so it moves exactly when the write
+-- becomes visible. Each connection bumps the row picked by its backend PID,
+-- so concurrent listing writes only queue behind each other when their PIDs
+-- share a row, not on one counter as before V71.
+--
+-- Shard 0 starts at the sequence's last value so the version keeps rising and
+-- never comes back to a value an earlier ETag was built from.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS listing_version_shards (
+    shard SMALLINT PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO listing_version_shards (shard, version)
+SELECT s, CASE WHEN s = 0 THEN (SELECT last_value FROM listings_version_seq) ELSE 0 END
+FROM generate_series(0, 31) AS s
+ON CONFLICT (shard) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION bump_listings_version()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE listing_version_shards
+    SET version = version + 1
+    WHERE shard = pg_backend_pid() % 32;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP SEQUENCE IF EXISTS listings_version_seq;
@@ -0,0 +1,147 @@
+package com.caryo.marketplace.config.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replicaPool;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadYourWritesTracker readYourWrites;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        readYourWrites = new ReadYourWritesTracker(Duration.ofSeconds(10));
+        routing = new ReplicaRoutingDataSource(primary, List.of(new ReplicaRoutingDataSource.Replica("replica-1", replicaPool)),
+                readYourWrites, Duration.ofSeconds(2), meterRegistry);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Read-only connections come from a healthy replica")
+    void getConnection_UsesReplica() throws SQLException {
+        when(replicaPool.getConnection()).thenReturn(replicaConnection);
+
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+        assertThat(routedCount("replica-1", "replica")).isEqualTo(1);
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("A user who just wrote reads from the primary")
+    void getConnection_AfterOwnWrite_UsesPrimary() throws SQLException {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("seller", null, List.of()));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        readYourWrites.recordWrite();
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(routedCount("primary", "read-your-writes")).isEqualTo(1);
+        verify(replicaPool, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("A replica lagging beyond the limit is skipped until it catches up")
+    void getConnection_LaggingReplica_FallsBackToPrimary() throws SQLException {
+        stubLag(5.0);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        routing.checkReplicas();
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(routedCount("primary", "no-healthy-replica")).isEqualTo(1);
+        assertThat(meterRegistry.get("db.replica.lag").tag("pool", "replica-1").gauge().value()).isEqualTo(5.0);
+        assertThat(meterRegistry.get("db.replica.available").tag("pool", "replica-1").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("A replica that refuses connections is skipped until the next lag check")
+    void getConnection_UnreachableReplica_FallsBackToPrimary() throws SQLException {
+        when(replicaPool.getConnection()).thenThrow(new SQLException("connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        // Only the first attempt reached the pool
+        verify(replicaPool).getConnection();
+        assertThat(routedCount("primary", "no-healthy-replica")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A replica without a streaming WAL receiver is skipped whatever its replay position")
+    void getConnection_ReplicaNotStreaming_FallsBackToPrimary() throws SQLException {
+        ResultSet resultSet = stubLag(0.0);
+        when(resultSet.wasNull()).thenReturn(true);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        routing.checkReplicas();
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(routedCount("primary", "no-healthy-replica")).isEqualTo(1);
+        assertThat(meterRegistry.get("db.replica.available").tag("pool", "replica-1").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Connections with explicit credentials are routed like the others")
+    void getConnectionWithCredentials_UsesReplica() throws SQLException {
+        when(replicaPool.getConnection("reader", "secret")).thenReturn(replicaConnection);
+
+        assertThat(routing.getConnection("reader", "secret")).isSameAs(replicaConnection);
+        assertThat(routedCount("replica-1", "replica")).isEqualTo(1);
+    }
+
+    private ResultSet stubLag(double seconds) throws SQLException {
+        Connection probeConnection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replicaPool.getConnection()).thenReturn(probeConnection);
+        when(probeConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(seconds);
+        return resultSet;
+    }
+
+    private double routedCount(String pool, String reason) {
+        return meterRegistry.get("db.read.routing").tag("pool", pool).tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,168 @@
+package com.caryo.marketplace.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Wires the routing the way ReplicaDataSourceConfig does, over two PostgreSQL
+ * containers, and checks which database each kind of transaction reaches. The
+ * "replica" is a standalone server told apart by its database name; its lag
+ * probe reports 0 because it is not in recovery. The JPA cases bind one
+ * EntityManager across several transactions, as open-in-view does for a
+ * request.
+ */
+@Testcontainers
+@DisplayName("Replica routing integration tests")
+class ReplicaRoutingIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> primaryDb = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("primarydb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Container
+    static PostgreSQLContainer<?> replicaDb = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("replicadb")
+            .withUsername("test")
+            .withPassword("test");
+
+    private static HikariDataSource primaryPool;
+    private static ReplicaRoutingDataSource routing;
+    private static TransactionTemplate readWrite;
+    private static TransactionTemplate readOnly;
+    private static JdbcTemplate jdbcTemplate;
+    private static EntityManagerFactory entityManagerFactory;
+    private static TransactionTemplate jpaReadWrite;
+    private static TransactionTemplate jpaReadOnly;
+
+    @BeforeAll
+    static void setUp() {
+        primaryPool = pool(primaryDb);
+        ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(Duration.ofSeconds(10));
+        routing = new ReplicaRoutingDataSource(primaryPool,
+                List.of(new ReplicaRoutingDataSource.Replica("replica-1", pool(replicaDb))),
+                readYourWrites, Duration.ofSeconds(2), new SimpleMeterRegistry());
+        LazyConnectionDataSourceProxy dataSource =
+                new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primaryPool, readYourWrites));
+        dataSource.setReadOnlyDataSource(routing);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setPackagesToScan(ReplicaRoutingIntegrationTest.class.getPackageName());
+        factory.setJpaPropertyMap(Map.of(AvailableSettings.CONNECTION_HANDLING, ReplicaDataSourceConfig.CONNECTION_HANDLING));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        JpaTransactionManager jpaTransactionManager = new JpaTransactionManager(entityManagerFactory);
+        jpaReadWrite = new TransactionTemplate(jpaTransactionManager);
+        jpaReadOnly = new TransactionTemplate(jpaTransactionManager);
+        jpaReadOnly.setReadOnly(true);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        entityManagerFactory.close();
+        routing.close();
+        primaryPool.close();
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions read from the replica, read-write ones from the primary")
+    void routesByTransactionReadOnlyFlag() {
+        routing.checkReplicas();
+
+        assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("replicadb");
+        assertThat(readWrite.execute(status -> currentDatabase())).isEqualTo("primarydb");
+    }
+
+    @Test
+    @DisplayName("After writing, the same user reads from the primary; others still read from the replica")
+    void readYourWrites() {
+        signIn("seller");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.execute("CREATE TEMP TABLE t (id int)"));
+
+        assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("primarydb");
+
+        signIn("buyer");
+        assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("replicadb");
+    }
+
+    @Test
+    @DisplayName("Under open-in-view, a write after a read-only transaction in the same request goes to the primary")
+    void openEntityManagerInView_ReadThenWrite_WritesToPrimary() {
+        routing.checkReplicas();
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        // What OpenEntityManagerInViewInterceptor binds for the duration of a request
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            assertThat(jpaReadOnly.execute(status -> currentDatabase(entityManager))).isEqualTo("replicadb");
+            assertThat(jpaReadWrite.execute(status -> currentDatabase(entityManager))).isEqualTo("primarydb");
+            assertThat(jpaReadOnly.execute(status -> currentDatabase(entityManager))).isEqualTo("replicadb");
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    private static String currentDatabase(EntityManager entityManager) {
+        return (String) entityManager.createNativeQuery("SELECT current_database()").getSingleResult();
+    }
+
+    private static String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT current_database()", String.class);
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private static HikariDataSource pool(PostgreSQLContainer<?> container) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(container.getJdbcUrl());
+        pool.setUsername(container.getUsername());
+        pool.setPassword(container.getPassword());
+        pool.setMaximumPoolSize(2);
+        return pool;
+    }
+}
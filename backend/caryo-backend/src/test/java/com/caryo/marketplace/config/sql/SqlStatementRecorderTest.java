@@ -0,0 +1,89 @@
+package com.caryo.marketplace.config.sql;
+
+import com.caryo.marketplace.config.sql.SqlStatementRecorder.Recording;
+import com.caryo.marketplace.test.QueryBudget;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlStatementRecorderTest {
+
+    @Test
+    @DisplayName("Statements differing only in literals and IN lists share a shape")
+    void shapeCollapsesLiteralsAndParameterLists() {
+        assertThat(SqlStatementRecorder.shape("select * from users u where u.id = 42 and u.name = 'O''Brien'"))
+                .isEqualTo("select * from users u where u.id = ? and u.name = ?");
+        assertThat(SqlStatementRecorder.shape("select * from roles where user_id in (?, ?, ?)"))
+                .isEqualTo(SqlStatementRecorder.shape("select *\n  from roles where user_id in (?,?)"));
+        assertThat(SqlStatementRecorder.shape("select t1_0.id from car_listings t1_0"))
+                .isEqualTo("select t1_0.id from car_listings t1_0");
+    }
+
+    @Test
+    @DisplayName("Nothing is recorded without an open recording")
+    void noRecordingIsANoOp() {
+        SqlStatementRecorder.statement("select 1");
+        SqlStatementRecorder.entityLoaded();
+
+        try (Recording recording = SqlStatementRecorder.start()) {
+            assertThat(recording.getStatementCount()).isZero();
+            assertThat(recording.getEntityLoads()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Nested recordings both see statements run while they are open")
+    void recordingsNest() {
+        try (Recording outer = SqlStatementRecorder.start()) {
+            SqlStatementRecorder.statement("select 1");
+            try (Recording inner = SqlStatementRecorder.start()) {
+                SqlStatementRecorder.statement("select 2");
+                SqlStatementRecorder.entityLoaded();
+                SqlStatementRecorder.executed(1_000);
+
+                assertThat(inner.getStatementCount()).isEqualTo(1);
+            }
+            SqlStatementRecorder.statement("select 3");
+
+            assertThat(outer.getStatementCount()).isEqualTo(3);
+            assertThat(outer.getEntityLoads()).isEqualTo(1);
+            assertThat(outer.getDbNanos()).isEqualTo(1_000);
+            assertThat(outer.getStatements()).containsExactly("select 1", "select 2", "select 3");
+        }
+    }
+
+    @Test
+    @DisplayName("Shapes run at least the threshold times are reported as repeated")
+    void repeatedShapes() {
+        try (Recording recording = SqlStatementRecorder.start()) {
+            SqlStatementRecorder.statement("select * from conversations where user_id = ?");
+            for (int i = 0; i < 3; i++) {
+                SqlStatementRecorder.statement("select * from users where id = " + i);
+            }
+
+            Map<String, Integer> repeated = recording.repeatedShapes(3);
+
+            assertThat(repeated).containsExactly(Map.entry("select * from users where id = ?", 3));
+            assertThat(recording.repeatedShapes(4)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("assertMaxQueries fails with the shapes when over budget")
+    void assertMaxQueriesFailsOverBudget() {
+        Recording within = QueryBudget.assertMaxQueries(1, () -> SqlStatementRecorder.statement("select 1"));
+        assertThat(within.getStatementCount()).isEqualTo(1);
+
+        assertThatThrownBy(() -> QueryBudget.assertMaxQueries(1, () -> {
+            SqlStatementRecorder.statement("select * from users where id = 1");
+            SqlStatementRecorder.statement("select * from users where id = 2");
+        }))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("at most 1 SQL statements but 2 ran")
+                .hasMessageContaining("2x select * from users where id = ?");
+    }
+}
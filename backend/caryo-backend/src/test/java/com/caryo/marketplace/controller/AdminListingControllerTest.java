@@ -1,8 +1,12 @@
 package com.caryo.marketplace.controller;
 
+import com.caryo.marketplace.exception.BadRequestException;
 import com.caryo.marketplace.exception.ResourceNotFoundException;
 import com.caryo.marketplace.payload.response.CarListingResponse;
 import com.caryo.marketplace.service.CarListingStatusService;
+import com.caryo.marketplace.service.moderation.BulkListingResult;
+import com.caryo.marketplace.service.moderation.BulkModerationService;
+import com.caryo.marketplace.service.moderation.ListingBulkAction;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,6 +16,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,6 +28,9 @@ public class AdminListingControllerTest {
     @Mock
     private CarListingStatusService carListingStatusService;
 
+    @Mock
+    private BulkModerationService bulkModerationService;
+
     @InjectMocks
     private AdminListingController adminListingController;
 
@@ -238,4 +246,26 @@ public class AdminListingControllerTest {
         assertTrue(body.containsKey("message"));
         verify(carListingStatusService).unarchiveListingByAdmin(validListingId);
     }
+
+    @Test
+    void bulkListingAction_Success() {
+        AdminListingController.BulkListingRequest request = new AdminListingController.BulkListingRequest();
+        request.setIds(List.of(1L, 2L, 3L));
+        BulkListingResult result = new BulkListingResult("archive", 3, List.of(1L, 3L));
+        when(bulkModerationService.applyToListings(ListingBulkAction.ARCHIVE, request.getIds())).thenReturn(result);
+
+        ResponseEntity<BulkListingResult> response = adminListingController.bulkListingAction("archive", request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
+    @Test
+    void bulkListingAction_UnknownAction() {
+        AdminListingController.BulkListingRequest request = new AdminListingController.BulkListingRequest();
+        request.setIds(List.of(1L));
+
+        assertThrows(BadRequestException.class, () -> adminListingController.bulkListingAction("delete", request));
+        verifyNoInteractions(bulkModerationService);
+    }
 }
@@ -3,10 +3,12 @@ package com.caryo.marketplace.controller;
 import com.caryo.marketplace.exception.dealer.DealerNotFoundException;
 import com.caryo.marketplace.model.Dealer;
 import com.caryo.marketplace.model.User;
+import com.caryo.marketplace.payload.response.DealerEngagementResponse;
 import com.caryo.marketplace.payload.response.DealerProfileResponse;
 import com.caryo.marketplace.security.services.UserDetailsImpl;
 import com.caryo.marketplace.service.DealerService;
 import com.caryo.marketplace.service.DealerTrialService;
+import com.caryo.marketplace.service.engagement.ListingEngagementService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,6 +22,7 @@ import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,6 +41,9 @@ class DealerControllerTest {
     @Mock
     private DealerTrialService dealerTrialService;
 
+    @Mock
+    private ListingEngagementService listingEngagementService;
+
     @InjectMocks
     private DealerController dealerController;
 
@@ -327,4 +333,37 @@ class DealerControllerTest {
                     dealerController.canCreateListing(userDetails));
         }
     }
+
+    @Nested
+    @DisplayName("GET /api/dealer/stats")
+    class GetEngagementStats {
+
+        @Test
+        @DisplayName("Should return the authenticated seller's engagement statistics")
+        void getEngagementStats_Success() {
+            // Arrange
+            DealerEngagementResponse stats = new DealerEngagementResponse(
+                new DealerEngagementResponse.EngagementCounts(120, 900, 6, 3), List.of(), List.of());
+            when(listingEngagementService.getSellerEngagement(TEST_USER_ID, 30)).thenReturn(stats);
+
+            // Act
+            ResponseEntity<DealerEngagementResponse> response = dealerController.getEngagementStats(userDetails, 30);
+
+            // Assert
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertSame(stats, response.getBody());
+        }
+
+        @Test
+        @DisplayName("Should clamp the daily breakdown to 1..90 days")
+        void getEngagementStats_ClampsDays() {
+            // Act
+            dealerController.getEngagementStats(userDetails, 365);
+            dealerController.getEngagementStats(userDetails, 0);
+
+            // Assert
+            verify(listingEngagementService).getSellerEngagement(TEST_USER_ID, 90);
+            verify(listingEngagementService).getSellerEngagement(TEST_USER_ID, 1);
+        }
+    }
 }
@@ -38,7 +38,9 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -246,8 +248,8 @@ class AdminPaymentControllerTest {
         @WithMockAdmin
         @DisplayName("Should search by transaction ID")
         void shouldSearchByTransactionId() throws Exception {
-            when(paymentService.searchPayments(eq("TXN-001"), any(), any(), any(), any()))
-                .thenReturn(List.of(testTransaction));
+            when(paymentService.searchPayments(argThat(c -> "TXN-001".equals(c.transactionId())), any(), anyInt()))
+                .thenReturn(new PaymentSearchPage(List.of(testTransaction), null));
 
             mockMvc.perform(get("/api/v1/admin/payments/search")
                     .param("transactionId", "TXN-001"))
@@ -261,8 +263,8 @@ class AdminPaymentControllerTest {
         @WithMockAdmin
         @DisplayName("Should search by status")
         void shouldSearchByStatus() throws Exception {
-            when(paymentService.searchPayments(any(), eq("PENDING_VERIFICATION"), any(), any(), any()))
-                .thenReturn(List.of(testTransaction));
+            when(paymentService.searchPayments(argThat(c -> c.status() == PaymentStatus.PENDING_VERIFICATION), any(), anyInt()))
+                .thenReturn(new PaymentSearchPage(List.of(testTransaction), null));
 
             mockMvc.perform(get("/api/v1/admin/payments/search")
                     .param("status", "PENDING_VERIFICATION"))
@@ -275,8 +277,8 @@ class AdminPaymentControllerTest {
         @WithMockAdmin
         @DisplayName("Should return empty results for no matches")
         void shouldReturnEmptyForNoMatches() throws Exception {
-            when(paymentService.searchPayments(any(), any(), any(), any(), any()))
-                .thenReturn(List.of());
+            when(paymentService.searchPayments(any(), any(), anyInt()))
+                .thenReturn(new PaymentSearchPage(List.of(), null));
 
             mockMvc.perform(get("/api/v1/admin/payments/search")
                     .param("dealerEmail", "nobody@example.com"))
@@ -290,8 +292,8 @@ class AdminPaymentControllerTest {
         @WithMockAdmin
         @DisplayName("Should handle no params without NPE")
         void shouldHandleNoParamsWithoutNpe() throws Exception {
-            when(paymentService.searchPayments(any(), any(), any(), any(), any()))
-                .thenReturn(List.of(testTransaction));
+            when(paymentService.searchPayments(any(), any(), anyInt()))
+                .thenReturn(new PaymentSearchPage(List.of(testTransaction), null));
 
             mockMvc.perform(get("/api/v1/admin/payments/search"))
                 .andExpect(status().isOk())
@@ -313,13 +315,52 @@ class AdminPaymentControllerTest {
         @WithMockAdmin
         @DisplayName("Should return error for invalid status")
         void shouldReturnErrorForInvalidStatus() throws Exception {
-            when(paymentService.searchPayments(any(), eq("INVALID_STATUS"), any(), any(), any()))
-                .thenThrow(new IllegalArgumentException("No enum constant PaymentStatus.INVALID_STATUS"));
-
             mockMvc.perform(get("/api/v1/admin/payments/search")
                     .param("status", "INVALID_STATUS"))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("INVALID_STATUS"));
+
+            verify(paymentService, never()).searchPayments(any(), any(), anyInt());
+        }
+
+        @Test
+        @WithMockAdmin
+        @DisplayName("Should pass cursor and limit through and return the next cursor")
+        void shouldReturnNextCursor() throws Exception {
+            when(paymentService.searchPayments(any(), eq("abc"), eq(20)))
+                .thenReturn(new PaymentSearchPage(List.of(testTransaction), "next-token"));
+
+            mockMvc.perform(get("/api/v1/admin/payments/search")
+                    .param("cursor", "abc")
+                    .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"));
+        }
+
+        @Test
+        @WithMockAdmin
+        @DisplayName("Should return error for a malformed cursor")
+        void shouldReturnErrorForInvalidCursor() throws Exception {
+            when(paymentService.searchPayments(any(), eq("garbage"), anyInt()))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+            mockMvc.perform(get("/api/v1/admin/payments/search")
+                    .param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_CURSOR"));
+        }
+
+        @Test
+        @WithMockAdmin
+        @DisplayName("Should reject an export with an invalid date before streaming")
+        void shouldRejectExportWithInvalidDate() throws Exception {
+            mockMvc.perform(get("/api/v1/admin/payments/export")
+                    .param("dateFrom", "not-a-date"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_DATE_FORMAT"));
+
+            verify(paymentService, never()).exportPaymentsCsv(any(), any());
         }
 
         @Test
@@ -26,8 +26,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 /**
  * Boots the FULL application context against real infrastructure (PostgreSQL
  * + Redis via Testcontainers) with production-like wiring: Flyway migrations,
- * the Redis-backed cache manager, and every CommandLineRunner (including the
- * reference-data initializers).
+ * the Redis-backed cache manager, and every startup task (including the
+ * reference-data initializers and the S3 bucket check).
  *
  * This exists because nothing else exercises a real boot: unit tests run on
  * H2 with the simple cache, and the e2e suite reuses whatever backend
@@ -3,13 +3,10 @@ package com.caryo.marketplace.listeners;
 import com.caryo.marketplace.events.ListingExpiredEvent;
 import com.caryo.marketplace.model.CarListing;
 import com.caryo.marketplace.model.User;
-import com.caryo.marketplace.service.AsyncTransactionService;
 import com.caryo.marketplace.service.EmailService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -23,22 +20,16 @@ class ListingExpiredListenerTest {
     @Mock
     private ListingEventUtils eventUtils;
 
-    @Mock
-    private AsyncTransactionService txService;
-
     @Mock
     private EmailService emailService;
 
-    @Captor
-    private ArgumentCaptor<Runnable> runnableCaptor;
-
     private ListingExpiredListener listener;
     private CarListing carListing;
     private User seller;
 
     @BeforeEach
     void setUp() {
-        listener = new ListingExpiredListener(eventUtils, txService, emailService);
+        listener = new ListingExpiredListener(eventUtils, emailService);
 
         seller = new User();
         seller.setId(1L);
@@ -51,7 +42,7 @@ class ListingExpiredListenerTest {
     }
 
     @Test
-    void handleListingExpired_shouldExecuteInTransaction() {
+    void handleListingExpired_shouldProcessEvent() {
         // Arrange
         ListingExpiredEvent event = new ListingExpiredEvent(this, carListing, false);
         when(eventUtils.getListingInfo(any(CarListing.class)))
@@ -61,12 +52,7 @@ class ListingExpiredListenerTest {
         listener.handleListingExpired(event);
 
         // Assert
-        verify(txService).executeInTransaction(runnableCaptor.capture());
-
-        // Execute the captured runnable
-        runnableCaptor.getValue().run();
-
-        // Verify that the transaction block executed correctly
+        // Verify that the handler body executed
         verify(eventUtils).getListingInfo(carListing);
     }
 
@@ -74,7 +60,7 @@ class ListingExpiredListenerTest {
     void handleListingExpired_withNullEvent_shouldThrowException() {
         // Act & Assert
         assertThrows(NullPointerException.class, () -> listener.handleListingExpired(null));
-        verifyNoInteractions(txService);
+        verifyNoInteractions(eventUtils, emailService);
     }
 
     @Test
@@ -89,11 +75,6 @@ class ListingExpiredListenerTest {
         listener.handleListingExpired(event);
 
         // Assert
-        verify(txService).executeInTransaction(runnableCaptor.capture());
-
-        // Execute the captured runnable - should not throw exception despite null seller
-        runnableCaptor.getValue().run();
-
         verify(eventUtils).getListingInfo(carListing);
     }
 }
@@ -3,13 +3,10 @@ package com.caryo.marketplace.listeners;
 import com.caryo.marketplace.events.ListingRenewalInitiatedEvent;
 import com.caryo.marketplace.model.CarListing;
 import com.caryo.marketplace.model.User;
-import com.caryo.marketplace.service.AsyncTransactionService;
 import com.caryo.marketplace.service.EmailService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -23,15 +20,9 @@ class ListingRenewalInitiatedListenerTest {
     @Mock
     private ListingEventUtils eventUtils;
 
-    @Mock
-    private AsyncTransactionService txService;
-
     @Mock
     private EmailService emailService;
 
-    @Captor
-    private ArgumentCaptor<Runnable> runnableCaptor;
-
     private ListingRenewalInitiatedListener listener;
     private CarListing carListing;
     private User seller;
@@ -40,7 +31,7 @@ class ListingRenewalInitiatedListenerTest {
 
     @BeforeEach
     void setUp() {
-        listener = new ListingRenewalInitiatedListener(eventUtils, txService, emailService);
+        listener = new ListingRenewalInitiatedListener(eventUtils, emailService);
 
         seller = new User();
         seller.setId(1L);
@@ -55,7 +46,7 @@ class ListingRenewalInitiatedListenerTest {
     }
 
     @Test
-    void handleListingRenewalInitiated_shouldExecuteInTransaction() {
+    void handleListingRenewalInitiated_shouldProcessEvent() {
         // Arrange
         when(eventUtils.getListingInfo(any(CarListing.class)))
             .thenReturn("listing ID: " + carListing.getId() + ", Title: " + carListing.getTitle());
@@ -64,12 +55,7 @@ class ListingRenewalInitiatedListenerTest {
         listener.handleListingRenewalInitiated(event);
 
         // Assert
-        verify(txService).executeInTransaction(runnableCaptor.capture());
-
-        // Execute the captured runnable
-        runnableCaptor.getValue().run();
-
-        // Verify that the transaction block executed correctly
+        // Verify that the handler body executed
         verify(eventUtils).getListingInfo(carListing);
     }
 
@@ -77,7 +63,7 @@ class ListingRenewalInitiatedListenerTest {
     void handleListingRenewalInitiated_withNullEvent_shouldThrowException() {
         // Act & Assert
         assertThrows(NullPointerException.class, () -> listener.handleListingRenewalInitiated(null));
-        verifyNoInteractions(txService);
+        verifyNoInteractions(eventUtils, emailService);
     }
 
     @Test
@@ -90,11 +76,6 @@ class ListingRenewalInitiatedListenerTest {
         listener.handleListingRenewalInitiated(event);
 
         // Assert
-        verify(txService).executeInTransaction(runnableCaptor.capture());
-
-        // Execute the captured runnable
-        runnableCaptor.getValue().run();
-
         // Verify that the log includes duration information
         verify(eventUtils).getListingInfo(carListing);
 
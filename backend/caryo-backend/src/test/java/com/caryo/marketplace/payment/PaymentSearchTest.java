@@ -0,0 +1,186 @@
+package com.caryo.marketplace.payment;
+
+import com.caryo.marketplace.model.Dealer;
+import com.caryo.marketplace.model.User;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the admin payment search and CSV export as real queries: filters,
+ * newest-first keyset paging (including ties on created_at) and CSV output.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Admin payment search")
+class PaymentSearchTest {
+
+    private static final ZonedDateTime BASE = ZonedDateTime.of(2025, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PaymentTransactionRepository transactionRepository;
+
+    private PaymentService paymentService;
+    private Dealer alice;
+    private Dealer bob;
+
+    @BeforeEach
+    void setUp() {
+        // Only the repository is used by search and export
+        paymentService = new PaymentService(List.of(), transactionRepository, null, null, null);
+        ReflectionTestUtils.setField(paymentService, "entityManager", entityManager.getEntityManager());
+        alice = createDealer("alice", "Alice@Example.com");
+        bob = createDealer("bob", "bob@example.com");
+    }
+
+    @Test
+    @DisplayName("keyset pages return every match once, newest first, across created_at ties")
+    void keysetPaging_coversAllRowsInOrder() {
+        createPayment("TXN-1", alice, PaymentStatus.COMPLETED, BASE.plusMinutes(1));
+        createPayment("TXN-2", alice, PaymentStatus.COMPLETED, BASE.plusMinutes(2));
+        createPayment("TXN-3a", bob, PaymentStatus.COMPLETED, BASE.plusMinutes(3));
+        createPayment("TXN-3b", bob, PaymentStatus.COMPLETED, BASE.plusMinutes(3));
+        createPayment("TXN-4", alice, PaymentStatus.COMPLETED, BASE.plusMinutes(4));
+        entityManager.clear();
+
+        PaymentSearchCriteria criteria = PaymentSearchCriteria.of(null, null, null, null, null);
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            PaymentSearchPage page = paymentService.searchPayments(criteria, cursor, 2);
+            page.results().forEach(t -> seen.add(t.getTransactionId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        // Equal created_at falls back to id descending
+        assertThat(seen).containsExactly("TXN-4", "TXN-3b", "TXN-3a", "TXN-2", "TXN-1");
+    }
+
+    @Test
+    @DisplayName("status, dealer email and date range filters combine in the query")
+    void filters_combine() {
+        createPayment("TXN-A1", alice, PaymentStatus.COMPLETED, BASE.plusDays(1));
+        createPayment("TXN-A2", alice, PaymentStatus.FAILED, BASE.plusDays(2));
+        createPayment("TXN-A3", alice, PaymentStatus.COMPLETED, BASE.plusDays(10));
+        createPayment("TXN-B1", bob, PaymentStatus.COMPLETED, BASE.plusDays(1));
+        entityManager.clear();
+
+        PaymentSearchCriteria criteria = PaymentSearchCriteria.of(
+                null, "completed", "alice@example.com", BASE, BASE.plusDays(5));
+
+        PaymentSearchPage page = paymentService.searchPayments(criteria, null, 50);
+
+        assertThat(page.results()).extracting(PaymentTransaction::getTransactionId).containsExactly("TXN-A1");
+        assertThat(page.hasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("a transaction ID matches exactly one transaction")
+    void transactionId_matchesExactly() {
+        createPayment("TXN-X", alice, PaymentStatus.PENDING, BASE);
+        createPayment("TXN-Y", alice, PaymentStatus.PENDING, BASE.plusMinutes(1));
+        entityManager.clear();
+
+        PaymentSearchPage page = paymentService.searchPayments(
+                PaymentSearchCriteria.of("TXN-X", null, null, null, null), null, 50);
+
+        assertThat(page.results()).extracting(PaymentTransaction::getTransactionId).containsExactly("TXN-X");
+    }
+
+    @Test
+    @DisplayName("CSV export writes a header and one escaped row per match with the dealer email")
+    void exportCsv_writesRows() throws Exception {
+        PaymentTransaction failed = createPayment("TXN-C1", alice, PaymentStatus.FAILED, BASE);
+        failed.setErrorCode("=DECLINED, retry");
+        entityManager.persistAndFlush(failed);
+        createPayment("TXN-C2", bob, PaymentStatus.COMPLETED, BASE.plusMinutes(1));
+        entityManager.clear();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = paymentService.exportPaymentsCsv(
+                PaymentSearchCriteria.of(null, null, null, null, null), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(written).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("transaction_id,created_at,status,amount");
+        assertThat(lines[1]).startsWith("TXN-C2,").contains(",bob@example.com,");
+        assertThat(lines[2]).startsWith("TXN-C1,").endsWith(",\"'=DECLINED, retry\"");
+        // Exported rows are not kept in the persistence context
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("a cursor round-trips and a forged one is rejected")
+    void cursor_roundTripsAndRejectsGarbage() {
+        PaymentSearchCursor cursor = new PaymentSearchCursor(BASE.withNano(123_456_000), 42L);
+
+        PaymentSearchCursor decoded = PaymentSearchCursor.decode(cursor.encode());
+
+        assertThat(decoded.createdAt().toInstant()).isEqualTo(cursor.createdAt().toInstant());
+        assertThat(decoded.id()).isEqualTo(42L);
+        assertThatThrownBy(() -> PaymentSearchCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Dealer createDealer(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("password");
+        user = entityManager.persistAndFlush(user);
+
+        Dealer dealer = Dealer.builder()
+                .user(user)
+                .businessName(username + " Motors")
+                .build();
+        return entityManager.persistAndFlush(dealer);
+    }
+
+    private PaymentTransaction createPayment(String transactionId, Dealer dealer, PaymentStatus status,
+                                             ZonedDateTime createdAt) {
+        PaymentTransaction transaction = PaymentTransaction.builder()
+                .transactionId(transactionId)
+                .dealer(dealer)
+                .amount(new BigDecimal("100.00"))
+                .currency(Currency.USD)
+                .status(status)
+                .paymentMethod(PaymentMethod.BANK_TRANSFER)
+                .providerType(PaymentProviderType.MANUAL_TRANSFER)
+                .paymentType("subscription")
+                .build();
+        transaction = entityManager.persistAndFlush(transaction);
+
+        // created_at is set by @CreationTimestamp on insert; pin it for ordering
+        entityManager.getEntityManager()
+                .createQuery("UPDATE PaymentTransaction pt SET pt.createdAt = :createdAt WHERE pt.id = :id")
+                .setParameter("createdAt", createdAt)
+                .setParameter("id", transaction.getId())
+                .executeUpdate();
+        entityManager.refresh(transaction);
+        return transaction;
+    }
+}
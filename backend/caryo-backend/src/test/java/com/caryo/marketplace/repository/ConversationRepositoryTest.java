@@ -17,6 +17,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import static com.caryo.marketplace.test.QueryBudget.assertMaxQueries;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
@@ -147,6 +148,16 @@ class ConversationRepositoryTest {
         assertEquals(conversation1.getId(), buyerConversations.getContent().get(1).getId());
     }
 
+    @Test
+    @DisplayName("Should page conversations by user without loading their associations")
+    void shouldPageConversationsByUserWithinQueryBudget() {
+        entityManager.clear();
+
+        // The page query and at most its count query; buyer, seller and listing stay lazy
+        assertMaxQueries(2, () -> assertEquals(3,
+                conversationRepository.findByUser(seller, PageRequest.of(0, 10)).getContent().size()));
+    }
+
     @Test
     @DisplayName("Should find conversations where user is buyer")
     void shouldFindConversationsWhereUserIsBuyer() {
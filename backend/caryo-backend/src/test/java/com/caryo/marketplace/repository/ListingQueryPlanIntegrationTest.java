@@ -0,0 +1,339 @@
+package com.caryo.marketplace.repository;
+
+import com.caryo.marketplace.config.sql.SqlStatementRecorder;
+import com.caryo.marketplace.model.*;
+import com.caryo.marketplace.payload.request.ListingFilterRequest;
+import com.caryo.marketplace.repository.specification.CarListingSpecification;
+import com.caryo.marketplace.repository.specification.ListingFilterIds;
+import com.caryo.marketplace.repository.specification.UsdPriceRange;
+import com.caryo.marketplace.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-plan regression suite for the live-listing access paths.
+ *
+ * <p>Seeds a few tens of thousands of listings into a real PostgreSQL, applies the
+ * V66/V68/V69 partial indexes on top of the Hibernate schema, ANALYZEs, and asserts that
+ * EXPLAIN never picks a sequential scan of car_listings for the hot queries.
+ * Each query is built with CarListingSpecification as the listing search builds it,
+ * run through the repository, and the SQL Hibernate sent is captured with
+ * {@link SqlStatementRecorder} and EXPLAINed, so a change to the specification that
+ * stops the planner from matching a partial index fails here.</p>
+ */
+@DataJpaTest
+@Testcontainers
+@ActiveProfiles("integration")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Listing Query Plan Integration Tests")
+class ListingQueryPlanIntegrationTest {
+
+    private static final int SEEDED_LISTINGS = 60_000;
+    private static final int BRANDS = 8;
+    private static final int MODELS_PER_BRAND = 4;
+    private static final int GOVERNORATES = 14;
+
+    private static final int PAGE_SIZE = 20;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+        // Render criteria values as literals so the captured SQL can be EXPLAINed as is
+        registry.add("spring.jpa.properties.hibernate.criteria.value_handling_mode", () -> "inline");
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private GovernorateRepository governorateRepository;
+
+    @Autowired
+    private CarBrandRepository carBrandRepository;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarListingRepository carListingRepository;
+
+    private static boolean seeded = false;
+    private static final Map<String, Long> governorateIdsBySlug = new HashMap<>();
+    private static final Map<String, Long> brandIdsBySlug = new HashMap<>();
+    private static final Map<String, Long> modelIdsBySlug = new HashMap<>();
+
+    /**
+     * Seeds reference data through the repositories (committed, since the class runs
+     * without a test transaction), multiplies one template listing with generate_series,
+     * then applies the V66, V68 and V69 migrations exactly as shipped (V68 backfills brand_id,
+     * V69 the normalized USD price).
+     */
+    @BeforeEach
+    void seed() throws Exception {
+        if (seeded) return;
+
+        User seller = userRepository.save(TestDataBuilder.createValidUser("plan-seller", "plan-seller@example.com"));
+        Country country = countryRepository.save(TestDataBuilder.createTestCountry());
+
+        Governorate firstGovernorate = null;
+        for (int g = 0; g < GOVERNORATES; g++) {
+            Governorate governorate = TestDataBuilder.createTestGovernorate();
+            governorate.setSlug("governorate-" + g);
+            governorate.setDisplayNameEn("Governorate " + g);
+            governorate.setCountry(country);
+            governorate = governorateRepository.save(governorate);
+            governorateIdsBySlug.put(governorate.getSlug(), governorate.getId());
+            if (firstGovernorate == null) firstGovernorate = governorate;
+        }
+
+        CarModel firstModel = null;
+        for (int b = 0; b < BRANDS; b++) {
+            CarBrand brand = TestDataBuilder.createTestCarBrand();
+            brand.setName("Brand " + b);
+            brand.setDisplayNameEn("Brand " + b);
+            brand.setSlug("brand-" + b);
+            brand = carBrandRepository.save(brand);
+            brandIdsBySlug.put(brand.getSlug(), brand.getId());
+            for (int m = 0; m < MODELS_PER_BRAND; m++) {
+                CarModel model = TestDataBuilder.createTestCarModel();
+                model.setName("Model " + b + "-" + m);
+                model.setDisplayNameEn("Model " + b + "-" + m);
+                model.setSlug("model-" + b + "-" + m);
+                model.setBrand(brand);
+                model = carModelRepository.save(model);
+                modelIdsBySlug.put(model.getSlug(), model.getId());
+                if (firstModel == null) firstModel = model;
+            }
+        }
+
+        CarListing template = TestDataBuilder.createValidCarListing(seller);
+        template.setModel(firstModel);
+        template.setGovernorate(firstGovernorate);
+        template.setPrice(BigDecimal.valueOf(15000));
+        template.setApproved(true);
+        template.setSold(false);
+        template.setArchived(false);
+        carListingRepository.save(template);
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(true);
+            try (Statement stmt = conn.createStatement()) {
+                // ~70% of rows end up live; keys spread evenly across models, governorates and years
+                stmt.execute("""
+                    WITH template AS (SELECT * FROM car_listings ORDER BY id LIMIT 1),
+                         m AS (SELECT array_agg(id ORDER BY id) AS ids FROM models),
+                         gv AS (SELECT array_agg(id ORDER BY id) AS ids FROM governorates)
+                    INSERT INTO car_listings
+                    SELECT (jsonb_populate_record(NULL::car_listings, to_jsonb(t) || jsonb_build_object(
+                            'id', 1000000 + g,
+                            'model_id', m.ids[1 + g %% array_length(m.ids, 1)],
+                            'governorate_id', gv.ids[1 + g %% array_length(gv.ids, 1)],
+                            'model_year', 1990 + g %% 35,
+                            'price', 1000 + (g * 37) %% 90000,
+                            'approved', g %% 10 <> 0,
+                            'sold', g %% 7 = 0,
+                            'archived', g %% 11 = 0,
+                            'created_at', (TIMESTAMP '2025-01-01' - make_interval(mins => g))))).*
+                    FROM template t, m, gv, generate_series(1, %d) g
+                    """.formatted(SEEDED_LISTINGS));
+
+                for (String migration : new String[] {
+                        "db/migration/V66__Add_live_listing_partial_indexes.sql",
+                        "db/migration/V68__Add_denormalized_brand_and_seller_type_ids.sql",
+                        "db/migration/V69__Add_fx_rates_and_normalized_listing_price.sql"}) {
+                    stmt.execute(new ClassPathResource(migration).getContentAsString(StandardCharsets.UTF_8));
+                }
+
+                stmt.execute("ANALYZE car_listings");
+                stmt.execute("ANALYZE models");
+                stmt.execute("ANALYZE makes");
+                stmt.execute("ANALYZE governorates");
+            }
+        }
+        seeded = true;
+    }
+
+    /**
+     * Runs the search the way CarListingQueryService builds it (the filter specification
+     * plus the mandatory live-listing predicates), records the SQL Hibernate sends and
+     * returns the page query with the page size filled in. Criteria values are inlined
+     * by this class's configuration, so the page bounds are the only bind parameters left.
+     */
+    private String listingPageSql(ListingFilterRequest filter, List<Governorate> governorates,
+                                  ListingFilterIds resolvedIds, UsdPriceRange usdPriceRange, Sort sort) {
+        Specification<CarListing> spec = CarListingSpecification
+                .fromFilter(filter, governorates, resolvedIds, usdPriceRange)
+                .and(CarListingSpecification.isApproved())
+                .and(CarListingSpecification.isUserActive())
+                .and(CarListingSpecification.isNotSold())
+                .and(CarListingSpecification.isNotArchived());
+
+        List<String> statements;
+        try (SqlStatementRecorder.Recording recording = SqlStatementRecorder.start()) {
+            carListingRepository.findAll(spec, PageRequest.of(0, PAGE_SIZE, sort));
+            statements = recording.getStatements();
+        }
+        String pageQuery = statements.stream()
+                .filter(sql -> sql.contains("from car_listings") && sql.contains("order by"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no listing page query among " + statements));
+        assertThat(pageQuery).as("page query with one bind parameter: %s", pageQuery)
+                .containsOnlyOnce("?");
+        return pageQuery.replace("?", String.valueOf(PAGE_SIZE));
+    }
+
+    private String explain(String sql) throws Exception {
+        StringBuilder plan = new StringBuilder();
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("EXPLAIN " + sql)) {
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private String assertNoListingSeqScan(String sql) throws Exception {
+        String plan = explain(sql);
+        assertThat(plan)
+                .as("plan for:%n%s%n%s", sql, plan)
+                .doesNotContain("Seq Scan on car_listings");
+        return plan;
+    }
+
+    private static ListingFilterIds brandIds(long brandId) {
+        return new ListingFilterIds(Set.of(brandId), null, null, null);
+    }
+
+    @Test
+    @DisplayName("Legacy slug join for brand with price range uses an index on the live subset")
+    void brandWithPriceRange_shouldNotSeqScanListings() throws Exception {
+        ListingFilterRequest filter = new ListingFilterRequest();
+        filter.setBrandSlugs(List.of("brand-3"));
+        filter.setMinPrice(BigDecimal.valueOf(5000));
+        filter.setMaxPrice(BigDecimal.valueOf(20000));
+
+        assertNoListingSeqScan(listingPageSql(filter, null, null, null, Sort.by("price")));
+    }
+
+    @Test
+    @DisplayName("Resolved brand ID sorted by normalized price reads the live brand/USD price index without joins")
+    void brandIdSortedByPrice_shouldUseLiveBrandPriceIndex() throws Exception {
+        ListingFilterRequest filter = new ListingFilterRequest();
+        filter.setBrandSlugs(List.of("brand-3"));
+        filter.setMinPrice(BigDecimal.valueOf(5000));
+        filter.setMaxPrice(BigDecimal.valueOf(20000));
+
+        String sql = listingPageSql(filter, null, brandIds(brandIdsBySlug.get("brand-3")),
+                new UsdPriceRange(BigDecimal.valueOf(5000), BigDecimal.valueOf(20000)),
+                Sort.by("priceUsdNormalized"));
+
+        assertThat(assertNoListingSeqScan(sql)).contains("idx_car_listings_live_brand_price_usd");
+    }
+
+    @Test
+    @DisplayName("Cross-currency price range reads the live normalized price index")
+    void normalizedPriceRange_shouldUseLivePriceUsdIndex() throws Exception {
+        ListingFilterRequest filter = new ListingFilterRequest();
+        filter.setMinPrice(BigDecimal.valueOf(5000));
+        filter.setMaxPrice(BigDecimal.valueOf(5100));
+
+        String sql = listingPageSql(filter, null, ListingFilterIds.NONE,
+                new UsdPriceRange(BigDecimal.valueOf(5000), BigDecimal.valueOf(5100)),
+                Sort.by("priceUsdNormalized", "id"));
+
+        assertThat(assertNoListingSeqScan(sql)).contains("idx_car_listings_live_price_usd");
+    }
+
+    @Test
+    @DisplayName("Resolved model ID sorted by price uses the live model/price index")
+    void modelSortedByPrice_shouldUseLiveModelPriceIndex() throws Exception {
+        ListingFilterRequest filter = new ListingFilterRequest();
+        filter.setModelSlugs(List.of("model-2-1"));
+
+        String sql = listingPageSql(filter, null,
+                new ListingFilterIds(null, Set.of(modelIdsBySlug.get("model-2-1")), null, null),
+                null, Sort.by("price"));
+
+        assertThat(assertNoListingSeqScan(sql)).contains("idx_car_listings_live_model_price");
+    }
+
+    @Test
+    @DisplayName("Governorate browse, newest first, uses the live governorate index")
+    void governorateNewestFirst_shouldUseLiveGovernorateIndex() throws Exception {
+        Governorate governorate = governorateRepository.findById(governorateIdsBySlug.get("governorate-5"))
+                .orElseThrow();
+
+        String sql = listingPageSql(new ListingFilterRequest(), List.of(governorate), ListingFilterIds.NONE,
+                null, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        assertThat(assertNoListingSeqScan(sql)).contains("idx_car_listings_live_governorate_created");
+    }
+
+    @Test
+    @DisplayName("Year range with price cap does not scan the whole table")
+    void yearRangeWithMaxPrice_shouldNotSeqScanListings() throws Exception {
+        ListingFilterRequest filter = new ListingFilterRequest();
+        filter.setMinYear(2015);
+        filter.setMaxYear(2018);
+        filter.setMaxPrice(BigDecimal.valueOf(20000));
+
+        assertNoListingSeqScan(listingPageSql(filter, null, ListingFilterIds.NONE,
+                new UsdPriceRange(null, BigDecimal.valueOf(20000)), Sort.by("price")));
+    }
+
+    @Test
+    @DisplayName("Default browse order reads the live created_at index")
+    void defaultNewestFirst_shouldUseLiveCreatedIndex() throws Exception {
+        String sql = listingPageSql(new ListingFilterRequest(), null, ListingFilterIds.NONE,
+                null, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        assertThat(assertNoListingSeqScan(sql)).contains("idx_car_listings_live_created");
+    }
+}
@@ -0,0 +1,114 @@
+package com.caryo.marketplace.repository;
+
+import com.caryo.marketplace.repository.ReferenceDataJdbcRepository.BrandRow;
+import com.caryo.marketplace.repository.ReferenceDataJdbcRepository.BrandState;
+import com.caryo.marketplace.repository.ReferenceDataJdbcRepository.ModelRow;
+import com.caryo.marketplace.repository.ReferenceDataJdbcRepository.ModelState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Runs the reference-data upserts against PostgreSQL, since {@code ON CONFLICT}
+ * is not available on the H2 unit-test database.
+ */
+@DataJpaTest
+@Testcontainers
+@ActiveProfiles("integration")
+@Import(ReferenceDataJdbcRepository.class)
+@DisplayName("Reference Data JDBC Repository Integration Tests")
+class ReferenceDataJdbcRepositoryIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private ReferenceDataJdbcRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should insert brands and attach models to them by brand slug in one transaction")
+    void upsert_shouldInsertBrandsAndModels() {
+        int brands = repository.upsertBrands(List.of(
+                new BrandRow("toyota", "Toyota", "تويوتا", "h-toyota"),
+                new BrandRow("kia", "Kia", "كيا", "h-kia")));
+        int models = repository.upsertModels(List.of(
+                new ModelRow("toyota", "toyota-corolla", "Corolla", "كورولا", "h-corolla"),
+                new ModelRow("kia", "kia-rio", "Rio", "ريو", "h-rio"),
+                new ModelRow("unknown", "unknown-x", "X", "اكس", "h-x")));
+
+        assertThat(brands).isEqualTo(2);
+        assertThat(models).isEqualTo(2);
+        assertThat(repository.findAllBrandStates())
+                .extracting(BrandState::slug, BrandState::active, BrandState::sourceHash)
+                .containsExactlyInAnyOrder(
+                        tuple("toyota", false, "h-toyota"),
+                        tuple("kia", false, "h-kia"));
+        assertThat(repository.findAllModelStates())
+                .extracting(ModelState::slug, ModelState::brandSlug)
+                .containsExactlyInAnyOrder(
+                        tuple("toyota-corolla", "toyota"),
+                        tuple("kia-rio", "kia"));
+    }
+
+    @Test
+    @DisplayName("Should not touch rows whose source hash is unchanged")
+    void upsert_withSameHash_shouldAffectNoRows() {
+        List<BrandRow> rows = List.of(new BrandRow("toyota", "Toyota", "تويوتا", "h-toyota"));
+        repository.upsertBrands(rows);
+
+        assertThat(repository.upsertBrands(rows)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep admin-reviewed names on active rows and refresh pending ones")
+    void upsert_withChangedHash_shouldRespectReviewedRows() {
+        repository.upsertBrands(List.of(
+                new BrandRow("toyota", "Toyota", "تويوتا", "h1"),
+                new BrandRow("kia", "Kia", "كيا", "h1")));
+        jdbcTemplate.update("UPDATE makes SET is_active = true, display_name_ar = 'تويوتا (مراجع)' WHERE slug = 'toyota'");
+
+        int changed = repository.upsertBrands(List.of(
+                new BrandRow("toyota", "Toyota Motor", "تويوتا موتور", "h2"),
+                new BrandRow("kia", "Kia Motors", "كيا موتورز", "h2")));
+
+        assertThat(changed).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForMap("SELECT name, display_name_ar, source_hash FROM makes WHERE slug = 'toyota'"))
+                .containsEntry("name", "Toyota")
+                .containsEntry("display_name_ar", "تويوتا (مراجع)")
+                .containsEntry("source_hash", "h2");
+        assertThat(jdbcTemplate.queryForMap("SELECT name, display_name_en, display_name_ar FROM makes WHERE slug = 'kia'"))
+                .containsEntry("name", "Kia Motors")
+                .containsEntry("display_name_en", "Kia Motors")
+                .containsEntry("display_name_ar", "كيا موتورز");
+    }
+}
@@ -9,6 +9,7 @@ import com.caryo.marketplace.model.Location;
 import com.caryo.marketplace.model.User;
 import com.caryo.marketplace.payload.request.ListingFilterRequest;
 import com.caryo.marketplace.repository.CarListingRepository;
+import com.caryo.marketplace.util.CurrencyUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,18 +21,21 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
- * Price filtering must be scoped to a single currency.
+ * Price filtering must never compare raw prices across currencies.
  *
- * <p>Listings store a price plus their own currency (USD or SYP) and the two
- * are never normalised against each other. A Syrian Pound price is roughly four
- * orders of magnitude larger than the equivalent USD price, so an unscoped
- * numeric range silently mixes the two: a buyer asking for "5,000–15,000"
- * meaning dollars would otherwise be shown a 12,000 SYP car worth under a
- * dollar.</p>
+ * <p>Listings store a price plus their own currency (USD or SYP). A Syrian
+ * Pound price is roughly four orders of magnitude larger than the equivalent
+ * USD price, so an unscoped numeric range silently mixes the two: a buyer
+ * asking for "5,000–15,000" meaning dollars would otherwise be shown a 12,000
+ * SYP car worth under a dollar.</p>
+ *
+ * <p>With bounds converted to USD the range runs on the normalized price and
+ * spans both currencies; without them it is scoped to a single currency.</p>
  *
  * <p>These tests run the specification as a real query rather than asserting
  * the predicate tree, so they fail if the scoping is dropped anywhere between
@@ -42,6 +46,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 @DisplayName("Price filtering is scoped to one currency")
 class PriceCurrencyFilteringTest {
 
+    private static final Map<String, BigDecimal> UNITS_PER_USD = Map.of(
+            "USD", BigDecimal.ONE,
+            "SYP", new BigDecimal("13000"));
+
     @Autowired
     private TestEntityManager entityManager;
 
@@ -176,6 +184,59 @@ class PriceCurrencyFilteringTest {
         assertThat(found.get(0).getPrice()).isEqualByComparingTo(syrianPrice);
     }
 
+    @Test
+    @DisplayName("a USD range over normalized prices also returns SYP listings worth that much")
+    void normalizedUsdRange_spansCurrencies() {
+        createListing("USD car", new BigDecimal("12000.00"), "USD");
+        createListing("cheap SYP car", new BigDecimal("12000.00"), "SYP");
+        createListing("SYP car worth $5,000", new BigDecimal("65000000.00"), "SYP");
+        createListing("SYP car worth $50,000", new BigDecimal("650000000.00"), "SYP");
+
+        ListingFilterRequest filter = new ListingFilterRequest();
+        filter.setMinPrice(new BigDecimal("1000"));
+        filter.setMaxPrice(new BigDecimal("15000"));
+
+        assertThat(titlesMatchingNormalized(filter))
+                .containsExactlyInAnyOrder("USD car", "SYP car worth $5,000");
+    }
+
+    @Test
+    @DisplayName("an SYP range is converted before it is compared with normalized prices")
+    void normalizedSypRange_isConvertedToUsd() {
+        createListing("USD car", new BigDecimal("12000.00"), "USD");
+        createListing("SYP car worth $5,000", new BigDecimal("65000000.00"), "SYP");
+        createListing("USD car worth $20,000", new BigDecimal("20000.00"), "USD");
+
+        ListingFilterRequest filter = new ListingFilterRequest();
+        filter.setMaxPrice(new BigDecimal("200000000"));
+        filter.setCurrency("SYP");
+
+        assertThat(titlesMatchingNormalized(filter))
+                .containsExactlyInAnyOrder("USD car", "SYP car worth $5,000");
+    }
+
+    @Test
+    @DisplayName("a currency without price bounds still filters by listing currency on the normalized path")
+    void normalizedPathCurrencyOnly_stillFilters() {
+        createListing("USD car", new BigDecimal("12000.00"), "USD");
+        createListing("SYP car", new BigDecimal("450000000.00"), "SYP");
+
+        ListingFilterRequest filter = new ListingFilterRequest();
+        filter.setCurrency("SYP");
+
+        assertThat(titlesMatchingNormalized(filter)).containsExactly("SYP car");
+    }
+
+    /** Runs the filter the way the listing search does, with its bounds converted to USD */
+    private List<String> titlesMatchingNormalized(ListingFilterRequest filter) {
+        BigDecimal unitsPerUsd = UNITS_PER_USD.get(filter.getEffectivePriceCurrency());
+        UsdPriceRange range = new UsdPriceRange(
+                CurrencyUtil.convertToUsd(filter.getMinPrice(), unitsPerUsd),
+                CurrencyUtil.convertToUsd(filter.getMaxPrice(), unitsPerUsd));
+        Specification<CarListing> spec = CarListingSpecification.fromFilter(filter, List.of(), null, range);
+        return carListingRepository.findAll(spec).stream().map(CarListing::getTitle).toList();
+    }
+
     private List<String> titlesMatching(ListingFilterRequest filter) {
         Specification<CarListing> spec = CarListingSpecification.fromFilter(filter, (Governorate) null);
         return carListingRepository.findAll(spec).stream().map(CarListing::getTitle).toList();
@@ -189,6 +250,7 @@ class PriceCurrencyFilteringTest {
         listing.setMileage(5000);
         listing.setPrice(price);
         listing.setCurrency(currency);
+        listing.setPriceUsdNormalized(CurrencyUtil.convertToUsd(price, UNITS_PER_USD.get(currency)));
         listing.setLocation(location);
         listing.setGovernorate(location.getGovernorate());
         listing.setDescription("Test description");
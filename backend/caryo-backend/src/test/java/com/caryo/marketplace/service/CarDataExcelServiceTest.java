@@ -2,18 +2,36 @@ package com.caryo.marketplace.service;
 
 import com.caryo.marketplace.model.CarBrand;
 import com.caryo.marketplace.model.CarModel;
+import com.caryo.marketplace.repository.CarBrandRepository;
+import com.caryo.marketplace.repository.CarModelRepository;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +43,15 @@ class CarDataExcelServiceTest {
     @Mock
     private CarModelService carModelService;
 
+    @Mock
+    private CarBrandRepository carBrandRepository;
+
+    @Mock
+    private CarModelRepository carModelRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private CarDataExcelService carDataExcelService;
 
@@ -77,8 +104,8 @@ class CarDataExcelServiceTest {
     @Test
     void testExportCarDataToExcel() throws IOException {
         // Arrange
-        when(carBrandService.getAllBrands()).thenReturn(mockBrands);
-        when(carModelService.getAllModels()).thenReturn(mockModels);
+        when(carBrandRepository.findExportRowsAfter(eq(0L), any(Pageable.class))).thenReturn(brandRows(mockBrands));
+        when(carModelRepository.findExportRowsAfter(eq(0L), any(Pageable.class))).thenReturn(modelRows(mockModels));
 
         // Act
         byte[] excelData = carDataExcelService.exportCarDataToExcel();
@@ -87,16 +114,18 @@ class CarDataExcelServiceTest {
         assertNotNull(excelData);
         assertTrue(excelData.length > 0);
 
-        // Verify service calls
-        verify(carBrandService).getAllBrands();
-        verify(carModelService).getAllModels();
+        // A short page is the last one
+        verify(carBrandRepository).findExportRowsAfter(eq(0L), any(Pageable.class));
+        verify(carModelRepository).findExportRowsAfter(eq(0L), any(Pageable.class));
+        verify(carBrandService, never()).getAllBrands();
+        verify(carModelService, never()).getAllModels();
     }
 
     @Test
     void testExportCarDataToExcel_EmptyData() throws IOException {
         // Arrange
-        when(carBrandService.getAllBrands()).thenReturn(Arrays.asList());
-        when(carModelService.getAllModels()).thenReturn(Arrays.asList());
+        when(carBrandRepository.findExportRowsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of());
+        when(carModelRepository.findExportRowsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of());
 
         // Act
         byte[] excelData = carDataExcelService.exportCarDataToExcel();
@@ -104,23 +133,193 @@ class CarDataExcelServiceTest {
         // Assert
         assertNotNull(excelData);
         assertTrue(excelData.length > 0); // Should still generate Excel with headers
-
-        // Verify service calls
-        verify(carBrandService).getAllBrands();
-        verify(carModelService).getAllModels();
     }
 
     @Test
     void testExportCarDataToExcel_ServiceException() {
         // Arrange
-        when(carBrandService.getAllBrands()).thenThrow(new RuntimeException("Database error"));
+        when(carBrandRepository.findExportRowsAfter(eq(0L), any(Pageable.class)))
+                .thenThrow(new RuntimeException("Database error"));
+
+        // Act & Assert: the failure surfaces while preparing, before anything is written
+        assertThrows(IOException.class, () -> carDataExcelService.prepareCarDataExport());
+    }
+
+    @Test
+    void testExportCarDataToExcel_ReadsModelsInKeysetPages() throws IOException {
+        // Arrange
+        List<Object[]> fullPage = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            fullPage.add(new Object[] {id, 1L, "Toyota", "تويوتا", "Model " + id, "", "model-" + id, true});
+        }
+        when(carBrandRepository.findExportRowsAfter(eq(0L), any(Pageable.class))).thenReturn(brandRows(mockBrands));
+        when(carModelRepository.findExportRowsAfter(eq(0L), any(Pageable.class))).thenReturn(fullPage);
+        when(carModelRepository.findExportRowsAfter(eq(500L), any(Pageable.class))).thenReturn(modelRows(mockModels));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
 
-        // Act & Assert
-        assertThrows(IOException.class, () -> {
-            carDataExcelService.exportCarDataToExcel();
+        // Act
+        carDataExcelService.exportCarDataToExcel(out);
+
+        // Assert
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(502, workbook.getSheetAt(1).getLastRowNum());
+        }
+    }
+
+    @Test
+    void testExportCarDataToExcel_StreamsReadableWorkbook() throws IOException {
+        // Arrange
+        when(carBrandRepository.findExportRowsAfter(eq(0L), any(Pageable.class))).thenReturn(brandRows(mockBrands));
+        when(carModelRepository.findExportRowsAfter(eq(0L), any(Pageable.class))).thenReturn(modelRows(mockModels));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        carDataExcelService.exportCarDataToExcel(out);
+
+        // Assert
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(2, workbook.getNumberOfSheets());
+            assertEquals("toyota", workbook.getSheetAt(0).getRow(1).getCell(3).getStringCellValue());
+            assertEquals("honda-civic", workbook.getSheetAt(1).getRow(2).getCell(6).getStringCellValue());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportCarDataFromExcel_BatchesNewBrandsAndModels() throws IOException {
+        // Arrange
+        runTransactionCallbacks();
+        when(carBrandRepository.findAllIndexEntries()).thenReturn(Collections.emptyList());
+        when(carModelRepository.findAllIndexEntries()).thenReturn(Collections.emptyList());
+        when(carBrandRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            long id = 10;
+            for (CarBrand brand : (Iterable<CarBrand>) invocation.getArgument(0)) {
+                brand.setId(id++);
+            }
+            return invocation.getArgument(0);
+        });
+        List<CarModel> savedModels = new ArrayList<>();
+        when(carModelRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            ((Iterable<CarModel>) invocation.getArgument(0)).forEach(savedModels::add);
+            return invocation.getArgument(0);
         });
+        when(carBrandRepository.getReferenceById(10L)).thenReturn(mockBrands.get(0));
+
+        MockMultipartFile file = workbookFile(
+                new Object[][]{{"", "Kia", "كيا", "kia", "", "TRUE"}, {"", "Hyundai", "هيونداي", "", "", "TRUE"}},
+                new Object[][]{{"", 10, "", "", "Rio", "ريو", "kia-rio", "", "", "TRUE"}});
+
+        // Act
+        CarDataExcelService.ExcelImportResult result = carDataExcelService.importCarDataFromExcel(file);
+
+        // Assert
+        assertTrue(result.isSuccess(), result.getSummary());
+        assertEquals(2, result.getBrandsResult().getCreated());
+        assertEquals(1, result.getModelsResult().getCreated());
+        assertEquals(1, savedModels.size());
+        assertEquals("kia-rio", savedModels.get(0).getSlug());
+
+        // One saveAll per chunk, no per-row lookups through the services
+        verify(carBrandRepository).saveAll(anyIterable());
+        verify(carBrandService, never()).getBrandBySlug(any());
+        verify(carBrandService, never()).createBrand(any(CarBrand.class));
+        verify(carModelService, never()).createModel(any(CarModel.class));
+    }
+
+    @Test
+    void testImportCarDataFromExcel_UpdatesExistingBrandFromPrefetchedIndex() throws IOException {
+        // Arrange
+        runTransactionCallbacks();
+        when(carBrandRepository.findAllIndexEntries())
+                .thenReturn(List.<Object[]>of(new Object[]{1L, "toyota", "Toyota", true}));
+        when(carBrandRepository.findAllById(any())).thenReturn(List.of(mockBrands.get(0)));
+
+        MockMultipartFile file = workbookFile(
+                new Object[][]{{"", "Toyota Motors", "تويوتا", "toyota", "", "TRUE"}},
+                null);
+
+        // Act
+        CarDataExcelService.ExcelImportResult result = carDataExcelService.importCarDataFromExcel(file);
+
+        // Assert
+        assertEquals(1, result.getBrandsResult().getUpdated());
+        assertEquals(0, result.getBrandsResult().getCreated());
+        assertEquals("Toyota Motors", mockBrands.get(0).getDisplayNameEn());
+        verify(carBrandService, never()).updateBrand(any(), any(CarBrand.class));
+    }
+
+    @Test
+    void testImportCarDataFromExcel_ReportsRowErrors() throws IOException {
+        // Arrange
+        runTransactionCallbacks();
+        when(carBrandRepository.findAllIndexEntries()).thenReturn(Collections.emptyList());
+        when(carModelRepository.findAllIndexEntries()).thenReturn(Collections.emptyList());
+
+        MockMultipartFile file = workbookFile(
+                new Object[][]{{"", "", "بدون اسم", "", "", "TRUE"}},
+                new Object[][]{{"", 99, "", "", "Ghost", "شبح", "", "", "", "TRUE"}});
+
+        // Act
+        CarDataExcelService.ExcelImportResult result = carDataExcelService.importCarDataFromExcel(file);
+
+        // Assert
+        assertFalse(result.isSuccess());
+        assertEquals("English name is required", result.getBrandsResult().getErrors().get(1));
+        assertEquals("Brand with ID 99 not found", result.getModelsResult().getErrors().get(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionCallbacks() {
+        lenient().doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private MockMultipartFile workbookFile(Object[][] brandRows, Object[][] modelRows) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            writeSheet(workbook.createSheet("Car Brands"), brandRows);
+            if (modelRows != null) {
+                writeSheet(workbook.createSheet("Car Models"), modelRows);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            return new MockMultipartFile("file", "car-data.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", out.toByteArray());
+        }
+    }
+
+    private void writeSheet(Sheet sheet, Object[][] rows) {
+        sheet.createRow(0).createCell(0).setCellValue("header");
+        for (int r = 0; r < rows.length; r++) {
+            Row row = sheet.createRow(r + 1);
+            for (int c = 0; c < rows[r].length; c++) {
+                Object value = rows[r][c];
+                if (value instanceof Number number) {
+                    row.createCell(c).setCellValue(number.doubleValue());
+                } else if (!"".equals(value)) {
+                    row.createCell(c).setCellValue(value.toString());
+                }
+            }
+        }
+    }
+
+    private static List<Object[]> brandRows(List<CarBrand> brands) {
+        List<Object[]> rows = new ArrayList<>();
+        for (CarBrand brand : brands) {
+            rows.add(new Object[] {brand.getId(), brand.getDisplayNameEn(), brand.getDisplayNameAr(),
+                    brand.getSlug(), brand.getIsActive()});
+        }
+        return rows;
+    }
 
-        // Verify service call
-        verify(carBrandService).getAllBrands();
+    private static List<Object[]> modelRows(List<CarModel> models) {
+        List<Object[]> rows = new ArrayList<>();
+        for (CarModel model : models) {
+            rows.add(new Object[] {model.getId(), model.getBrand().getId(), model.getBrand().getDisplayNameEn(),
+                    model.getBrand().getDisplayNameAr(), model.getDisplayNameEn(), model.getDisplayNameAr(),
+                    model.getSlug(), model.getIsActive()});
+        }
+        return rows;
     }
 }
@@ -23,6 +23,14 @@ class CarListingAnalyticsServiceTest extends BaseCarListingTest {
     @Mock
     private CarListingRepository carListingRepository;
 
+    @Mock
+    private ListingFacetCountService facetCountService;
+
+    @Mock
+    private ReferenceSlugResolver referenceSlugResolver;
+
+    @Mock
+    private FxRateService fxRateService;
 
     @InjectMocks
     private CarListingAnalyticsService analyticsService;
@@ -458,6 +466,114 @@ class CarListingAnalyticsServiceTest extends BaseCarListingTest {
 
     // Helper methods for creating mock objects
 
+    @Test
+    void getCountsByBrand_WithAggregateAvailable_ShouldSkipLiveQuery() {
+        // Arrange
+        Map<String, Long> aggregated = new LinkedHashMap<>();
+        aggregated.put("bmw", 10L);
+        aggregated.put("toyota", 20L);
+        when(facetCountService.getCounts(ListingFacet.BRAND)).thenReturn(Optional.of(aggregated));
+
+        // Act
+        Map<String, Long> result = analyticsService.getCountsByBrand(filterRequest);
+
+        // Assert
+        assertEquals(List.of("bmw", "toyota"), new ArrayList<>(result.keySet()));
+        assertEquals(20L, result.get("toyota"));
+        verify(carListingRepository, never()).findDistinctBrandSlugsWithCounts();
+    }
+
+    @Test
+    void getCountsByBrand_WithFilters_ShouldNotConsultAggregate() {
+        // Arrange
+        filterRequest.setMinYear(2020);
+        when(carListingRepository.findAll(anySpecification()))
+            .thenReturn(Arrays.asList(createMockListingWithBrand("toyota")));
+
+        // Act
+        Map<String, Long> result = analyticsService.getCountsByBrand(filterRequest);
+
+        // Assert
+        assertEquals(1L, result.get("toyota"));
+        verify(facetCountService, never()).getCounts(any());
+    }
+
+    @Test
+    void getCountsByBodyStyle_WithoutFilters_ShouldUseAggregate() {
+        // Arrange
+        when(facetCountService.getCounts(ListingFacet.BODY_STYLE))
+            .thenReturn(Optional.of(Map.of("sedan", 7L)));
+
+        // Act
+        Map<String, Long> result = analyticsService.getCountsByBodyStyle(filterRequest);
+
+        // Assert
+        assertEquals(7L, result.get("sedan"));
+        verify(carListingRepository, never()).findAll(anySpecification());
+    }
+
+    @Test
+    void getCountsByBodyStyle_WithOnlyBodyStyleFilter_ShouldUseAggregate() {
+        // Arrange
+        filterRequest.setBodyStyleSlugs(List.of("suv"));
+        when(facetCountService.getCounts(ListingFacet.BODY_STYLE))
+            .thenReturn(Optional.of(Map.of("sedan", 7L, "suv", 3L)));
+
+        // Act
+        Map<String, Long> result = analyticsService.getCountsByBodyStyle(filterRequest);
+
+        // Assert
+        assertEquals(3L, result.get("suv"));
+        verify(carListingRepository, never()).findAll(anySpecification());
+    }
+
+    @Test
+    void getCountsByGovernorate_WithBodyStyleFilter_ShouldNotConsultAggregate() {
+        // Arrange
+        filterRequest.setBodyStyleIds(List.of(4L));
+        when(carListingRepository.findAll(anySpecification())).thenReturn(Collections.emptyList());
+
+        // Act
+        analyticsService.getCountsByGovernorate(filterRequest);
+
+        // Assert
+        verify(facetCountService, never()).getCounts(any());
+        verify(carListingRepository).findAll(anySpecification());
+    }
+
+    @Test
+    void getCountsByBrand_WithCurrencyOnly_ShouldNotConsultAggregate() {
+        // Arrange
+        filterRequest.setCurrency("SYP");
+        when(carListingRepository.findAll(anySpecification()))
+            .thenReturn(Arrays.asList(createMockListingWithBrand("kia")));
+
+        // Act
+        Map<String, Long> result = analyticsService.getCountsByBrand(filterRequest);
+
+        // Assert
+        assertEquals(1L, result.get("kia"));
+        verify(facetCountService, never()).getCounts(any());
+    }
+
+    @Test
+    void getCountsByGovernorate_WhenAggregateUnavailable_ShouldGroupLiveListings() {
+        // Arrange
+        CarListing listing = new CarListing();
+        Governorate governorate = new Governorate();
+        governorate.setSlug("damascus");
+        listing.setGovernorate(governorate);
+        when(carListingRepository.findAll(anySpecification()))
+            .thenReturn(Arrays.asList(listing, listing));
+
+        // Act
+        Map<String, Long> result = analyticsService.getCountsByGovernorate(filterRequest);
+
+        // Assert
+        assertEquals(2L, result.get("damascus"));
+        verify(facetCountService).getCounts(ListingFacet.GOVERNORATE);
+    }
+
     private CarListing createMockListing(int year) {
         CarListing listing = new CarListing();
         listing.setModelYear(year);
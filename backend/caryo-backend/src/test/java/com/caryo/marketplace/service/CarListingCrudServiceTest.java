@@ -61,6 +61,9 @@ public class CarListingCrudServiceTest {
     @Mock
     private SavedSearchService savedSearchService;
 
+    @Mock
+    private FxRateService fxRateService;
+
     @InjectMocks
     private CarListingCrudService crudService;
 
@@ -42,6 +42,12 @@ class CarListingQueryServiceTest extends BaseCarListingTest {
     @Mock
     private CarListingMapper carListingMapper;
 
+    @Mock
+    private ReferenceSlugResolver referenceSlugResolver;
+
+    @Mock
+    private FxRateService fxRateService;
+
     @InjectMocks
     private CarListingQueryService queryService;
 
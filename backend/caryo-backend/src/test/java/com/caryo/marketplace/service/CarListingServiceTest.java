@@ -18,6 +18,7 @@ import com.caryo.marketplace.payload.response.CarListingResponse;
 import com.caryo.marketplace.repository.CarListingRepository;
 import com.caryo.marketplace.repository.LocationRepository;
 import com.caryo.marketplace.repository.UserRepository;
+import com.caryo.marketplace.service.engagement.ListingEngagementCounter;
 import com.caryo.marketplace.service.storage.StorageService;
 import com.caryo.marketplace.service.storage.StorageKeyGenerator;
 
@@ -98,6 +99,9 @@ class CarListingServiceTest {
     @Mock
     private DealerTrialService dealerTrialService;
 
+    @Mock
+    private ListingEngagementCounter engagementCounter;
+
     @InjectMocks
     private CarListingService carListingService;
 
@@ -403,6 +407,7 @@ class CarListingServiceTest {
         assertEquals(1, result.getContent().size());
         assertEquals(filteredResponse, result.getContent().get(0));
         verify(queryService).getFilteredListings(filter, pageable);
+        verify(engagementCounter).recordImpressions(List.of(1L));
     }
 
     @Test
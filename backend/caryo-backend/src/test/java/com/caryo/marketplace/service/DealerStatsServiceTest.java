@@ -0,0 +1,110 @@
+package com.caryo.marketplace.service;
+
+import com.caryo.marketplace.model.DealerStats;
+import com.caryo.marketplace.payload.response.DealerStatsResponse;
+import com.caryo.marketplace.repository.DealerStatsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Dealer Stats Service Tests")
+class DealerStatsServiceTest {
+
+    @Mock
+    private DealerStatsRepository dealerStatsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DealerStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new DealerStatsService(dealerStatsRepository, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(service, "enabled", true);
+    }
+
+    @Test
+    @DisplayName("Should derive averages from the maintained sums and counts")
+    void getStats_shouldMapReadModel() {
+        DealerStats stats = new DealerStats();
+        stats.setSellerId(5L);
+        stats.setTotalListings(12);
+        stats.setActiveListings(3);
+        stats.setSoldCount(9);
+        stats.setActivePriceUsdSum(new BigDecimal("45000.00"));
+        stats.setActivePricedCount(3);
+        stats.setSellSecondsSum(9L * 86_400 * 20);
+        stats.setSoldTimedCount(9);
+        when(dealerStatsRepository.findById(5L)).thenReturn(Optional.of(stats));
+
+        DealerStatsResponse response = service.getStats(5L).orElseThrow();
+
+        assertThat(response.getTotalListings()).isEqualTo(12);
+        assertThat(response.getActiveListings()).isEqualTo(3);
+        assertThat(response.getSoldCount()).isEqualTo(9);
+        assertThat(response.getAveragePriceUsd()).isEqualByComparingTo("15000");
+        assertThat(response.getAverageDaysToSell()).isEqualTo(20.0);
+    }
+
+    @Test
+    @DisplayName("Should report zeros for a seller without approved listings")
+    void getStats_withoutRow_shouldReturnZeros() {
+        when(dealerStatsRepository.findById(5L)).thenReturn(Optional.empty());
+
+        DealerStatsResponse response = service.getStats(5L).orElseThrow();
+
+        assertThat(response.getTotalListings()).isZero();
+        assertThat(response.getAveragePriceUsd()).isNull();
+        assertThat(response.getAverageDaysToSell()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should fall back when disabled or the table cannot be read")
+    void getStats_whenUnavailable_shouldReturnEmpty() {
+        when(dealerStatsRepository.findById(5L)).thenThrow(new DataAccessResourceFailureException("down"));
+        assertThat(service.getStats(5L)).isEmpty();
+        // The failed read is rolled back on its own, not left in the caller's transaction
+        verify(transactionManager).rollback(any());
+
+        ReflectionTestUtils.setField(service, "enabled", false);
+        assertThat(service.getStats(6L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should count corrected rows as drift")
+    void refresh_shouldRecordDrift() {
+        when(dealerStatsRepository.refreshAll()).thenReturn(4);
+
+        assertThat(service.refresh()).isEqualTo(4);
+        assertThat(meterRegistry.counter("dealer.stats.refresh.corrected").count()).isEqualTo(4.0);
+    }
+
+    @Test
+    @DisplayName("Should not reconcile when disabled")
+    void refresh_whenDisabled_shouldSkip() {
+        ReflectionTestUtils.setField(service, "enabled", false);
+
+        assertThat(service.refresh()).isEqualTo(-1);
+        verifyNoInteractions(dealerStatsRepository);
+    }
+}
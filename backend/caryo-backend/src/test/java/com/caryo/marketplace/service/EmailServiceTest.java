@@ -6,6 +6,7 @@ import com.caryo.marketplace.service.email.EmailContentHelper;
 import com.caryo.marketplace.service.email.EmailRateLimitService;
 import com.caryo.marketplace.service.email.EmailSecurityService;
 import com.caryo.marketplace.service.email.EmailValidationService;
+import com.caryo.marketplace.service.outbox.OutboxService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -57,6 +58,9 @@ class EmailServiceTest {
     @Mock
     private EmailContentValidationService contentValidationService;
 
+    @Mock
+    private OutboxService outboxService;
+
     private EmailRateLimitService rateLimitService;
     private EmailValidationService validationService;
     private EmailSecurityService securityService;
@@ -77,7 +81,7 @@ class EmailServiceTest {
 
         emailService = new EmailServiceImpl(
             mailSender, templateEngine, messageService,
-            rateLimitService, validationService, securityService, contentHelper
+            rateLimitService, validationService, securityService, contentHelper, outboxService
         );
 
         // Set configuration values
@@ -136,6 +140,36 @@ class EmailServiceTest {
         verify(mailSender).send(any(SimpleMailMessage.class));
     }
 
+    @Test
+    void sendSimpleEmail_OutboxEnabled_QueuesInsteadOfSending() {
+        // Arrange
+        when(outboxService.isEnabled()).thenReturn(true);
+
+        // Act
+        emailService.sendSimpleEmail("test@example.com", "Test Subject", "Test message");
+
+        // Assert
+        verify(outboxService).enqueueEmail("test@example.com", "Test Subject", "Test message", false);
+        verifyNoInteractions(mailSender);
+    }
+
+    @Test
+    void sendListingApprovedEmail_OutboxEnabled_QueuesRenderedHtml() {
+        // Arrange
+        when(outboxService.isEnabled()).thenReturn(true);
+        when(templateEngine.process(anyString(), any(Context.class))).thenReturn("<html><body>Test Email</body></html>");
+        User seller = createTestUser();
+        CarListing listing = createTestListing();
+
+        // Act
+        emailService.sendListingApprovedEmail(seller, listing);
+
+        // Assert
+        verify(outboxService).enqueueEmail(eq(seller.getEmail()), anyString(),
+                eq("<html><body>Test Email</body></html>"), eq(true));
+        verifyNoInteractions(mailSender);
+    }
+
     @Test
     void sendSimpleEmail_NullRecipient_ThrowsException() {
         // Act & Assert
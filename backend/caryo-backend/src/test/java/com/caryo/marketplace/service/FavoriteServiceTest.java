@@ -1,13 +1,22 @@
 package com.caryo.marketplace.service;
 
+import com.caryo.marketplace.exception.BadRequestException;
 import com.caryo.marketplace.exception.ResourceNotFoundException;
 import com.caryo.marketplace.model.CarListing;
 import com.caryo.marketplace.model.Favorite;
 import com.caryo.marketplace.model.User;
+import com.caryo.marketplace.payload.response.FavoriteListingCardResponse;
+import com.caryo.marketplace.payload.response.FavoriteListingPageResponse;
 import com.caryo.marketplace.payload.response.FavoriteResponse;
 import com.caryo.marketplace.repository.CarListingRepository;
+import com.caryo.marketplace.repository.FavoriteListingJdbcRepository;
 import com.caryo.marketplace.repository.FavoriteRepository;
 import com.caryo.marketplace.repository.UserRepository;
+import com.caryo.marketplace.service.engagement.EngagementType;
+import com.caryo.marketplace.service.engagement.ListingEngagementCounter;
+import com.caryo.marketplace.service.favorite.FavoriteCursor;
+import com.caryo.marketplace.service.favorite.FavoriteIdSet;
+import com.caryo.marketplace.service.favorite.FavoriteSetCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,12 +25,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,12 +43,21 @@ class FavoriteServiceTest {
     @Mock
     private FavoriteRepository favoriteRepository;
 
+    @Mock
+    private FavoriteListingJdbcRepository favoriteListingRepository;
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
     private CarListingRepository carListingRepository;
 
+    @Mock
+    private ListingEngagementCounter engagementCounter;
+
+    @Mock
+    private FavoriteSetCache favoriteSetCache;
+
     @InjectMocks
     private FavoriteService favoriteService;
 
@@ -86,6 +108,8 @@ class FavoriteServiceTest {
         assertEquals(expectedResponse.getUserId(), result.getUserId());
         assertEquals(expectedResponse.getCarListingId(), result.getCarListingId());
         verify(favoriteRepository).save(any(Favorite.class));
+        verify(engagementCounter).record(testListingId, EngagementType.FAVORITE);
+        verify(favoriteSetCache).changed(testUsername);
     }
 
     @Test
@@ -104,6 +128,8 @@ class FavoriteServiceTest {
         assertEquals(expectedResponse.getUserId(), result.getUserId());
         assertEquals(expectedResponse.getCarListingId(), result.getCarListingId());
         verify(favoriteRepository, never()).save(any(Favorite.class));
+        verify(engagementCounter, never()).record(any(), any());
+        verify(favoriteSetCache, never()).changed(any());
     }
 
     @Test
@@ -140,6 +166,7 @@ class FavoriteServiceTest {
 
         // Assert
         verify(favoriteRepository).deleteByUserAndCarListing(testUser, testListing);
+        verify(favoriteSetCache).changed(testUsername);
     }
 
     @Test
@@ -164,7 +191,7 @@ class FavoriteServiceTest {
     @Test
     void isFavorite_True() {
         // Arrange
-        when(favoriteRepository.existsByUserUsernameAndCarListingId(testUsername, testListingId)).thenReturn(true);
+        when(favoriteSetCache.get(testUsername)).thenReturn(FavoriteIdSet.of(List.of(testListingId, 7L)));
 
         // Act
         boolean result = favoriteService.isFavorite(testUsername, testListingId);
@@ -176,7 +203,7 @@ class FavoriteServiceTest {
     @Test
     void isFavorite_False() {
         // Arrange
-        when(favoriteRepository.existsByUserUsernameAndCarListingId(testUsername, testListingId)).thenReturn(false);
+        when(favoriteSetCache.get(testUsername)).thenReturn(FavoriteIdSet.of(List.of(7L)));
 
         // Act
         boolean result = favoriteService.isFavorite(testUsername, testListingId);
@@ -186,9 +213,9 @@ class FavoriteServiceTest {
     }
 
     @Test
-    void isFavorite_UserNotFound() {
+    void isFavorite_UserWithoutFavorites() {
         // Arrange
-        when(favoriteRepository.existsByUserUsernameAndCarListingId(testUsername, testListingId)).thenReturn(false);
+        when(favoriteSetCache.get(testUsername)).thenReturn(FavoriteIdSet.empty());
 
         // Act
         boolean result = favoriteService.isFavorite(testUsername, testListingId);
@@ -198,9 +225,9 @@ class FavoriteServiceTest {
     }
 
     @Test
-    void isFavorite_ListingNotFound() {
+    void isFavorite_LookupFails() {
         // Arrange
-        when(favoriteRepository.existsByUserUsernameAndCarListingId(testUsername, testListingId)).thenReturn(false);
+        when(favoriteSetCache.get(testUsername)).thenThrow(new RuntimeException("database unavailable"));
 
         // Act
         boolean result = favoriteService.isFavorite(testUsername, testListingId);
@@ -208,4 +235,71 @@ class FavoriteServiceTest {
         // Assert
         assertFalse(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getFavoriteStatus_AnswersPageFromOneSet() {
+        // Arrange
+        when(favoriteSetCache.get(testUsername)).thenReturn(FavoriteIdSet.of(List.of(3L, 1L)));
+
+        // Act
+        Map<Long, Boolean> result = favoriteService.getFavoriteStatus(testUsername, List.of(5L, 3L, 4L, 1L));
+
+        // Assert
+        assertEquals(List.of(5L, 3L, 4L, 1L), List.copyOf(result.keySet()));
+        assertEquals(List.of(false, true, false, true), List.copyOf(result.values()));
+        verify(favoriteSetCache, times(1)).get(testUsername);
+        verifyNoInteractions(favoriteRepository, userRepository);
+    }
+
+    @Test
+    void getFavoriteListingPage_FullPage_ReturnsCursorOfLastRow() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 12, 0, 0, 123_456_789);
+        List<FavoriteListingCardResponse> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.add(card(30L - i, now.minusMinutes(i)));
+        }
+        when(favoriteListingRepository.findPage(testUsername, null, 0, 3)).thenReturn(rows);
+
+        // Act
+        FavoriteListingPageResponse page = favoriteService.getFavoriteListingPage(testUsername, null, 2);
+
+        // Assert
+        assertEquals(2, page.getContent().size());
+        FavoriteCursor next = FavoriteCursor.decode(page.getNextCursor());
+        assertEquals(now.minusMinutes(1), next.createdAt());
+        assertEquals(29L, next.id());
+    }
+
+    @Test
+    void getFavoriteListingPage_NextPage_ContinuesAfterCursor() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 12, 0);
+        String cursor = new FavoriteCursor(createdAt, 29L).encode();
+        when(favoriteListingRepository.findPage(eq(testUsername), eq(createdAt), eq(29L), anyInt()))
+                .thenReturn(List.of(card(28L, createdAt.minusMinutes(1))));
+
+        // Act
+        FavoriteListingPageResponse page = favoriteService.getFavoriteListingPage(testUsername, cursor, 20);
+
+        // Assert
+        assertEquals(1, page.getContent().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getFavoriteListingPage_InvalidCursor() {
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> favoriteService.getFavoriteListingPage(testUsername, "not-a-cursor", 20));
+        verifyNoInteractions(favoriteListingRepository);
+    }
+
+    private FavoriteListingCardResponse card(long favoriteId, LocalDateTime favoritedAt) {
+        FavoriteListingCardResponse card = new FavoriteListingCardResponse();
+        card.setFavoriteId(favoriteId);
+        card.setFavoritedAt(favoritedAt);
+        card.setListingId(favoriteId + 100);
+        return card;
+    }
+}
@@ -40,6 +40,12 @@ class FullTextSearchServiceTest extends BaseCarListingTest {
     @Mock
     private CarListingMapper carListingMapper;
 
+    @Mock
+    private ReferenceSlugResolver referenceSlugResolver;
+
+    @Mock
+    private FxRateService fxRateService;
+
     @InjectMocks
     private CarListingQueryService queryService;
 
@@ -0,0 +1,134 @@
+package com.caryo.marketplace.service;
+
+import com.caryo.marketplace.model.FxRate;
+import com.caryo.marketplace.payload.request.ListingFilterRequest;
+import com.caryo.marketplace.repository.FxRateRepository;
+import com.caryo.marketplace.repository.specification.UsdPriceRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FX Rate Service Tests")
+class FxRateServiceTest {
+
+    @Mock
+    private FxRateRepository fxRateRepository;
+
+    @Mock
+    private ListingPriceNormalizer listingPriceNormalizer;
+
+    private FxRateService fxRateService;
+
+    @BeforeEach
+    void setUp() {
+        fxRateService = new FxRateService(fxRateRepository, listingPriceNormalizer);
+        // Newest first, as the repository returns them: the older SYP rate must be ignored
+        lenient().when(fxRateRepository.findByEffectiveFromLessThanEqualOrderByEffectiveFromDescIdDesc(any(LocalDateTime.class)))
+                .thenReturn(List.of(
+                        new FxRate("SYP", new BigDecimal("13000"), "admin"),
+                        new FxRate("USD", BigDecimal.ONE, "V69"),
+                        new FxRate("SYP", new BigDecimal("10000"), "V69")));
+    }
+
+    @Test
+    @DisplayName("Should convert with the latest rate of the currency")
+    void toUsd_shouldUseLatestRate() {
+        assertThat(fxRateService.toUsd(new BigDecimal("65000000"), "syp")).isEqualByComparingTo("5000.00");
+        assertThat(fxRateService.toUsd(new BigDecimal("12000"), "USD")).isEqualByComparingTo("12000.00");
+    }
+
+    @Test
+    @DisplayName("Should return null for a currency without a rate")
+    void toUsd_withoutRate_shouldReturnNull() {
+        assertThat(fxRateService.toUsd(new BigDecimal("100"), "EUR")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should convert search bounds to USD in the filter's currency")
+    void toUsdPriceRange_shouldConvertBounds() {
+        ListingFilterRequest filter = new ListingFilterRequest();
+        filter.setMinPrice(new BigDecimal("13000000"));
+        filter.setCurrency("SYP");
+
+        UsdPriceRange range = fxRateService.toUsdPriceRange(filter);
+
+        assertThat(range.min()).isEqualByComparingTo("1000.00");
+        assertThat(range.max()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not look up a rate for a search without price bounds")
+    void toUsdPriceRange_withoutBounds_shouldSkipRateLookup() {
+        ListingFilterRequest filter = new ListingFilterRequest();
+        filter.setCurrency("EUR");
+
+        UsdPriceRange range = fxRateService.toUsdPriceRange(filter);
+
+        assertThat(range.min()).isNull();
+        assertThat(range.max()).isNull();
+        verify(fxRateRepository, never()).findByEffectiveFromLessThanEqualOrderByEffectiveFromDescIdDesc(any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should fall back to a single currency when the bounds' currency has no rate")
+    void toUsdPriceRange_withoutRate_shouldReturnNull() {
+        ListingFilterRequest filter = new ListingFilterRequest();
+        filter.setMaxPrice(new BigDecimal("9000"));
+        filter.setCurrency("EUR");
+
+        assertThat(fxRateService.toUsdPriceRange(filter)).isNull();
+        assertThat(fxRateService.toUsdPriceRange(filter)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should load rates once within the cache TTL")
+    void getCurrentRates_shouldBeCached() {
+        fxRateService.toUsd(BigDecimal.TEN, "SYP");
+        fxRateService.toUsd(BigDecimal.TEN, "USD");
+
+        verify(fxRateRepository, times(1)).findByEffectiveFromLessThanEqualOrderByEffectiveFromDescIdDesc(any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should save a new rate, drop the cached rates and re-normalize the currency")
+    void recordRate_shouldSaveAndRenormalize() {
+        when(fxRateRepository.save(any(FxRate.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        fxRateService.getCurrentRates();
+
+        FxRate saved = fxRateService.recordRate(" syp ", new BigDecimal("14500"), "admin");
+
+        assertThat(saved.getCurrency()).isEqualTo("SYP");
+        verify(listingPriceNormalizer).renormalizeAsync("SYP");
+        fxRateService.getCurrentRates();
+        verify(fxRateRepository, times(2)).findByEffectiveFromLessThanEqualOrderByEffectiveFromDescIdDesc(any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive rates and a USD rate other than 1")
+    void recordRate_withInvalidRate_shouldThrow() {
+        assertThatThrownBy(() -> fxRateService.recordRate("SYP", BigDecimal.ZERO, "admin"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fxRateService.recordRate("USD", new BigDecimal("2"), "admin"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(fxRateRepository, never()).save(any(FxRate.class));
+        verify(listingPriceNormalizer, never()).renormalizeAsync(any());
+    }
+}
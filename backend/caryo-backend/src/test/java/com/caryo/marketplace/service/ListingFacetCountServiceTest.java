@@ -0,0 +1,113 @@
+package com.caryo.marketplace.service;
+
+import com.caryo.marketplace.model.ListingFacet;
+import com.caryo.marketplace.model.ListingFacetCount;
+import com.caryo.marketplace.repository.ListingFacetCountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Listing Facet Count Service Tests")
+class ListingFacetCountServiceTest {
+
+    @Mock
+    private ListingFacetCountRepository listingFacetCountRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ListingFacetCountService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ListingFacetCountService(listingFacetCountRepository, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(service, "enabled", true);
+    }
+
+    private static ListingFacetCount row(String key, String sortKey, int count) {
+        ListingFacetCount row = new ListingFacetCount();
+        row.setFacet(ListingFacet.BRAND.getDbValue());
+        row.setFacetKey(key);
+        row.setSortKey(sortKey);
+        row.setListingCount(count);
+        return row;
+    }
+
+    @Test
+    @DisplayName("Should return counts in repository (sort key) order")
+    void getCounts_shouldPreserveSortOrder() {
+        when(listingFacetCountRepository.findByFacetAndListingCountGreaterThanOrderBySortKeyAsc("brand", 0))
+                .thenReturn(List.of(row("bmw", "BMW", 4), row("toyota", "Toyota", 9)));
+
+        Optional<Map<String, Long>> counts = service.getCounts(ListingFacet.BRAND);
+
+        assertThat(counts).isPresent();
+        assertThat(counts.get()).containsExactly(Map.entry("bmw", 4L), Map.entry("toyota", 9L));
+    }
+
+    @Test
+    @DisplayName("Should report the aggregate unavailable when disabled")
+    void getCounts_whenDisabled_shouldReturnEmpty() {
+        ReflectionTestUtils.setField(service, "enabled", false);
+
+        assertThat(service.getCounts(ListingFacet.BRAND)).isEmpty();
+        verifyNoInteractions(listingFacetCountRepository);
+    }
+
+    @Test
+    @DisplayName("Should fall back when the aggregate table cannot be read")
+    void getCounts_whenRepositoryFails_shouldReturnEmpty() {
+        when(listingFacetCountRepository.findByFacetAndListingCountGreaterThanOrderBySortKeyAsc(anyString(), anyInt()))
+                .thenThrow(new DataAccessResourceFailureException("relation does not exist"));
+
+        assertThat(service.getCounts(ListingFacet.YEAR)).isEmpty();
+        // The failed read is rolled back on its own, not left in the caller's transaction
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should count corrected rows and record refresh timing")
+    void refresh_shouldRecordDriftMetrics() {
+        when(listingFacetCountRepository.refreshAll()).thenReturn(3);
+
+        assertThat(service.refresh()).isEqualTo(3);
+
+        assertThat(meterRegistry.get("listing.facets.refresh.corrected").counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("listing.facets.refresh.duration").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("listing.facets.refresh.age.seconds").gauge().value()).isLessThan(5.0);
+    }
+
+    @Test
+    @DisplayName("Should swallow refresh failures and count them")
+    void refresh_whenRepositoryFails_shouldReturnMinusOne() {
+        when(listingFacetCountRepository.refreshAll())
+                .thenThrow(new DataAccessResourceFailureException("lock timeout"));
+
+        assertThat(service.refresh()).isEqualTo(-1);
+
+        assertThat(meterRegistry.get("listing.facets.refresh.failures").counter().count()).isEqualTo(1.0);
+        verify(listingFacetCountRepository).refreshAll();
+    }
+}
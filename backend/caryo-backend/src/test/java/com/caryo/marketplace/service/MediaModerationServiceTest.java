@@ -5,6 +5,7 @@ import com.caryo.marketplace.model.ListingMedia;
 import com.caryo.marketplace.model.ListingMedia.ModerationStatus;
 import com.caryo.marketplace.model.User;
 import com.caryo.marketplace.repository.ListingMediaRepository;
+import com.caryo.marketplace.repository.ModerationJdbcRepository;
 import com.caryo.marketplace.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,12 +18,15 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +35,9 @@ class MediaModerationServiceTest {
     @Mock
     private ListingMediaRepository mediaRepository;
 
+    @Mock
+    private ModerationJdbcRepository moderationRepository;
+
     @Mock
     private UserRepository userRepository;
 
@@ -107,40 +114,48 @@ class MediaModerationServiceTest {
     }
 
     @Test
-    void bulkApprove_ShouldUseBatchQuery() {
+    void bulkApprove_ShouldUseSetBasedUpdate() {
         List<Long> ids = List.of(1L, 2L, 3L);
-        ListingMedia m1 = createPendingMedia(1L);
-        ListingMedia m2 = createPendingMedia(2L);
-        // id 3 is not pending, so not returned by findPendingByIdIn
-
+        // id 3 is not pending, so the update does not return it
         when(userRepository.findById(1L)).thenReturn(Optional.of(moderator));
-        when(mediaRepository.findPendingByIdIn(ids)).thenReturn(List.of(m1, m2));
-        when(mediaRepository.saveAll(any())).thenReturn(List.of(m1, m2));
+        when(moderationRepository.approvePendingMedia(ids, 1L)).thenReturn(List.of(1L, 2L));
 
         int approved = mediaModerationService.bulkApprove(ids, 1L);
 
         assertEquals(2, approved);
-        verify(mediaRepository).findPendingByIdIn(ids);
-        verify(mediaRepository).saveAll(any());
-        // Verify no individual findById calls were made
+        verify(moderationRepository).approvePendingMedia(ids, 1L);
+        // No entities are loaded or saved
         verify(mediaRepository, never()).findById(any());
+        verify(mediaRepository, never()).saveAll(any());
     }
 
     @Test
-    void bulkReject_ShouldUseBatchQuery() {
+    void bulkReject_ShouldUseSetBasedUpdate() {
         List<Long> ids = List.of(1L, 2L);
-        ListingMedia m1 = createPendingMedia(1L);
-        ListingMedia m2 = createPendingMedia(2L);
-
         when(userRepository.findById(1L)).thenReturn(Optional.of(moderator));
-        when(mediaRepository.findPendingByIdIn(ids)).thenReturn(List.of(m1, m2));
-        when(mediaRepository.saveAll(any())).thenReturn(List.of(m1, m2));
+        when(moderationRepository.rejectPendingMedia(ids, 1L, "Policy violation")).thenReturn(List.of(1L, 2L));
 
         int rejected = mediaModerationService.bulkReject(ids, 1L, "Policy violation");
 
         assertEquals(2, rejected);
-        verify(mediaRepository).findPendingByIdIn(ids);
-        verify(mediaRepository).saveAll(any());
+        verify(mediaRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void bulkApprove_ShouldDeduplicateAndChunkIds() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 1500; id++) {
+            ids.add(id);
+        }
+        ids.add(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(moderator));
+        when(moderationRepository.approvePendingMedia(anyList(), eq(1L)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        int approved = mediaModerationService.bulkApprove(ids, 1L);
+
+        assertEquals(1500, approved);
+        verify(moderationRepository, times(2)).approvePendingMedia(anyList(), eq(1L));
     }
 
     @Test
@@ -5,6 +5,7 @@ import com.caryo.marketplace.model.CarListing;
 import com.caryo.marketplace.model.Dealer;
 import com.caryo.marketplace.model.User;
 import com.caryo.marketplace.payload.response.CarListingResponse;
+import com.caryo.marketplace.payload.response.DealerStatsResponse;
 import com.caryo.marketplace.payload.response.PublicDealerResponse;
 import com.caryo.marketplace.repository.CarListingRepository;
 import com.caryo.marketplace.repository.DealerRepository;
@@ -20,6 +21,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -41,6 +43,9 @@ class PublicDealerServiceTest {
     @Mock
     private CarListingMapper carListingMapper;
 
+    @Mock
+    private DealerStatsService dealerStatsService;
+
     @InjectMocks
     private PublicDealerService publicDealerService;
 
@@ -97,6 +102,25 @@ class PublicDealerServiceTest {
         verify(carListingRepository).countBySellerAndApprovedTrue(testUser);
     }
 
+    @Test
+    void getPublicDealerProfile_UsesStatsReadModel() {
+        // Arrange
+        when(dealerRepository.findById(testDealerId)).thenReturn(Optional.of(testDealer));
+        when(dealerStatsService.getStats(testUser.getId())).thenReturn(Optional.of(
+            new DealerStatsResponse(10L, 8L, 2L, new BigDecimal("14250.00"), 21.5)));
+
+        // Act
+        PublicDealerResponse result = publicDealerService.getPublicDealerProfile(testDealerId);
+
+        // Assert
+        assertEquals(10L, result.getStats().getTotalListings());
+        assertEquals(8L, result.getStats().getActiveListings());
+        assertEquals(2L, result.getStats().getSoldCount());
+        assertEquals(new BigDecimal("14250.00"), result.getStats().getAveragePriceUsd());
+        assertEquals(21.5, result.getStats().getAverageDaysToSell());
+        verifyNoInteractions(carListingRepository);
+    }
+
     @Test
     void getPublicDealerProfile_NotFound() {
         // Arrange
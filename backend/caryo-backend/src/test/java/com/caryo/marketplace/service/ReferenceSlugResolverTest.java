@@ -0,0 +1,103 @@
+package com.caryo.marketplace.service;
+
+import com.caryo.marketplace.payload.request.ListingFilterRequest;
+import com.caryo.marketplace.repository.ReferenceDataJdbcRepository;
+import com.caryo.marketplace.repository.specification.ListingFilterIds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Reference Slug Resolver Tests")
+class ReferenceSlugResolverTest {
+
+    @Mock
+    private ReferenceDataJdbcRepository referenceDataJdbcRepository;
+
+    private ReferenceSlugResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new ReferenceSlugResolver(referenceDataJdbcRepository);
+        lenient().when(referenceDataJdbcRepository.findBrandIdsBySlug()).thenReturn(Map.of("toyota", 1L, "kia", 2L));
+        lenient().when(referenceDataJdbcRepository.findModelIdsBySlug()).thenReturn(Map.of("toyota-camry", 10L));
+        lenient().when(referenceDataJdbcRepository.findFuelTypeIdsBySlug()).thenReturn(Map.of("diesel", 20L));
+        lenient().when(referenceDataJdbcRepository.findBodyStyleIdsBySlug()).thenReturn(Map.of("suv", 30L));
+    }
+
+    @Test
+    @DisplayName("Should resolve every slug filter to IDs and leave absent filters null")
+    void resolve_shouldMapSlugsToIds() {
+        ListingFilterRequest filter = new ListingFilterRequest();
+        filter.setBrandSlugs(List.of(" TOYOTA ", "kia"));
+        filter.setFuelTypeSlugs(List.of("diesel"));
+
+        ListingFilterIds ids = resolver.resolve(filter);
+
+        assertThat(ids.brandIds()).containsExactly(1L, 2L);
+        assertThat(ids.fuelTypeIds()).containsExactly(20L);
+        assertThat(ids.modelIds()).isNull();
+        assertThat(ids.bodyStyleIds()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should resolve a filter of unknown slugs to an empty set, not to no filter")
+    void resolve_withOnlyUnknownSlugs_shouldReturnEmptySet() {
+        ListingFilterRequest filter = new ListingFilterRequest();
+        filter.setModelSlugs(List.of("no-such-model"));
+
+        assertThat(resolver.resolve(filter).modelIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when the request has no slug filters")
+    void resolve_withoutSlugFilters_shouldNotLoad() {
+        assertThat(resolver.resolve(new ListingFilterRequest())).isEqualTo(ListingFilterIds.NONE);
+
+        verify(referenceDataJdbcRepository, never()).findBrandIdsBySlug();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated searches from the loaded maps")
+    void resolve_shouldLoadOnceWithinTtl() {
+        ListingFilterRequest filter = new ListingFilterRequest();
+        filter.setBrandSlugs(List.of("toyota"));
+
+        resolver.resolve(filter);
+        resolver.resolve(filter);
+        resolver.resolve(filter);
+
+        verify(referenceDataJdbcRepository, times(1)).findBrandIdsBySlug();
+    }
+
+    @Test
+    @DisplayName("Should reload early for an unknown slug once the miss interval has passed")
+    void resolve_withUnknownSlug_shouldReloadAfterMissInterval() {
+        ListingFilterRequest filter = new ListingFilterRequest();
+        filter.setBrandSlugs(List.of("byd"));
+        resolver.resolve(filter);
+        when(referenceDataJdbcRepository.findBrandIdsBySlug()).thenReturn(Map.of("toyota", 1L, "byd", 3L));
+
+        // Within the miss interval the stale maps are used
+        assertThat(resolver.resolve(filter).brandIds()).isEmpty();
+
+        ReflectionTestUtils.setField(resolver, "missReloadInterval", Duration.ZERO);
+        assertThat(resolver.resolve(filter).brandIds()).containsExactly(3L);
+        verify(referenceDataJdbcRepository, times(2)).findBrandIdsBySlug();
+    }
+}
@@ -8,9 +8,11 @@ import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -182,4 +184,40 @@ class SavedSearchMatchingServiceTest {
         result = matchingService.matches(savedSearch, carListing);
         assertFalse(result);
     }
+
+    @Test
+    void matches_SavedSearchWithSameUpdatedAt_ShouldReuseCompiledFilters() {
+        savedSearch.setId(UUID.randomUUID());
+        savedSearch.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        assertTrue(matchingService.matches(savedSearch, carListing));
+
+        // Not saved, so the compiled version stays current
+        savedSearch.getFilters().put("brandSlugs", List.of("nissan"));
+
+        assertTrue(matchingService.matches(savedSearch, carListing));
+    }
+
+    @Test
+    void matches_SavedSearchWithNewUpdatedAt_ShouldRecompile() {
+        savedSearch.setId(UUID.randomUUID());
+        savedSearch.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        assertTrue(matchingService.matches(savedSearch, carListing));
+
+        savedSearch.getFilters().put("brandSlugs", List.of("nissan"));
+        savedSearch.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 5));
+
+        assertFalse(matchingService.matches(savedSearch, carListing));
+    }
+
+    @Test
+    void evict_ShouldRecompileOnNextMatch() {
+        savedSearch.setId(UUID.randomUUID());
+        savedSearch.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        assertTrue(matchingService.matches(savedSearch, carListing));
+
+        savedSearch.getFilters().put("brandSlugs", List.of("nissan"));
+        matchingService.evict(savedSearch.getId());
+
+        assertFalse(matchingService.matches(savedSearch, carListing));
+    }
 }
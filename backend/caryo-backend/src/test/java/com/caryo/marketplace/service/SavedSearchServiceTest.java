@@ -253,6 +253,7 @@ class SavedSearchServiceTest {
         verify(userRepository).findByUsername("testuser");
         verify(savedSearchRepository).findByIdAndUser(searchId, testUser);
         verify(savedSearchRepository).save(testSavedSearch);
+        verify(matchingService).evict(searchId);
     }
 
     @Test
@@ -0,0 +1,125 @@
+package com.caryo.marketplace.service;
+
+import com.caryo.marketplace.model.SearchSuggestion;
+import com.caryo.marketplace.payload.response.SearchSuggestionResponse;
+import com.caryo.marketplace.repository.SearchSuggestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Search Suggestion Service Tests")
+class SearchSuggestionServiceTest {
+
+    @Mock
+    private SearchSuggestionRepository searchSuggestionRepository;
+
+    private SearchSuggestionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SearchSuggestionService(searchSuggestionRepository,
+                new ConcurrentMapCacheManager(SearchSuggestionService.CACHE_NAME));
+        ReflectionTestUtils.setField(service, "maxLimit", 10);
+        ReflectionTestUtils.setField(service, "cachedPrefixLength", 3);
+    }
+
+    private static SearchSuggestion suggestion(String term, String language, int count) {
+        SearchSuggestion s = new SearchSuggestion();
+        s.setTerm(term);
+        s.setNormalizedTerm(SearchSuggestionService.normalize(term));
+        s.setLanguage(language);
+        s.setListingCount(count);
+        return s;
+    }
+
+    @Test
+    @DisplayName("Should normalize case, whitespace, alef variants and tatweel")
+    void normalize_shouldUnifyLookupForm() {
+        assertThat(SearchSuggestionService.normalize("  Toyota   Camry ")).isEqualTo("toyota camry");
+        assertThat(SearchSuggestionService.normalize("أودي")).isEqualTo("اودي");
+        assertThat(SearchSuggestionService.normalize("إنفينيتي")).isEqualTo("انفينيتي");
+        assertThat(SearchSuggestionService.normalize("مرسيـدس")).isEqualTo("مرسيدس");
+        assertThat(SearchSuggestionService.normalize(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return empty list for blank input without querying")
+    void suggest_blankInput_shouldNotQuery() {
+        assertThat(service.suggest("   ", "en", 5)).isEmpty();
+        verify(searchSuggestionRepository, never()).findTopByPrefix(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should query normalized prefix pattern and map results")
+    void suggest_shouldQueryPrefixPattern() {
+        when(searchSuggestionRepository.findTopByPrefix("en", "toy%", 5))
+                .thenReturn(List.of(suggestion("Toyota", "en", 42), suggestion("Toyota Camry", "en", 17)));
+
+        List<SearchSuggestionResponse> result = service.suggest("Toy", "en", 5);
+
+        assertThat(result).extracting(SearchSuggestionResponse::getTerm).containsExactly("Toyota", "Toyota Camry");
+        assertThat(result).extracting(SearchSuggestionResponse::getListingCount).containsExactly(42L, 17L);
+    }
+
+    @Test
+    @DisplayName("Should detect Arabic input when no language is given")
+    void suggest_arabicInput_shouldUseArabic() {
+        when(searchSuggestionRepository.findTopByPrefix(eq("ar"), eq("تو%"), anyInt()))
+                .thenReturn(List.of(suggestion("تويوتا", "ar", 9)));
+
+        List<SearchSuggestionResponse> result = service.suggest("تو", null, 5);
+
+        assertThat(result).singleElement().extracting(SearchSuggestionResponse::getLanguage).isEqualTo("ar");
+    }
+
+    @Test
+    @DisplayName("Should clamp the limit to the configured maximum")
+    void suggest_shouldClampLimit() {
+        service.suggest("hon", "en", 500);
+        verify(searchSuggestionRepository).findTopByPrefix("en", "hon%", 10);
+    }
+
+    @Test
+    @DisplayName("Should serve short prefixes from cache")
+    void suggest_shortPrefix_shouldBeCached() {
+        when(searchSuggestionRepository.findTopByPrefix("en", "ki%", 5))
+                .thenReturn(List.of(suggestion("Kia", "en", 3)));
+
+        service.suggest("ki", "en", 5);
+        service.suggest("KI ", "en", 5);
+
+        verify(searchSuggestionRepository, times(1)).findTopByPrefix("en", "ki%", 5);
+    }
+
+    @Test
+    @DisplayName("Should not cache prefixes longer than the cached length")
+    void suggest_longPrefix_shouldNotBeCached() {
+        service.suggest("toyota c", "en", 5);
+        service.suggest("toyota c", "en", 5);
+
+        verify(searchSuggestionRepository, times(2)).findTopByPrefix("en", "toyota c%", 5);
+    }
+
+    @Test
+    @DisplayName("Should escape LIKE wildcards in the prefix")
+    void likePrefix_shouldEscapeWildcards() {
+        assertThat(SearchSuggestionService.likePrefix("100%_a\\b")).isEqualTo("100\\%\\_a\\\\b%");
+    }
+}
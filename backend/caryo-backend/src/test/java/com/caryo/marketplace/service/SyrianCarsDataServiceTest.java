@@ -1,5 +1,6 @@
 package com.caryo.marketplace.service;
 
+import com.caryo.marketplace.service.sync.ReferenceDataSyncService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -25,10 +26,7 @@ class SyrianCarsDataServiceTest {
     private ArabicTranslationService arabicTranslationService;
 
     @Mock
-    private CarBrandService carBrandService;
-
-    @Mock
-    private CarModelService carModelService;
+    private ReferenceDataSyncService referenceDataSyncService;
 
     @InjectMocks
     private SyrianCarsDataService syrianCarsDataService;
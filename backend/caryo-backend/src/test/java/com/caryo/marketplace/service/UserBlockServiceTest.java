@@ -6,6 +6,8 @@ import com.caryo.marketplace.model.User;
 import com.caryo.marketplace.model.UserBlock;
 import com.caryo.marketplace.repository.UserBlockRepository;
 import com.caryo.marketplace.repository.UserRepository;
+import com.caryo.marketplace.service.block.UserBlockGraph;
+import com.caryo.marketplace.service.block.UserBlockGraphCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,6 +22,7 @@ import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -39,6 +42,9 @@ public class UserBlockServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserBlockGraphCache blockGraphCache;
+
     @InjectMocks
     private UserBlockService userBlockService;
 
@@ -76,6 +82,7 @@ public class UserBlockServiceTest {
 
         // Act
         UserBlock result = userBlockService.blockUser(1L, 2L);
+        verify(blockGraphCache).changed(1L, 2L);
 
         // Assert
         assertThat(result).isNotNull();
@@ -164,6 +171,7 @@ public class UserBlockServiceTest {
 
         // Assert
         verify(userBlockRepository).delete(existingBlock);
+        verify(blockGraphCache).changed(1L, 2L);
     }
 
     @Test
@@ -186,32 +194,52 @@ public class UserBlockServiceTest {
     @DisplayName("Should check if user is blocked correctly")
     void shouldCheckIfUserIsBlocked() {
         // Arrange
-        when(userRepository.findById(1L)).thenReturn(Optional.of(blocker));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(blocked));
-        when(userBlockRepository.existsByBlockerAndBlocked(blocker, blocked)).thenReturn(true);
+        when(blockGraphCache.get(1L)).thenReturn(UserBlockGraph.of(List.of(2L), List.of()));
 
         // Act
         boolean isBlocked = userBlockService.isBlocked(1L, 2L);
 
         // Assert
         assertThat(isBlocked).isTrue();
-        verify(userBlockRepository).existsByBlockerAndBlocked(blocker, blocked);
+        verifyNoInteractions(userRepository, userBlockRepository);
+    }
+
+    @Test
+    @DisplayName("Should not report a block in the other direction as blocked by the user")
+    void shouldNotReportReverseBlockAsBlocked() {
+        // Arrange
+        when(blockGraphCache.get(1L)).thenReturn(UserBlockGraph.of(List.of(), List.of(2L)));
+
+        // Act & Assert
+        assertThat(userBlockService.isBlocked(1L, 2L)).isFalse();
     }
 
     @Test
     @DisplayName("Should check bidirectional block correctly")
     void shouldCheckBidirectionalBlock() {
         // Arrange
-        when(userRepository.findById(1L)).thenReturn(Optional.of(blocker));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(blocked));
-        when(userBlockRepository.existsBlockBetweenUsers(blocker, blocked)).thenReturn(true);
+        when(blockGraphCache.get(1L)).thenReturn(UserBlockGraph.of(List.of(), List.of(2L)));
 
         // Act
         boolean isBlocked = userBlockService.isBlockedBidirectional(1L, 2L);
 
         // Assert
         assertThat(isBlocked).isTrue();
-        verify(userBlockRepository).existsBlockBetweenUsers(blocker, blocked);
+        verifyNoInteractions(userRepository, userBlockRepository);
+    }
+
+    @Test
+    @DisplayName("Should find the blocked users among a page of users with one graph lookup")
+    void shouldFindBlockedAmong() {
+        // Arrange
+        when(blockGraphCache.get(1L)).thenReturn(UserBlockGraph.of(List.of(5L, 3L), List.of(7L)));
+
+        // Act
+        Set<Long> result = userBlockService.findBlockedAmong(1L, List.of(2L, 3L, 4L, 7L));
+
+        // Assert
+        assertThat(result).containsExactly(3L, 7L);
+        verify(blockGraphCache, times(1)).get(1L);
     }
 
     @Test
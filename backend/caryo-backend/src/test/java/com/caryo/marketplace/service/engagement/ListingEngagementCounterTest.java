@@ -0,0 +1,121 @@
+package com.caryo.marketplace.service.engagement;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Listing Engagement Counter Tests")
+class ListingEngagementCounterTest {
+
+    private ListingEngagementCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new ListingEngagementCounter();
+        ReflectionTestUtils.setField(counter, "enabled", true);
+        ReflectionTestUtils.setField(counter, "contactRevealWindowSeconds", 1800L);
+    }
+
+    @Test
+    @DisplayName("Should drain counts per listing and type, then start from zero")
+    void drain_shouldReturnCountsAndReset() {
+        counter.record(1L, EngagementType.VIEW);
+        counter.record(1L, EngagementType.VIEW);
+        counter.record(1L, EngagementType.CONTACT_REVEAL);
+        counter.recordImpressions(List.of(1L, 2L));
+
+        Map<Long, long[]> drained = counter.drain();
+
+        assertThat(drained).containsOnlyKeys(1L, 2L);
+        assertThat(drained.get(1L)).containsExactly(2, 1, 0, 1);
+        assertThat(drained.get(2L)).containsExactly(0, 1, 0, 0);
+        assertThat(counter.drain()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should drop listings that were idle for a whole interval")
+    void drain_shouldEvictIdleListings() {
+        counter.record(1L, EngagementType.FAVORITE);
+
+        counter.drain();
+        assertThat(counter.pendingListings()).isEqualTo(1);
+        counter.drain();
+        assertThat(counter.pendingListings()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should carry restored counts into the next drain")
+    void restore_shouldAddBackFailedFlush() {
+        counter.record(1L, EngagementType.VIEW);
+        Map<Long, long[]> failed = counter.drain();
+        counter.record(1L, EngagementType.VIEW);
+
+        counter.restore(failed);
+
+        assertThat(counter.drain().get(1L)).containsExactly(2, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should not lose increments recorded concurrently")
+    void record_shouldBeThreadSafe() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    counter.record(7L, EngagementType.VIEW);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(counter.drain().get(7L)[EngagementType.VIEW.ordinal()]).isEqualTo(80_000);
+    }
+
+    @Test
+    @DisplayName("Should count a visitor's contact reveals of a listing once per window")
+    void recordContactReveal_shouldDedupePerVisitorAndListing() {
+        assertThat(counter.recordContactReveal(1L, "10.0.0.1")).isTrue();
+        assertThat(counter.recordContactReveal(1L, "10.0.0.1")).isFalse();
+        assertThat(counter.recordContactReveal(1L, "10.0.0.2")).isTrue();
+        assertThat(counter.recordContactReveal(2L, "10.0.0.1")).isTrue();
+
+        Map<Long, long[]> drained = counter.drain();
+
+        assertThat(drained.get(1L)[EngagementType.CONTACT_REVEAL.ordinal()]).isEqualTo(2);
+        assertThat(drained.get(2L)[EngagementType.CONTACT_REVEAL.ordinal()]).isEqualTo(1);
+        assertThat(counter.recordContactReveal(1L, "10.0.0.1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should count a contact reveal again once the window has passed")
+    void recordContactReveal_afterWindow_shouldCountAgain() {
+        ReflectionTestUtils.setField(counter, "contactRevealWindowSeconds", 0L);
+
+        assertThat(counter.recordContactReveal(1L, "10.0.0.1")).isTrue();
+        assertThat(counter.recordContactReveal(1L, "10.0.0.1")).isTrue();
+
+        assertThat(counter.drain().get(1L)[EngagementType.CONTACT_REVEAL.ordinal()]).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should record nothing when disabled")
+    void record_whenDisabled_shouldIgnore() {
+        ReflectionTestUtils.setField(counter, "enabled", false);
+
+        counter.record(1L, EngagementType.VIEW);
+        counter.recordImpressions(List.of(1L));
+        assertThat(counter.recordContactReveal(1L, "10.0.0.1")).isFalse();
+
+        assertThat(counter.drain()).isEmpty();
+    }
+}
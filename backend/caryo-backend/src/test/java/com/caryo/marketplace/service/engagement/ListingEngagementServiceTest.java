@@ -0,0 +1,87 @@
+package com.caryo.marketplace.service.engagement;
+
+import com.caryo.marketplace.repository.ListingEngagementJdbcRepository;
+import com.caryo.marketplace.repository.ListingEngagementJdbcRepository.EngagementDelta;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Listing Engagement Service Tests")
+class ListingEngagementServiceTest {
+
+    @Mock
+    private ListingEngagementJdbcRepository engagementRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ListingEngagementCounter counter;
+    private ListingEngagementService service;
+
+    @BeforeEach
+    void setUp() {
+        counter = new ListingEngagementCounter();
+        ReflectionTestUtils.setField(counter, "enabled", true);
+        service = new ListingEngagementService(counter, engagementRepository,
+                new TransactionTemplate(transactionManager), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "enabled", true);
+    }
+
+    @Test
+    @DisplayName("Should write pending counts in one batch, ordered by listing id")
+    void flush_shouldWriteSortedDeltas() {
+        counter.record(9L, EngagementType.VIEW);
+        counter.record(3L, EngagementType.FAVORITE);
+        counter.record(3L, EngagementType.CONTACT_REVEAL);
+
+        assertThat(service.flush()).isEqualTo(2);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EngagementDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(engagementRepository).addCounts(any(), deltas.capture());
+        assertThat(deltas.getValue()).containsExactly(
+                new EngagementDelta(3L, 0, 0, 1, 1),
+                new EngagementDelta(9L, 1, 0, 0, 0));
+        assertThat(counter.pendingListings()).isEqualTo(2);
+        assertThat(counter.drain()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep the counts for the next flush when the write fails")
+    void flush_whenWriteFails_shouldRestoreCounts() {
+        counter.record(3L, EngagementType.VIEW);
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(engagementRepository).addCounts(any(), anyList());
+
+        assertThat(service.flush()).isEqualTo(-1);
+
+        assertThat(counter.drain().get(3L)).containsExactly(1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when nothing was recorded")
+    void flush_withNothingPending_shouldSkipWrite() {
+        assertThat(service.flush()).isZero();
+
+        verify(engagementRepository, never()).addCounts(any(), anyList());
+    }
+}
@@ -0,0 +1,80 @@
+package com.caryo.marketplace.service.favorite;
+
+import com.caryo.marketplace.repository.FavoriteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Favorite Set Cache Tests")
+class FavoriteSetCacheTest {
+
+    @Mock
+    private FavoriteRepository favoriteRepository;
+
+    private FavoriteSetCache favoriteSetCache;
+
+    @BeforeEach
+    void setUp() {
+        favoriteSetCache = new FavoriteSetCache(favoriteRepository,
+                new ConcurrentMapCacheManager(FavoriteSetCache.CACHE_NAME));
+    }
+
+    @Test
+    @DisplayName("Should load a user's set once and serve later lookups from the cache")
+    void get_shouldLoadOnce() {
+        when(favoriteRepository.findListingIdsByUserUsername("sami")).thenReturn(List.of(42L, 7L, 42L));
+
+        FavoriteIdSet first = favoriteSetCache.get("sami");
+        FavoriteIdSet second = favoriteSetCache.get("sami");
+
+        assertThat(first.ids()).containsExactly(7L, 42L);
+        assertThat(second).isSameAs(first);
+        verify(favoriteRepository, times(1)).findListingIdsByUserUsername("sami");
+    }
+
+    @Test
+    @DisplayName("Should reload a user's set after a change")
+    void changed_shouldEvictCachedSet() {
+        when(favoriteRepository.findListingIdsByUserUsername("sami"))
+                .thenReturn(List.of(7L, 42L))
+                .thenReturn(List.of(7L, 10L));
+        favoriteSetCache.get("sami");
+
+        favoriteSetCache.changed("sami");
+
+        assertThat(favoriteSetCache.get("sami").ids()).containsExactly(7L, 10L);
+        verify(favoriteRepository, times(2)).findListingIdsByUserUsername("sami");
+    }
+
+    @Test
+    @DisplayName("Should leave an uncached user to be loaded on the next read")
+    void changed_uncachedUser_shouldNotLoad() {
+        favoriteSetCache.changed("rana");
+
+        verify(favoriteRepository, never()).findListingIdsByUserUsername("rana");
+    }
+
+    @Test
+    @DisplayName("Should keep the set sorted and look up members")
+    void favoriteIdSet_contains() {
+        FavoriteIdSet set = FavoriteIdSet.of(List.of(30L, 10L, 30L));
+
+        assertThat(set.ids()).containsExactly(10L, 30L);
+        assertThat(set.contains(30L)).isTrue();
+        assertThat(set.contains(20L)).isFalse();
+        assertThat(FavoriteIdSet.empty().contains(1L)).isFalse();
+    }
+}
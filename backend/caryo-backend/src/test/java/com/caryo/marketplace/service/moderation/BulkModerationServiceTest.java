@@ -0,0 +1,126 @@
+package com.caryo.marketplace.service.moderation;
+
+import com.caryo.marketplace.events.ListingArchivedEvent;
+import com.caryo.marketplace.exception.ResourceNotFoundException;
+import com.caryo.marketplace.model.CarListing;
+import com.caryo.marketplace.model.User;
+import com.caryo.marketplace.repository.CarListingRepository;
+import com.caryo.marketplace.repository.ModerationJdbcRepository;
+import com.caryo.marketplace.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkModerationServiceTest {
+
+    @Mock
+    private ModerationJdbcRepository moderationRepository;
+
+    @Mock
+    private CarListingRepository carListingRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private BulkModerationService service;
+
+    @BeforeEach
+    void setUp() {
+        // Runs jobs on the calling thread
+        service = new BulkModerationService(moderationRepository, carListingRepository, userRepository,
+                eventPublisher, transactionTemplate, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Bulk archive updates once and publishes an event per changed listing only")
+    void applyToListings_PublishesEventsForChangedListings() {
+        CarListing listing = new CarListing();
+        listing.setId(1L);
+        when(moderationRepository.archiveListings(List.of(1L, 2L))).thenReturn(List.of(1L));
+        when(carListingRepository.findAllWithSellerByIdIn(List.of(1L))).thenReturn(List.of(listing));
+
+        BulkListingResult result = service.applyToListings(ListingBulkAction.ARCHIVE, List.of(1L, 2L, 1L));
+
+        assertThat(result.requested()).isEqualTo(2);
+        assertThat(result.changedIds()).containsExactly(1L);
+        ArgumentCaptor<ApplicationEvent> event = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue()).isInstanceOfSatisfying(ListingArchivedEvent.class, archived -> {
+            assertThat(archived.getListing()).isSameAs(listing);
+            assertThat(archived.isAdminAction()).isTrue();
+            assertThat(archived.getArchivalSource()).isEqualTo("batch");
+        });
+    }
+
+    @Test
+    @DisplayName("Bulk unarchive publishes no events, like the single-listing operation")
+    void applyToListings_UnarchivePublishesNothing() {
+        when(moderationRepository.unarchiveListings(List.of(5L))).thenReturn(List.of(5L));
+
+        BulkListingResult result = service.applyToListings(ListingBulkAction.UNARCHIVE, List.of(5L));
+
+        assertThat(result.changed()).isEqualTo(1);
+        verifyNoInteractions(carListingRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Seller media job walks keyset chunks and records progress")
+    void startSellerMediaJob_ModeratesAllChunks() {
+        when(userRepository.findById(9L)).thenReturn(Optional.of(new User()));
+        when(moderationRepository.countPendingMediaOfSeller(3L)).thenReturn(3L);
+        when(moderationRepository.findPendingMediaIdsOfSeller(eq(3L), anyLong(), eq(BulkModerationService.UPDATE_CHUNK_SIZE)))
+                .thenReturn(List.of(10L, 11L, 12L), List.of());
+        when(moderationRepository.approvePendingMedia(List.of(10L, 11L, 12L), 9L)).thenReturn(List.of(10L, 12L));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+
+        BulkModerationJob started = service.startSellerMediaJob(3L, 9L, true, null);
+
+        BulkModerationJob job = service.getJob(started.id()).orElseThrow();
+        assertThat(job.state()).isEqualTo(BulkModerationJob.State.COMPLETED);
+        assertThat(job.total()).isEqualTo(3);
+        assertThat(job.processed()).isEqualTo(3);
+        assertThat(job.changed()).isEqualTo(2);
+        verify(moderationRepository).findPendingMediaIdsOfSeller(3L, 12L, BulkModerationService.UPDATE_CHUNK_SIZE);
+    }
+
+    @Test
+    @DisplayName("Seller media job fails fast for an unknown moderator")
+    void startSellerMediaJob_UnknownModerator() {
+        when(userRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.startSellerMediaJob(3L, 9L, false, "spam"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(moderationRepository, never()).countPendingMediaOfSeller(anyLong());
+    }
+}
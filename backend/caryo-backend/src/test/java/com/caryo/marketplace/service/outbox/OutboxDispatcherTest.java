@@ -0,0 +1,175 @@
+package com.caryo.marketplace.service.outbox;
+
+import com.caryo.marketplace.repository.OutboxJdbcRepository;
+import com.caryo.marketplace.repository.OutboxJdbcRepository.Backlog;
+import com.caryo.marketplace.repository.OutboxJdbcRepository.OutboxFailure;
+import com.caryo.marketplace.repository.OutboxJdbcRepository.OutboxMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Outbox Dispatcher Tests")
+class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxJdbcRepository outboxRepository;
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        RetryTemplate retryTemplate = RetryTemplate.builder()
+                .maxAttempts(2)
+                .noBackoff()
+                .retryOn(MailSendException.class)
+                .build();
+        dispatcher = new OutboxDispatcher(outboxRepository, mailSender, retryTemplate, Runnable::run,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(dispatcher, "enabled", true);
+        ReflectionTestUtils.setField(dispatcher, "workers", 1);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxBatchesPerRun", 20);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 300);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "retryBaseSeconds", 60L);
+        ReflectionTestUtils.setField(dispatcher, "fromEmail", "noreply@caryo.sy");
+
+        lenient().when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        lenient().when(outboxRepository.backlog()).thenReturn(new Backlog(0, 0));
+    }
+
+    @Test
+    @DisplayName("Should send a claimed batch in one call and mark it sent")
+    void dispatch_shouldSendBatchAndMarkSent() {
+        when(outboxRepository.claim(50, 300)).thenReturn(List.of(message(1L, 1), message(2L, 1)));
+        List<Integer> batchSizes = recordBatchSizes();
+
+        assertThat(dispatcher.dispatch()).isEqualTo(2);
+
+        assertThat(batchSizes).containsExactly(2);
+        verify(outboxRepository).markSent(List.of(1L, 2L));
+        verify(outboxRepository).reschedule(List.of());
+    }
+
+    @Test
+    @DisplayName("Should retry only the messages the SMTP server rejected")
+    void dispatch_whenPartOfBatchFails_shouldRetryOnlyFailedMessages() {
+        when(outboxRepository.claim(50, 300)).thenReturn(List.of(message(1L, 1), message(2L, 1)));
+        List<Integer> batchSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            MimeMessage[] messages = (MimeMessage[]) invocation.getRawArguments()[0];
+            batchSizes.add(messages.length);
+            if (batchSizes.size() == 1) {
+                Map<Object, Exception> failed = new LinkedHashMap<>();
+                failed.put(messages[1], new MessagingException("451 try again later"));
+                throw new MailSendException(failed);
+            }
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        assertThat(dispatcher.dispatch()).isEqualTo(2);
+
+        assertThat(batchSizes).containsExactly(2, 1);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Long>> sent = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).markSent(sent.capture());
+        assertThat(sent.getValue()).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should reschedule with backoff, and give up after the last attempt")
+    void dispatch_whenSendKeepsFailing_shouldRescheduleOrGiveUp() {
+        when(outboxRepository.claim(50, 300)).thenReturn(List.of(message(1L, 2), message(2L, 3)));
+        // JavaMailSender lists every message of the batch when it cannot connect
+        doAnswer(invocation -> {
+            Map<Object, Exception> failed = new LinkedHashMap<>();
+            for (MimeMessage message : (MimeMessage[]) invocation.getRawArguments()[0]) {
+                failed.put(message, new MessagingException("Mail server connection failed"));
+            }
+            throw new MailSendException(failed);
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        assertThat(dispatcher.dispatch()).isZero();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OutboxFailure>> failures = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).reschedule(failures.capture());
+        assertThat(failures.getValue())
+                .extracting(OutboxFailure::id, OutboxFailure::retryAfterSeconds, OutboxFailure::dead)
+                .containsExactlyInAnyOrder(
+                        tuple(1L, 120L, false),
+                        tuple(2L, 240L, true));
+        verify(outboxRepository).markSent(List.of());
+    }
+
+    @Test
+    @DisplayName("Should count the batch as sent when only closing the connection fails")
+    void dispatch_whenOnlyClosingFails_shouldMarkSent() {
+        when(outboxRepository.claim(50, 300)).thenReturn(List.of(message(1L, 1), message(2L, 1)));
+        List<Integer> batchSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            batchSizes.add(((MimeMessage[]) invocation.getRawArguments()[0]).length);
+            throw new MailSendException("Failed to close server connection after message sending");
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        assertThat(dispatcher.dispatch()).isEqualTo(2);
+
+        assertThat(batchSizes).containsExactly(2);
+        verify(outboxRepository).markSent(List.of(1L, 2L));
+        verify(outboxRepository).reschedule(List.of());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled")
+    void dispatch_whenDisabled_shouldNotClaim() {
+        ReflectionTestUtils.setField(dispatcher, "enabled", false);
+
+        assertThat(dispatcher.dispatch()).isEqualTo(-1);
+
+        verify(outboxRepository, never()).claim(anyInt(), anyInt());
+    }
+
+    private List<Integer> recordBatchSizes() {
+        List<Integer> batchSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            batchSizes.add(((MimeMessage[]) invocation.getRawArguments()[0]).length);
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+        return batchSizes;
+    }
+
+    private static OutboxMessage message(long id, int attempts) {
+        return new OutboxMessage(id, "seller" + id + "@example.com", "Subject", "Body", false, attempts, 1000);
+    }
+}
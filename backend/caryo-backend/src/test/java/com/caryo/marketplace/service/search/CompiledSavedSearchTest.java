@@ -0,0 +1,90 @@
+package com.caryo.marketplace.service.search;
+
+import com.caryo.marketplace.model.BodyStyle;
+import com.caryo.marketplace.model.CarBrand;
+import com.caryo.marketplace.model.CarListing;
+import com.caryo.marketplace.model.CarModel;
+import com.caryo.marketplace.model.Governorate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledSavedSearchTest {
+
+    private CarListing carListing;
+
+    @BeforeEach
+    void setUp() {
+        CarBrand toyota = new CarBrand();
+        toyota.setSlug("toyota");
+
+        CarModel camry = new CarModel();
+        camry.setSlug("camry");
+        camry.setBrand(toyota);
+
+        Governorate damascus = new Governorate();
+        damascus.setDisplayNameEn("Damascus");
+        damascus.setDisplayNameAr("دمشق");
+
+        BodyStyle sedan = new BodyStyle();
+        sedan.setSlug("sedan");
+
+        carListing = new CarListing();
+        carListing.setModel(camry);
+        carListing.setGovernorate(damascus);
+        carListing.setBodyStyle(sedan);
+        carListing.setPrice(new BigDecimal("25000.00"));
+        carListing.setModelYear(2022);
+        carListing.setMileage(15000);
+    }
+
+    @Test
+    void matches_WithGovernorateNameInEitherLanguage_ShouldReturnTrue() {
+        assertTrue(compile("governorateIds", List.of("Damascus")).matches(carListing));
+        assertTrue(compile("governorateIds", List.of("دمشق")).matches(carListing));
+        assertFalse(compile("governorateIds", List.of("Aleppo")).matches(carListing));
+    }
+
+    @Test
+    void matches_WithDecimalPriceBounds_ShouldCompareExactly() {
+        assertTrue(compile("maxPrice", 25000.0).matches(carListing));
+        assertFalse(compile("maxPrice", 24999.99).matches(carListing));
+        assertTrue(compile("minPrice", 25000).matches(carListing));
+    }
+
+    @Test
+    void matches_WithNonListOrEmptyListFilter_ShouldIgnoreFilter() {
+        assertTrue(compile("brandSlugs", "honda").matches(carListing));
+        assertTrue(compile("bodyType", List.of()).matches(carListing));
+    }
+
+    @Test
+    void matches_WithListOfOnlyNonStrings_ShouldReturnFalse() {
+        assertFalse(compile("governorateIds", List.of(1, 2)).matches(carListing));
+    }
+
+    @Test
+    void matches_WithNonNumericBound_ShouldReturnFalse() {
+        assertFalse(compile("minYear", "2020").matches(carListing));
+    }
+
+    @Test
+    void matches_WithBoundAndMissingListingValue_ShouldReturnFalse() {
+        carListing.setMileage(null);
+
+        assertFalse(compile("maxMileage", 100000).matches(carListing));
+        assertTrue(compile("maxYear", 2024).matches(carListing));
+    }
+
+    private static CompiledSavedSearch compile(String key, Object value) {
+        Map<String, Object> filters = new HashMap<>();
+        filters.put(key, value);
+        return CompiledSavedSearch.compile(filters);
+    }
+}
@@ -0,0 +1,299 @@
+package com.caryo.marketplace.service.sync;
+
+import com.caryo.marketplace.dto.CarQueryMakeResponse;
+import com.caryo.marketplace.dto.CarQueryModelResponse;
+import com.caryo.marketplace.model.ReferenceSyncCheckpoint;
+import com.caryo.marketplace.repository.ReferenceDataJdbcRepository;
+import com.caryo.marketplace.repository.ReferenceDataJdbcRepository.BrandRow;
+import com.caryo.marketplace.repository.ReferenceDataJdbcRepository.BrandState;
+import com.caryo.marketplace.repository.ReferenceDataJdbcRepository.ModelRow;
+import com.caryo.marketplace.repository.ReferenceDataJdbcRepository.ModelState;
+import com.caryo.marketplace.repository.ReferenceSyncCheckpointRepository;
+import com.caryo.marketplace.service.ArabicTranslationService;
+import com.caryo.marketplace.service.CarQueryApiClient;
+import com.caryo.marketplace.service.sync.ReferenceDataSource.SourceBrand;
+import com.caryo.marketplace.service.sync.ReferenceDataSource.SourceModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the sync engine against CarQuery payloads recorded under
+ * {@code src/test/resources/fixtures/carquery}, served by a mocked API client.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Reference Data Sync Service Tests")
+class ReferenceDataSyncServiceTest {
+
+    private static final String PROVIDER = "CarQueryAPI";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private ReferenceDataJdbcRepository referenceDataJdbcRepository;
+
+    @Mock
+    private ReferenceSyncCheckpointRepository checkpointRepository;
+
+    @Mock
+    private ArabicTranslationService arabicTranslationService;
+
+    @Mock
+    private CarQueryApiClient carQueryApiClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<BrandRow>> brandRowsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<ModelRow>> modelRowsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<ReferenceSyncCheckpoint>> checkpointsCaptor;
+
+    private ExecutorService fetchExecutor;
+    private ReferenceDataSyncService service;
+    private CarQueryReferenceDataSource source;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fetchExecutor = Executors.newFixedThreadPool(4);
+        service = new ReferenceDataSyncService(referenceDataJdbcRepository, checkpointRepository,
+                arabicTranslationService, RateLimiterRegistry.ofDefaults(), new TransactionTemplate(transactionManager),
+                fetchExecutor);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        source = new CarQueryReferenceDataSource(PROVIDER, carQueryApiClient);
+
+        lenient().when(carQueryApiClient.getAllMakes()).thenReturn(fixture("makes.json", CarQueryMakeResponse.class));
+        for (String make : List.of("toyota", "kia", "hyundai", "edsel")) {
+            lenient().when(carQueryApiClient.getModelsByMake(make))
+                    .thenReturn(fixture("models-" + make + ".json", CarQueryModelResponse.class));
+        }
+        lenient().when(arabicTranslationService.translateBrandToArabic(anyString()))
+                .thenAnswer(invocation -> "عربي " + invocation.getArgument(0));
+        lenient().when(arabicTranslationService.translateModelToArabic(anyString(), anyString()))
+                .thenAnswer(invocation -> "عربي " + invocation.getArgument(1));
+        lenient().when(checkpointRepository.findSourceKeysByProviderName(PROVIDER)).thenReturn(Set.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        fetchExecutor.shutdownNow();
+    }
+
+    private static <T> T fixture(String name, Class<T> type) throws IOException {
+        try (InputStream in = new ClassPathResource("fixtures/carquery/" + name).getInputStream()) {
+            return objectMapper.readValue(in, type);
+        }
+    }
+
+    private List<BrandRow> writtenBrands() {
+        verify(referenceDataJdbcRepository, atLeastOnce()).upsertBrands(brandRowsCaptor.capture());
+        return brandRowsCaptor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    private List<ModelRow> writtenModels() {
+        verify(referenceDataJdbcRepository, atLeastOnce()).upsertModels(modelRowsCaptor.capture());
+        return modelRowsCaptor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    /** Source hash of a CarQuery brand, which comes without an Arabic name */
+    private static String brandHash(String slug, String name) {
+        return ReferenceDataSyncService.hash(slug, name, null);
+    }
+
+    private static String modelHash(String brandSlug, String brandName, String name) {
+        return ReferenceDataSyncService.hash(brandSlug, ReferenceDataSyncService.modelSlug(brandName, name), name, null);
+    }
+
+    /** DB state as left behind by a completed sync of the fixtures, minus the given models */
+    private void givenCatalogueAlreadySynced(String... missingModels) {
+        when(referenceDataJdbcRepository.findAllBrandStates()).thenReturn(List.of(
+                new BrandState("toyota", "Toyota", "تويوتا", true, brandHash("toyota", "Toyota")),
+                new BrandState("kia", "Kia", "كيا", true, brandHash("kia", "Kia")),
+                new BrandState("hyundai", "Hyundai", "هيونداي", true, brandHash("hyundai", "Hyundai"))));
+        List<ModelState> models = new ArrayList<>();
+        for (String[] model : new String[][] {
+                {"toyota", "Toyota", "Corolla"}, {"toyota", "Toyota", "Camry"}, {"toyota", "Toyota", "Land Cruiser"},
+                {"kia", "Kia", "Sportage"}, {"kia", "Kia", "Rio"},
+                {"hyundai", "Hyundai", "Elantra"}, {"hyundai", "Hyundai", "Tucson"}}) {
+            if (List.of(missingModels).contains(model[2])) continue;
+            models.add(new ModelState(ReferenceDataSyncService.modelSlug(model[1], model[2]), model[0], model[2],
+                    "عربي", true, modelHash(model[0], model[1], model[2])));
+        }
+        when(referenceDataJdbcRepository.findAllModelStates()).thenReturn(models);
+    }
+
+    @Test
+    @DisplayName("Should insert every new brand and model in chunked batches and clear checkpoints")
+    void sync_withEmptyCatalogue_shouldInsertEverything() {
+        ReferenceDataSyncService.SyncReport report = service.sync(source);
+
+        assertThat(report.getBrandsInserted()).isEqualTo(3);
+        assertThat(report.getBrandsSkipped()).isEqualTo(1); // Edsel has no models
+        assertThat(report.getModelsInserted()).isEqualTo(7);
+        assertThat(report.getBrandsFailed()).isZero();
+
+        List<BrandRow> brands = writtenBrands();
+        assertThat(brands).extracting(BrandRow::slug).containsExactly("toyota", "kia", "hyundai");
+        assertThat(brands.get(0))
+                .isEqualTo(new BrandRow("toyota", "Toyota", "عربي Toyota", brandHash("toyota", "Toyota")));
+        assertThat(writtenModels()).extracting(ModelRow::slug)
+                .contains("toyota-land-cruiser", "kia-sportage", "hyundai-tucson")
+                .hasSize(7);
+
+        // 4 brands in chunks of 2: one upsert batch and one checkpoint write per chunk
+        verify(referenceDataJdbcRepository, times(2)).upsertBrands(anyList());
+        verify(checkpointRepository, times(2)).saveAll(anyList());
+        verify(checkpointRepository).deleteByProviderName(PROVIDER);
+    }
+
+    @Test
+    @DisplayName("Should write nothing and translate nothing when the provider payload is unchanged")
+    void sync_withUnchangedCatalogue_shouldSkipAllWrites() {
+        givenCatalogueAlreadySynced();
+
+        ReferenceDataSyncService.SyncReport report = service.sync(source);
+
+        assertThat(report.getRowsWritten()).isZero();
+        assertThat(report.getBrandsUnchanged()).isEqualTo(3);
+        assertThat(report.getModelsUnchanged()).isEqualTo(7);
+        assertThat(writtenBrands()).isEmpty();
+        assertThat(writtenModels()).isEmpty();
+        verify(arabicTranslationService, never()).translateBrandToArabic(anyString());
+        verify(arabicTranslationService, never()).translateModelToArabic(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should only write the rows whose content hash changed")
+    void sync_withOneNewModel_shouldWriteOnlyThatModel() {
+        givenCatalogueAlreadySynced("Camry");
+
+        ReferenceDataSyncService.SyncReport report = service.sync(source);
+
+        assertThat(report.getModelsInserted()).isEqualTo(1);
+        assertThat(writtenBrands()).isEmpty();
+        assertThat(writtenModels()).containsExactly(new ModelRow("toyota", "toyota-camry", "Camry", "عربي Camry",
+                modelHash("toyota", "Toyota", "Camry")));
+        verify(arabicTranslationService).translateModelToArabic("Toyota", "Camry");
+    }
+
+    @Test
+    @DisplayName("Should resume after the brands checkpointed by an interrupted run")
+    void sync_withCheckpoints_shouldNotRefetchCompletedBrands() {
+        when(checkpointRepository.findSourceKeysByProviderName(PROVIDER)).thenReturn(Set.of("toyota", "kia"));
+
+        ReferenceDataSyncService.SyncReport report = service.sync(source);
+
+        assertThat(report.getBrandsResumed()).isEqualTo(2);
+        assertThat(writtenBrands()).extracting(BrandRow::slug).containsExactly("hyundai");
+        verify(carQueryApiClient, never()).getModelsByMake("toyota");
+        verify(carQueryApiClient, never()).getModelsByMake("kia");
+        verify(checkpointRepository).deleteByProviderName(PROVIDER);
+    }
+
+    @Test
+    @DisplayName("Should keep checkpoints when a brand's models cannot be fetched")
+    void sync_whenModelFetchFails_shouldFailOnlyThatBrand() {
+        when(carQueryApiClient.getModelsByMake("kia")).thenThrow(new IllegalStateException("HTTP 503"));
+
+        ReferenceDataSyncService.SyncReport report = service.sync(source);
+
+        assertThat(report.getBrandsFailed()).isEqualTo(1);
+        assertThat(report.getBrandsInserted()).isEqualTo(2);
+        assertThat(writtenModels()).extracting(ModelRow::brandSlug).doesNotContain("kia");
+        verify(checkpointRepository, never()).deleteByProviderName(anyString());
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch brand by brand")
+    void sync_whenBatchWriteFails_shouldFallBackToSingleBrands() {
+        when(referenceDataJdbcRepository.upsertModels(anyList())).thenAnswer(invocation -> {
+            List<ModelRow> rows = invocation.getArgument(0);
+            if (rows.stream().anyMatch(row -> row.brandSlug().equals("kia"))) {
+                throw new DataIntegrityViolationException("duplicate key value violates unique constraint");
+            }
+            return rows.size();
+        });
+
+        ReferenceDataSyncService.SyncReport report = service.sync(source);
+
+        assertThat(report.getBrandsInserted()).isEqualTo(2);
+        assertThat(report.getBrandsFailed()).isEqualTo(1);
+        verify(checkpointRepository, atLeastOnce()).saveAll(checkpointsCaptor.capture());
+        assertThat(checkpointsCaptor.getAllValues().stream().flatMap(List::stream))
+                .extracting(ReferenceSyncCheckpoint::getSourceKey)
+                .containsExactlyInAnyOrder("toyota", "hyundai", "edsel");
+        verify(checkpointRepository, never()).deleteByProviderName(anyString());
+    }
+
+    @Test
+    @DisplayName("Should rewrite a model whose provider-supplied Arabic name changed")
+    void sync_withChangedArabicName_shouldWriteThatModel() {
+        when(referenceDataJdbcRepository.findAllBrandStates()).thenReturn(List.of(
+                new BrandState("kia", "Kia", "كيا", false, ReferenceDataSyncService.hash("kia", "Kia", "كيا"))));
+        when(referenceDataJdbcRepository.findAllModelStates()).thenReturn(List.of(
+                new ModelState("kia-rio", "kia", "Rio", "ريو", false,
+                        ReferenceDataSyncService.hash("kia", "kia-rio", "Rio", "ريو"))));
+        ReferenceDataSource arabicSource = new ReferenceDataSource() {
+            @Override
+            public String getProviderName() {
+                return PROVIDER;
+            }
+
+            @Override
+            public String getRateLimiterName() {
+                return PROVIDER;
+            }
+
+            @Override
+            public List<SourceBrand> fetchBrands() {
+                return List.of(new SourceBrand("kia", "kia", "Kia", "كيا"));
+            }
+
+            @Override
+            public List<SourceModel> fetchModels(SourceBrand brand) {
+                return List.of(new SourceModel("Rio", "ريو الجديدة"));
+            }
+        };
+
+        ReferenceDataSyncService.SyncReport report = service.sync(arabicSource);
+
+        assertThat(report.getBrandsUnchanged()).isEqualTo(1);
+        assertThat(report.getModelsUpdated()).isEqualTo(1);
+        assertThat(writtenModels()).containsExactly(new ModelRow("kia", "kia-rio", "Rio", "ريو الجديدة",
+                ReferenceDataSyncService.hash("kia", "kia-rio", "Rio", "ريو الجديدة")));
+    }
+}
@@ -0,0 +1,131 @@
+package com.caryo.marketplace.startup;
+
+import com.caryo.marketplace.model.StartupSeedMarker;
+import com.caryo.marketplace.repository.StartupSeedMarkerRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.metrics.ApplicationStartup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Startup Orchestrator Tests")
+class StartupOrchestratorTest {
+
+    @Mock
+    private ObjectProvider<StartupTask> startupTasks;
+
+    @Mock
+    private StartupSeedMarkerRepository seedMarkerRepository;
+
+    private StartupOrchestrator orchestrator(StartupTask... tasks) {
+        lenient().when(startupTasks.orderedStream()).thenAnswer(invocation -> List.of(tasks).stream());
+        return new StartupOrchestrator(startupTasks, seedMarkerRepository, ApplicationStartup.DEFAULT, 4, true);
+    }
+
+    @Test
+    @DisplayName("Should run a task only after all of its dependencies completed")
+    void run_shouldRespectDependencies() {
+        List<String> completed = new CopyOnWriteArrayList<>();
+        StartupOrchestrator orchestrator = orchestrator(
+                StartupTask.of("locations", 0, Set.of("governorates"), () -> completed.add("locations")),
+                StartupTask.of("governorates", 0, Set.of(), () -> completed.add("governorates")),
+                StartupTask.of("users", 0, Set.of(), () -> completed.add("users")));
+
+        orchestrator.run(null);
+
+        assertThat(completed).containsExactlyInAnyOrder("governorates", "locations", "users");
+        assertThat(completed.indexOf("governorates")).isLessThan(completed.indexOf("locations"));
+    }
+
+    @Test
+    @DisplayName("Should run independent tasks concurrently")
+    void run_shouldRunIndependentTasksInParallel() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Runnable awaitOther = () -> {
+            bothStarted.countDown();
+            try {
+                // Deadlocks (and times out) if the tasks were run one after another
+                assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        };
+
+        orchestrator(StartupTask.of("a", 0, Set.of(), awaitOther), StartupTask.of("b", 0, Set.of(), awaitOther))
+                .run(null);
+
+        assertThat(bothStarted.getCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should skip a seeder whose seed version is already recorded and record new versions")
+    void run_shouldUseSeedMarkers() {
+        when(seedMarkerRepository.findAll()).thenReturn(List.of(new StartupSeedMarker("reference-data", 1)));
+        List<String> completed = new CopyOnWriteArrayList<>();
+        StartupOrchestrator orchestrator = orchestrator(
+                StartupTask.of("reference-data", 1, Set.of(), () -> completed.add("reference-data")),
+                StartupTask.of("governorates", 2, Set.of(), () -> completed.add("governorates")));
+
+        orchestrator.run(null);
+
+        assertThat(completed).containsExactly("governorates");
+        verify(seedMarkerRepository).recordCompleted("governorates", 2);
+        verify(seedMarkerRepository, never()).recordCompleted(eq("reference-data"), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should fail the boot and skip dependents when a task fails")
+    void run_whenTaskFails_shouldThrowAndSkipDependents() {
+        List<String> completed = new CopyOnWriteArrayList<>();
+        StartupOrchestrator orchestrator = orchestrator(
+                StartupTask.of("governorates", 1, Set.of(), () -> {
+                    throw new IllegalArgumentException("boom");
+                }),
+                StartupTask.of("locations", 1, Set.of("governorates"), () -> completed.add("locations")));
+
+        assertThatThrownBy(() -> orchestrator.run(null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("governorates")
+                .hasRootCauseMessage("boom");
+        assertThat(completed).isEmpty();
+        verify(seedMarkerRepository, never()).recordCompleted(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown dependencies, duplicates and cycles before running anything")
+    void inDependencyOrder_shouldValidateGraph() {
+        Runnable noop = () -> { };
+
+        assertThatThrownBy(() -> StartupOrchestrator.inDependencyOrder(List.of(
+                StartupTask.of("locations", 0, Set.of("governorates"), noop))))
+                .hasMessageContaining("unknown task 'governorates'");
+        assertThatThrownBy(() -> StartupOrchestrator.inDependencyOrder(List.of(
+                StartupTask.of("a", 0, Set.of(), noop), StartupTask.of("a", 0, Set.of(), noop))))
+                .hasMessageContaining("Duplicate");
+        assertThatThrownBy(() -> StartupOrchestrator.inDependencyOrder(List.of(
+                StartupTask.of("a", 0, Set.of("b"), noop), StartupTask.of("b", 0, Set.of("a"), noop),
+                StartupTask.of("c", 0, Set.of(), noop))))
+                .hasMessageContaining("cycle")
+                .hasMessageNotContaining("c]");
+    }
+}
@@ -0,0 +1,42 @@
+package com.caryo.marketplace.test;
+
+import com.caryo.marketplace.config.sql.SqlStatementRecorder;
+import com.caryo.marketplace.config.sql.SqlStatementRecorder.Recording;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Query budgets for tests: fails when an action runs more SQL statements
+ * through Hibernate than allowed, listing the statement shapes that ran.
+ * <p>
+ * Clear the persistence context before the action, otherwise entities already
+ * in it are not loaded again and the budget is met too easily.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static Recording assertMaxQueries(int max, Executable action) {
+        Recording recording = SqlStatementRecorder.start();
+        try {
+            action.execute();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        } finally {
+            recording.close();
+        }
+        if (recording.getStatementCount() > max) {
+            fail("Expected at most " + max + " SQL statements but " + recording.getStatementCount() + " ran:\n"
+                    + recording.getShapeCounts().entrySet().stream()
+                    .map(e -> "  " + e.getValue() + "x " + e.getKey())
+                    .collect(Collectors.joining("\n")));
+        }
+        return recording;
+    }
+}
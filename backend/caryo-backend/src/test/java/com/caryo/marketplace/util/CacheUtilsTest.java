@@ -0,0 +1,73 @@
+package com.caryo.marketplace.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CacheUtilsTest {
+
+    private static final String CACHE = "test";
+
+    @Test
+    void get_shouldLoadOnceAndServeFromCache() {
+        CacheManager cacheManager = new ConcurrentMapCacheManager(CACHE);
+        AtomicInteger loads = new AtomicInteger();
+
+        String first = CacheUtils.get(cacheManager, CACHE, "k", () -> "v" + loads.incrementAndGet());
+        String second = CacheUtils.get(cacheManager, CACHE, "k", () -> "v" + loads.incrementAndGet());
+
+        assertThat(first).isEqualTo("v1");
+        assertThat(second).isEqualTo("v1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void get_whenCacheUnavailable_shouldQuerySource() {
+        Cache cache = mock(Cache.class);
+        when(cache.get(eq("k"), any(Callable.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        assertThat(CacheUtils.get(cacheManager, CACHE, "k", () -> "v")).isEqualTo("v");
+    }
+
+    @Test
+    void get_whenLoaderFails_shouldRethrowWithoutRetrying() {
+        CacheManager cacheManager = new ConcurrentMapCacheManager(CACHE);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThatThrownBy(() -> CacheUtils.get(cacheManager, CACHE, "k", () -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("db down");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void evictAfterCommit_withoutTransaction_shouldEvictNow() {
+        CacheManager cacheManager = new ConcurrentMapCacheManager(CACHE);
+        cacheManager.getCache(CACHE).put("a", 1);
+        cacheManager.getCache(CACHE).put("b", 2);
+        cacheManager.getCache(CACHE).put("c", 3);
+
+        CacheUtils.evictAfterCommit(cacheManager, CACHE, "a", "b");
+
+        assertThat(cacheManager.getCache(CACHE).get("a")).isNull();
+        assertThat(cacheManager.getCache(CACHE).get("b")).isNull();
+        assertThat(cacheManager.getCache(CACHE).get("c")).isNotNull();
+    }
+}
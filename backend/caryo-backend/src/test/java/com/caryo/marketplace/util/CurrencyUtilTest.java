@@ -295,6 +295,42 @@ class CurrencyUtilTest {
         }
     }
 
+    @Nested
+    @DisplayName("USD Conversion Tests")
+    class UsdConversionTests {
+
+        @Test
+        @DisplayName("Should convert SYP to USD at the given rate, rounded to cents")
+        void shouldConvertSypToUsd() {
+            assertThat(CurrencyUtil.convertToUsd(new BigDecimal("13000000"), new BigDecimal("13000")))
+                .isEqualByComparingTo("1000.00");
+            assertThat(CurrencyUtil.convertToUsd(new BigDecimal("10000"), new BigDecimal("13000")))
+                .isEqualTo(new BigDecimal("0.77"));
+        }
+
+        @Test
+        @DisplayName("Should keep USD amounts unchanged at a rate of one")
+        void shouldKeepUsdUnchanged() {
+            assertThat(CurrencyUtil.convertToUsd(new BigDecimal("25000.50"), BigDecimal.ONE))
+                .isEqualTo(new BigDecimal("25000.50"));
+        }
+
+        @Test
+        @DisplayName("Should pass null amounts through")
+        void shouldPassNullThrough() {
+            assertThat(CurrencyUtil.convertToUsd(null, BigDecimal.ONE)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should reject a missing or non-positive rate")
+        void shouldRejectInvalidRate() {
+            assertThatThrownBy(() -> CurrencyUtil.convertToUsd(BigDecimal.TEN, BigDecimal.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> CurrencyUtil.convertToUsd(BigDecimal.TEN, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
     @Nested
     @DisplayName("Constants Tests")
     class ConstantsTests {
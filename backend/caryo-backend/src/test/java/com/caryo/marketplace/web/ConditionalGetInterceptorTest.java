@@ -0,0 +1,137 @@
+package com.caryo.marketplace.web;
+
+import com.caryo.marketplace.repository.ResourceVersionJdbcRepository.ListingVersion;
+import com.caryo.marketplace.service.ResourceVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Conditional GET Interceptor Tests")
+class ConditionalGetInterceptorTest {
+
+    @Mock
+    private ObjectProvider<ResourceVersionService> resourceVersionServiceProvider;
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
+    private ConditionalGetInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new ConditionalGetInterceptor(resourceVersionServiceProvider);
+        lenient().when(resourceVersionServiceProvider.getIfAvailable()).thenReturn(resourceVersionService);
+        lenient().when(resourceVersionService.getVersions()).thenReturn(Optional.of(Map.of(
+                ResourceVersionService.REFERENCE_DATA, 7L,
+                ResourceVersionService.LISTINGS, 41L,
+                ResourceVersionService.DEALERS, 3L)));
+    }
+
+    @Test
+    @DisplayName("Should let the request through and stash the validator when If-None-Match is absent")
+    void preHandle_withoutIfNoneMatch_shouldProceed() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/listings/counts/brands");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+
+        ConditionalGetInterceptor.Validator validator =
+                (ConditionalGetInterceptor.Validator) request.getAttribute(ConditionalGetInterceptor.VALIDATOR_ATTRIBUTE);
+        assertThat(validator.etag()).isEqualTo("W/\"counts-15-7\"");
+        assertThat(validator.cacheControl().getHeaderValue()).contains("public", "max-age=30", "stale-while-revalidate=120");
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without reaching the handler when the ETag matches")
+    void preHandle_withMatchingETag_shouldReturnNotModified() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/reference-data/brands");
+        request.addHeader("If-None-Match", "\"other\", W/\"ref-7\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, null)).isFalse();
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader("ETag")).isEqualTo("W/\"ref-7\"");
+        assertThat(response.getHeader("Cache-Control")).contains("max-age=300");
+    }
+
+    @Test
+    @DisplayName("Should serve normally once the data set version has moved on")
+    void preHandle_withStaleETag_shouldProceed() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/listings/count");
+        request.addHeader("If-None-Match", "W/\"counts-14-7\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should build listing detail ETags from the listing's own timestamps")
+    void preHandle_listingDetail_shouldUseListingVersion() {
+        when(resourceVersionService.getListingVersion(42L)).thenReturn(Optional.of(new ListingVersion(1000L, 2000L)));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/listings/42");
+        request.addHeader("Authorization", "Bearer token");
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        ConditionalGetInterceptor.Validator validator =
+                (ConditionalGetInterceptor.Validator) request.getAttribute(ConditionalGetInterceptor.VALIDATOR_ATTRIBUTE);
+        assertThat(validator.etag()).isEqualTo("W/\"listing-42-rs.1jk-7\"");
+        assertThat(validator.cacheControl().getHeaderValue()).contains("private").doesNotContain("public");
+    }
+
+    @Test
+    @DisplayName("Should skip the listing detail ETag for unknown listings and non-numeric paths")
+    void preHandle_listingDetailWithoutVersion_shouldNotSetValidator() {
+        when(resourceVersionService.getListingVersion(anyLong())).thenReturn(Optional.empty());
+        MockHttpServletRequest missing = new MockHttpServletRequest("GET", "/api/v1/listings/999");
+        MockHttpServletRequest mine = new MockHttpServletRequest("GET", "/api/v1/listings/my-listings");
+
+        assertThat(interceptor.preHandle(missing, new MockHttpServletResponse(), null)).isTrue();
+        assertThat(interceptor.preHandle(mine, new MockHttpServletResponse(), null)).isTrue();
+
+        assertThat(missing.getAttribute(ConditionalGetInterceptor.VALIDATOR_ATTRIBUTE)).isNull();
+        assertThat(mine.getAttribute(ConditionalGetInterceptor.VALIDATOR_ATTRIBUTE)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should ignore writes and endpoints that are not cacheable")
+    void preHandle_nonCacheable_shouldNotReadVersions() {
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", "/api/v1/listings/count");
+        MockHttpServletRequest favorites = new MockHttpServletRequest("GET", "/api/v1/favorites");
+
+        assertThat(interceptor.preHandle(post, new MockHttpServletResponse(), null)).isTrue();
+        assertThat(interceptor.preHandle(favorites, new MockHttpServletResponse(), null)).isTrue();
+
+        verify(resourceVersionService, never()).getVersions();
+    }
+
+    @Test
+    @DisplayName("Should serve without validators when versions are unavailable")
+    void preHandle_withoutVersions_shouldProceed() {
+        when(resourceVersionService.getVersions()).thenReturn(Optional.empty());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/pricing/tiers");
+        request.addHeader("If-None-Match", "*");
+
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), null)).isTrue();
+        assertThat(request.getAttribute(ConditionalGetInterceptor.VALIDATOR_ATTRIBUTE)).isNull();
+    }
+}